@@ -0,0 +1,123 @@
+package filmfocus.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Star distribution of the reviews of one movie or cinema: a fixed array of counts for one to five stars, the total
+ * count and sum of the ratings, and a ring of per-day counts and sums over the trend window for the recent trend. A
+ * rating is counted in the bucket of its nearest whole star.
+ *
+ * <p>The ring holds one slot per day of the window and a slot is reused once its day has left the window, so
+ * changes to reviews older than the window only update the totals.
+ */
+public class RatingHistogram {
+
+  public static final int MIN_STARS = 1;
+  public static final int MAX_STARS = 5;
+  public static final int NO_DAY = Integer.MIN_VALUE;
+
+  private final long[] buckets = new long[MAX_STARS - MIN_STARS + 1];
+  private final int trendDays;
+  private final int[] days;
+  private final long[] dayCounts;
+  private final double[] daySums;
+  private long count;
+  private double sum;
+
+  public RatingHistogram(int trendDays) {
+    this.trendDays = trendDays;
+    this.days = new int[trendDays];
+    this.dayCounts = new long[trendDays];
+    this.daySums = new double[trendDays];
+
+    Arrays.fill(days, NO_DAY);
+  }
+
+  public static int toStars(double rating) {
+    return (int) Math.max(MIN_STARS, Math.min(MAX_STARS, Math.round(rating)));
+  }
+
+  public synchronized void add(double rating, int epochDay) {
+    change(rating, epochDay, 1);
+  }
+
+  public synchronized void remove(double rating, int epochDay) {
+    change(rating, epochDay, -1);
+  }
+
+  public synchronized Snapshot snapshot(int today) {
+    long recentCount = 0;
+    double recentSum = 0;
+
+    for (int slot = 0; slot < trendDays; slot++) {
+      if (days[slot] != NO_DAY && days[slot] <= today && days[slot] > today - trendDays) {
+        recentCount += dayCounts[slot];
+        recentSum += daySums[slot];
+      }
+    }
+
+    return new Snapshot(buckets.clone(), count, sum, recentCount, recentSum);
+  }
+
+  private void change(double rating, int epochDay, int sign) {
+    buckets[toStars(rating) - MIN_STARS] += sign;
+    count += sign;
+    sum += sign * rating;
+
+    if (epochDay == NO_DAY) {
+      return;
+    }
+
+    int slot = Math.floorMod(epochDay, trendDays);
+
+    if (days[slot] != epochDay) {
+      if (sign < 0 || (days[slot] != NO_DAY && days[slot] > epochDay)) {
+        return;
+      }
+
+      days[slot] = epochDay;
+      dayCounts[slot] = 0;
+      daySums[slot] = 0;
+    }
+
+    dayCounts[slot] += sign;
+    daySums[slot] += sign * rating;
+  }
+
+  public static final class Snapshot {
+
+    private final long[] buckets;
+    private final long count;
+    private final double sum;
+    private final long recentCount;
+    private final double recentSum;
+
+    private Snapshot(long[] buckets, long count, double sum, long recentCount, double recentSum) {
+      this.buckets = buckets;
+      this.count = count;
+      this.sum = sum;
+      this.recentCount = recentCount;
+      this.recentSum = recentSum;
+    }
+
+    public long getBucket(int stars) {
+      return buckets[stars - MIN_STARS];
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public double getMean() {
+      return count > 0 ? sum / count : 0;
+    }
+
+    public long getRecentCount() {
+      return recentCount;
+    }
+
+    public double getRecentMean() {
+      return recentCount > 0 ? recentSum / recentCount : 0;
+    }
+  }
+}
@@ -0,0 +1,294 @@
+package filmfocus.analytics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Caches the daily results of the income reports, keyed by report, entity id and day. A closed day only changes when
+ * an order of that day is updated or deleted, so its result is kept until {@link #invalidateDay(LocalDate)} is called
+ * for it. Today and the days after it are always computed live. A range is assembled from the cached days, and the
+ * days missing from the cache are fetched with one grouped query per gap and cached on the way.
+ *
+ * <p>An invalidation that happens while a gap is being fetched keeps the fetched days out of the cache, since they
+ * may have been read before the change was committed.
+ *
+ * <p>Every entity of every report has a series of its own, so the cache holds at most {@code reports.cache.max-days}
+ * days over all series and drops the least recently used series once it holds more.
+ */
+@Component
+public class ReportCache {
+
+  public enum Report {
+    CINEMA_INCOMES, HALL_INCOMES, ITEM_INCOMES, MOVIE_INCOMES, USER_INCOMES
+  }
+
+  private final boolean enabled;
+  private final long maxDays;
+  // Ordered by last use and guarded by itself; a series is only changed while holding the lock of the series.
+  private final Map<SeriesKey, Series> series = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong invalidations = new AtomicLong();
+  private final AtomicLong cachedDays = new AtomicLong();
+
+  @Autowired
+  public ReportCache(
+    @Value("${reports.cache.enabled}") boolean enabled, @Value("${reports.cache.max-days}") long maxDays) {
+    this.enabled = enabled;
+    this.maxDays = maxDays;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  // The end date is excluded. The daily query returns the result of every day with sales between its two dates,
+  // the live query the total between its two dates.
+  public double sum(
+    Report report, int id, LocalDate startDate, LocalDate endDate,
+    BiFunction<LocalDate, LocalDate, Map<LocalDate, Double>> dailyQuery,
+    BiFunction<LocalDate, LocalDate, Double> liveQuery) {
+    return sum(report, id, startDate, endDate, dailyQuery, liveQuery, LocalDate.now());
+  }
+
+  public void invalidateDay(LocalDate day) {
+    invalidations.incrementAndGet();
+
+    for (Series daySeries : getAllSeries()) {
+      synchronized (daySeries) {
+        if (!daySeries.evicted) {
+          cachedDays.addAndGet(daySeries.remove(day));
+        }
+      }
+    }
+  }
+
+  public void clear() {
+    invalidations.incrementAndGet();
+
+    List<Series> allSeries;
+
+    synchronized (series) {
+      allSeries = new ArrayList<>(series.values());
+      series.clear();
+    }
+
+    allSeries.forEach(this::evict);
+  }
+
+  double sum(
+    Report report, int id, LocalDate startDate, LocalDate endDate,
+    BiFunction<LocalDate, LocalDate, Map<LocalDate, Double>> dailyQuery,
+    BiFunction<LocalDate, LocalDate, Double> liveQuery, LocalDate today) {
+    LocalDate closedEnd = endDate.isBefore(today) ? endDate : today;
+    LocalDate liveStart = startDate.isAfter(today) ? startDate : today;
+    double total = 0;
+
+    if (startDate.isBefore(closedEnd)) {
+      total += sumClosedDays(new SeriesKey(report, id), startDate, closedEnd, dailyQuery);
+    }
+
+    if (liveStart.isBefore(endDate)) {
+      total += liveQuery.apply(liveStart, endDate);
+    }
+
+    return total;
+  }
+
+  private double sumClosedDays(
+    SeriesKey key, LocalDate startDate, LocalDate endDate,
+    BiFunction<LocalDate, LocalDate, Map<LocalDate, Double>> dailyQuery) {
+    Series daySeries;
+    long invalidationsBefore = invalidations.get();
+
+    synchronized (series) {
+      daySeries = series.computeIfAbsent(key, seriesKey -> new Series());
+    }
+
+    List<LocalDate[]> gaps;
+    double total;
+
+    synchronized (daySeries) {
+      gaps = daySeries.getGaps(startDate, endDate);
+      total = daySeries.sum(startDate, endDate);
+    }
+
+    for (LocalDate[] gap : gaps) {
+      Map<LocalDate, Double> days = dailyQuery.apply(gap[0], gap[1]);
+      total += days.values().stream().mapToDouble(Double::doubleValue).sum();
+
+      synchronized (daySeries) {
+        if (invalidations.get() == invalidationsBefore && !daySeries.evicted) {
+          cachedDays.addAndGet(daySeries.fill(gap[0], gap[1], days));
+        }
+      }
+    }
+
+    evictLeastRecentlyUsed();
+
+    return total;
+  }
+
+  private void evictLeastRecentlyUsed() {
+    while (cachedDays.get() > maxDays) {
+      Series eldest;
+
+      synchronized (series) {
+        Iterator<Series> allSeries = series.values().iterator();
+
+        if (!allSeries.hasNext()) {
+          return;
+        }
+
+        eldest = allSeries.next();
+        allSeries.remove();
+      }
+
+      evict(eldest);
+    }
+  }
+
+  // A series that is no longer in the cache keeps out the days of the sums that still hold it.
+  private void evict(Series daySeries) {
+    synchronized (daySeries) {
+      if (!daySeries.evicted) {
+        daySeries.evicted = true;
+        cachedDays.addAndGet(-daySeries.days.size());
+      }
+    }
+  }
+
+  private List<Series> getAllSeries() {
+    synchronized (series) {
+      return new ArrayList<>(series.values());
+    }
+  }
+
+  // The days of a series are only kept inside its covered spans, so the days outside them are exactly the gaps.
+  private static final class Series {
+
+    private final TreeMap<LocalDate, Double> days = new TreeMap<>();
+    private final TreeMap<LocalDate, LocalDate> coveredSpans = new TreeMap<>();
+    private boolean evicted;
+
+    private double sum(LocalDate startDate, LocalDate endDate) {
+      return days.subMap(startDate, endDate).values().stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+    private List<LocalDate[]> getGaps(LocalDate startDate, LocalDate endDate) {
+      List<LocalDate[]> gaps = new ArrayList<>();
+      LocalDate position = startDate;
+      Map.Entry<LocalDate, LocalDate> span = coveredSpans.floorEntry(startDate);
+
+      if (Objects.isNull(span) || !span.getValue().isAfter(startDate)) {
+        span = coveredSpans.higherEntry(startDate);
+      }
+
+      while (Objects.nonNull(span) && span.getKey().isBefore(endDate)) {
+        if (position.isBefore(span.getKey())) {
+          gaps.add(new LocalDate[] {position, span.getKey()});
+        }
+
+        if (span.getValue().isAfter(position)) {
+          position = span.getValue();
+        }
+
+        span = coveredSpans.higherEntry(span.getKey());
+      }
+
+      if (position.isBefore(endDate)) {
+        gaps.add(new LocalDate[] {position, endDate});
+      }
+
+      return gaps;
+    }
+
+    // Returns the number of days added.
+    private int fill(LocalDate startDate, LocalDate endDate, Map<LocalDate, Double> results) {
+      int daysBefore = days.size();
+      days.putAll(results);
+
+      LocalDate spanStart = startDate;
+      LocalDate spanEnd = endDate;
+      Map.Entry<LocalDate, LocalDate> previous = coveredSpans.floorEntry(startDate);
+
+      if (Objects.nonNull(previous) && !previous.getValue().isBefore(startDate)) {
+        spanStart = previous.getKey();
+        spanEnd = previous.getValue().isAfter(spanEnd) ? previous.getValue() : spanEnd;
+      }
+
+      Map.Entry<LocalDate, LocalDate> next = coveredSpans.ceilingEntry(startDate);
+
+      while (Objects.nonNull(next) && !next.getKey().isAfter(spanEnd)) {
+        spanEnd = next.getValue().isAfter(spanEnd) ? next.getValue() : spanEnd;
+        coveredSpans.remove(next.getKey());
+        next = coveredSpans.ceilingEntry(startDate);
+      }
+
+      coveredSpans.put(spanStart, spanEnd);
+
+      return days.size() - daysBefore;
+    }
+
+    // Returns -1 when the day was cached and 0 otherwise.
+    private int remove(LocalDate day) {
+      Map.Entry<LocalDate, LocalDate> span = coveredSpans.floorEntry(day);
+
+      if (Objects.isNull(span) || !span.getValue().isAfter(day)) {
+        return 0;
+      }
+
+      int daysBefore = days.size();
+      days.remove(day);
+      coveredSpans.remove(span.getKey());
+
+      if (span.getKey().isBefore(day)) {
+        coveredSpans.put(span.getKey(), day);
+      }
+
+      if (span.getValue().isAfter(day.plusDays(1))) {
+        coveredSpans.put(day.plusDays(1), span.getValue());
+      }
+
+      return days.size() - daysBefore;
+    }
+  }
+
+  private static final class SeriesKey {
+
+    private final Report report;
+    private final int id;
+
+    private SeriesKey(Report report, int id) {
+      this.report = report;
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof SeriesKey)) {
+        return false;
+      }
+      SeriesKey that = (SeriesKey) other;
+      return id == that.id && report == that.report;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(report, id);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package filmfocus.analytics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * Evaluates a report over a long date range as calendar month partitions on a fork-join pool. Each partition runs its
+ * own bounded query, on its own database connection, and the partial results are merged pairwise on the way back up.
+ * Ranges of up to the threshold are evaluated with one query on the calling thread.
+ *
+ * <p>The partition queries block on the database, so the parallelism should stay below the size of the connection
+ * pool to leave connections for the requests that run meanwhile.
+ */
+@Component
+public class ReportPartitioner {
+
+  private final long thresholdDays;
+  private final ForkJoinPool pool;
+
+  @Autowired
+  public ReportPartitioner(
+    @Value("${reports.partitions.parallelism}") int parallelism,
+    @Value("${reports.partitions.threshold-days}") long thresholdDays) {
+    this.thresholdDays = thresholdDays;
+    this.pool = new ForkJoinPool(parallelism, pool -> {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("report-partition-" + thread.getPoolIndex());
+      return thread;
+    }, null, false);
+  }
+
+  // The end date is excluded; a report that includes its end date passes the day after it and queries every
+  // partition up to the day before its end.
+  public <T> T evaluate(
+    LocalDate startDate, LocalDate endDate, BiFunction<LocalDate, LocalDate, T> query, BinaryOperator<T> merge) {
+    if (ChronoUnit.DAYS.between(startDate, endDate) <= thresholdDays) {
+      return query.apply(startDate, endDate);
+    }
+
+    return pool.invoke(new PartitionTask<>(getMonthlyBounds(startDate, endDate), query, merge));
+  }
+
+  public double sum(LocalDate startDate, LocalDate endDate, BiFunction<LocalDate, LocalDate, Double> query) {
+    return evaluate(startDate, endDate, query, Double::sum);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+
+  // The bounds of the calendar months between the two dates; the first and the last month may be partial.
+  public static List<LocalDate> getMonthlyBounds(LocalDate startDate, LocalDate endDate) {
+    List<LocalDate> bounds = new ArrayList<>();
+    bounds.add(startDate);
+
+    LocalDate bound = startDate.withDayOfMonth(1).plusMonths(1);
+
+    while (bound.isBefore(endDate)) {
+      bounds.add(bound);
+      bound = bound.plusMonths(1);
+    }
+
+    if (endDate.isAfter(startDate)) {
+      bounds.add(endDate);
+    }
+
+    return bounds;
+  }
+
+  private static final class PartitionTask<T> extends RecursiveTask<T> {
+
+    private final List<LocalDate> bounds;
+    private final BiFunction<LocalDate, LocalDate, T> query;
+    private final BinaryOperator<T> merge;
+
+    private PartitionTask(
+      List<LocalDate> bounds, BiFunction<LocalDate, LocalDate, T> query, BinaryOperator<T> merge) {
+      this.bounds = bounds;
+      this.query = query;
+      this.merge = merge;
+    }
+
+    @Override
+    protected T compute() {
+      if (bounds.size() <= 2) {
+        return query.apply(bounds.get(0), bounds.get(bounds.size() - 1));
+      }
+
+      int middle = bounds.size() / 2;
+      PartitionTask<T> left = new PartitionTask<>(bounds.subList(0, middle + 1), query, merge);
+      PartitionTask<T> right = new PartitionTask<>(bounds.subList(middle, bounds.size()), query, merge);
+
+      right.fork();
+      T leftResult = left.compute();
+
+      return merge.apply(leftResult, right.join());
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package filmfocus.analytics;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Append-only columnar store of sales facts, one row per sold ticket or item. Every column is a primitive array split
+ * into fixed-size chunks, so growing the store never copies the rows already in it and a query is a plain loop over
+ * a few arrays. A fact is taken back by appending the same fact with negated quantity and prices.
+ *
+ * <p>Rows are appended by one writer at a time and published by the size, so readers never lock and always see a
+ * consistent prefix of the store.
+ */
+public class SalesFacts {
+
+  public static final int CHUNK_SIZE = 1 << 16;
+
+  public enum Dimension {
+    PROJECTION, MOVIE, CATEGORY, HALL, CINEMA, ITEM
+  }
+
+  public enum Price {
+    GROSS, NET
+  }
+
+  private volatile Chunk[] chunks = new Chunk[0];
+  private volatile int size;
+
+  public synchronized void append(
+    int epochDay, int projectionId, int movieId, int categoryId, int hallId, int cinemaId, int itemId, int quantity,
+    double grossPrice, double netPrice) {
+    int row = size & (CHUNK_SIZE - 1);
+
+    if (row == 0 && size / CHUNK_SIZE == chunks.length) {
+      Chunk[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+      grown[chunks.length] = new Chunk();
+      chunks = grown;
+    }
+
+    Chunk chunk = chunks[size / CHUNK_SIZE];
+    chunk.epochDays[row] = epochDay;
+    chunk.projectionIds[row] = projectionId;
+    chunk.movieIds[row] = movieId;
+    chunk.categoryIds[row] = categoryId;
+    chunk.hallIds[row] = hallId;
+    chunk.cinemaIds[row] = cinemaId;
+    chunk.itemIds[row] = itemId;
+    chunk.quantities[row] = quantity;
+    chunk.grossPrices[row] = grossPrice;
+    chunk.netPrices[row] = netPrice;
+
+    size++;
+  }
+
+  public synchronized void clear() {
+    chunks = new Chunk[0];
+    size = 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public double sumPrice(Price price, Dimension dimension, int id, int fromEpochDay, int toEpochDay) {
+    int rows = size;
+    Chunk[] snapshot = chunks;
+    double sum = 0;
+
+    for (int c = 0; c * CHUNK_SIZE < rows; c++) {
+      Chunk chunk = snapshot[c];
+      int length = Math.min(CHUNK_SIZE, rows - c * CHUNK_SIZE);
+      int[] days = chunk.epochDays;
+      int[] ids = chunk.column(dimension);
+      double[] prices = price == Price.GROSS ? chunk.grossPrices : chunk.netPrices;
+
+      for (int i = 0; i < length; i++) {
+        if (ids[i] == id && days[i] >= fromEpochDay && days[i] <= toEpochDay) {
+          sum += prices[i];
+        }
+      }
+    }
+
+    return sum;
+  }
+
+  public long sumQuantity(Dimension dimension, int id, int fromEpochDay, int toEpochDay) {
+    int rows = size;
+    Chunk[] snapshot = chunks;
+    long sum = 0;
+
+    for (int c = 0; c * CHUNK_SIZE < rows; c++) {
+      Chunk chunk = snapshot[c];
+      int length = Math.min(CHUNK_SIZE, rows - c * CHUNK_SIZE);
+      int[] days = chunk.epochDays;
+      int[] ids = chunk.column(dimension);
+      int[] quantities = chunk.quantities;
+
+      for (int i = 0; i < length; i++) {
+        if (ids[i] == id && days[i] >= fromEpochDay && days[i] <= toEpochDay) {
+          sum += quantities[i];
+        }
+      }
+    }
+
+    return sum;
+  }
+
+  public long sumQuantity(Dimension dimension, BitSet idSet, int fromEpochDay, int toEpochDay) {
+    int rows = size;
+    Chunk[] snapshot = chunks;
+    long sum = 0;
+
+    for (int c = 0; c * CHUNK_SIZE < rows; c++) {
+      Chunk chunk = snapshot[c];
+      int length = Math.min(CHUNK_SIZE, rows - c * CHUNK_SIZE);
+      int[] days = chunk.epochDays;
+      int[] ids = chunk.column(dimension);
+      int[] quantities = chunk.quantities;
+
+      for (int i = 0; i < length; i++) {
+        if (days[i] >= fromEpochDay && days[i] <= toEpochDay && idSet.get(ids[i])) {
+          sum += quantities[i];
+        }
+      }
+    }
+
+    return sum;
+  }
+
+  private static final class Chunk {
+
+    private final int[] epochDays = new int[CHUNK_SIZE];
+    private final int[] projectionIds = new int[CHUNK_SIZE];
+    private final int[] movieIds = new int[CHUNK_SIZE];
+    private final int[] categoryIds = new int[CHUNK_SIZE];
+    private final int[] hallIds = new int[CHUNK_SIZE];
+    private final int[] cinemaIds = new int[CHUNK_SIZE];
+    private final int[] itemIds = new int[CHUNK_SIZE];
+    private final int[] quantities = new int[CHUNK_SIZE];
+    private final double[] grossPrices = new double[CHUNK_SIZE];
+    private final double[] netPrices = new double[CHUNK_SIZE];
+
+    private int[] column(Dimension dimension) {
+      switch (dimension) {
+        case PROJECTION:
+          return projectionIds;
+        case MOVIE:
+          return movieIds;
+        case CATEGORY:
+          return categoryIds;
+        case HALL:
+          return hallIds;
+        case CINEMA:
+          return cinemaIds;
+        default:
+          return itemIds;
+      }
+    }
+  }
+}
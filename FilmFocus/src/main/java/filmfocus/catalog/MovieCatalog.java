@@ -0,0 +1,319 @@
+package filmfocus.catalog;
+
+import filmfocus.search.TitleTrigramIndex;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * In-memory read model of the movie catalog. Movies are kept as immutable {@link MovieSnapshot}s in one immutable
+ * set of indexes: by id, by rating, by release date and by category, the last three as arrays sorted by their key so
+ * a bound is found with a binary search. A change copies the affected arrays and publishes the new indexes in one
+ * volatile write, so readers never lock and always see one consistent version. Title suggestions are searched
+ * through a {@link TitleTrigramIndex} kept in step with the movies.
+ *
+ * <p>The catalog is empty and not loaded until {@link #replaceAll(Collection)} is first called.
+ */
+@Component
+public class MovieCatalog {
+
+  private static final Comparator<MovieSnapshot> BY_RATING =
+    Comparator.comparingDouble(MovieSnapshot::getAverageRating).thenComparingInt(MovieSnapshot::getId);
+  private static final Comparator<MovieSnapshot> BY_RELEASE_DATE =
+    Comparator.comparing(MovieSnapshot::getReleaseDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+              .thenComparingInt(MovieSnapshot::getId);
+  private static final MovieSnapshot[] NO_MOVIES = new MovieSnapshot[0];
+
+  private volatile Indexes indexes = new Indexes(Collections.emptyMap(), NO_MOVIES, NO_MOVIES,
+                                                 Collections.emptyMap());
+  private final TitleTrigramIndex titles = new TitleTrigramIndex();
+  private volatile boolean loaded;
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  public int size() {
+    return indexes.byId.size();
+  }
+
+  public synchronized void replaceAll(Collection<MovieSnapshot> movies) {
+    Map<Integer, MovieSnapshot> byId = new HashMap<>();
+
+    for (MovieSnapshot movie : movies) {
+      byId.put(movie.getId(), movie);
+    }
+
+    MovieSnapshot[] all = byId.values().toArray(NO_MOVIES);
+    MovieSnapshot[] byRating = all.clone();
+    MovieSnapshot[] byReleaseDate = all.clone();
+    Map<Integer, List<MovieSnapshot>> categories = new HashMap<>();
+    Map<Integer, MovieSnapshot[]> byCategory = new HashMap<>();
+
+    Arrays.sort(byRating, BY_RATING);
+    Arrays.sort(byReleaseDate, BY_RELEASE_DATE);
+
+    for (MovieSnapshot movie : byRating) {
+      if (Objects.nonNull(movie.getCategoryId())) {
+        categories.computeIfAbsent(movie.getCategoryId(), id -> new ArrayList<>()).add(movie);
+      }
+    }
+
+    categories.forEach((id, list) -> byCategory.put(id, list.toArray(NO_MOVIES)));
+
+    Map<Integer, String> titlesById = new HashMap<>();
+    byId.forEach((id, movie) -> titlesById.put(id, movie.getTitle()));
+    titles.replaceAll(titlesById);
+
+    indexes = new Indexes(byId, byRating, byReleaseDate, byCategory);
+    loaded = true;
+  }
+
+  public synchronized void put(MovieSnapshot movie) {
+    Indexes current = indexes;
+    MovieSnapshot previous = current.byId.get(movie.getId());
+    Map<Integer, MovieSnapshot> byId = new HashMap<>(current.byId);
+    Map<Integer, MovieSnapshot[]> byCategory = new HashMap<>(current.byCategory);
+    MovieSnapshot[] byRating = current.byRating;
+    MovieSnapshot[] byReleaseDate = current.byReleaseDate;
+
+    if (Objects.nonNull(previous)) {
+      byRating = without(byRating, previous, BY_RATING);
+      byReleaseDate = without(byReleaseDate, previous, BY_RELEASE_DATE);
+      removeFromCategory(byCategory, previous);
+    }
+
+    byId.put(movie.getId(), movie);
+    byRating = with(byRating, movie, BY_RATING);
+    byReleaseDate = with(byReleaseDate, movie, BY_RELEASE_DATE);
+
+    if (Objects.nonNull(movie.getCategoryId())) {
+      byCategory.put(movie.getCategoryId(),
+                     with(byCategory.getOrDefault(movie.getCategoryId(), NO_MOVIES), movie, BY_RATING));
+    }
+
+    titles.add(movie.getId(), movie.getTitle());
+    indexes = new Indexes(byId, byRating, byReleaseDate, byCategory);
+  }
+
+  public synchronized void updateRating(int id, double averageRating) {
+    MovieSnapshot movie = indexes.byId.get(id);
+
+    if (Objects.nonNull(movie)) {
+      put(movie.withAverageRating(averageRating));
+    }
+  }
+
+  public synchronized void remove(int id) {
+    Indexes current = indexes;
+    MovieSnapshot previous = current.byId.get(id);
+
+    if (Objects.isNull(previous)) {
+      return;
+    }
+
+    Map<Integer, MovieSnapshot> byId = new HashMap<>(current.byId);
+    Map<Integer, MovieSnapshot[]> byCategory = new HashMap<>(current.byCategory);
+
+    byId.remove(id);
+    removeFromCategory(byCategory, previous);
+    titles.remove(id);
+
+    indexes = new Indexes(byId, without(current.byRating, previous, BY_RATING),
+                          without(current.byReleaseDate, previous, BY_RELEASE_DATE), byCategory);
+  }
+
+  public MovieSnapshot getById(int id) {
+    return indexes.byId.get(id);
+  }
+
+  // Ignores case and accents; best match first, see TitleTrigramIndex.
+  public List<MovieSnapshot> findByTitle(String title, double minRating, int limit) {
+    Map<Integer, MovieSnapshot> byId = indexes.byId;
+    List<MovieSnapshot> movies = new ArrayList<>();
+
+    for (int id : titles.search(title, movieId -> isAtLeast(byId.get(movieId), minRating), limit)) {
+      movies.add(byId.get(id));
+    }
+
+    return movies;
+  }
+
+  // Case-sensitive, like the LIKE query it replaces; ordered by id.
+  public List<MovieSnapshot> findByTitleContaining(String title, double minRating) {
+    List<MovieSnapshot> movies = atLeast(
+      indexes.byRating, minRating, movie -> Objects.nonNull(movie.getTitle()) && movie.getTitle().contains(title));
+    movies.sort(Comparator.comparingInt(MovieSnapshot::getId));
+    return movies;
+  }
+
+  // Highest rating first.
+  public List<MovieSnapshot> findByCategoryId(int categoryId, double minRating) {
+    return atLeast(indexes.byCategory.getOrDefault(categoryId, NO_MOVIES), minRating, movie -> true);
+  }
+
+  // Highest rating first.
+  public List<MovieSnapshot> findByMinRating(double minRating) {
+    return atLeast(indexes.byRating, minRating, movie -> true);
+  }
+
+  // Movies released strictly after or before the date, ordered by release date.
+  public List<MovieSnapshot> findByReleaseDate(LocalDate releaseDate, boolean isAfter, double minRating) {
+    MovieSnapshot[] byReleaseDate = indexes.byReleaseDate;
+    int from = isAfter ? upperBound(byReleaseDate, releaseDate) : firstDated(byReleaseDate);
+    int to = isAfter ? byReleaseDate.length : lowerBound(byReleaseDate, releaseDate);
+    List<MovieSnapshot> movies = new ArrayList<>();
+
+    for (int i = from; i < to; i++) {
+      if (byReleaseDate[i].getAverageRating() >= minRating) {
+        movies.add(byReleaseDate[i]);
+      }
+    }
+
+    return movies;
+  }
+
+  private static boolean isAtLeast(MovieSnapshot movie, double minRating) {
+    return Objects.nonNull(movie) && movie.getAverageRating() >= minRating;
+  }
+
+  private static List<MovieSnapshot> atLeast(
+    MovieSnapshot[] byRating, double minRating, Predicate<MovieSnapshot> filter) {
+    List<MovieSnapshot> movies = new ArrayList<>();
+    int low = 0;
+    int high = byRating.length;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (byRating[middle].getAverageRating() < minRating) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    for (int i = byRating.length - 1; i >= low; i--) {
+      if (filter.test(byRating[i])) {
+        movies.add(byRating[i]);
+      }
+    }
+
+    return movies;
+  }
+
+  // The first movie with a release date; movies without one sort first and match neither before nor after.
+  private static int firstDated(MovieSnapshot[] byReleaseDate) {
+    int index = 0;
+
+    while (index < byReleaseDate.length && Objects.isNull(byReleaseDate[index].getReleaseDate())) {
+      index++;
+    }
+
+    return index;
+  }
+
+  // The first movie released on or after the date.
+  private static int lowerBound(MovieSnapshot[] byReleaseDate, LocalDate date) {
+    int low = firstDated(byReleaseDate);
+    int high = byReleaseDate.length;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (byReleaseDate[middle].getReleaseDate().isBefore(date)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  // The first movie released after the date.
+  private static int upperBound(MovieSnapshot[] byReleaseDate, LocalDate date) {
+    int low = firstDated(byReleaseDate);
+    int high = byReleaseDate.length;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (!byReleaseDate[middle].getReleaseDate().isAfter(date)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  private static MovieSnapshot[] with(MovieSnapshot[] sorted, MovieSnapshot movie, Comparator<MovieSnapshot> order) {
+    int position = -Arrays.binarySearch(sorted, movie, order) - 1;
+    MovieSnapshot[] updated = new MovieSnapshot[sorted.length + 1];
+
+    System.arraycopy(sorted, 0, updated, 0, position);
+    updated[position] = movie;
+    System.arraycopy(sorted, position, updated, position + 1, sorted.length - position);
+
+    return updated;
+  }
+
+  private static MovieSnapshot[] without(
+    MovieSnapshot[] sorted, MovieSnapshot movie, Comparator<MovieSnapshot> order) {
+    int position = Arrays.binarySearch(sorted, movie, order);
+
+    if (position < 0) {
+      return sorted;
+    }
+
+    MovieSnapshot[] updated = new MovieSnapshot[sorted.length - 1];
+
+    System.arraycopy(sorted, 0, updated, 0, position);
+    System.arraycopy(sorted, position + 1, updated, position, sorted.length - position - 1);
+
+    return updated;
+  }
+
+  private static void removeFromCategory(Map<Integer, MovieSnapshot[]> byCategory, MovieSnapshot movie) {
+    if (Objects.isNull(movie.getCategoryId())) {
+      return;
+    }
+
+    MovieSnapshot[] movies = without(byCategory.getOrDefault(movie.getCategoryId(), NO_MOVIES), movie, BY_RATING);
+
+    if (movies.length == 0) {
+      byCategory.remove(movie.getCategoryId());
+    } else {
+      byCategory.put(movie.getCategoryId(), movies);
+    }
+  }
+
+  private static final class Indexes {
+
+    private final Map<Integer, MovieSnapshot> byId;
+    private final MovieSnapshot[] byRating;
+    private final MovieSnapshot[] byReleaseDate;
+    private final Map<Integer, MovieSnapshot[]> byCategory;
+
+    private Indexes(
+      Map<Integer, MovieSnapshot> byId, MovieSnapshot[] byRating, MovieSnapshot[] byReleaseDate,
+      Map<Integer, MovieSnapshot[]> byCategory) {
+      this.byId = byId;
+      this.byRating = byRating;
+      this.byReleaseDate = byReleaseDate;
+      this.byCategory = byCategory;
+    }
+  }
+}
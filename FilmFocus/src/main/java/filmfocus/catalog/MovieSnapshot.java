@@ -0,0 +1,77 @@
+package filmfocus.catalog;
+
+import filmfocus.models.dtos.CategoryDto;
+import filmfocus.models.dtos.MovieDto;
+import filmfocus.models.entities.Movie;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Immutable copy of a movie and its category as held by the {@link MovieCatalog}. Every read hands out a new
+ * {@link MovieDto}, so callers can change what they get without touching the catalog.
+ */
+public final class MovieSnapshot {
+
+  private final int id;
+  private final String title;
+  private final double averageRating;
+  private final String description;
+  private final LocalDate releaseDate;
+  private final Duration runtime;
+  private final Integer categoryId;
+  private final String categoryName;
+
+  public MovieSnapshot(
+    int id, String title, double averageRating, String description, LocalDate releaseDate, Duration runtime,
+    Integer categoryId, String categoryName) {
+    this.id = id;
+    this.title = title;
+    this.averageRating = averageRating;
+    this.description = description;
+    this.releaseDate = releaseDate;
+    this.runtime = runtime;
+    this.categoryId = categoryId;
+    this.categoryName = categoryName;
+  }
+
+  public static MovieSnapshot of(Movie movie) {
+    boolean hasCategory = Objects.nonNull(movie.getCategory());
+
+    return new MovieSnapshot(movie.getId(), movie.getTitle(), movie.getAverageRating(), movie.getDescription(),
+                             movie.getReleaseDate(), movie.getRuntime(),
+                             hasCategory ? movie.getCategory().getId() : null,
+                             hasCategory ? movie.getCategory().getName() : null);
+  }
+
+  public MovieSnapshot withAverageRating(double rating) {
+    return new MovieSnapshot(id, title, rating, description, releaseDate, runtime, categoryId, categoryName);
+  }
+
+  public MovieDto toMovieDto() {
+    CategoryDto category = Objects.nonNull(categoryId) ? new CategoryDto(categoryId, categoryName) : null;
+
+    return new MovieDto(id, title, averageRating, description, releaseDate, runtime, category);
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public double getAverageRating() {
+    return averageRating;
+  }
+
+  public LocalDate getReleaseDate() {
+    return releaseDate;
+  }
+
+  public Integer getCategoryId() {
+    return categoryId;
+  }
+}
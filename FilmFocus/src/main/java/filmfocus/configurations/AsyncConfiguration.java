@@ -0,0 +1,42 @@
+package filmfocus.configurations;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Runs the streamed responses, the order exports and the streamed listings, on a pool of their own with a bounded
+ * queue instead of the application task executor. Exports may hold a thread for as long as the async request timeout,
+ * so only a few of them run at once ({@code reports.exports.max-concurrent}) and the rest of the pool is left to the
+ * listings.
+ */
+@Configuration
+public class AsyncConfiguration implements WebMvcConfigurer {
+
+  private final ThreadPoolTaskExecutor asyncExecutor = new ThreadPoolTaskExecutor();
+
+  @Autowired
+  public AsyncConfiguration(
+    @Value("${web.async.threads}") int threads, @Value("${web.async.queue-capacity}") int queueCapacity) {
+    asyncExecutor.setCorePoolSize(threads);
+    asyncExecutor.setMaxPoolSize(threads);
+    asyncExecutor.setQueueCapacity(queueCapacity);
+    asyncExecutor.setThreadNamePrefix("mvc-async-");
+    asyncExecutor.initialize();
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.setTaskExecutor(asyncExecutor);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    asyncExecutor.shutdown();
+  }
+}
@@ -0,0 +1,18 @@
+package filmfocus.configurations;
+
+import com.mailjet.client.ClientOptions;
+import com.mailjet.client.MailjetClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "email.sender", havingValue = "mailjet", matchIfMissing = true)
+public class MailjetConfiguration {
+
+  @Bean
+  public MailjetClient mailjetClient(@Value("${api.key}") String apiKey, @Value("${api.secret}") String apiSecretKey) {
+    return new MailjetClient(apiKey, apiSecretKey, new ClientOptions("v3.1"));
+  }
+}
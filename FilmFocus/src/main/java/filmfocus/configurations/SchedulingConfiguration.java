@@ -0,0 +1,15 @@
+package filmfocus.configurations;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the scheduled jobs on a pool with a thread per job ({@code spring.task.scheduling.pool.size}), not on Spring's
+ * default single thread. The jobs block for long stretches, the outbox dispatch on Mailjet calls and the rating
+ * rebuild, catalog reload and inventory reconciliation on the database, and on a shared thread the seat holds would
+ * expire and the ratings flush only once those were done. Add a thread when adding a scheduled job.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -1,17 +1,36 @@
 package filmfocus.configurations;
 
+import filmfocus.http.CircuitBreaker;
+import filmfocus.http.UpstreamClient;
+import filmfocus.http.UpstreamMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.Random;
 
 @Configuration
 public class WebConfiguration {
 
+  private static final String IMDB_UPSTREAM = "IMDB";
+
   @Bean
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public UpstreamClient imdbUpstreamClient(
+    UpstreamMetrics upstreamMetrics,
+    @Value("${imdb.http.connect-timeout}") long connectTimeout,
+    @Value("${imdb.http.read-timeout}") long readTimeout,
+    @Value("${imdb.http.max-concurrent-calls}") int maxConcurrentCalls,
+    @Value("${imdb.http.failure-threshold}") int failureThreshold,
+    @Value("${imdb.http.open-duration}") long openDuration) {
+    HttpClient httpClient = HttpClient.newBuilder()
+                                      .connectTimeout(Duration.ofMillis(connectTimeout))
+                                      .followRedirects(HttpClient.Redirect.NORMAL)
+                                      .build();
+
+    return new UpstreamClient(IMDB_UPSTREAM, httpClient, Duration.ofMillis(readTimeout), maxConcurrentCalls,
+                              new CircuitBreaker(IMDB_UPSTREAM, failureThreshold, openDuration), upstreamMetrics);
   }
 
   @Bean
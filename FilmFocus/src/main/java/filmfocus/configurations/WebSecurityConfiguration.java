@@ -45,14 +45,17 @@ public class WebSecurityConfiguration {
     "/programs/\\d/projections",
     "/movies/\\d/projections",
     "/movies/\\d/reviews",
-    "/projections(\\?.*|\\z)"
+    "/projections(\\?.*|\\z)",
+    "/projections/\\d+/seats.*"
   };
 
   private static final String[] USER_LIST = {
     "/reviews/\\d.*",
+    "/reviews/search.*",
     "/cinemas/\\d/reviews",
     "/movies/\\d/reviews",
     "/users/\\d/orders",
+    "/users/\\d+/holds.*",
     "/users\\?username=.*",
     "/users\\?email=.*",
     "/users/\\d.*"
@@ -3,6 +3,7 @@ package filmfocus.controllers;
 import filmfocus.models.dtos.DiscountDto;
 import filmfocus.models.entities.Discount;
 import filmfocus.models.requests.DiscountRequest;
+import filmfocus.pagination.ListResponses;
 import filmfocus.services.DiscountService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -31,10 +33,12 @@ public class DiscountController {
   private static final Logger log = LoggerFactory.getLogger(DiscountController.class);
 
   private final DiscountService discountService;
+  private final ListResponses listResponses;
 
   @Autowired
-  public DiscountController(DiscountService discountService) {
+  public DiscountController(DiscountService discountService, ListResponses listResponses) {
     this.discountService = discountService;
+    this.listResponses = listResponses;
   }
 
   @PostMapping(DISCOUNTS_PATH)
@@ -51,11 +55,18 @@ public class DiscountController {
   }
 
   @GetMapping(DISCOUNTS_PATH)
-  public ResponseEntity<List<DiscountDto>> getAllDiscounts() {
-    List<DiscountDto> discounts = discountService.getAllDiscountDtos();
+  public ResponseEntity<StreamingResponseBody> getAllDiscounts() {
     log.info("All discounts were requested from the database");
 
-    return ResponseEntity.ok(discounts);
+    return listResponses.stream(discountService::forEachDiscountDto);
+  }
+
+  @GetMapping(value = DISCOUNTS_PATH, params = {"size", "!type"})
+  public ResponseEntity<List<DiscountDto>> getDiscountsPage(
+    @RequestParam(required = false) Integer afterId, @RequestParam Integer size) {
+    log.info("A page of discounts was requested from the database");
+
+    return listResponses.page(discountService.getDiscountDtosPage(afterId, size));
   }
 
   @GetMapping(value = DISCOUNTS_PATH, params = "type")
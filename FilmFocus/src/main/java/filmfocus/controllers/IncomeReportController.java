@@ -1,5 +1,6 @@
 package filmfocus.controllers;
 
+import filmfocus.models.dtos.IncomeBreakdownDto;
 import filmfocus.services.IncomeReportService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,9 +13,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static filmfocus.utils.constants.URIConstants.REPORTS_CINEMAS_ID_INCOMES_PATH;
 import static filmfocus.utils.constants.URIConstants.REPORTS_HALLS_ID_INCOMES_PATH;
+import static filmfocus.utils.constants.URIConstants.REPORTS_INCOMES_PATH;
 import static filmfocus.utils.constants.URIConstants.REPORTS_ITEMS_ID_INCOMES_PATH;
 import static filmfocus.utils.constants.URIConstants.REPORTS_MOVIES_ID_INCOMES_PATH;
 import static filmfocus.utils.constants.URIConstants.REPORTS_USERS_ID_INCOMES_PATH;
@@ -31,6 +34,18 @@ public class IncomeReportController {
     this.incomeReportService = incomeReportService;
   }
 
+  @GetMapping(REPORTS_INCOMES_PATH)
+  public ResponseEntity<IncomeBreakdownDto> getIncomesBreakdown(
+    @RequestParam(required = false) List<String> dimensions,
+    @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+    @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+
+    IncomeBreakdownDto incomes = incomeReportService.getIncomesBreakdown(dimensions, startDate, endDate);
+    log.info(String.format("Income breakdown by %s report requested", dimensions));
+
+    return ResponseEntity.ok(incomes);
+  }
+
   @GetMapping(REPORTS_CINEMAS_ID_INCOMES_PATH)
   public ResponseEntity<Double> getAllIncomesByCinemaId(
     @PathVariable int id, @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
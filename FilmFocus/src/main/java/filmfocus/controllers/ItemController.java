@@ -3,6 +3,7 @@ package filmfocus.controllers;
 import filmfocus.models.dtos.ItemDto;
 import filmfocus.models.entities.Item;
 import filmfocus.models.requests.ItemRequest;
+import filmfocus.pagination.ListResponses;
 import filmfocus.services.ItemService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -31,10 +33,12 @@ public class ItemController {
   private static final Logger log = LoggerFactory.getLogger(ItemController.class);
 
   private final ItemService itemService;
+  private final ListResponses listResponses;
 
   @Autowired
-  public ItemController(ItemService itemService) {
+  public ItemController(ItemService itemService, ListResponses listResponses) {
     this.itemService = itemService;
+    this.listResponses = listResponses;
   }
 
   @PostMapping(ITEMS_PATH)
@@ -52,11 +56,18 @@ public class ItemController {
   }
 
   @GetMapping(ITEMS_PATH)
-  public ResponseEntity<List<ItemDto>> getAllItems() {
-    List<ItemDto> items = itemService.getAllItems();
+  public ResponseEntity<StreamingResponseBody> getAllItems() {
     log.info("All items were requested from the database");
 
-    return ResponseEntity.ok(items);
+    return listResponses.stream(itemService::forEachItem);
+  }
+
+  @GetMapping(value = ITEMS_PATH, params = {"size", "!itemName", "!quantity"})
+  public ResponseEntity<List<ItemDto>> getItemsPage(
+    @RequestParam(required = false) Integer afterId, @RequestParam Integer size) {
+    log.info("A page of items was requested from the database");
+
+    return listResponses.page(itemService.getItemsPage(afterId, size));
   }
 
   @GetMapping(value = ITEMS_PATH, params = "itemName")
@@ -68,14 +79,21 @@ public class ItemController {
   }
 
   @GetMapping(value = ITEMS_PATH, params = "quantity")
-  public ResponseEntity<List<ItemDto>> getItemsByQuantity(
+  public ResponseEntity<StreamingResponseBody> getItemsByQuantity(
     @RequestParam int quantity,
-    @RequestParam Boolean isBelow) {
-
-    List<ItemDto> filteredItems = itemService.getItemsByQuantity(quantity, isBelow);
+    @RequestParam boolean isBelow) {
     log.info("Filtered items were requested from the database");
 
-    return ResponseEntity.ok(filteredItems);
+    return listResponses.<ItemDto>stream(action -> itemService.forEachItemByQuantity(quantity, isBelow, action));
+  }
+
+  @GetMapping(value = ITEMS_PATH, params = {"quantity", "size"})
+  public ResponseEntity<List<ItemDto>> getItemsPageByQuantity(
+    @RequestParam int quantity, @RequestParam boolean isBelow, @RequestParam(required = false) Integer afterId,
+    @RequestParam Integer size) {
+    log.info("A page of filtered items was requested from the database");
+
+    return listResponses.page(itemService.getItemsPageByQuantity(quantity, isBelow, afterId, size));
   }
 
   @PutMapping(ITEMS_ID_PATH)
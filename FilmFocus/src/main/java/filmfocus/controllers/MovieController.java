@@ -1,8 +1,11 @@
 package filmfocus.controllers;
 
 import filmfocus.models.dtos.MovieDto;
+import filmfocus.models.dtos.MovieSearchDto;
 import filmfocus.models.entities.Movie;
 import filmfocus.models.requests.MovieRequest;
+import filmfocus.models.requests.MovieSearchRequest;
+import filmfocus.services.MovieSearchService;
 import filmfocus.services.MovieService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +30,8 @@ import java.util.List;
 import static filmfocus.utils.constants.URIConstants.CATEGORIES_ID_MOVIES_PATH;
 import static filmfocus.utils.constants.URIConstants.MOVIES_ID_PATH;
 import static filmfocus.utils.constants.URIConstants.MOVIES_PATH;
+import static filmfocus.utils.constants.URIConstants.MOVIES_SEARCH_PATH;
+import static filmfocus.utils.constants.URIConstants.MOVIES_SUGGESTIONS_PATH;
 
 @RestController
 public class MovieController {
@@ -34,10 +39,12 @@ public class MovieController {
   private static final Logger log = LoggerFactory.getLogger(MovieController.class);
 
   private final MovieService movieService;
+  private final MovieSearchService movieSearchService;
 
   @Autowired
-  public MovieController(MovieService movieService) {
+  public MovieController(MovieService movieService, MovieSearchService movieSearchService) {
     this.movieService = movieService;
+    this.movieSearchService = movieSearchService;
   }
 
   @PostMapping(MOVIES_PATH)
@@ -64,6 +71,25 @@ public class MovieController {
     return ResponseEntity.ok(movieDtoList);
   }
 
+  @GetMapping(MOVIES_SEARCH_PATH)
+  public ResponseEntity<MovieSearchDto> searchMovies(MovieSearchRequest request) {
+    MovieSearchDto movieSearchDto = movieSearchService.searchMovies(request);
+    log.info("A movie search was requested");
+
+    return ResponseEntity.ok(movieSearchDto);
+  }
+
+  @GetMapping(MOVIES_SUGGESTIONS_PATH)
+  public ResponseEntity<List<MovieDto>> getMovieSuggestions(
+    @RequestParam String query,
+    @RequestParam(required = false) Integer size) {
+
+    List<MovieDto> movieDtoList = movieService.getMovieSuggestions(query, size);
+    log.info("Movie suggestions were requested");
+
+    return ResponseEntity.ok(movieDtoList);
+  }
+
   @GetMapping(value = MOVIES_PATH, params = "release")
   public ResponseEntity<List<MovieDto>> getMoviesByReleaseDate(
     @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate release,
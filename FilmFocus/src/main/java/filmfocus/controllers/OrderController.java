@@ -1,8 +1,7 @@
 package filmfocus.controllers;
 
-import com.mailjet.client.errors.MailjetException;
-import com.mailjet.client.errors.MailjetSocketTimeoutException;
 import filmfocus.models.dtos.OrderDto;
+import filmfocus.models.dtos.SeatHoldDto;
 import filmfocus.models.entities.Order;
 import filmfocus.models.requests.OrderRequest;
 import filmfocus.models.requests.TicketRequest;
@@ -27,6 +26,9 @@ import java.util.List;
 
 import static filmfocus.utils.constants.URIConstants.ORDERS_ID_PATH;
 import static filmfocus.utils.constants.URIConstants.ORDERS_PATH;
+import static filmfocus.utils.constants.URIConstants.USERS_ID_HOLDS_ID_ORDERS_PATH;
+import static filmfocus.utils.constants.URIConstants.USERS_ID_HOLDS_ID_PATH;
+import static filmfocus.utils.constants.URIConstants.USERS_ID_HOLDS_PATH;
 import static filmfocus.utils.constants.URIConstants.USERS_ID_ORDERS_PATH;
 
 @RestController
@@ -42,8 +44,7 @@ public class OrderController {
   }
 
   @PostMapping(ORDERS_PATH)
-  public ResponseEntity<Void> addOrder(@RequestBody @Valid OrderRequest request) throws MailjetSocketTimeoutException,
-    MailjetException {
+  public ResponseEntity<Void> addOrder(@RequestBody @Valid OrderRequest request) {
 
     Order order = orderService.addOrder(request);
     log.info("A request for an order to be added has been submitted");
@@ -59,8 +60,7 @@ public class OrderController {
   @PostMapping(USERS_ID_ORDERS_PATH)
   public ResponseEntity<Void> makeReservationWithUserId(
     @RequestBody @Valid List<TicketRequest> requests, @PathVariable int id,
-    @RequestParam(required = false, defaultValue = "Code") String discountCode) throws
-    MailjetSocketTimeoutException, MailjetException {
+    @RequestParam(required = false, defaultValue = "Code") String discountCode) {
 
     Order order = orderService.makeReservationWithUserId(requests, id, discountCode);
     log.info("A request for a ticket to be added has been submitted");
@@ -73,6 +73,45 @@ public class OrderController {
     return ResponseEntity.created(location).build();
   }
 
+  @PostMapping(USERS_ID_HOLDS_PATH)
+  public ResponseEntity<SeatHoldDto> holdSeatsWithUserId(
+    @RequestBody @Valid List<TicketRequest> requests, @PathVariable int id) {
+
+    SeatHoldDto seatHoldDto = orderService.holdSeatsWithUserId(requests, id);
+    log.info(String.format("A request for seats to be held for user with id %d has been submitted", id));
+
+    URI location = UriComponentsBuilder
+      .fromUriString(USERS_ID_HOLDS_ID_PATH)
+      .buildAndExpand(id, seatHoldDto.getId())
+      .toUri();
+
+    return ResponseEntity.created(location).body(seatHoldDto);
+  }
+
+  @PostMapping(USERS_ID_HOLDS_ID_ORDERS_PATH)
+  public ResponseEntity<Void> confirmHoldWithUserId(
+    @PathVariable int id, @PathVariable String holdId, @RequestParam(required = false) String discountCode) {
+
+    Order order = orderService.confirmHoldWithUserId(holdId, id, discountCode);
+    log.info(String.format("A request for seat hold %s to be confirmed has been submitted", holdId));
+
+    URI location = UriComponentsBuilder
+      .fromUriString(ORDERS_ID_PATH)
+      .buildAndExpand(order.getId())
+      .toUri();
+
+    return ResponseEntity.created(location).build();
+  }
+
+  @DeleteMapping(USERS_ID_HOLDS_ID_PATH)
+  public ResponseEntity<SeatHoldDto> releaseHoldWithUserId(
+    @PathVariable int id, @PathVariable String holdId, @RequestParam(required = false) boolean returnOld) {
+    SeatHoldDto seatHoldDto = orderService.releaseHoldWithUserId(holdId, id);
+    log.info(String.format("Seat hold %s was released", holdId));
+
+    return returnOld ? ResponseEntity.ok(seatHoldDto) : ResponseEntity.noContent().build();
+  }
+
   @GetMapping(USERS_ID_ORDERS_PATH)
   public ResponseEntity<List<OrderDto>> getOrdersByUserId(@PathVariable int id) {
     List<OrderDto> orderDtos = orderService.getOrdersByUserId(id);
@@ -83,8 +122,7 @@ public class OrderController {
 
   @PutMapping(ORDERS_ID_PATH)
   public ResponseEntity<OrderDto> updateOrder(
-    @RequestBody @Valid OrderRequest request, @PathVariable int id, @RequestParam(required = false) boolean returnOld) throws
-    MailjetSocketTimeoutException, MailjetException {
+    @RequestBody @Valid OrderRequest request, @PathVariable int id, @RequestParam(required = false) boolean returnOld) {
 
     OrderDto orderDto = orderService.updateOrder(request, id);
     log.info(String.format("Order with an id %d was updated", id));
@@ -0,0 +1,74 @@
+package filmfocus.controllers;
+
+import filmfocus.export.ExportFormat;
+import filmfocus.services.OrderExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+import static filmfocus.utils.constants.URIConstants.REPORTS_EXPORTS_TYPE_PATH;
+
+@RestController
+public class OrderExportController {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderExportController.class);
+
+  private static final String EXPORT_INTERCEPTOR_KEY = OrderExportController.class.getName() + ".EXPORT";
+
+  private final OrderExportService orderExportService;
+
+  @Autowired
+  public OrderExportController(OrderExportService orderExportService) {
+    this.orderExportService = orderExportService;
+  }
+
+  @GetMapping(REPORTS_EXPORTS_TYPE_PATH)
+  public ResponseEntity<StreamingResponseBody> exportOrders(
+    @PathVariable String type, @RequestParam(required = false, defaultValue = "csv") String format,
+    @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+    @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate, NativeWebRequest webRequest) {
+
+    OrderExportService.ExportType exportType = orderExportService.getExportType(type);
+    ExportFormat exportFormat = orderExportService.getExportFormat(format);
+    String contentDisposition =
+      String.format("attachment; filename=\"%s_%s_%s.%s\"", exportType.name().toLowerCase(Locale.ROOT), startDate,
+                    endDate, exportFormat.name().toLowerCase(Locale.ROOT));
+
+    log.info(String.format("Received request to export %s as %s", type, format));
+
+    StreamingResponseBody body =
+      outputStream -> orderExportService.export(exportType, exportFormat, startDate, endDate, outputStream);
+
+    // The export counts as running until its request completes, which it also does when the export never started.
+    CallableProcessingInterceptor exportCompletion = new CallableProcessingInterceptor() {
+      @Override
+      public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+        orderExportService.finishExport();
+      }
+    };
+
+    orderExportService.startExport();
+    WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(EXPORT_INTERCEPTOR_KEY, exportCompletion);
+
+    return ResponseEntity.ok()
+                         .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                         .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
+                         .body(body);
+  }
+}
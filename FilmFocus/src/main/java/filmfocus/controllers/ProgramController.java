@@ -3,6 +3,7 @@ package filmfocus.controllers;
 import filmfocus.models.dtos.ProgramDto;
 import filmfocus.models.entities.Program;
 import filmfocus.models.requests.ProgramRequest;
+import filmfocus.pagination.ListResponses;
 import filmfocus.services.ProgramService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -33,10 +35,12 @@ public class ProgramController {
 
   private static final Logger log = LoggerFactory.getLogger(ProgramController.class);
   private final ProgramService programService;
+  private final ListResponses listResponses;
 
   @Autowired
-  public ProgramController(ProgramService programService) {
+  public ProgramController(ProgramService programService, ListResponses listResponses) {
     this.programService = programService;
+    this.listResponses = listResponses;
   }
 
   @PostMapping(value = PROGRAMS_PATH)
@@ -53,8 +57,23 @@ public class ProgramController {
   }
 
   @GetMapping(value = PROGRAMS_PATH)
+  public ResponseEntity<StreamingResponseBody> getAllPrograms() {
+    log.info("All programs were requested from the database");
+
+    return listResponses.stream(programService::forEachProgram);
+  }
+
+  @GetMapping(value = PROGRAMS_PATH, params = {"size", "!date"})
+  public ResponseEntity<List<ProgramDto>> getProgramsPage(
+    @RequestParam(required = false) Integer afterId, @RequestParam Integer size) {
+    log.info("A page of programs was requested from the database");
+
+    return listResponses.page(programService.getProgramsPage(afterId, size));
+  }
+
+  @GetMapping(value = PROGRAMS_PATH, params = "date")
   public ResponseEntity<List<ProgramDto>> getProgramsByDate(
-    @RequestParam(value = "date", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date) {
+    @RequestParam("date") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date) {
 
     List<ProgramDto> programs = programService.getAllPrograms(date);
     log.info("All programs by date were requested from the database");
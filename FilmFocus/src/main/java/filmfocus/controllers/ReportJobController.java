@@ -0,0 +1,67 @@
+package filmfocus.controllers;
+
+import filmfocus.models.dtos.ReportJobDto;
+import filmfocus.models.requests.ReportJobRequest;
+import filmfocus.services.ReportJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.validation.Valid;
+import java.net.URI;
+
+import static filmfocus.utils.constants.URIConstants.REPORTS_JOBS_ID_PATH;
+import static filmfocus.utils.constants.URIConstants.REPORTS_JOBS_ID_RESULT_PATH;
+import static filmfocus.utils.constants.URIConstants.REPORTS_JOBS_PATH;
+
+@RestController
+public class ReportJobController {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportJobController.class);
+
+  private final ReportJobService reportJobService;
+
+  @Autowired
+  public ReportJobController(ReportJobService reportJobService) {
+    this.reportJobService = reportJobService;
+  }
+
+  @PostMapping(REPORTS_JOBS_PATH)
+  public ResponseEntity<ReportJobDto> submitJob(@RequestBody @Valid ReportJobRequest request) {
+
+    ReportJobDto job = reportJobService.submitJob(request);
+    log.info("A request for a report job has been submitted");
+
+    URI location = UriComponentsBuilder
+      .fromUriString(REPORTS_JOBS_ID_PATH)
+      .buildAndExpand(job.getId())
+      .toUri();
+
+    return ResponseEntity.accepted().location(location).body(job);
+  }
+
+  @GetMapping(REPORTS_JOBS_ID_PATH)
+  public ResponseEntity<ReportJobDto> getJob(@PathVariable String jobId) {
+
+    ReportJobDto job = reportJobService.getJob(jobId);
+    log.info("Received request to get the status of a report job");
+
+    return ResponseEntity.ok(job);
+  }
+
+  @GetMapping(REPORTS_JOBS_ID_RESULT_PATH)
+  public ResponseEntity<Object> getJobResult(@PathVariable String jobId) {
+
+    Object result = reportJobService.getJobResult(jobId);
+    log.info("Received request to get the result of a report job");
+
+    return ResponseEntity.ok(result);
+  }
+}
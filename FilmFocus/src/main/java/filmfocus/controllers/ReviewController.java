@@ -1,9 +1,12 @@
 package filmfocus.controllers;
 
 import filmfocus.models.dtos.ReviewDto;
+import filmfocus.models.dtos.ReviewPageDto;
+import filmfocus.models.dtos.ReviewStatsDto;
 import filmfocus.models.entities.Review;
 import filmfocus.models.requests.ReviewRequest;
 import filmfocus.services.ReviewService;
+import filmfocus.services.ReviewStatsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,8 +26,11 @@ import java.net.URI;
 import java.util.List;
 
 import static filmfocus.utils.constants.URIConstants.CINEMAS_ID_REVIEWS_PATH;
+import static filmfocus.utils.constants.URIConstants.CINEMAS_ID_REVIEWS_STATS_PATH;
 import static filmfocus.utils.constants.URIConstants.MOVIES_ID_REVIEWS_PATH;
+import static filmfocus.utils.constants.URIConstants.MOVIES_ID_REVIEWS_STATS_PATH;
 import static filmfocus.utils.constants.URIConstants.REVIEWS_ID_PATH;
+import static filmfocus.utils.constants.URIConstants.REVIEWS_SEARCH_PATH;
 import static filmfocus.utils.constants.URIConstants.USERS_ID_CINEMAS_REVIEWS_PATH;
 import static filmfocus.utils.constants.URIConstants.USERS_ID_MOVIES_REVIEWS_PATH;
 
@@ -34,10 +40,12 @@ public class ReviewController {
   private static final Logger log = LoggerFactory.getLogger(ReviewController.class);
 
   private final ReviewService reviewService;
+  private final ReviewStatsService reviewStatsService;
 
   @Autowired
-  public ReviewController(ReviewService reviewService) {
+  public ReviewController(ReviewService reviewService, ReviewStatsService reviewStatsService) {
     this.reviewService = reviewService;
+    this.reviewStatsService = reviewStatsService;
   }
 
   @PostMapping(CINEMAS_ID_REVIEWS_PATH)
@@ -66,34 +74,78 @@ public class ReviewController {
     return ResponseEntity.created(location).build();
   }
 
-  @GetMapping(value = MOVIES_ID_REVIEWS_PATH)
-  public ResponseEntity<List<ReviewDto>> getReviewsByMovieId(@PathVariable int id) {
-    List<ReviewDto> reviewDtos = this.reviewService.getReviewsByMovieId(id);
-    log.info("All reviews by movie title were requested from the database");
+  @GetMapping(MOVIES_ID_REVIEWS_PATH)
+  public ResponseEntity<ReviewPageDto> getReviewsByMovieId(
+    @PathVariable int id,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size,
+    @RequestParam(required = false) String order) {
+    ReviewPageDto reviewPageDto = this.reviewService.getReviewsByMovieId(id, cursor, size, order);
+    log.info("A page of reviews by movie id was requested from the database");
 
-    return ResponseEntity.ok(reviewDtos);
+    return ResponseEntity.ok(reviewPageDto);
   }
 
   @GetMapping(CINEMAS_ID_REVIEWS_PATH)
-  public ResponseEntity<List<ReviewDto>> getReviewsByCinemaId(@PathVariable int id) {
-    List<ReviewDto> reviewDtos = this.reviewService.getReviewsByCinemaId(id);
-    log.info("All reviews by cinema id were requested from the database");
+  public ResponseEntity<ReviewPageDto> getReviewsByCinemaId(
+    @PathVariable int id,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size,
+    @RequestParam(required = false) String order) {
+    ReviewPageDto reviewPageDto = this.reviewService.getReviewsByCinemaId(id, cursor, size, order);
+    log.info("A page of reviews by cinema id was requested from the database");
 
-    return ResponseEntity.ok(reviewDtos);
+    return ResponseEntity.ok(reviewPageDto);
+  }
+
+  @GetMapping(MOVIES_ID_REVIEWS_STATS_PATH)
+  public ResponseEntity<ReviewStatsDto> getMovieReviewStats(@PathVariable int id) {
+    ReviewStatsDto reviewStatsDto = this.reviewStatsService.getMovieReviewStats(id);
+    log.info("Review statistics by movie id were requested");
+
+    return ResponseEntity.ok(reviewStatsDto);
+  }
+
+  @GetMapping(CINEMAS_ID_REVIEWS_STATS_PATH)
+  public ResponseEntity<ReviewStatsDto> getCinemaReviewStats(@PathVariable int id) {
+    ReviewStatsDto reviewStatsDto = this.reviewStatsService.getCinemaReviewStats(id);
+    log.info("Review statistics by cinema id were requested");
+
+    return ResponseEntity.ok(reviewStatsDto);
   }
 
   @GetMapping(USERS_ID_MOVIES_REVIEWS_PATH)
-  public ResponseEntity<List<ReviewDto>> getMovieReviewsByUserId(@PathVariable int id) {
-    List<ReviewDto> reviewDtos = this.reviewService.getMovieReviewsByUserId(id);
-    log.info("All movie reviews by user id were requested from the database");
+  public ResponseEntity<ReviewPageDto> getMovieReviewsByUserId(
+    @PathVariable int id,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size,
+    @RequestParam(required = false) String order) {
+    ReviewPageDto reviewPageDto = this.reviewService.getMovieReviewsByUserId(id, cursor, size, order);
+    log.info("A page of movie reviews by user id was requested from the database");
 
-    return ResponseEntity.ok(reviewDtos);
+    return ResponseEntity.ok(reviewPageDto);
   }
 
   @GetMapping(USERS_ID_CINEMAS_REVIEWS_PATH)
-  public ResponseEntity<List<ReviewDto>> getCinemaReviewsByUserId(@PathVariable int id) {
-    List<ReviewDto> reviewDtos = this.reviewService.getCinemaReviewsByUserId(id);
-    log.info("All cinema reviews by user id were requested from the database");
+  public ResponseEntity<ReviewPageDto> getCinemaReviewsByUserId(
+    @PathVariable int id,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size,
+    @RequestParam(required = false) String order) {
+    ReviewPageDto reviewPageDto = this.reviewService.getCinemaReviewsByUserId(id, cursor, size, order);
+    log.info("A page of cinema reviews by user id was requested from the database");
+
+    return ResponseEntity.ok(reviewPageDto);
+  }
+
+  @GetMapping(REVIEWS_SEARCH_PATH)
+  public ResponseEntity<List<ReviewDto>> searchReviews(
+    @RequestParam String query,
+    @RequestParam(required = false) Integer movieId,
+    @RequestParam(required = false) Integer cinemaId,
+    @RequestParam(required = false) Integer size) {
+    List<ReviewDto> reviewDtos = this.reviewService.searchReviews(query, movieId, cinemaId, size);
+    log.info("A search of reviews by text was requested");
 
     return ResponseEntity.ok(reviewDtos);
   }
@@ -3,6 +3,7 @@ package filmfocus.controllers;
 import filmfocus.models.dtos.RoleDto;
 import filmfocus.models.entities.Role;
 import filmfocus.models.requests.RoleRequest;
+import filmfocus.pagination.ListResponses;
 import filmfocus.services.RoleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -31,10 +33,12 @@ public class RoleController {
   private static final Logger log = LoggerFactory.getLogger(RoleController.class);
 
   private final RoleService roleService;
+  private final ListResponses listResponses;
 
   @Autowired
-  public RoleController(RoleService roleService) {
+  public RoleController(RoleService roleService, ListResponses listResponses) {
     this.roleService = roleService;
+    this.listResponses = listResponses;
   }
 
   @PostMapping(ROLES_PATH)
@@ -51,11 +55,18 @@ public class RoleController {
   }
 
   @GetMapping(ROLES_PATH)
-  public ResponseEntity<List<RoleDto>> getAllRoles() {
-    List<RoleDto> roleDtos = roleService.getAllRolesDto();
+  public ResponseEntity<StreamingResponseBody> getAllRoles() {
     log.info("All user roles were requested from the database");
 
-    return ResponseEntity.ok(roleDtos);
+    return listResponses.stream(roleService::forEachRoleDto);
+  }
+
+  @GetMapping(value = ROLES_PATH, params = {"size", "!name"})
+  public ResponseEntity<List<RoleDto>> getRolesPage(
+    @RequestParam(required = false) Integer afterId, @RequestParam Integer size) {
+    log.info("A page of user roles was requested from the database");
+
+    return listResponses.page(roleService.getRolesDtoPage(afterId, size));
   }
 
   @GetMapping(value = ROLES_PATH, params = "name")
@@ -1,5 +1,6 @@
 package filmfocus.controllers;
 
+import filmfocus.models.dtos.SeatMapDto;
 import filmfocus.models.dtos.TicketDto;
 import filmfocus.models.entities.Ticket;
 import filmfocus.models.requests.TicketRequest;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -19,6 +21,7 @@ import javax.validation.Valid;
 import java.net.URI;
 import java.util.List;
 
+import static filmfocus.utils.constants.URIConstants.PROJECTIONS_ID_SEATS_PATH;
 import static filmfocus.utils.constants.URIConstants.PROJECTIONS_ID_TICKETS_PATH;
 import static filmfocus.utils.constants.URIConstants.TICKETS_PATH;
 import static filmfocus.utils.constants.URIConstants.TICKETS_ID_PATH;
@@ -55,4 +58,13 @@ public class TicketController {
 
     return ResponseEntity.ok(ticketDtos);
   }
-}
\ No newline at end of file
+
+  @GetMapping(PROJECTIONS_ID_SEATS_PATH)
+  public ResponseEntity<SeatMapDto> getSeatMapByProjectionId(
+    @PathVariable int id, @RequestParam(required = false) Integer adjacentSeats) {
+    SeatMapDto seatMapDto = ticketService.getSeatMapByProjectionId(id, adjacentSeats);
+    log.info(String.format("The seat map of projection with id %d was requested", id));
+
+    return ResponseEntity.ok(seatMapDto);
+  }
+}
@@ -0,0 +1,35 @@
+package filmfocus.controllers;
+
+import filmfocus.http.UpstreamMetrics;
+import filmfocus.models.dtos.UpstreamEndpointStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static filmfocus.utils.constants.URIConstants.REPORTS_UPSTREAMS_PATH;
+
+@RestController
+public class UpstreamReportController {
+
+  private static final Logger log = LoggerFactory.getLogger(UpstreamReportController.class);
+
+  private final UpstreamMetrics upstreamMetrics;
+
+  @Autowired
+  public UpstreamReportController(UpstreamMetrics upstreamMetrics) {
+    this.upstreamMetrics = upstreamMetrics;
+  }
+
+  @GetMapping(REPORTS_UPSTREAMS_PATH)
+  public ResponseEntity<List<UpstreamEndpointStatsDto>> getUpstreamStats() {
+    List<UpstreamEndpointStatsDto> upstreamStats = upstreamMetrics.getStats();
+    log.info("Received request to get the outbound call stats of all upstreams");
+
+    return ResponseEntity.ok(upstreamStats);
+  }
+}
@@ -6,6 +6,7 @@ import filmfocus.models.dtos.UserDto;
 import filmfocus.models.requests.AdminRequest;
 import filmfocus.models.requests.LoginRequest;
 import filmfocus.models.requests.UserRequest;
+import filmfocus.pagination.ListResponses;
 import filmfocus.services.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +25,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.time.LocalDate;
@@ -42,10 +44,12 @@ public class UserController {
   private static final Logger log = LoggerFactory.getLogger(UserController.class);
 
   private final UserService userService;
+  private final ListResponses listResponses;
 
   @Autowired
-  public UserController(UserService userService) {
+  public UserController(UserService userService, ListResponses listResponses) {
     this.userService = userService;
+    this.listResponses = listResponses;
   }
 
   @PostMapping(LOGIN_PATH)
@@ -59,8 +63,7 @@ public class UserController {
   }
 
   @PostMapping(REGISTRATION_PATH)
-  public ResponseEntity<Void> registerUser(@RequestBody @Valid UserRequest request) throws
-    MailjetSocketTimeoutException, MailjetException {
+  public ResponseEntity<Void> registerUser(@RequestBody @Valid UserRequest request) {
     HttpCookie cookie = userService.registerUser(request);
     log.info("A registration request has been submitted");
 
@@ -96,22 +99,36 @@ public class UserController {
   }
 
   @GetMapping(value = USERS_PATH, params = "roleName")
-  public ResponseEntity<List<UserDto>> getUsersByRoleName(@RequestParam String roleName) {
-    List<UserDto> userDtos = userService.getUsersDtoByRoleName(roleName);
+  public ResponseEntity<StreamingResponseBody> getUsersByRoleName(@RequestParam String roleName) {
     log.info("Users by role name were requested from the database");
 
-    return ResponseEntity.ok(userDtos);
+    return listResponses.<UserDto>stream(action -> userService.forEachUserDtoByRoleName(roleName, action));
+  }
+
+  @GetMapping(value = USERS_PATH, params = {"roleName", "size"})
+  public ResponseEntity<List<UserDto>> getUsersPageByRoleName(
+    @RequestParam String roleName, @RequestParam(required = false) Integer afterId, @RequestParam Integer size) {
+    log.info("A page of users by role name was requested from the database");
+
+    return listResponses.page(userService.getUsersDtoPageByRoleName(roleName, afterId, size));
   }
 
   @GetMapping(value = USERS_PATH, params = {"joinDate", "isBefore"})
-  public ResponseEntity<List<UserDto>> getUsersByJoinDate(
+  public ResponseEntity<StreamingResponseBody> getUsersByJoinDate(
     @RequestParam("joinDate") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate joinDate,
     @RequestParam boolean isBefore) {
-
-    List<UserDto> userDtos = userService.getUsersDtosByJoinDate(joinDate, isBefore);
     log.info("All Users by join date were requested from the database");
 
-    return ResponseEntity.ok(userDtos);
+    return listResponses.<UserDto>stream(action -> userService.forEachUserDtoByJoinDate(joinDate, isBefore, action));
+  }
+
+  @GetMapping(value = USERS_PATH, params = {"joinDate", "isBefore", "size"})
+  public ResponseEntity<List<UserDto>> getUsersPageByJoinDate(
+    @RequestParam("joinDate") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate joinDate,
+    @RequestParam boolean isBefore, @RequestParam(required = false) Integer afterId, @RequestParam Integer size) {
+    log.info("A page of users by join date was requested from the database");
+
+    return listResponses.page(userService.getUsersDtoPageByJoinDate(joinDate, isBefore, afterId, size));
   }
 
   @PutMapping(USERS_ID_PATH)
@@ -0,0 +1,149 @@
+package filmfocus.email;
+
+import com.mailjet.client.errors.MailjetException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collects messages submitted by concurrent callers and hands them to the {@link EmailSender} together, either when
+ * {@code email.batch.window} has passed since the first message of the batch or as soon as the batch reaches
+ * {@code email.batch.max-size}. Every caller gets the result of its own message.
+ */
+@Component
+public class EmailBatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(EmailBatcher.class);
+
+  private final EmailSender emailSender;
+  private final int maxBatchSize;
+  private final long window;
+  private final long sendTimeout;
+  private final ScheduledExecutorService executor;
+  private List<PendingEmail> batch = new ArrayList<>();
+
+  @Autowired
+  public EmailBatcher(
+    EmailSender emailSender, @Value("${email.batch.max-size}") int maxBatchSize,
+    @Value("${email.batch.window}") long window, @Value("${email.batch.send-timeout}") long sendTimeout) {
+    this.emailSender = emailSender;
+    this.maxBatchSize = maxBatchSize;
+    this.window = window;
+    this.sendTimeout = sendTimeout;
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "email-batcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public CompletableFuture<EmailSendResult> submit(EmailMessage message) {
+    PendingEmail pending = new PendingEmail(message);
+    List<PendingEmail> full = null;
+
+    synchronized (this) {
+      batch.add(pending);
+
+      if (batch.size() >= maxBatchSize) {
+        full = batch;
+        batch = new ArrayList<>();
+      } else if (batch.size() == 1) {
+        List<PendingEmail> scheduled = batch;
+        executor.schedule(() -> flush(scheduled), window, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    if (full != null) {
+      List<PendingEmail> ready = full;
+      executor.execute(() -> send(ready));
+    }
+
+    return pending.result;
+  }
+
+  public void send(EmailMessage message) throws MailjetException {
+    EmailSendResult result;
+
+    try {
+      result = submit(message).get(sendTimeout, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new MailjetException("Interrupted while sending the email");
+    } catch (ExecutionException | TimeoutException exception) {
+      throw new MailjetException(String.format("The email could not be sent: %s", exception.getMessage()));
+    }
+
+    if (!result.isSuccess()) {
+      throw new MailjetException(result.getError());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    List<PendingEmail> remaining;
+
+    synchronized (this) {
+      remaining = batch;
+      batch = new ArrayList<>();
+    }
+
+    executor.shutdown();
+    send(remaining);
+  }
+
+  // A batch that was already handed over because it filled up is no longer the current one and is left alone.
+  private void flush(List<PendingEmail> scheduled) {
+    synchronized (this) {
+      if (batch != scheduled) {
+        return;
+      }
+
+      batch = new ArrayList<>();
+    }
+
+    send(scheduled);
+  }
+
+  private void send(List<PendingEmail> pendingEmails) {
+    if (pendingEmails.isEmpty()) {
+      return;
+    }
+
+    List<EmailMessage> messages = new ArrayList<>(pendingEmails.size());
+    pendingEmails.forEach(pending -> messages.add(pending.message));
+
+    try {
+      List<EmailSendResult> results = emailSender.sendAll(messages);
+
+      for (int i = 0; i < pendingEmails.size(); i++) {
+        pendingEmails.get(i).result.complete(results.get(i));
+      }
+    } catch (Exception exception) {
+      log.error(String.format("Exception caught: %s", exception.getMessage()));
+
+      pendingEmails.forEach(pending -> pending.result.completeExceptionally(exception));
+    }
+  }
+
+  private static final class PendingEmail {
+
+    private final EmailMessage message;
+    private final CompletableFuture<EmailSendResult> result = new CompletableFuture<>();
+
+    private PendingEmail(EmailMessage message) {
+      this.message = message;
+    }
+  }
+}
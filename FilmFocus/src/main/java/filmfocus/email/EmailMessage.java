@@ -0,0 +1,16 @@
+package filmfocus.email;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class EmailMessage {
+
+  private String recipientEmail;
+  private String recipientName;
+  private String subject;
+  private String htmlPart;
+}
@@ -0,0 +1,22 @@
+package filmfocus.email;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class EmailSendResult {
+
+  private boolean success;
+  private String error;
+
+  public static EmailSendResult sent() {
+    return new EmailSendResult(true, null);
+  }
+
+  public static EmailSendResult failed(String error) {
+    return new EmailSendResult(false, error);
+  }
+}
@@ -0,0 +1,23 @@
+package filmfocus.email;
+
+import com.mailjet.client.errors.MailjetException;
+import com.mailjet.client.errors.MailjetSocketTimeoutException;
+
+import java.util.Collections;
+import java.util.List;
+
+public interface EmailSender {
+
+  /**
+   * Sends all messages and returns one result per message, in the order of the messages.
+   */
+  List<EmailSendResult> sendAll(List<EmailMessage> messages) throws MailjetSocketTimeoutException, MailjetException;
+
+  default void send(EmailMessage message) throws MailjetSocketTimeoutException, MailjetException {
+    EmailSendResult result = sendAll(Collections.singletonList(message)).get(0);
+
+    if (!result.isSuccess()) {
+      throw new MailjetException(result.getError());
+    }
+  }
+}
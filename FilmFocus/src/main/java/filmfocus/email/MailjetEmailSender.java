@@ -0,0 +1,117 @@
+package filmfocus.email;
+
+import com.mailjet.client.MailjetClient;
+import com.mailjet.client.MailjetRequest;
+import com.mailjet.client.MailjetResponse;
+import com.mailjet.client.errors.MailjetException;
+import com.mailjet.client.errors.MailjetSocketTimeoutException;
+import com.mailjet.client.resource.Emailv31;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sends through the shared {@link MailjetClient}, packing up to {@code email.batch.max-size} messages into every
+ * Emailv31 request. Each message carries its position as {@code CustomID}, which is how the per-message statuses of
+ * the response are matched back to the messages.
+ */
+@Component
+@ConditionalOnProperty(name = "email.sender", havingValue = "mailjet", matchIfMissing = true)
+public class MailjetEmailSender implements EmailSender {
+
+  private static final Logger log = LoggerFactory.getLogger(MailjetEmailSender.class);
+
+  private static final String SENDER_EMAIL = "annargeorgieva21@gmail.com";
+  private static final String SENDER_NAME = "FilmFocus";
+  private static final String SUCCESS_STATUS = "success";
+
+  private final MailjetClient mailjetClient;
+  private final int maxMessagesPerRequest;
+
+  @Autowired
+  public MailjetEmailSender(
+    MailjetClient mailjetClient, @Value("${email.batch.max-size}") int maxMessagesPerRequest) {
+    this.mailjetClient = mailjetClient;
+    this.maxMessagesPerRequest = maxMessagesPerRequest;
+  }
+
+  @Override
+  public List<EmailSendResult> sendAll(List<EmailMessage> messages) throws MailjetSocketTimeoutException,
+    MailjetException {
+    List<EmailSendResult> results = new ArrayList<>(messages.size());
+
+    for (int from = 0; from < messages.size(); from += maxMessagesPerRequest) {
+      List<EmailMessage> chunk = messages.subList(from, Math.min(from + maxMessagesPerRequest, messages.size()));
+
+      results.addAll(sendChunk(chunk));
+    }
+
+    return results;
+  }
+
+  private List<EmailSendResult> sendChunk(List<EmailMessage> chunk) throws MailjetSocketTimeoutException,
+    MailjetException {
+    JSONArray messages = new JSONArray();
+
+    for (int i = 0; i < chunk.size(); i++) {
+      messages.put(toJson(chunk.get(i), i));
+    }
+
+    MailjetResponse response = mailjetClient.post(new MailjetRequest(Emailv31.resource)
+                                                    .property(Emailv31.MESSAGES, messages));
+
+    EmailSendResult[] results = new EmailSendResult[chunk.size()];
+    Arrays.fill(results, EmailSendResult.failed(
+      String.format("Mailjet returned no status for the email (HTTP %d)", response.getStatus())));
+
+    JSONArray statuses = getMessageStatuses(response);
+
+    for (int i = 0; i < statuses.length(); i++) {
+      JSONObject status = statuses.getJSONObject(i);
+      int index = Integer.parseInt(status.optString(Emailv31.Message.CUSTOMID, String.valueOf(i)));
+
+      if (index >= 0 && index < results.length) {
+        results[index] = SUCCESS_STATUS.equals(status.optString("Status"))
+                         ? EmailSendResult.sent()
+                         : EmailSendResult.failed(String.valueOf(status.opt("Errors")));
+      }
+    }
+
+    log.info(String.format("%d emails were posted to Mailjet in one request with status %d", chunk.size(),
+                           response.getStatus()));
+
+    return Arrays.asList(results);
+  }
+
+  // A request rejected as a whole (bad credentials, malformed payload) comes back without per-message statuses.
+  private JSONArray getMessageStatuses(MailjetResponse response) {
+    try {
+      return response.getJSONArray(Emailv31.MESSAGES);
+    } catch (Exception exception) {
+      return new JSONArray();
+    }
+  }
+
+  private JSONObject toJson(EmailMessage message, int index) {
+    return new JSONObject()
+      .put(Emailv31.Message.FROM, new JSONObject()
+        .put("Email", SENDER_EMAIL)
+        .put("Name", SENDER_NAME))
+      .put(Emailv31.Message.TO, new JSONArray()
+        .put(new JSONObject()
+               .put("Email", message.getRecipientEmail())
+               .put("Name", message.getRecipientName())))
+      .put(Emailv31.Message.SUBJECT, message.getSubject())
+      .put(Emailv31.Message.HTMLPART, message.getHtmlPart())
+      .put(Emailv31.Message.CUSTOMID, String.valueOf(index));
+  }
+}
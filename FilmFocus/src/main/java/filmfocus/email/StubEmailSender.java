@@ -0,0 +1,44 @@
+package filmfocus.email;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Local sender for development and tests: keeps every message in memory instead of calling Mailjet.
+ */
+@Component
+@ConditionalOnProperty(name = "email.sender", havingValue = "stub")
+public class StubEmailSender implements EmailSender {
+
+  private static final Logger log = LoggerFactory.getLogger(StubEmailSender.class);
+
+  private final List<EmailMessage> sentMessages = new CopyOnWriteArrayList<>();
+
+  @Override
+  public List<EmailSendResult> sendAll(List<EmailMessage> messages) {
+    List<EmailSendResult> results = new ArrayList<>(messages.size());
+
+    for (EmailMessage message : messages) {
+      sentMessages.add(message);
+      results.add(EmailSendResult.sent());
+
+      log.info(String.format("Stub email '%s' was sent to %s", message.getSubject(), message.getRecipientEmail()));
+    }
+
+    return results;
+  }
+
+  public List<EmailMessage> getSentMessages() {
+    return new ArrayList<>(sentMessages);
+  }
+
+  public void clear() {
+    sentMessages.clear();
+  }
+}
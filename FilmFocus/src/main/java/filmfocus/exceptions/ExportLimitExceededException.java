@@ -0,0 +1,8 @@
+package filmfocus.exceptions;
+
+public class ExportLimitExceededException extends RuntimeException {
+
+  public ExportLimitExceededException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package filmfocus.exceptions;
+
+public class ReportJobLimitExceededException extends RuntimeException {
+
+  public ReportJobLimitExceededException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package filmfocus.exceptions;
+
+public class ReportJobNotFinishedException extends RuntimeException {
+
+  public ReportJobNotFinishedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package filmfocus.exceptions;
+
+public class ReportJobNotFoundException extends RuntimeException {
+
+  public ReportJobNotFoundException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package filmfocus.exceptions;
+
+public class SeatHoldNotFoundException extends RuntimeException {
+
+  public SeatHoldNotFoundException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package filmfocus.exceptions;
+
+public class SeatNotAvailableException extends RuntimeException {
+
+  public SeatNotAvailableException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package filmfocus.exceptions;
+
+public class UpstreamUnavailableException extends RuntimeException {
+
+  public UpstreamUnavailableException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,55 @@
+package filmfocus.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+public class CsvExportWriter implements ExportWriter {
+
+  private static final String LINE_SEPARATOR = "\r\n";
+
+  private final Writer writer;
+
+  public CsvExportWriter(List<String> columns, OutputStream outputStream) throws IOException {
+    this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+    writeRow(columns);
+  }
+
+  @Override
+  public void writeRow(List<?> values) throws IOException {
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+
+      writer.write(escape(values.get(i)));
+    }
+
+    writer.write(LINE_SEPARATOR);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  private String escape(Object value) {
+    if (Objects.isNull(value)) {
+      return "";
+    }
+
+    String text = value.toString();
+
+    if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+      return text;
+    }
+
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,34 @@
+package filmfocus.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public enum ExportFormat {
+
+  CSV("text/csv") {
+    @Override
+    public ExportWriter newWriter(List<String> columns, OutputStream outputStream) throws IOException {
+      return new CsvExportWriter(columns, outputStream);
+    }
+  },
+
+  NDJSON("application/x-ndjson") {
+    @Override
+    public ExportWriter newWriter(List<String> columns, OutputStream outputStream) throws IOException {
+      return new NdjsonExportWriter(columns, outputStream);
+    }
+  };
+
+  private final String mediaType;
+
+  ExportFormat(String mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  public String getMediaType() {
+    return mediaType;
+  }
+
+  public abstract ExportWriter newWriter(List<String> columns, OutputStream outputStream) throws IOException;
+}
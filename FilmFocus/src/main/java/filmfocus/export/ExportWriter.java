@@ -0,0 +1,14 @@
+package filmfocus.export;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes export rows straight to an output stream, one row at a time, so nothing but the current row is held in
+ * memory. The values of a row come in the order of the columns the writer was created with.
+ */
+public interface ExportWriter extends Flushable {
+
+  void writeRow(List<?> values) throws IOException;
+}
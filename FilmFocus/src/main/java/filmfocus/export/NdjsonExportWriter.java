@@ -0,0 +1,54 @@
+package filmfocus.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public class NdjsonExportWriter implements ExportWriter {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final List<String> columns;
+  private final JsonGenerator generator;
+
+  public NdjsonExportWriter(List<String> columns, OutputStream outputStream) throws IOException {
+    this.columns = columns;
+    this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8)
+                                 .setRootValueSeparator(null)
+                                 .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
+
+  @Override
+  public void writeRow(List<?> values) throws IOException {
+    generator.writeStartObject();
+
+    for (int i = 0; i < columns.size(); i++) {
+      generator.writeFieldName(columns.get(i));
+      writeValue(values.get(i));
+    }
+
+    generator.writeEndObject();
+    generator.writeRaw('\n');
+  }
+
+  @Override
+  public void flush() throws IOException {
+    generator.flush();
+  }
+
+  private void writeValue(Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof Integer || value instanceof Long) {
+      generator.writeNumber(((Number) value).longValue());
+    } else if (value instanceof Number) {
+      generator.writeNumber(((Number) value).doubleValue());
+    } else {
+      generator.writeString(value.toString());
+    }
+  }
+}
@@ -9,6 +9,7 @@ import filmfocus.exceptions.DiscountAlreadyExistsException;
 import filmfocus.exceptions.DiscountNotFoundException;
 import filmfocus.exceptions.HallNotAvailableException;
 import filmfocus.exceptions.DiscountNotValidException;
+import filmfocus.exceptions.ExportLimitExceededException;
 import filmfocus.exceptions.HallNotFoundException;
 import filmfocus.exceptions.ItemAlreadyExistsException;
 import filmfocus.exceptions.ItemNotFoundException;
@@ -22,11 +23,17 @@ import filmfocus.exceptions.OrderNotFoundException;
 import filmfocus.exceptions.ProgramAlreadyExistsException;
 import filmfocus.exceptions.ProgramNotFoundException;
 import filmfocus.exceptions.ProjectionNotFoundException;
+import filmfocus.exceptions.ReportJobLimitExceededException;
+import filmfocus.exceptions.ReportJobNotFinishedException;
+import filmfocus.exceptions.ReportJobNotFoundException;
 import filmfocus.exceptions.ReviewNotFoundException;
 import filmfocus.exceptions.RoleAlreadyExistsException;
 import filmfocus.exceptions.RoleNotChosenException;
 import filmfocus.exceptions.RoleNotFoundException;
+import filmfocus.exceptions.SeatHoldNotFoundException;
+import filmfocus.exceptions.SeatNotAvailableException;
 import filmfocus.exceptions.TicketNotFoundException;
+import filmfocus.exceptions.UpstreamUnavailableException;
 import filmfocus.exceptions.UserEmailAlreadyExistsException;
 import filmfocus.exceptions.UserNotFoundException;
 import filmfocus.exceptions.UsernameAlreadyExistsException;
@@ -336,6 +343,66 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorsMap, HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(SeatHoldNotFoundException.class)
+  public ResponseEntity<Map<String, List<String>>> handleSeatHoldNotFoundException(
+    SeatHoldNotFoundException exception) {
+    log.error(CAUGHT_EXCEPTION, exception);
+
+    Map<String, List<String>> errorsMap = formatErrorsResponse(exception.getMessage());
+
+    return new ResponseEntity<>(errorsMap, HttpStatus.NOT_FOUND);
+  }
+
+  @ExceptionHandler(ReportJobNotFoundException.class)
+  public ResponseEntity<Map<String, List<String>>> handleReportJobNotFoundException(
+    ReportJobNotFoundException exception) {
+    log.error(CAUGHT_EXCEPTION, exception);
+
+    Map<String, List<String>> errorsMap = formatErrorsResponse(exception.getMessage());
+
+    return new ResponseEntity<>(errorsMap, HttpStatus.NOT_FOUND);
+  }
+
+  @ExceptionHandler(ReportJobNotFinishedException.class)
+  public ResponseEntity<Map<String, List<String>>> handleReportJobNotFinishedException(
+    ReportJobNotFinishedException exception) {
+    log.error(CAUGHT_EXCEPTION, exception);
+
+    Map<String, List<String>> errorsMap = formatErrorsResponse(exception.getMessage());
+
+    return new ResponseEntity<>(errorsMap, HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(ReportJobLimitExceededException.class)
+  public ResponseEntity<Map<String, List<String>>> handleReportJobLimitExceededException(
+    ReportJobLimitExceededException exception) {
+    log.error(CAUGHT_EXCEPTION, exception);
+
+    Map<String, List<String>> errorsMap = formatErrorsResponse(exception.getMessage());
+
+    return new ResponseEntity<>(errorsMap, HttpStatus.TOO_MANY_REQUESTS);
+  }
+
+  @ExceptionHandler(ExportLimitExceededException.class)
+  public ResponseEntity<Map<String, List<String>>> handleExportLimitExceededException(
+    ExportLimitExceededException exception) {
+    log.error(CAUGHT_EXCEPTION, exception);
+
+    Map<String, List<String>> errorsMap = formatErrorsResponse(exception.getMessage());
+
+    return new ResponseEntity<>(errorsMap, HttpStatus.TOO_MANY_REQUESTS);
+  }
+
+  @ExceptionHandler(UpstreamUnavailableException.class)
+  public ResponseEntity<Map<String, List<String>>> handleUpstreamUnavailableException(
+    UpstreamUnavailableException exception) {
+    log.error(CAUGHT_EXCEPTION, exception);
+
+    Map<String, List<String>> errorsMap = formatErrorsResponse(exception.getMessage());
+
+    return new ResponseEntity<>(errorsMap, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
   @ExceptionHandler(DiscountNotFoundException.class)
   public ResponseEntity<Map<String, List<String>>> handleDiscountNotFoundException(
     DiscountNotFoundException exception) {
@@ -376,6 +443,16 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorsMap, HttpStatus.BAD_REQUEST);
   }
 
+  @ExceptionHandler(SeatNotAvailableException.class)
+  public ResponseEntity<Map<String, List<String>>> handleSeatNotAvailableException(
+    SeatNotAvailableException exception) {
+    log.error(CAUGHT_EXCEPTION, exception);
+
+    Map<String, List<String>> errorsMap = formatErrorsResponse(exception.getMessage());
+
+    return new ResponseEntity<>(errorsMap, HttpStatus.CONFLICT);
+  }
+
   @ExceptionHandler(NoAvailableItemsException.class)
   public ResponseEntity<Map<String, List<String>>> handleNoAvailableItemsException(
     NoAvailableItemsException exception) {
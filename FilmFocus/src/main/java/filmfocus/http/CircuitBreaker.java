@@ -0,0 +1,91 @@
+package filmfocus.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Counts consecutive failed calls to one upstream. After {@code failureThreshold} of them the circuit opens and calls
+ * are refused without reaching the upstream for {@code openDuration} milliseconds. Then it is half open: one trial call
+ * is let through, and its outcome closes the circuit or opens it again.
+ */
+public class CircuitBreaker {
+
+  private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final String name;
+  private final int failureThreshold;
+  private final long openDuration;
+  private final LongSupplier clock;
+
+  private State state = State.CLOSED;
+  private int failureCount;
+  private long openedAt;
+  private boolean trialCallRunning;
+
+  public CircuitBreaker(String name, int failureThreshold, long openDuration) {
+    this(name, failureThreshold, openDuration, System::currentTimeMillis);
+  }
+
+  CircuitBreaker(String name, int failureThreshold, long openDuration, LongSupplier clock) {
+    this.name = name;
+    this.failureThreshold = failureThreshold;
+    this.openDuration = openDuration;
+    this.clock = clock;
+  }
+
+  // True when the call may go ahead; the caller must then report its outcome.
+  public synchronized boolean tryAcquire() {
+    if (state == State.OPEN && clock.getAsLong() - openedAt >= openDuration) {
+      state = State.HALF_OPEN;
+      log.info(String.format("The circuit of %s is half open", name));
+    }
+
+    if (state == State.CLOSED) {
+      return true;
+    }
+
+    if (state == State.HALF_OPEN && !trialCallRunning) {
+      trialCallRunning = true;
+
+      return true;
+    }
+
+    return false;
+  }
+
+  public synchronized void onSuccess() {
+    if (state != State.CLOSED) {
+      log.info(String.format("The circuit of %s is closed", name));
+    }
+
+    state = State.CLOSED;
+    failureCount = 0;
+    trialCallRunning = false;
+  }
+
+  public synchronized void onFailure() {
+    trialCallRunning = false;
+    failureCount++;
+
+    if (state == State.HALF_OPEN || (state == State.CLOSED && failureCount >= failureThreshold)) {
+      state = State.OPEN;
+      openedAt = clock.getAsLong();
+      log.warn(String.format("The circuit of %s is open after %d failed calls", name, failureCount));
+    }
+  }
+
+  // The state as of now, so an open circuit whose wait is over reads as half open.
+  public synchronized State getState() {
+    if (state == State.OPEN && clock.getAsLong() - openedAt >= openDuration) {
+      return State.HALF_OPEN;
+    }
+
+    return state;
+  }
+}
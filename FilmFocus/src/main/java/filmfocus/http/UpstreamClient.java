@@ -0,0 +1,117 @@
+package filmfocus.http;
+
+import filmfocus.exceptions.UpstreamUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static filmfocus.utils.constants.ExceptionMessages.UPSTREAM_UNAVAILABLE_MESSAGE;
+
+/**
+ * Outbound GET calls to one upstream host. The {@link HttpClient} keeps its connections alive and reuses them, and
+ * bounds how long connecting may take; every request is bounded by the read timeout. At most
+ * {@code maxConcurrentCalls} calls are in flight at once and the rest are refused at once rather than queued, so a
+ * slow upstream ties up that many request threads and no more. Failed calls trip the {@link CircuitBreaker}.
+ *
+ * <p>A refused or failed call throws an {@link UpstreamUnavailableException}; serving stale data in its place is left
+ * to the caller, which knows how old its data may get. Endpoints name what is called in the metrics and the logs, so
+ * they must not hold anything secret such as an API key.
+ */
+public class UpstreamClient {
+
+  private static final Logger log = LoggerFactory.getLogger(UpstreamClient.class);
+
+  private final String name;
+  private final HttpClient httpClient;
+  private final Duration readTimeout;
+  private final Semaphore bulkhead;
+  private final CircuitBreaker circuitBreaker;
+  private final UpstreamMetrics metrics;
+
+  public UpstreamClient(
+    String name, HttpClient httpClient, Duration readTimeout, int maxConcurrentCalls, CircuitBreaker circuitBreaker,
+    UpstreamMetrics metrics) {
+    this.name = name;
+    this.httpClient = httpClient;
+    this.readTimeout = readTimeout;
+    this.bulkhead = new Semaphore(maxConcurrentCalls);
+    this.circuitBreaker = circuitBreaker;
+    this.metrics = metrics;
+  }
+
+  public String get(String endpoint, URI uri) {
+    if (!bulkhead.tryAcquire()) {
+      metrics.recordRejection(name, endpoint);
+
+      throw unavailable(endpoint, "too many calls are in flight");
+    }
+
+    try {
+      if (!circuitBreaker.tryAcquire()) {
+        metrics.recordShortCircuit(name, endpoint);
+
+        throw unavailable(endpoint, "its circuit is open");
+      }
+
+      return send(endpoint, uri);
+    } finally {
+      bulkhead.release();
+    }
+  }
+
+  // Reports the outcome of every call to the circuit breaker, unchecked exceptions included, so a failed trial call
+  // does not leave a half open circuit waiting for an outcome forever.
+  private String send(String endpoint, URI uri) {
+    long start = System.nanoTime();
+    String reason;
+
+    try {
+      HttpRequest request = HttpRequest.newBuilder(uri)
+                                       .timeout(readTimeout)
+                                       .header("Accept", "application/json")
+                                       .GET()
+                                       .build();
+      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+      if (response.statusCode() / 100 == 2) {
+        circuitBreaker.onSuccess();
+        metrics.recordSuccess(name, endpoint, elapsedSince(start));
+
+        return response.body();
+      }
+
+      reason = String.format("it answered with HTTP %d", response.statusCode());
+    } catch (IOException | RuntimeException exception) {
+      reason = String.format("the call failed: %s", exception);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      reason = "the call was interrupted";
+    }
+
+    circuitBreaker.onFailure();
+    metrics.recordFailure(name, endpoint, elapsedSince(start));
+
+    throw unavailable(endpoint, reason);
+  }
+
+  private UpstreamUnavailableException unavailable(String endpoint, String reason) {
+    String message = String.format(UPSTREAM_UNAVAILABLE_MESSAGE, name);
+
+    log.warn(String.format("The %s call to %s was not answered because %s", endpoint, name, reason));
+    log.error(String.format("Exception caught: %s", message));
+
+    return new UpstreamUnavailableException(message);
+  }
+
+  private static long elapsedSince(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+}
@@ -0,0 +1,119 @@
+package filmfocus.http;
+
+import filmfocus.models.dtos.UpstreamEndpointStatsDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the outbound calls of every {@link UpstreamClient} by upstream and endpoint: the calls that reached the
+ * upstream and how they ended, and the ones refused by the bulkhead or the open circuit. Latencies are in
+ * milliseconds and only cover the calls that were sent.
+ */
+@Component
+public class UpstreamMetrics {
+
+  private static final Comparator<UpstreamEndpointStatsDto> BY_ENDPOINT =
+    Comparator.comparing(UpstreamEndpointStatsDto::getUpstream).thenComparing(UpstreamEndpointStatsDto::getEndpoint);
+
+  private final Map<EndpointKey, EndpointCounters> counters = new ConcurrentHashMap<>();
+
+  public void recordSuccess(String upstream, String endpoint, long latency) {
+    EndpointCounters endpointCounters = getCounters(upstream, endpoint);
+
+    endpointCounters.successes.increment();
+    endpointCounters.addLatency(latency);
+  }
+
+  public void recordFailure(String upstream, String endpoint, long latency) {
+    EndpointCounters endpointCounters = getCounters(upstream, endpoint);
+
+    endpointCounters.failures.increment();
+    endpointCounters.addLatency(latency);
+  }
+
+  public void recordRejection(String upstream, String endpoint) {
+    getCounters(upstream, endpoint).rejections.increment();
+  }
+
+  public void recordShortCircuit(String upstream, String endpoint) {
+    getCounters(upstream, endpoint).shortCircuits.increment();
+  }
+
+  public List<UpstreamEndpointStatsDto> getStats() {
+    List<UpstreamEndpointStatsDto> stats = new ArrayList<>();
+
+    counters.forEach((key, endpointCounters) -> stats.add(endpointCounters.toDto(key)));
+    stats.sort(BY_ENDPOINT);
+
+    return stats;
+  }
+
+  private EndpointCounters getCounters(String upstream, String endpoint) {
+    return counters.computeIfAbsent(new EndpointKey(upstream, endpoint), key -> new EndpointCounters());
+  }
+
+  private static final class EndpointKey {
+
+    private final String upstream;
+    private final String endpoint;
+
+    private EndpointKey(String upstream, String endpoint) {
+      this.upstream = upstream;
+      this.endpoint = endpoint;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+
+      if (!(other instanceof EndpointKey)) {
+        return false;
+      }
+
+      EndpointKey key = (EndpointKey) other;
+
+      return upstream.equals(key.upstream) && endpoint.equals(key.endpoint);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(upstream, endpoint);
+    }
+  }
+
+  private static final class EndpointCounters {
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder shortCircuits = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+    private void addLatency(long latency) {
+      totalLatency.add(latency);
+      maxLatency.accumulate(latency);
+    }
+
+    // The counters are read one by one, so a call that ends meanwhile may show up in some of them only.
+    private UpstreamEndpointStatsDto toDto(EndpointKey key) {
+      long successCount = successes.sum();
+      long failureCount = failures.sum();
+      long calls = successCount + failureCount;
+      double averageLatency = calls == 0 ? 0 : (double) totalLatency.sum() / calls;
+
+      return new UpstreamEndpointStatsDto(key.upstream, key.endpoint, calls, successCount, failureCount,
+                                          rejections.sum(), shortCircuits.sum(), averageLatency, maxLatency.get());
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package filmfocus.imdb;
+
+import filmfocus.http.UpstreamClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+
+/**
+ * Calls imdb-api.com through its own {@link UpstreamClient}, so a slow or failing upstream is cut off by the timeouts,
+ * the bulkhead and the circuit breaker configured under {@code imdb.http}. The list endpoint names the call; the key
+ * is only part of the URI.
+ */
+@Component
+@ConditionalOnProperty(name = "imdb.client", havingValue = "http", matchIfMissing = true)
+public class HttpImdbClient implements ImdbClient {
+
+  private static final Logger log = LoggerFactory.getLogger(HttpImdbClient.class);
+
+  private final UpstreamClient imdbUpstreamClient;
+  private final String imdbKey;
+  private final String baseUrl;
+
+  @Autowired
+  public HttpImdbClient(
+    UpstreamClient imdbUpstreamClient, @Value("${imdb.key}") String imdbKey, @Value("${imdb.url}") String baseUrl) {
+    this.imdbUpstreamClient = imdbUpstreamClient;
+    this.imdbKey = imdbKey;
+    this.baseUrl = baseUrl;
+  }
+
+  @Override
+  public String fetch(ImdbList list) {
+    log.info(String.format("Fetching the IMDB list %s", list.getEndpoint()));
+
+    return imdbUpstreamClient.get(list.getEndpoint(), URI.create(baseUrl + list.getEndpoint() + "/" + imdbKey));
+  }
+}
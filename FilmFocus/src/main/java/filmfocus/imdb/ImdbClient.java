@@ -0,0 +1,9 @@
+package filmfocus.imdb;
+
+public interface ImdbClient {
+
+  /**
+   * Fetches the list from the upstream and returns the response body as it was received.
+   */
+  String fetch(ImdbList list);
+}
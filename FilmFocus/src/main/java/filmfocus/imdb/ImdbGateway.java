@@ -0,0 +1,174 @@
+package filmfocus.imdb;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the filtered IMDB lists. The lists change at most daily, so a cached list is served as it is for
+ * {@code imdb.cache.ttl}. For another {@code imdb.cache.max-stale} it is still served, but every request for it makes
+ * sure a refresh is running in the background. An older list, or a missing one, is fetched while the request waits.
+ *
+ * <p>There is at most one fetch per list at a time: requests that need a list that is already being fetched wait for
+ * the same fetch. A failed background refresh keeps the stale list until it expires.
+ */
+@Component
+public class ImdbGateway {
+
+  private static final Logger log = LoggerFactory.getLogger(ImdbGateway.class);
+
+  private final ImdbClient imdbClient;
+  private final long ttl;
+  private final long maxStale;
+  private final LongSupplier clock;
+  private final ExecutorService executor;
+  private final Map<ImdbList, CachedList> cache = new ConcurrentHashMap<>();
+  private final Map<ImdbList, CompletableFuture<String>> fetches = new ConcurrentHashMap<>();
+
+  @Autowired
+  public ImdbGateway(
+    ImdbClient imdbClient, @Value("${imdb.cache.ttl}") long ttl, @Value("${imdb.cache.max-stale}") long maxStale) {
+    this(imdbClient, ttl, maxStale, System::currentTimeMillis, Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "imdb-refresh");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  ImdbGateway(ImdbClient imdbClient, long ttl, long maxStale, LongSupplier clock, ExecutorService executor) {
+    this.imdbClient = imdbClient;
+    this.ttl = ttl;
+    this.maxStale = maxStale;
+    this.clock = clock;
+    this.executor = executor;
+  }
+
+  // A JSON object with the title, year and image of every movie of the list.
+  public String getMovies(ImdbList list) {
+    CachedList cached = cache.get(list);
+
+    if (Objects.nonNull(cached)) {
+      long age = clock.getAsLong() - cached.fetchedAt;
+
+      if (age < ttl) {
+        return cached.movies;
+      }
+
+      if (age < ttl + maxStale) {
+        fetch(list, true);
+
+        return cached.movies;
+      }
+    }
+
+    try {
+      return fetch(list, false).join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) exception.getCause();
+      }
+
+      throw exception;
+    }
+  }
+
+  public void invalidate(ImdbList list) {
+    cache.remove(list);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  // Joins the fetch of the list that is already running, or starts one on the executor or in the calling thread.
+  private CompletableFuture<String> fetch(ImdbList list, boolean inBackground) {
+    CompletableFuture<String> fetch = new CompletableFuture<>();
+    CompletableFuture<String> running = fetches.putIfAbsent(list, fetch);
+
+    if (Objects.nonNull(running)) {
+      return running;
+    }
+
+    if (!inBackground) {
+      complete(list, fetch);
+
+      return fetch;
+    }
+
+    try {
+      executor.execute(() -> complete(list, fetch));
+    } catch (RejectedExecutionException exception) {
+      fetches.remove(list, fetch);
+      fetch.completeExceptionally(exception);
+    }
+
+    return fetch;
+  }
+
+  // The list is cached before the fetch is released, so a request arriving in between finds it. Any failure, of the
+  // upstream or of its response, fails the fetch for everyone waiting on it.
+  private void complete(ImdbList list, CompletableFuture<String> fetch) {
+    try {
+      String movies = filterMovies(imdbClient.fetch(list));
+
+      cache.put(list, new CachedList(movies, clock.getAsLong()));
+      fetch.complete(movies);
+
+      log.info(String.format("The IMDB list %s was refreshed", list.getEndpoint()));
+    } catch (Exception exception) {
+      log.error(String.format("Exception caught: %s", exception.getMessage()));
+
+      fetch.completeExceptionally(exception);
+    } finally {
+      fetches.remove(list, fetch);
+    }
+  }
+
+  private static String filterMovies(String responseBody) {
+    JSONArray movies = new JSONObject(responseBody).getJSONArray("items");
+    JSONArray filteredMovies = new JSONArray();
+
+    for (int i = 0; i < movies.length(); i++) {
+      JSONObject movie = movies.getJSONObject(i);
+      JSONObject filteredMovie = new JSONObject();
+
+      filteredMovie.put("title", movie.getString("title"));
+      filteredMovie.put("year", movie.getString("year"));
+
+      if (movie.has("image")) {
+        filteredMovie.put("image", movie.getString("image"));
+      }
+
+      filteredMovies.put(filteredMovie);
+    }
+
+    return new JSONObject().put("movies", filteredMovies).toString();
+  }
+
+  private static final class CachedList {
+
+    private final String movies;
+    private final long fetchedAt;
+
+    private CachedList(String movies, long fetchedAt) {
+      this.movies = movies;
+      this.fetchedAt = fetchedAt;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package filmfocus.imdb;
+
+import java.util.Arrays;
+
+import static filmfocus.utils.constants.ExceptionMessages.IMDB_FILTER_NOT_VALID_MESSAGE;
+
+/**
+ * The IMDB lists that can be requested, by the filter the clients send and the imdb-api.com endpoint serving them.
+ */
+public enum ImdbList {
+  TOP("top", "Top250Movies"),
+  COMING_SOON("coming soon", "ComingSoon"),
+  BOX_OFFICE("box office", "BoxOfficeAllTime");
+
+  private final String filter;
+  private final String endpoint;
+
+  ImdbList(String filter, String endpoint) {
+    this.filter = filter;
+    this.endpoint = endpoint;
+  }
+
+  public static ImdbList fromFilter(String filter) {
+    return Arrays.stream(values())
+                 .filter(list -> list.filter.equals(filter))
+                 .findFirst()
+                 .orElseThrow(() -> new IllegalArgumentException(IMDB_FILTER_NOT_VALID_MESSAGE));
+  }
+
+  public String getFilter() {
+    return filter;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+}
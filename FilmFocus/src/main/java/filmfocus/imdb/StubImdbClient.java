@@ -0,0 +1,51 @@
+package filmfocus.imdb;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local upstream for development and tests: answers every list with the response set for it, or an empty list, and
+ * counts the calls instead of calling imdb-api.com.
+ */
+@Component
+@ConditionalOnProperty(name = "imdb.client", havingValue = "stub")
+public class StubImdbClient implements ImdbClient {
+
+  private static final Logger log = LoggerFactory.getLogger(StubImdbClient.class);
+
+  private static final String EMPTY_LIST = "{\"items\": []}";
+
+  private final Map<ImdbList, String> responses = new ConcurrentHashMap<>();
+  private final Map<ImdbList, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+  @Override
+  public String fetch(ImdbList list) {
+    calls.computeIfAbsent(list, key -> new AtomicInteger()).incrementAndGet();
+
+    log.info(String.format("Stub IMDB list %s was fetched", list.getEndpoint()));
+
+    return responses.getOrDefault(list, EMPTY_LIST);
+  }
+
+  public void setResponse(ImdbList list, String responseBody) {
+    responses.put(list, responseBody);
+  }
+
+  public int getCallCount(ImdbList list) {
+    AtomicInteger count = calls.get(list);
+
+    return Objects.isNull(count) ? 0 : count.get();
+  }
+
+  public void clear() {
+    responses.clear();
+    calls.clear();
+  }
+}
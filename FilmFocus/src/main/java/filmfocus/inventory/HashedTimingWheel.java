@@ -0,0 +1,152 @@
+package filmfocus.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel: a timeout lands in the bucket of the tick it is due on and carries the number of full wheel
+ * turns left before it fires, so scheduling and cancelling are O(1) and every tick only touches one bucket. Any
+ * thread may schedule or cancel; {@link #advance(long)} is meant to be driven by a single ticker.
+ */
+public class HashedTimingWheel<T> {
+
+  private static final int PENDING = 0;
+  private static final int CANCELLED = 1;
+  private static final int EXPIRED = 2;
+
+  private final long tickMillis;
+  private final long startMillis;
+  private final int mask;
+  private final List<Timeout<T>>[] buckets;
+  private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingTimeouts = new AtomicInteger();
+  private long tick;
+
+  @SuppressWarnings("unchecked")
+  public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+    if (tickMillis <= 0 || wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException(String.format("Invalid timing wheel %d ms x %d", tickMillis, wheelSize));
+    }
+
+    this.tickMillis = tickMillis;
+    this.startMillis = startMillis;
+    this.mask = wheelSize - 1;
+    this.buckets = new List[wheelSize];
+
+    for (int i = 0; i < wheelSize; i++) {
+      buckets[i] = new ArrayList<>();
+    }
+  }
+
+  public Timeout<T> schedule(T task, long deadlineMillis) {
+    Timeout<T> timeout = new Timeout<>(task, deadlineMillis, pendingTimeouts);
+
+    pendingTimeouts.incrementAndGet();
+    scheduled.add(timeout);
+
+    return timeout;
+  }
+
+  public int getPendingTimeouts() {
+    return pendingTimeouts.get();
+  }
+
+  public synchronized List<T> advance(long nowMillis) {
+    List<T> expired = new ArrayList<>();
+    long lastTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+
+    while (tick <= lastTick) {
+      transferScheduled();
+      expireBucket(buckets[(int) (tick & mask)], expired);
+      tick++;
+    }
+
+    return expired;
+  }
+
+  private void transferScheduled() {
+    Timeout<T> timeout;
+
+    while ((timeout = scheduled.poll()) != null) {
+      if (timeout.state.get() == CANCELLED) {
+        continue;
+      }
+
+      long dueTick = Math.max(ceilDiv(timeout.deadlineMillis - startMillis, tickMillis), tick);
+
+      timeout.remainingRounds = (dueTick - tick) / buckets.length;
+      buckets[(int) (dueTick & mask)].add(timeout);
+    }
+  }
+
+  private void expireBucket(List<Timeout<T>> bucket, List<T> expired) {
+    int kept = 0;
+
+    for (Timeout<T> timeout : bucket) {
+      if (timeout.state.get() == CANCELLED) {
+        continue;
+      }
+
+      if (timeout.remainingRounds > 0) {
+        timeout.remainingRounds--;
+        bucket.set(kept++, timeout);
+      } else if (timeout.expire()) {
+        expired.add(timeout.task);
+      }
+    }
+
+    bucket.subList(kept, bucket.size()).clear();
+  }
+
+  private static long ceilDiv(long dividend, long divisor) {
+    return -Math.floorDiv(-dividend, divisor);
+  }
+
+  public static final class Timeout<T> {
+
+    private final T task;
+    private final long deadlineMillis;
+    private final AtomicInteger pendingTimeouts;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private long remainingRounds;
+
+    private Timeout(T task, long deadlineMillis, AtomicInteger pendingTimeouts) {
+      this.task = task;
+      this.deadlineMillis = deadlineMillis;
+      this.pendingTimeouts = pendingTimeouts;
+    }
+
+    public T getTask() {
+      return task;
+    }
+
+    public long getDeadlineMillis() {
+      return deadlineMillis;
+    }
+
+    public boolean cancel() {
+      if (state.compareAndSet(PENDING, CANCELLED)) {
+        pendingTimeouts.decrementAndGet();
+        return true;
+      }
+
+      return false;
+    }
+
+    public boolean isExpired() {
+      return state.get() == EXPIRED;
+    }
+
+    private boolean expire() {
+      if (state.compareAndSet(PENDING, EXPIRED)) {
+        pendingTimeouts.decrementAndGet();
+        return true;
+      }
+
+      return false;
+    }
+  }
+}
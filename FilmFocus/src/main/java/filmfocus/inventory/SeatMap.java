@@ -0,0 +1,275 @@
+package filmfocus.inventory;
+
+import filmfocus.models.entities.Hall;
+import filmfocus.models.entities.Seat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Occupancy of a single projection, one {@code long} word per hall row. Bit {@code n - 1} of a row word stands for
+ * seat number {@code n}, so seat lookups and searches for adjacent free seats are plain bit operations and seats are
+ * taken with a compare-and-set on the row word.
+ */
+public class SeatMap {
+
+  public static final int MAX_SEATS_PER_ROW = Long.SIZE;
+  public static final int DEFAULT_SEATS_PER_ROW = 10;
+
+  public static final char FREE_SEAT = 'O';
+  public static final char TAKEN_SEAT = 'X';
+  public static final char BLOCKED_SEAT = '_';
+
+  private final int rows;
+  private final int seatsPerRow;
+  private final long rowMask;
+  private final long[] blocked;
+  private final AtomicLongArray taken;
+
+  public SeatMap(int rows, int seatsPerRow, Collection<Seat> blockedSeats) {
+    if (rows <= 0 || seatsPerRow <= 0 || seatsPerRow > MAX_SEATS_PER_ROW) {
+      throw new IllegalArgumentException(String.format("Invalid seat layout %dx%d", rows, seatsPerRow));
+    }
+
+    this.rows = rows;
+    this.seatsPerRow = seatsPerRow;
+    this.rowMask = seatsPerRow == Long.SIZE ? -1L : (1L << seatsPerRow) - 1;
+    this.blocked = new long[rows];
+    this.taken = new AtomicLongArray(rows);
+
+    for (Seat seat : blockedSeats) {
+      if (isInLayout(seat.getSeatRow(), seat.getSeatNumber())) {
+        blocked[seat.getSeatRow() - 1] |= bit(seat.getSeatNumber());
+      }
+    }
+  }
+
+  public static SeatMap forHall(Hall hall) {
+    if (hall.getRows() > 0 && hall.getSeatsPerRow() > 0) {
+      List<Seat> blockedSeats = hall.getBlockedSeats() == null ? Collections.emptyList() : hall.getBlockedSeats();
+
+      return new SeatMap(hall.getRows(), hall.getSeatsPerRow(), blockedSeats);
+    }
+
+    int capacity = Math.max(hall.getCapacity(), 1);
+    int rows = (capacity + DEFAULT_SEATS_PER_ROW - 1) / DEFAULT_SEATS_PER_ROW;
+    List<Seat> blockedSeats = new ArrayList<>();
+
+    for (int seatNumber = capacity - (rows - 1) * DEFAULT_SEATS_PER_ROW + 1;
+         seatNumber <= DEFAULT_SEATS_PER_ROW; seatNumber++) {
+      blockedSeats.add(new Seat(rows, seatNumber));
+    }
+
+    return new SeatMap(rows, DEFAULT_SEATS_PER_ROW, blockedSeats);
+  }
+
+  public SeatMap emptyCopy() {
+    SeatMap copy = new SeatMap(rows, seatsPerRow, Collections.emptyList());
+    System.arraycopy(blocked, 0, copy.blocked, 0, rows);
+
+    return copy;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getSeatsPerRow() {
+    return seatsPerRow;
+  }
+
+  public boolean isInLayout(int seatRow, int seatNumber) {
+    return seatRow >= 1 && seatRow <= rows && seatNumber >= 1 && seatNumber <= seatsPerRow;
+  }
+
+  public boolean isFree(int seatRow, int seatNumber) {
+    if (!isInLayout(seatRow, seatNumber)) {
+      return false;
+    }
+
+    return (freeSeats(seatRow - 1) & bit(seatNumber)) != 0;
+  }
+
+  public boolean occupy(int seatRow, int seatNumber) {
+    if (!isInLayout(seatRow, seatNumber)) {
+      return false;
+    }
+
+    return occupyMask(seatRow - 1, bit(seatNumber));
+  }
+
+  public void release(int seatRow, int seatNumber) {
+    if (!isInLayout(seatRow, seatNumber)) {
+      return;
+    }
+
+    int row = seatRow - 1;
+    long mask = ~bit(seatNumber);
+    long current;
+
+    do {
+      current = taken.get(row);
+    } while (!taken.compareAndSet(row, current, current & mask));
+  }
+
+  public List<Seat> findBestAdjacent(int count) {
+    if (count <= 0 || count > seatsPerRow) {
+      return Collections.emptyList();
+    }
+
+    for (int row : rowsByPreference()) {
+      int start = bestStart(freeSeats(row), count);
+
+      if (start >= 0) {
+        return seatsOf(row, start, count);
+      }
+    }
+
+    return Collections.emptyList();
+  }
+
+  public List<Seat> occupyBestAdjacent(int count) {
+    if (count <= 0 || count > seatsPerRow) {
+      return Collections.emptyList();
+    }
+
+    for (int row : rowsByPreference()) {
+      while (true) {
+        int start = bestStart(freeSeats(row), count);
+
+        if (start < 0) {
+          break;
+        }
+
+        if (occupyMask(row, runMask(start, count))) {
+          return seatsOf(row, start, count);
+        }
+      }
+    }
+
+    return Collections.emptyList();
+  }
+
+  public int getAvailableSeats() {
+    int available = 0;
+
+    for (int row = 0; row < rows; row++) {
+      available += Long.bitCount(freeSeats(row));
+    }
+
+    return available;
+  }
+
+  public List<String> render() {
+    List<String> rendered = new ArrayList<>(rows);
+
+    for (int row = 0; row < rows; row++) {
+      long takenRow = taken.get(row);
+      char[] seats = new char[seatsPerRow];
+
+      for (int seat = 0; seat < seatsPerRow; seat++) {
+        long mask = 1L << seat;
+
+        if ((blocked[row] & mask) != 0) {
+          seats[seat] = BLOCKED_SEAT;
+        } else if ((takenRow & mask) != 0) {
+          seats[seat] = TAKEN_SEAT;
+        } else {
+          seats[seat] = FREE_SEAT;
+        }
+      }
+
+      rendered.add(new String(seats));
+    }
+
+    return rendered;
+  }
+
+  private long freeSeats(int row) {
+    return ~(taken.get(row) | blocked[row]) & rowMask;
+  }
+
+  private boolean occupyMask(int row, long mask) {
+    if ((blocked[row] & mask) != 0) {
+      return false;
+    }
+
+    while (true) {
+      long current = taken.get(row);
+
+      if ((current & mask) != 0) {
+        return false;
+      }
+
+      if (taken.compareAndSet(row, current, current | mask)) {
+        return true;
+      }
+    }
+  }
+
+  // Every set bit of the result marks the first seat of a run of at least count free seats.
+  private int bestStart(long free, int count) {
+    long starts = free;
+
+    for (int shift = 1; shift < count && starts != 0; shift++) {
+      starts &= free >>> shift;
+    }
+
+    int best = -1;
+    int bestDistance = Integer.MAX_VALUE;
+
+    while (starts != 0) {
+      int start = Long.numberOfTrailingZeros(starts);
+      int distance = Math.abs(2 * start + count - seatsPerRow);
+
+      if (distance < bestDistance) {
+        best = start;
+        bestDistance = distance;
+      }
+
+      starts &= starts - 1;
+    }
+
+    return best;
+  }
+
+  private int[] rowsByPreference() {
+    int[] order = new int[rows];
+    int center = (rows - 1) / 2;
+
+    for (int i = 0, offset = 0; i < rows; offset++) {
+      if (center + offset < rows) {
+        order[i++] = center + offset;
+      }
+
+      if (offset > 0 && center - offset >= 0 && i < rows) {
+        order[i++] = center - offset;
+      }
+    }
+
+    return order;
+  }
+
+  private long runMask(int start, int count) {
+    long run = count == Long.SIZE ? -1L : (1L << count) - 1;
+
+    return run << start;
+  }
+
+  private List<Seat> seatsOf(int row, int start, int count) {
+    List<Seat> seats = new ArrayList<>(count);
+
+    for (int seat = start; seat < start + count; seat++) {
+      seats.add(new Seat(row + 1, seat + 1));
+    }
+
+    return seats;
+  }
+
+  private static long bit(int seatNumber) {
+    return 1L << (seatNumber - 1);
+  }
+}
@@ -16,15 +16,19 @@ public class HallMapper {
   private static final Logger log = LoggerFactory.getLogger(HallMapper.class);
 
   private final CinemaMapper cinemaMapper;
+  private final SeatMapper seatMapper;
 
   @Autowired
-  public HallMapper(CinemaMapper cinemaMapper) {
+  public HallMapper(CinemaMapper cinemaMapper, SeatMapper seatMapper) {
     this.cinemaMapper = cinemaMapper;
+    this.seatMapper = seatMapper;
   }
 
   public HallDto mapHallToHallDto(Hall hall) {
     log.info(String.format("The hall with an id %d is being mapped to a hall DTO", hall.getId()));
-    return new HallDto(hall.getId(), hall.getCapacity(), cinemaMapper.mapCinemaToCinemaDto(hall.getCinema()));
+    return new HallDto(hall.getId(), hall.getCapacity(), cinemaMapper.mapCinemaToCinemaDto(hall.getCinema()),
+                       hall.getRows(), hall.getSeatsPerRow(),
+                       seatMapper.mapSeatListToSeatDtoList(hall.getBlockedSeats()));
   }
 
   public List<HallDto> mapHallListToHallDtoList(List<Hall> halls) {
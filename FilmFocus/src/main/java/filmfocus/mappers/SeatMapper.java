@@ -0,0 +1,32 @@
+package filmfocus.mappers;
+
+import filmfocus.models.dtos.SeatDto;
+import filmfocus.models.entities.Seat;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Component
+public class SeatMapper {
+
+  public SeatDto mapSeatToSeatDto(Seat seat) {
+    if (Objects.isNull(seat)) {
+      return null;
+    }
+
+    return new SeatDto(seat.getSeatRow(), seat.getSeatNumber());
+  }
+
+  public List<SeatDto> mapSeatListToSeatDtoList(List<Seat> seats) {
+    if (Objects.isNull(seats)) {
+      return Collections.emptyList();
+    }
+
+    return seats.stream()
+                .map(this::mapSeatToSeatDto)
+                .collect(Collectors.toList());
+  }
+}
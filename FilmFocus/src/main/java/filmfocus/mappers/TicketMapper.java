@@ -16,16 +16,19 @@ public class TicketMapper {
   private static final Logger log = LoggerFactory.getLogger(TicketMapper.class);
 
   private final ProjectionMapper projectionMapper;
+  private final SeatMapper seatMapper;
 
   @Autowired
-  public TicketMapper(ProjectionMapper projectionMapper) {
+  public TicketMapper(ProjectionMapper projectionMapper, SeatMapper seatMapper) {
     this.projectionMapper = projectionMapper;
+    this.seatMapper = seatMapper;
   }
 
   public TicketDto mapTicketToTicketDto(Ticket ticket) {
     log.info(String.format("The ticket with an id %d is being mapped to a ticket DTO", ticket.getId()));
     return new TicketDto(ticket.getId(), ticket.getDateOfPurchase(),
-                         projectionMapper.mapProjectionToProjectionDto(ticket.getProjection()));
+                         projectionMapper.mapProjectionToProjectionDto(ticket.getProjection()),
+                         seatMapper.mapSeatToSeatDto(ticket.getSeat()));
   }
 
   public List<TicketDto> mapTicketToDtoList(List<Ticket> tickets) {
@@ -0,0 +1,15 @@
+package filmfocus.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CategoryFacetDto {
+
+  private int id;
+  private String name;
+  private long count;
+}
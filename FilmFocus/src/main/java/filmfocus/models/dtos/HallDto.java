@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -12,4 +14,7 @@ public class HallDto {
   private int id;
   private int capacity;
   private CinemaDto cinema;
+  private int rows;
+  private int seatsPerRow;
+  private List<SeatDto> blockedSeats;
 }
@@ -0,0 +1,19 @@
+package filmfocus.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class IncomeBreakdownDto {
+
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private List<String> dimensions;
+  private List<IncomeBreakdownRowDto> rows;
+}
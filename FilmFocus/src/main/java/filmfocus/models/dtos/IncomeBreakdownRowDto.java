@@ -0,0 +1,26 @@
+package filmfocus.models.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IncomeBreakdownRowDto {
+
+  private LocalDate day;
+  private Integer cinemaId;
+  private Integer hallId;
+  private Integer movieId;
+  private Integer itemId;
+  private Integer categoryId;
+  private double grossIncome;
+  private double netIncome;
+  private long ticketCount;
+  private long itemCount;
+}
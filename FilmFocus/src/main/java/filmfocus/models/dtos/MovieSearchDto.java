@@ -0,0 +1,21 @@
+package filmfocus.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MovieSearchDto {
+
+  private List<MovieDto> movies;
+  private int page;
+  private int size;
+  private long totalCount;
+  private List<CategoryFacetDto> categories;
+  private Map<Integer, Long> ratingBands;
+}
@@ -0,0 +1,22 @@
+package filmfocus.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReportJobDto {
+
+  private String id;
+  private String type;
+  private String status;
+  private int progress;
+  private LocalDateTime submittedAt;
+  private LocalDateTime startedAt;
+  private LocalDateTime finishedAt;
+  private String error;
+}
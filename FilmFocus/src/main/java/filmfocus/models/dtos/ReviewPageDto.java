@@ -0,0 +1,16 @@
+package filmfocus.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReviewPageDto {
+
+  private List<ReviewDto> reviews;
+  private String nextCursor;
+}
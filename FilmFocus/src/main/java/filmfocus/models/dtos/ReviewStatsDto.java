@@ -0,0 +1,21 @@
+package filmfocus.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReviewStatsDto {
+
+  private long count;
+  private double mean;
+  private Map<Integer, Long> histogram;
+  private int trendDays;
+  private long recentCount;
+  private double recentMean;
+  private double trend;
+}
@@ -0,0 +1,14 @@
+package filmfocus.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SeatDto {
+
+  private int seatRow;
+  private int seatNumber;
+}
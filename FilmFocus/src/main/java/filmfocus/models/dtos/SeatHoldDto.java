@@ -0,0 +1,19 @@
+package filmfocus.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SeatHoldDto {
+
+  private String id;
+  private int userId;
+  private LocalDateTime expiresAt;
+  private List<TicketDto> tickets;
+}
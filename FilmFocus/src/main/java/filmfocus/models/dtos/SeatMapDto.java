@@ -0,0 +1,20 @@
+package filmfocus.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SeatMapDto {
+
+  private int projectionId;
+  private int rows;
+  private int seatsPerRow;
+  private int availableSeats;
+  private List<String> seats;
+  private List<SeatDto> suggestedSeats;
+}
@@ -12,4 +12,5 @@ public class TicketDto {
   private int id;
   private LocalDate dateOfPurchase;
   private ProjectionDto projection;
+  private SeatDto seat;
 }
@@ -0,0 +1,21 @@
+package filmfocus.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class UpstreamEndpointStatsDto {
+
+  private String upstream;
+  private String endpoint;
+  private long calls;
+  private long successes;
+  private long failures;
+  private long rejections;
+  private long shortCircuits;
+  private double averageLatency;
+  private long maxLatency;
+}
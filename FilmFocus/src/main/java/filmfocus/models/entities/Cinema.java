@@ -28,7 +28,8 @@ public class Cinema {
   @Column
   private String city;
 
-  @Column(name = "average_rating")
+  // Written only by the running rating sums, never by saving the entity.
+  @Column(name = "average_rating", updatable = false)
   private double averageRating;
 
   public Cinema(String address, String city, double averageRating) {
@@ -4,7 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.persistence.CollectionTable;
 import javax.persistence.Column;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -12,6 +14,8 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "halls")
@@ -31,8 +35,32 @@ public class Hall {
   @JoinColumn(name = "cinema_id")
   private Cinema cinema;
 
+  @Column(name = "seat_rows")
+  private int rows;
+
+  @Column(name = "seats_per_row")
+  private int seatsPerRow;
+
+  @ElementCollection
+  @CollectionTable(name = "hall_blocked_seats", joinColumns = @JoinColumn(name = "hall_id"))
+  private List<Seat> blockedSeats = new ArrayList<>();
+
   public Hall(int capacity, Cinema cinema) {
     this.capacity = capacity;
     this.cinema = cinema;
   }
+
+  public Hall(int id, int capacity, Cinema cinema) {
+    this.id = id;
+    this.capacity = capacity;
+    this.cinema = cinema;
+  }
+
+  public Hall(int capacity, Cinema cinema, int rows, int seatsPerRow, List<Seat> blockedSeats) {
+    this.capacity = capacity;
+    this.cinema = cinema;
+    this.rows = rows;
+    this.seatsPerRow = seatsPerRow;
+    this.blockedSeats = blockedSeats;
+  }
 }
@@ -29,7 +29,8 @@ public class Movie {
   @Column
   private String title;
 
-  @Column(name = "average_rating")
+  // Written only by the running rating sums, never by saving the entity.
+  @Column(name = "average_rating", updatable = false)
   private double averageRating;
 
   @Column
@@ -0,0 +1,73 @@
+package filmfocus.models.entities;
+
+import filmfocus.email.EmailMessage;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "email_outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OutboxEmail {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private int id;
+
+  @Column(name = "recipient_email")
+  private String recipientEmail;
+
+  @Column(name = "recipient_name")
+  private String recipientName;
+
+  private String subject;
+
+  @Column(name = "html_part")
+  private String htmlPart;
+
+  @Enumerated(EnumType.STRING)
+  private Status status;
+
+  private int attempts;
+
+  @Column(name = "next_attempt_at")
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "created_at")
+  private LocalDateTime createdAt;
+
+  @Column(name = "last_error")
+  private String lastError;
+
+  public OutboxEmail(EmailMessage message, LocalDateTime createdAt) {
+    this.recipientEmail = message.getRecipientEmail();
+    this.recipientName = message.getRecipientName();
+    this.subject = message.getSubject();
+    this.htmlPart = message.getHtmlPart();
+    this.status = Status.PENDING;
+    this.nextAttemptAt = createdAt;
+    this.createdAt = createdAt;
+  }
+
+  public EmailMessage toEmailMessage() {
+    return new EmailMessage(recipientEmail, recipientName, subject, htmlPart);
+  }
+
+  public enum Status {
+    PENDING,
+    SENT,
+    DEAD
+  }
+}
@@ -0,0 +1,68 @@
+package filmfocus.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * One day of sales for a (cinema, hall, movie, item, user) combination. A dimension that does not apply to a sale,
+ * such as the movie of a snack or the item of a ticket, is stored as 0.
+ */
+@Entity
+@Table(name = "revenue_rollup")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RevenueRollup {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private int id;
+
+  @Column(name = "sale_date")
+  private LocalDate saleDate;
+
+  @Column(name = "cinema_id")
+  private int cinemaId;
+
+  @Column(name = "hall_id")
+  private int hallId;
+
+  @Column(name = "movie_id")
+  private int movieId;
+
+  @Column(name = "item_id")
+  private int itemId;
+
+  @Column(name = "user_id")
+  private int userId;
+
+  @Column(name = "gross_income")
+  private double grossIncome;
+
+  @Column(name = "net_income")
+  private double netIncome;
+
+  @Column(name = "ticket_count")
+  private int ticketCount;
+
+  @Column(name = "item_count")
+  private int itemCount;
+
+  public RevenueRollup(LocalDate saleDate, int cinemaId, int hallId, int movieId, int itemId, int userId) {
+    this.saleDate = saleDate;
+    this.cinemaId = cinemaId;
+    this.hallId = hallId;
+    this.movieId = movieId;
+    this.itemId = itemId;
+    this.userId = userId;
+  }
+}
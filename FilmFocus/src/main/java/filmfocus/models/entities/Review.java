@@ -30,7 +30,7 @@ public class Review {
   @Column(name = "review_text")
   private String reviewText;
 
-  @Column(name = "date_modified")
+  @Column(name = "date_modified", nullable = false)
   private LocalDate dateModified;
 
   @ManyToOne
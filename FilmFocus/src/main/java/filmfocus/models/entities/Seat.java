@@ -0,0 +1,21 @@
+package filmfocus.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+@Embeddable
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class Seat {
+
+  @Column(name = "seat_row")
+  private int seatRow;
+
+  @Column(name = "seat_number")
+  private int seatNumber;
+}
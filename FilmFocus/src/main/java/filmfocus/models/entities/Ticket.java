@@ -5,12 +5,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import javax.persistence.Column;
+import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.time.LocalDate;
 
@@ -22,7 +24,8 @@ import java.time.LocalDate;
 public class Ticket {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_id_seq")
+  @SequenceGenerator(name = "tickets_id_seq", sequenceName = "tickets_id_seq", allocationSize = 50)
   private int id;
 
   @Column(name = "date_of_purchase")
@@ -32,8 +35,12 @@ public class Ticket {
   @JoinColumn(name = "projection_id")
   private Projection projection;
 
-  public Ticket(LocalDate dateOfPurchase, Projection projection) {
+  @Embedded
+  private Seat seat;
+
+  public Ticket(LocalDate dateOfPurchase, Projection projection, Seat seat) {
     this.dateOfPurchase = dateOfPurchase;
     this.projection = projection;
+    this.seat = seat;
   }
 }
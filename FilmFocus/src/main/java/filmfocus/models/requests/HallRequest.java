@@ -4,10 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
+import java.util.List;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -22,4 +24,18 @@ public class HallRequest {
   @Positive(message = "The cinema id must be positive")
   @NotNull(message = "The cinema id can't be empty")
   private int cinemaId;
+
+  @Positive(message = "The number of rows must be positive")
+  private Integer rows;
+
+  @Positive(message = "The seats per row must be positive")
+  @Max(value = 64, message = "The seats per row must be at most 64")
+  private Integer seatsPerRow;
+
+  private List<@Valid SeatRequest> blockedSeats;
+
+  public HallRequest(int capacity, int cinemaId) {
+    this.capacity = capacity;
+    this.cinemaId = cinemaId;
+  }
 }
@@ -0,0 +1,37 @@
+package filmfocus.models.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MovieSearchRequest {
+
+  private String title;
+
+  private List<Integer> categoryId;
+
+  @DateTimeFormat(pattern = "yyyy-MM-dd")
+  private LocalDate releasedAfter;
+
+  @DateTimeFormat(pattern = "yyyy-MM-dd")
+  private LocalDate releasedBefore;
+
+  private Double minRating;
+
+  private Double maxRating;
+
+  private String sort;
+
+  private String order;
+
+  private Integer page;
+
+  private Integer size;
+}
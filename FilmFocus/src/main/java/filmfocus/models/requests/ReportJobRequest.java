@@ -0,0 +1,34 @@
+package filmfocus.models.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReportJobRequest {
+
+  @NotBlank(message = "The report type can't be empty")
+  private String type;
+
+  private Integer id;
+
+  private String name;
+
+  private List<String> dimensions;
+
+  @DateTimeFormat(pattern = "yyyy-MM-dd")
+  @NotNull(message = "The start date can't be empty")
+  private LocalDate startDate;
+
+  @DateTimeFormat(pattern = "yyyy-MM-dd")
+  @NotNull(message = "The end date can't be empty")
+  private LocalDate endDate;
+}
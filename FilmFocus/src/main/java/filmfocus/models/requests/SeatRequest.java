@@ -0,0 +1,22 @@
+package filmfocus.models.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SeatRequest {
+
+  @Positive(message = "The seat row must be positive")
+  @NotNull(message = "The seat row can't be empty")
+  private int seatRow;
+
+  @Positive(message = "The seat number must be positive")
+  @NotNull(message = "The seat number can't be empty")
+  private int seatNumber;
+}
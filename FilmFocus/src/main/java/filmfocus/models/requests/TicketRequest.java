@@ -15,4 +15,14 @@ public class TicketRequest {
   @Positive(message = "The projection id must be positive")
   @NotNull(message = "The projection id can't be empty")
   private int projectionId;
-}
\ No newline at end of file
+
+  @Positive(message = "The seat row must be positive")
+  private Integer seatRow;
+
+  @Positive(message = "The seat number must be positive")
+  private Integer seatNumber;
+
+  public TicketRequest(int projectionId) {
+    this.projectionId = projectionId;
+  }
+}
@@ -0,0 +1,10 @@
+package filmfocus.models.views;
+
+import java.time.LocalDate;
+
+public interface DailyIncomeView {
+
+  LocalDate getSaleDate();
+
+  double getIncome();
+}
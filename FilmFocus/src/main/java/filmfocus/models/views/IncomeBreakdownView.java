@@ -0,0 +1,26 @@
+package filmfocus.models.views;
+
+import java.time.LocalDate;
+
+public interface IncomeBreakdownView {
+
+  LocalDate getSaleDate();
+
+  int getCinemaId();
+
+  int getHallId();
+
+  int getMovieId();
+
+  int getItemId();
+
+  Integer getCategoryId();
+
+  double getGrossIncome();
+
+  double getNetIncome();
+
+  long getTicketCount();
+
+  long getItemCount();
+}
@@ -0,0 +1,16 @@
+package filmfocus.models.views;
+
+import java.time.LocalDate;
+
+public interface ItemExportView {
+
+  int getOrderId();
+
+  LocalDate getDateOfPurchase();
+
+  int getItemId();
+
+  String getItemName();
+
+  Double getPrice();
+}
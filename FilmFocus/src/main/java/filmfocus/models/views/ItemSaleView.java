@@ -0,0 +1,16 @@
+package filmfocus.models.views;
+
+import java.time.LocalDate;
+
+public interface ItemSaleView {
+
+  int getOrderId();
+
+  LocalDate getSaleDate();
+
+  double getTotalPrice();
+
+  int getItemId();
+
+  double getPrice();
+}
@@ -0,0 +1,16 @@
+package filmfocus.models.views;
+
+import java.time.LocalDate;
+
+public interface OrderExportView {
+
+  int getOrderId();
+
+  LocalDate getDateOfPurchase();
+
+  Integer getUserId();
+
+  String getUsername();
+
+  double getTotalPrice();
+}
@@ -0,0 +1,10 @@
+package filmfocus.models.views;
+
+public interface ProjectionSeatsView {
+
+  int getProjectionId();
+
+  int getCapacity();
+
+  long getSoldTickets();
+}
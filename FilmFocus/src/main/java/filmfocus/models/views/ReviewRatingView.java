@@ -0,0 +1,14 @@
+package filmfocus.models.views;
+
+import java.time.LocalDate;
+
+public interface ReviewRatingView {
+
+  Integer getMovieId();
+
+  Integer getCinemaId();
+
+  double getRating();
+
+  LocalDate getDateModified();
+}
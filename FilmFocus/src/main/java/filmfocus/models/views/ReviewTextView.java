@@ -0,0 +1,12 @@
+package filmfocus.models.views;
+
+public interface ReviewTextView {
+
+  int getId();
+
+  Integer getMovieId();
+
+  Integer getCinemaId();
+
+  String getReviewText();
+}
@@ -0,0 +1,33 @@
+package filmfocus.models.views;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public interface TicketExportView {
+
+  int getOrderId();
+
+  int getTicketId();
+
+  LocalDate getDateOfPurchase();
+
+  int getProjectionId();
+
+  LocalDate getProgramDate();
+
+  LocalTime getStartTime();
+
+  int getMovieId();
+
+  String getMovieTitle();
+
+  int getCinemaId();
+
+  int getHallId();
+
+  Integer getSeatRow();
+
+  Integer getSeatNumber();
+
+  double getPrice();
+}
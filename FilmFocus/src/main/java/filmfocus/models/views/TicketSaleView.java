@@ -0,0 +1,24 @@
+package filmfocus.models.views;
+
+import java.time.LocalDate;
+
+public interface TicketSaleView {
+
+  int getOrderId();
+
+  LocalDate getSaleDate();
+
+  double getTotalPrice();
+
+  int getProjectionId();
+
+  int getMovieId();
+
+  Integer getCategoryId();
+
+  int getHallId();
+
+  int getCinemaId();
+
+  double getPrice();
+}
@@ -0,0 +1,25 @@
+package filmfocus.pagination;
+
+import java.util.List;
+
+/**
+ * One page of a listing ordered by id and the id to continue after, or null when it is the last page.
+ */
+public final class KeysetPage<T> {
+
+  private final List<T> items;
+  private final Integer nextAfterId;
+
+  public KeysetPage(List<T> items, Integer nextAfterId) {
+    this.items = items;
+    this.nextAfterId = nextAfterId;
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  public Integer getNextAfterId() {
+    return nextAfterId;
+  }
+}
@@ -0,0 +1,107 @@
+package filmfocus.pagination;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import static filmfocus.utils.constants.ExceptionMessages.PAGE_SIZE_NOT_VALID_MESSAGE;
+
+/**
+ * Pages through a listing by id: a page is the next rows with an id above the last one the client has seen, so every
+ * page is an index range scan however deep the client has gone.
+ *
+ * <p>A whole listing is walked with the same query in chunks of the maximum page size. The persistence context is
+ * cleared after every chunk, so the rows already handed on can be collected and memory stays flat; callers must not
+ * have pending changes in it.
+ */
+@Component
+public class KeysetPaging {
+
+  private static final Logger log = LoggerFactory.getLogger(KeysetPaging.class);
+
+  private static final String ID = "id";
+
+  private final EntityManager entityManager;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+
+  @Autowired
+  public KeysetPaging(
+    EntityManager entityManager,
+    @Value("${pages.default-size}") int defaultPageSize,
+    @Value("${pages.max-size}") int maxPageSize) {
+    this.entityManager = entityManager;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+  }
+
+  public <E, D> KeysetPage<D> getPage(
+    Integer afterId, Integer size, KeysetQuery<E> query, ToIntFunction<E> getId, Function<E, D> toDto) {
+    int pageSize = getPageSize(size);
+    List<E> rows = query.findAfter(Objects.isNull(afterId) ? 0 : afterId, firstRows(pageSize + 1));
+    Integer nextAfterId = null;
+
+    if (rows.size() > pageSize) {
+      rows = rows.subList(0, pageSize);
+      nextAfterId = getId.applyAsInt(rows.get(pageSize - 1));
+    }
+
+    return new KeysetPage<>(rows.stream().map(toDto).collect(Collectors.toList()), nextAfterId);
+  }
+
+  public <E> void forEach(KeysetQuery<E> query, ToIntFunction<E> getId, Consumer<E> action) {
+    int afterId = 0;
+    List<E> rows;
+
+    do {
+      rows = query.findAfter(afterId, firstRows(maxPageSize));
+
+      for (E row : rows) {
+        action.accept(row);
+        afterId = getId.applyAsInt(row);
+      }
+
+      entityManager.clear();
+    } while (rows.size() == maxPageSize);
+  }
+
+  private int getPageSize(Integer size) {
+    if (Objects.isNull(size)) {
+      return defaultPageSize;
+    }
+
+    if (size < 1 || size > maxPageSize) {
+      String message = String.format(PAGE_SIZE_NOT_VALID_MESSAGE, maxPageSize);
+
+      log.error(String.format("Exception caught: %s", message));
+
+      throw new IllegalArgumentException(message);
+    }
+
+    return size;
+  }
+
+  private static Pageable firstRows(int count) {
+    return PageRequest.of(0, count, Sort.by(ID));
+  }
+
+  // The rows after the given id in the order and number of the page, e.g. a derived findByIdGreaterThan query.
+  @FunctionalInterface
+  public interface KeysetQuery<E> {
+
+    List<E> findAfter(int afterId, Pageable page);
+  }
+}
@@ -0,0 +1,75 @@
+package filmfocus.pagination;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * The two shapes of a list response. A page is returned as a JSON array with a {@code Link} header to the next page
+ * when there is one. A whole listing is streamed as a JSON array, one element at a time, so it is never held in
+ * memory.
+ */
+@Component
+public class ListResponses {
+
+  public static final String AFTER_ID = "afterId";
+
+  private final ObjectWriter writer;
+
+  @Autowired
+  public ListResponses(ObjectMapper objectMapper) {
+    this.writer = objectMapper.writer()
+                              .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                              .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
+
+  public <T> ResponseEntity<List<T>> page(KeysetPage<T> page) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+    if (Objects.nonNull(page.getNextAfterId())) {
+      String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                                               .replaceQueryParam(AFTER_ID, page.getNextAfterId())
+                                               .toUriString();
+
+      response.header(HttpHeaders.LINK, String.format("<%s>; rel=\"next\"", next));
+    }
+
+    return response.body(page.getItems());
+  }
+
+  // The source hands every element to the consumer it is given, e.g. a service forEach method.
+  public <T> ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<T>> source) {
+    StreamingResponseBody body = outputStream -> {
+      try (SequenceWriter sequence = writer.writeValuesAsArray(outputStream)) {
+        source.accept(element -> write(sequence, element));
+      } catch (UncheckedIOException exception) {
+        throw exception.getCause();
+      }
+    };
+
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  private static void write(SequenceWriter sequence, Object element) {
+    try {
+      sequence.write(element);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+}
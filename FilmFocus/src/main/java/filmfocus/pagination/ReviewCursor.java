@@ -0,0 +1,64 @@
+package filmfocus.pagination;
+
+import filmfocus.models.entities.Review;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of a review listing: the sort key (modification date, id) of the last review of a page and the direction
+ * of the listing. The next page starts right after that key, so it costs an index range scan however deep it is.
+ *
+ * <p>The cursor is handed to clients as an opaque URL-safe token and carries its own direction, so a listing keeps
+ * its order over all of its pages.
+ */
+public final class ReviewCursor {
+
+  private static final String SEPARATOR = ":";
+
+  private final LocalDate dateModified;
+  private final int id;
+  private final Sort.Direction direction;
+
+  public ReviewCursor(LocalDate dateModified, int id, Sort.Direction direction) {
+    this.dateModified = dateModified;
+    this.id = id;
+    this.direction = direction;
+  }
+
+  public static ReviewCursor after(Review review, Sort.Direction direction) {
+    return new ReviewCursor(review.getDateModified(), review.getId(), direction);
+  }
+
+  // Throws an IllegalArgumentException for anything that is not a token of encode().
+  public static ReviewCursor decode(String token) {
+    String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR);
+
+    if (parts.length != 3) {
+      throw new IllegalArgumentException(token);
+    }
+
+    return new ReviewCursor(LocalDate.ofEpochDay(Long.parseLong(parts[0])), Integer.parseInt(parts[1]),
+                            Sort.Direction.fromString(parts[2]));
+  }
+
+  public String encode() {
+    String key = dateModified.toEpochDay() + SEPARATOR + id + SEPARATOR + direction.name();
+
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public LocalDate getDateModified() {
+    return dateModified;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public Sort.Direction getDirection() {
+    return direction;
+  }
+}
@@ -2,6 +2,9 @@ package filmfocus.repositories;
 
 import filmfocus.models.entities.Cinema;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +20,32 @@ public interface CinemaRepository extends JpaRepository<Cinema, Integer> {
   List<Cinema> findAllByCityAndAddress(String city, String address);
 
   Optional<Cinema> findByCityAndAddress(String city, String address);
-}
\ No newline at end of file
+
+  @Modifying
+  @Query(value = "UPDATE filmfocus.cinemas SET rating_sum = rating_sum + :ratingDelta, " +
+                 "rating_count = rating_count + :countDelta, " +
+                 "average_rating = CASE WHEN rating_count + :countDelta > 0 " +
+                 "THEN (rating_sum + :ratingDelta) / (rating_count + :countDelta) ELSE 0 END " +
+                 "WHERE id = :cinemaId",
+         nativeQuery = true)
+  int addRating(
+    @Param("cinemaId") int cinemaId, @Param("ratingDelta") double ratingDelta, @Param("countDelta") int countDelta);
+
+  // Not FOR UPDATE: that would also wait for reviews being inserted, which hold a key share lock on the row until
+  // they commit, and a review commit waits for a running rebuild.
+  @Query(value = "SELECT id FROM filmfocus.cinemas WHERE id = :cinemaId FOR NO KEY UPDATE", nativeQuery = true)
+  Optional<Integer> lockRatingById(@Param("cinemaId") int cinemaId);
+
+  @Modifying
+  @Query(value = "UPDATE filmfocus.cinemas c SET rating_sum = totals.rating_sum, rating_count = totals.rating_count, " +
+                 "average_rating = CASE WHEN totals.rating_count > 0 " +
+                 "THEN totals.rating_sum / totals.rating_count ELSE 0 END " +
+                 "FROM (SELECT COALESCE(SUM(r.rating), 0) AS rating_sum, COUNT(*) AS rating_count " +
+                 "FROM filmfocus.reviews r WHERE r.cinema_id = :cinemaId) totals " +
+                 "WHERE c.id = :cinemaId",
+         nativeQuery = true)
+  int rebuildRating(@Param("cinemaId") int cinemaId);
+
+  @Query("SELECT c.id FROM Cinema c ORDER BY c.id")
+  List<Integer> findAllIds();
+}
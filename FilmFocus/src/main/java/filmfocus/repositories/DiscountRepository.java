@@ -1,9 +1,11 @@
 package filmfocus.repositories;
 
 import filmfocus.models.entities.Discount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +18,6 @@ public interface DiscountRepository extends JpaRepository<Discount, Integer> {
   Optional<Discount> findByType(String type);
 
   Optional<Discount> findByCode(String code);
-}
\ No newline at end of file
+
+  List<Discount> findByIdGreaterThan(int id, Pageable page);
+}
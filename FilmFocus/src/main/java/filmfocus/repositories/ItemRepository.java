@@ -1,13 +1,21 @@
 package filmfocus.repositories;
 
 import filmfocus.models.entities.Item;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Integer> {
 
   Optional<Item> findByName(String itemName);
+
+  List<Item> findByIdGreaterThan(int id, Pageable page);
+
+  List<Item> findByQuantityLessThanAndIdGreaterThan(int quantity, int id, Pageable page);
+
+  List<Item> findByQuantityGreaterThanAndIdGreaterThan(int quantity, int id, Pageable page);
 }
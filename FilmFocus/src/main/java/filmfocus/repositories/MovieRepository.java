@@ -2,19 +2,39 @@ package filmfocus.repositories;
 
 import filmfocus.models.entities.Movie;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Integer> {
+public interface MovieRepository
+  extends JpaRepository<Movie, Integer>, JpaSpecificationExecutor<Movie>, MovieRepositoryCustom {
 
   Optional<Movie> findByTitle(String title);
 
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT m FROM Movie m LEFT JOIN FETCH m.category")
+  Stream<Movie> streamAllWithCategory();
+
+  @Query("SELECT m.averageRating FROM Movie m WHERE m.id = :movieId")
+  Optional<Double> findAverageRatingById(@Param("movieId") int movieId);
+
   List<Movie> findByTitleContaining(String title);
 
+  @Query("SELECT m.id FROM Movie m WHERE m.title LIKE CONCAT('%', :title, '%')")
+  List<Integer> findIdsByTitleContaining(@Param("title") String title);
+
   List<Movie> findByTitleContainingAndAverageRatingGreaterThanEqual(String title, double minRating);
 
   List<Movie> findByAverageRatingGreaterThanEqual(double averageRating);
@@ -30,4 +50,32 @@ public interface MovieRepository extends JpaRepository<Movie, Integer> {
   List<Movie> findByReleaseDateAfterAndAverageRatingGreaterThanEqual(LocalDate date, double rating);
 
   List<Movie> findByReleaseDateBeforeAndAverageRatingGreaterThanEqual(LocalDate date, double rating);
+
+  @Modifying
+  @Query(value = "UPDATE filmfocus.movies SET rating_sum = rating_sum + :ratingDelta, " +
+                 "rating_count = rating_count + :countDelta, " +
+                 "average_rating = CASE WHEN rating_count + :countDelta > 0 " +
+                 "THEN (rating_sum + :ratingDelta) / (rating_count + :countDelta) ELSE 0 END " +
+                 "WHERE id = :movieId",
+         nativeQuery = true)
+  int addRating(
+    @Param("movieId") int movieId, @Param("ratingDelta") double ratingDelta, @Param("countDelta") int countDelta);
+
+  // Not FOR UPDATE: that would also wait for reviews being inserted, which hold a key share lock on the row until
+  // they commit, and a review commit waits for a running rebuild.
+  @Query(value = "SELECT id FROM filmfocus.movies WHERE id = :movieId FOR NO KEY UPDATE", nativeQuery = true)
+  Optional<Integer> lockRatingById(@Param("movieId") int movieId);
+
+  @Modifying
+  @Query(value = "UPDATE filmfocus.movies m SET rating_sum = totals.rating_sum, rating_count = totals.rating_count, " +
+                 "average_rating = CASE WHEN totals.rating_count > 0 " +
+                 "THEN totals.rating_sum / totals.rating_count ELSE 0 END " +
+                 "FROM (SELECT COALESCE(SUM(r.rating), 0) AS rating_sum, COUNT(*) AS rating_count " +
+                 "FROM filmfocus.reviews r WHERE r.movie_id = :movieId) totals " +
+                 "WHERE m.id = :movieId",
+         nativeQuery = true)
+  int rebuildRating(@Param("movieId") int movieId);
+
+  @Query("SELECT m.id FROM Movie m ORDER BY m.id")
+  List<Integer> findAllIds();
 }
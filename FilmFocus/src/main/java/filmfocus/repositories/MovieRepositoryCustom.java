@@ -0,0 +1,21 @@
+package filmfocus.repositories;
+
+import filmfocus.models.dtos.CategoryFacetDto;
+import filmfocus.models.entities.Movie;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public interface MovieRepositoryCustom {
+
+  // Up to limit movies matching the filter with their categories, in the given order and skipping the first offset.
+  List<Movie> findPage(Specification<Movie> filter, Sort sort, int offset, int limit);
+
+  // The number of movies matching the filter per category, most movies first; movies without a category are left out.
+  List<CategoryFacetDto> countByCategory(Specification<Movie> filter);
+
+  // The number of movies matching the filter per whole rating, a rating of 5 counted with the 4s.
+  Map<Integer, Long> countByRatingBand(Specification<Movie> filter);
+}
@@ -0,0 +1,106 @@
+package filmfocus.repositories;
+
+import filmfocus.models.dtos.CategoryFacetDto;
+import filmfocus.models.entities.Category;
+import filmfocus.models.entities.Movie;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+  private static final int MAX_RATING_BAND = 4;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<Movie> findPage(Specification<Movie> filter, Sort sort, int offset, int limit) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Movie> query = builder.createQuery(Movie.class);
+    Root<Movie> movie = query.from(Movie.class);
+    List<Order> orders = new ArrayList<>();
+
+    movie.fetch("category", JoinType.LEFT);
+
+    for (Sort.Order order : sort) {
+      orders.add(order.isAscending() ? builder.asc(movie.get(order.getProperty()))
+                                     : builder.desc(movie.get(order.getProperty())));
+    }
+
+    query.select(movie).orderBy(orders);
+    restrict(query, movie, builder, filter);
+
+    return entityManager.createQuery(query).setFirstResult(offset).setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public List<CategoryFacetDto> countByCategory(Specification<Movie> filter) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = builder.createTupleQuery();
+    Root<Movie> movie = query.from(Movie.class);
+    Join<Movie, Category> category = movie.join("category");
+    Expression<Long> count = builder.count(movie);
+    List<CategoryFacetDto> facets = new ArrayList<>();
+
+    restrict(query, movie, builder, filter);
+    query.multiselect(category.get("id"), category.get("name"), count)
+         .groupBy(category.get("id"), category.get("name"))
+         .orderBy(builder.desc(count), builder.asc(category.get("id")));
+
+    for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+      facets.add(new CategoryFacetDto((Integer) tuple.get(0), (String) tuple.get(1), (Long) tuple.get(2)));
+    }
+
+    return facets;
+  }
+
+  @Override
+  public Map<Integer, Long> countByRatingBand(Specification<Movie> filter) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = builder.createTupleQuery();
+    Root<Movie> movie = query.from(Movie.class);
+    Expression<Double> band = builder.function("floor", Double.class, movie.get("averageRating"));
+    Map<Integer, Long> bands = new LinkedHashMap<>();
+
+    for (int i = 0; i <= MAX_RATING_BAND; i++) {
+      bands.put(i, 0L);
+    }
+
+    restrict(query, movie, builder, filter);
+    query.multiselect(band, builder.count(movie)).groupBy(band);
+
+    for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+      int rating = Math.max(0, Math.min(MAX_RATING_BAND, ((Number) tuple.get(0)).intValue()));
+      bands.merge(rating, (Long) tuple.get(1), Long::sum);
+    }
+
+    return bands;
+  }
+
+  // An empty filter has no predicate and leaves the query unrestricted.
+  private static void restrict(
+    CriteriaQuery<?> query, Root<Movie> movie, CriteriaBuilder builder, Specification<Movie> filter) {
+    Predicate predicate = filter.toPredicate(movie, query, builder);
+
+    if (Objects.nonNull(predicate)) {
+      query.where(predicate);
+    }
+  }
+}
@@ -1,11 +1,23 @@
 package filmfocus.repositories;
 
 import filmfocus.models.entities.Order;
+import filmfocus.models.views.ItemExportView;
+import filmfocus.models.views.ItemSaleView;
+import filmfocus.models.views.OrderExportView;
+import filmfocus.models.views.TicketExportView;
+import filmfocus.models.views.TicketSaleView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Integer> {
@@ -13,4 +25,52 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
   List<Order> findOrderByUserId(int userId);
 
   List<Order> findOrdersByDateOfPurchaseBetween(LocalDate startDate, LocalDate endDate);
+
+  @Query("SELECT COUNT(i) FROM Order o JOIN o.items i " +
+         "WHERE i.name = :name AND o.dateOfPurchase >= :startDate AND o.dateOfPurchase < :endDate")
+  long countItemsByItemName(
+    @Param("name") String name, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT o.id AS orderId, o.dateOfPurchase AS saleDate, o.totalPrice AS totalPrice, p.id AS projectionId, " +
+         "m.id AS movieId, c.id AS categoryId, h.id AS hallId, h.cinema.id AS cinemaId, p.price AS price " +
+         "FROM Order o JOIN o.tickets t JOIN t.projection p JOIN p.movie m LEFT JOIN m.category c JOIN p.hall h " +
+         "ORDER BY o.id, t.id")
+  Stream<TicketSaleView> streamTicketSales();
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT o.id AS orderId, o.dateOfPurchase AS saleDate, o.totalPrice AS totalPrice, i.id AS itemId, " +
+         "COALESCE(i.price, 0) AS price " +
+         "FROM Order o JOIN o.items i " +
+         "ORDER BY o.id")
+  Stream<ItemSaleView> streamItemSales();
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT o.id AS orderId, o.dateOfPurchase AS dateOfPurchase, u.id AS userId, u.username AS username, " +
+         "o.totalPrice AS totalPrice " +
+         "FROM Order o LEFT JOIN o.user u " +
+         "WHERE o.dateOfPurchase >= :startDate AND o.dateOfPurchase < :endDate " +
+         "ORDER BY o.id")
+  Stream<OrderExportView> streamOrderExport(
+    @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT o.id AS orderId, t.id AS ticketId, t.dateOfPurchase AS dateOfPurchase, p.id AS projectionId, " +
+         "pr.programDate AS programDate, p.startTime AS startTime, m.id AS movieId, m.title AS movieTitle, " +
+         "h.cinema.id AS cinemaId, h.id AS hallId, t.seat.seatRow AS seatRow, t.seat.seatNumber AS seatNumber, " +
+         "p.price AS price " +
+         "FROM Order o JOIN o.tickets t JOIN t.projection p JOIN p.program pr JOIN p.movie m JOIN p.hall h " +
+         "WHERE o.dateOfPurchase >= :startDate AND o.dateOfPurchase < :endDate " +
+         "ORDER BY o.id, t.id")
+  Stream<TicketExportView> streamTicketExport(
+    @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT o.id AS orderId, o.dateOfPurchase AS dateOfPurchase, i.id AS itemId, i.name AS itemName, " +
+         "i.price AS price " +
+         "FROM Order o JOIN o.items i " +
+         "WHERE o.dateOfPurchase >= :startDate AND o.dateOfPurchase < :endDate " +
+         "ORDER BY o.id, i.id")
+  Stream<ItemExportView> streamItemExport(
+    @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
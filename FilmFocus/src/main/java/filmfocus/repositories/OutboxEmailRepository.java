@@ -0,0 +1,34 @@
+package filmfocus.repositories;
+
+import filmfocus.models.entities.OutboxEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Integer> {
+
+  // A lock timeout of -2 is Hibernate's SKIP LOCKED, so several dispatchers never claim the same rows.
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT e FROM OutboxEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+  List<OutboxEmail> findDueEmails(
+    @Param("status") OutboxEmail.Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+  // The next attempt of a sent or dead email is its last one, so it tells how long ago the email was finished with.
+  @Modifying
+  @Query("DELETE FROM OutboxEmail e WHERE e.status IN :statuses AND e.nextAttemptAt < :before")
+  int deleteFinishedEmails(
+    @Param("statuses") Collection<OutboxEmail.Status> statuses, @Param("before") LocalDateTime before);
+}
@@ -1,6 +1,7 @@
 package filmfocus.repositories;
 
 import filmfocus.models.entities.Program;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,5 +16,7 @@ public interface ProgramRepository extends JpaRepository<Program, Integer> {
 
   List<Program> findAllByCinemaId(int cinemaId);
 
+  List<Program> findByIdGreaterThan(int id, Pageable page);
+
   Optional<Program> findByProgramDateAndCinemaId(LocalDate programDate, int cinemaId);
 }
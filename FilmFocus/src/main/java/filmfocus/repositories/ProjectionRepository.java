@@ -1,9 +1,13 @@
 package filmfocus.repositories;
 
 import filmfocus.models.entities.Projection;
+import filmfocus.models.views.ProjectionSeatsView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -19,4 +23,10 @@ public interface ProjectionRepository extends JpaRepository<Projection, Integer>
   List<Projection> findProjectionsByStartTimeAfter(LocalTime after);
 
   List<Projection> findProjectionsByHallIdAndStartTimeBetween(int hallId, LocalTime startTimeBefore, LocalTime startTimeAfter);
+
+  @Query("SELECT p.id AS projectionId, h.capacity AS capacity, COUNT(t.id) AS soldTickets " +
+         "FROM Projection p JOIN p.hall h JOIN p.program pr LEFT JOIN Ticket t ON t.projection = p " +
+         "WHERE pr.programDate >= :date " +
+         "GROUP BY p.id, h.capacity")
+  List<ProjectionSeatsView> findProjectionSeatsByProgramDateFrom(@Param("date") LocalDate date);
 }
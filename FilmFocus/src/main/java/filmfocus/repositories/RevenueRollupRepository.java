@@ -0,0 +1,94 @@
+package filmfocus.repositories;
+
+import filmfocus.models.entities.RevenueRollup;
+import filmfocus.models.views.DailyIncomeView;
+import filmfocus.models.views.IncomeBreakdownView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, Integer> {
+
+  @Modifying
+  @Query(value = "INSERT INTO filmfocus.revenue_rollup AS r " +
+                 "(sale_date, cinema_id, hall_id, movie_id, item_id, user_id, gross_income, net_income, ticket_count, " +
+                 "item_count) " +
+                 "VALUES (:saleDate, :cinemaId, :hallId, :movieId, :itemId, :userId, :grossIncome, :netIncome, " +
+                 ":ticketCount, :itemCount) " +
+                 "ON CONFLICT (sale_date, cinema_id, hall_id, movie_id, item_id, user_id) DO UPDATE SET " +
+                 "gross_income = r.gross_income + EXCLUDED.gross_income, " +
+                 "net_income = r.net_income + EXCLUDED.net_income, " +
+                 "ticket_count = r.ticket_count + EXCLUDED.ticket_count, " +
+                 "item_count = r.item_count + EXCLUDED.item_count",
+         nativeQuery = true)
+  void addToRollup(
+    @Param("saleDate") LocalDate saleDate, @Param("cinemaId") int cinemaId, @Param("hallId") int hallId,
+    @Param("movieId") int movieId, @Param("itemId") int itemId, @Param("userId") int userId,
+    @Param("grossIncome") double grossIncome, @Param("netIncome") double netIncome,
+    @Param("ticketCount") int ticketCount, @Param("itemCount") int itemCount);
+
+  @Query("SELECT COALESCE(SUM(r.netIncome), 0) FROM RevenueRollup r " +
+         "WHERE r.cinemaId = :cinemaId AND r.saleDate >= :startDate AND r.saleDate < :endDate")
+  double sumNetIncomeByCinemaId(
+    @Param("cinemaId") int cinemaId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT COALESCE(SUM(r.netIncome), 0) FROM RevenueRollup r " +
+         "WHERE r.hallId = :hallId AND r.saleDate >= :startDate AND r.saleDate < :endDate")
+  double sumNetIncomeByHallId(
+    @Param("hallId") int hallId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT COALESCE(SUM(r.grossIncome), 0) FROM RevenueRollup r " +
+         "WHERE r.itemId = :itemId AND r.saleDate >= :startDate AND r.saleDate < :endDate")
+  double sumGrossIncomeByItemId(
+    @Param("itemId") int itemId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT COALESCE(SUM(r.grossIncome), 0) FROM RevenueRollup r " +
+         "WHERE r.movieId = :movieId AND r.saleDate >= :startDate AND r.saleDate < :endDate")
+  double sumGrossIncomeByMovieId(
+    @Param("movieId") int movieId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT COALESCE(SUM(r.netIncome), 0) FROM RevenueRollup r " +
+         "WHERE r.userId = :userId AND r.saleDate >= :startDate AND r.saleDate < :endDate")
+  double sumNetIncomeByUserId(
+    @Param("userId") int userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT r.saleDate AS saleDate, SUM(r.netIncome) AS income FROM RevenueRollup r " +
+         "WHERE r.cinemaId = :cinemaId AND r.saleDate >= :startDate AND r.saleDate < :endDate GROUP BY r.saleDate")
+  List<DailyIncomeView> findDailyNetIncomeByCinemaId(
+    @Param("cinemaId") int cinemaId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT r.saleDate AS saleDate, SUM(r.netIncome) AS income FROM RevenueRollup r " +
+         "WHERE r.hallId = :hallId AND r.saleDate >= :startDate AND r.saleDate < :endDate GROUP BY r.saleDate")
+  List<DailyIncomeView> findDailyNetIncomeByHallId(
+    @Param("hallId") int hallId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT r.saleDate AS saleDate, SUM(r.grossIncome) AS income FROM RevenueRollup r " +
+         "WHERE r.itemId = :itemId AND r.saleDate >= :startDate AND r.saleDate < :endDate GROUP BY r.saleDate")
+  List<DailyIncomeView> findDailyGrossIncomeByItemId(
+    @Param("itemId") int itemId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT r.saleDate AS saleDate, SUM(r.grossIncome) AS income FROM RevenueRollup r " +
+         "WHERE r.movieId = :movieId AND r.saleDate >= :startDate AND r.saleDate < :endDate GROUP BY r.saleDate")
+  List<DailyIncomeView> findDailyGrossIncomeByMovieId(
+    @Param("movieId") int movieId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT r.saleDate AS saleDate, SUM(r.netIncome) AS income FROM RevenueRollup r " +
+         "WHERE r.userId = :userId AND r.saleDate >= :startDate AND r.saleDate < :endDate GROUP BY r.saleDate")
+  List<DailyIncomeView> findDailyNetIncomeByUserId(
+    @Param("userId") int userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT r.saleDate AS saleDate, r.cinemaId AS cinemaId, r.hallId AS hallId, r.movieId AS movieId, " +
+         "r.itemId AS itemId, m.category.id AS categoryId, SUM(r.grossIncome) AS grossIncome, " +
+         "SUM(r.netIncome) AS netIncome, SUM(r.ticketCount) AS ticketCount, SUM(r.itemCount) AS itemCount " +
+         "FROM RevenueRollup r LEFT JOIN Movie m ON m.id = r.movieId " +
+         "WHERE r.saleDate >= :startDate AND r.saleDate < :endDate " +
+         "GROUP BY r.saleDate, r.cinemaId, r.hallId, r.movieId, r.itemId, m.category.id")
+  List<IncomeBreakdownView> findIncomeBreakdown(
+    @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -1,21 +1,31 @@
 package filmfocus.repositories;
 
 import filmfocus.models.entities.Review;
+import filmfocus.models.views.ReviewRatingView;
+import filmfocus.models.views.ReviewTextView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface ReviewRepository extends JpaRepository<Review, Integer> {
+public interface ReviewRepository extends JpaRepository<Review, Integer>, ReviewRepositoryCustom {
 
   List<Review> findAll();
 
-  List<Review> findByCinemaId(int cinemaId);
-
-  List<Review> findByMovieId(int movieId);
-
-  List<Review> findAllByUserIdAndMovieIsNotNullAndCinemaIsNull(int userId);
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT r.movie.id AS movieId, r.cinema.id AS cinemaId, r.rating AS rating, " +
+         "r.dateModified AS dateModified FROM Review r")
+  Stream<ReviewRatingView> streamReviewRatings();
 
-  List<Review> findAllByUserIdAndMovieIsNullAndCinemaIsNotNull(int userId);
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT r.id AS id, r.movie.id AS movieId, r.cinema.id AS cinemaId, r.reviewText AS reviewText " +
+         "FROM Review r")
+  Stream<ReviewTextView> streamReviewTexts();
 }
@@ -0,0 +1,15 @@
+package filmfocus.repositories;
+
+import filmfocus.models.entities.Review;
+import filmfocus.pagination.ReviewCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ReviewRepositoryCustom {
+
+  // Up to limit reviews matching the filter, ordered by modification date and id in the given direction and starting
+  // right after the cursor; a null cursor starts from the first review.
+  List<Review> findPage(Specification<Review> filter, Sort.Direction direction, ReviewCursor after, int limit);
+}
@@ -0,0 +1,59 @@
+package filmfocus.repositories;
+
+import filmfocus.models.entities.Review;
+import filmfocus.pagination.ReviewCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class ReviewRepositoryImpl implements ReviewRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<Review> findPage(Specification<Review> filter, Sort.Direction direction, ReviewCursor after, int limit) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Review> query = builder.createQuery(Review.class);
+    Root<Review> review = query.from(Review.class);
+    Path<LocalDate> dateModified = review.get("dateModified");
+    Path<Integer> id = review.get("id");
+    List<Predicate> predicates = new ArrayList<>();
+
+    review.fetch("movie", JoinType.LEFT);
+    review.fetch("cinema", JoinType.LEFT);
+    review.fetch("user", JoinType.LEFT);
+    predicates.add(filter.toPredicate(review, query, builder));
+
+    // The leading bound on the date alone keeps the keyset condition usable as an index range.
+    if (Objects.nonNull(after) && direction.isDescending()) {
+      predicates.add(builder.lessThanOrEqualTo(dateModified, after.getDateModified()));
+      predicates.add(builder.or(builder.lessThan(dateModified, after.getDateModified()),
+                                builder.lessThan(id, after.getId())));
+    } else if (Objects.nonNull(after)) {
+      predicates.add(builder.greaterThanOrEqualTo(dateModified, after.getDateModified()));
+      predicates.add(builder.or(builder.greaterThan(dateModified, after.getDateModified()),
+                                builder.greaterThan(id, after.getId())));
+    }
+
+    query.select(review)
+         .where(predicates.toArray(new Predicate[0]))
+         .orderBy(direction.isDescending()
+                  ? List.of(builder.desc(dateModified), builder.desc(id))
+                  : List.of(builder.asc(dateModified), builder.asc(id)));
+
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+}
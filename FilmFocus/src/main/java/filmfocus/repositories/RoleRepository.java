@@ -1,13 +1,17 @@
 package filmfocus.repositories;
 
 import filmfocus.models.entities.Role;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Integer> {
 
   Optional<Role> findRoleByName(String name);
+
+  List<Role> findByIdGreaterThan(int id, Pageable page);
 }
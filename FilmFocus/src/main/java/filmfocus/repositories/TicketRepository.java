@@ -1,7 +1,10 @@
 package filmfocus.repositories;
 
+import filmfocus.models.entities.Seat;
 import filmfocus.models.entities.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -12,7 +15,20 @@ public interface TicketRepository extends JpaRepository<Ticket, Integer> {
 
   List<Ticket> findTicketByProjectionId(int projectionId);
 
-  int countByProjectionId(int projectionId);
-
   List<Ticket> findTicketsByDateOfPurchaseBetween(LocalDate startDate, LocalDate endDate);
+
+  @Query("SELECT t.seat FROM Ticket t WHERE t.projection.id = :projectionId")
+  List<Seat> findSeatsByProjectionId(@Param("projectionId") int projectionId);
+
+  @Query("SELECT COUNT(t) FROM Ticket t JOIN t.projection p JOIN p.movie m " +
+         "WHERE m.category.id = :categoryId AND t.dateOfPurchase BETWEEN :startDate AND :endDate")
+  long countTicketsByMovieCategoryId(
+    @Param("categoryId") int categoryId, @Param("startDate") LocalDate startDate,
+    @Param("endDate") LocalDate endDate);
+
+  @Query("SELECT COUNT(t) FROM Ticket t JOIN t.projection p " +
+         "WHERE p.movie.id IN :movieIds AND t.dateOfPurchase BETWEEN :startDate AND :endDate")
+  long countTicketsByMovieIds(
+    @Param("movieIds") List<Integer> movieIds, @Param("startDate") LocalDate startDate,
+    @Param("endDate") LocalDate endDate);
 }
@@ -1,6 +1,7 @@
 package filmfocus.repositories;
 
 import filmfocus.models.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,9 +16,9 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
   Optional<User> findUserByEmail(String email);
 
-  List<User> findAllByRolesName(String roleName);
+  List<User> findAllByRolesNameAndIdGreaterThan(String roleName, int id, Pageable page);
 
-  List<User> findAllByJoinDateBefore(LocalDate dateBefore);
+  List<User> findAllByJoinDateBeforeAndIdGreaterThan(LocalDate dateBefore, int id, Pageable page);
 
-  List<User> findAllByJoinDateAfter(LocalDate dateAfter);
-}
\ No newline at end of file
+  List<User> findAllByJoinDateAfterAndIdGreaterThan(LocalDate dateAfter, int id, Pageable page);
+}
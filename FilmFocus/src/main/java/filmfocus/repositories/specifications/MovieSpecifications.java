@@ -0,0 +1,46 @@
+package filmfocus.repositories.specifications;
+
+import filmfocus.models.entities.Movie;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Locale;
+
+public final class MovieSpecifications {
+
+  private static final char ESCAPE = '\\';
+
+  private MovieSpecifications() {
+  }
+
+  // Case-insensitive; the wildcards of the title are matched literally.
+  public static Specification<Movie> titleContains(String title) {
+    String pattern = "%" + title.toLowerCase(Locale.ROOT)
+                                .replace("\\", "\\\\")
+                                .replace("%", "\\%")
+                                .replace("_", "\\_") + "%";
+
+    return (movie, query, builder) -> builder.like(builder.lower(movie.get("title")), pattern, ESCAPE);
+  }
+
+  public static Specification<Movie> hasCategoryIdIn(Collection<Integer> categoryIds) {
+    return (movie, query, builder) -> movie.get("category").get("id").in(categoryIds);
+  }
+
+  public static Specification<Movie> isReleasedAfter(LocalDate date) {
+    return (movie, query, builder) -> builder.greaterThan(movie.get("releaseDate"), date);
+  }
+
+  public static Specification<Movie> isReleasedBefore(LocalDate date) {
+    return (movie, query, builder) -> builder.lessThan(movie.get("releaseDate"), date);
+  }
+
+  public static Specification<Movie> hasRatingAtLeast(double rating) {
+    return (movie, query, builder) -> builder.greaterThanOrEqualTo(movie.get("averageRating"), rating);
+  }
+
+  public static Specification<Movie> hasRatingAtMost(double rating) {
+    return (movie, query, builder) -> builder.lessThanOrEqualTo(movie.get("averageRating"), rating);
+  }
+}
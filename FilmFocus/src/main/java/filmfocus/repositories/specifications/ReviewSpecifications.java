@@ -0,0 +1,30 @@
+package filmfocus.repositories.specifications;
+
+import filmfocus.models.entities.Review;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class ReviewSpecifications {
+
+  private ReviewSpecifications() {
+  }
+
+  public static Specification<Review> hasMovieId(int movieId) {
+    return (review, query, builder) -> builder.equal(review.get("movie").get("id"), movieId);
+  }
+
+  public static Specification<Review> hasCinemaId(int cinemaId) {
+    return (review, query, builder) -> builder.equal(review.get("cinema").get("id"), cinemaId);
+  }
+
+  public static Specification<Review> isMovieReviewOfUser(int userId) {
+    return (review, query, builder) -> builder.and(builder.equal(review.get("user").get("id"), userId),
+                                                   builder.isNotNull(review.get("movie")),
+                                                   builder.isNull(review.get("cinema")));
+  }
+
+  public static Specification<Review> isCinemaReviewOfUser(int userId) {
+    return (review, query, builder) -> builder.and(builder.equal(review.get("user").get("id"), userId),
+                                                   builder.isNull(review.get("movie")),
+                                                   builder.isNotNull(review.get("cinema")));
+  }
+}
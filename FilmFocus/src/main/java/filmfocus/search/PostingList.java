@@ -0,0 +1,169 @@
+package filmfocus.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of ids stored as variable-length deltas: each id is written as its distance to the previous one,
+ * seven bits per byte, so the dense ids of a common term take about one byte each. Ids arrive mostly in increasing
+ * order and are appended in place; inserting or removing any other id re-encodes the list.
+ *
+ * <p>Not thread-safe; {@link ReviewTextIndex} and {@link TitleTrigramIndex} guard their lists.
+ */
+public class PostingList {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private byte[] bytes = new byte[INITIAL_CAPACITY];
+  private int length;
+  private int size;
+  private int last = -1;
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean add(int id) {
+    if (id > last) {
+      append(id);
+      return true;
+    }
+
+    int[] ids = toArray();
+    int position = Arrays.binarySearch(ids, id);
+
+    if (position >= 0) {
+      return false;
+    }
+
+    int insertion = -position - 1;
+    int[] updated = new int[ids.length + 1];
+    System.arraycopy(ids, 0, updated, 0, insertion);
+    updated[insertion] = id;
+    System.arraycopy(ids, insertion, updated, insertion + 1, ids.length - insertion);
+    encode(updated);
+
+    return true;
+  }
+
+  public boolean remove(int id) {
+    if (id > last) {
+      return false;
+    }
+
+    int[] ids = toArray();
+    int position = Arrays.binarySearch(ids, id);
+
+    if (position < 0) {
+      return false;
+    }
+
+    int[] updated = new int[ids.length - 1];
+    System.arraycopy(ids, 0, updated, 0, position);
+    System.arraycopy(ids, position + 1, updated, position, ids.length - position - 1);
+    encode(updated);
+
+    return true;
+  }
+
+  public int[] toArray() {
+    int[] ids = new int[size];
+    int previous = -1;
+    int offset = 0;
+
+    for (int i = 0; i < size; i++) {
+      int delta = 0;
+      int shift = 0;
+      byte current;
+
+      do {
+        current = bytes[offset++];
+        delta |= (current & 0x7F) << shift;
+        shift += 7;
+      } while ((current & 0x80) != 0);
+
+      previous += delta;
+      ids[i] = previous;
+    }
+
+    return ids;
+  }
+
+  // Both arrays must be sorted; the result is sorted as well.
+  public static int[] intersect(int[] first, int[] second) {
+    int[] result = new int[Math.min(first.length, second.length)];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+
+    while (i < first.length && j < second.length) {
+      if (first[i] < second[j]) {
+        i++;
+      } else if (first[i] > second[j]) {
+        j++;
+      } else {
+        result[count++] = first[i];
+        i++;
+        j++;
+      }
+    }
+
+    return Arrays.copyOf(result, count);
+  }
+
+  public static int[] union(int[] first, int[] second) {
+    int[] result = new int[first.length + second.length];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+
+    while (i < first.length || j < second.length) {
+      if (j == second.length || (i < first.length && first[i] < second[j])) {
+        result[count++] = first[i++];
+      } else if (i == first.length || first[i] > second[j]) {
+        result[count++] = second[j++];
+      } else {
+        result[count++] = first[i];
+        i++;
+        j++;
+      }
+    }
+
+    return Arrays.copyOf(result, count);
+  }
+
+  int getEncodedLength() {
+    return length;
+  }
+
+  private void encode(int[] ids) {
+    bytes = new byte[Math.max(INITIAL_CAPACITY, ids.length + ids.length / 2)];
+    length = 0;
+    size = 0;
+    last = -1;
+
+    for (int id : ids) {
+      append(id);
+    }
+  }
+
+  private void append(int id) {
+    int delta = id - last;
+
+    if (length + 5 > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+    }
+
+    while ((delta & ~0x7F) != 0) {
+      bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+      delta >>>= 7;
+    }
+
+    bytes[length++] = (byte) delta;
+    last = id;
+    size++;
+  }
+}
@@ -0,0 +1,179 @@
+package filmfocus.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index of review texts: every lower-cased word maps to the posting list of the reviews containing it. The
+ * movie or cinema of a review is indexed as one more term, so filtering by it is one more intersection.
+ *
+ * <p>A query is a list of groups of terms; a review matches when it contains every term of at least one group. Each
+ * group intersects its posting lists starting from the shortest one.
+ */
+public class ReviewTextIndex {
+
+  private static final String MOVIE_TERM = "movie:";
+  private static final String CINEMA_TERM = "cinema:";
+  private static final String OR = "OR";
+  private static final String AND = "AND";
+  private static final String SEPARATORS = "[^\\p{L}\\p{N}]+";
+
+  private final Map<String, PostingList> postings = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // The words of a text, lower-cased and without duplicates; anything but letters and digits separates them.
+  public static Set<String> tokenize(String text) {
+    Set<String> terms = new LinkedHashSet<>();
+
+    if (Objects.isNull(text)) {
+      return terms;
+    }
+
+    for (String term : text.toLowerCase(Locale.ROOT).split(SEPARATORS)) {
+      if (!term.isEmpty()) {
+        terms.add(term);
+      }
+    }
+
+    return terms;
+  }
+
+  // Terms are AND-ed and OR separates the groups, e.g. "sound OR audio loud" matches the reviews mentioning sound
+  // and the ones mentioning both audio and loud. An explicit AND is allowed and changes nothing.
+  public static List<Set<String>> parseQuery(String query) {
+    List<Set<String>> groups = new ArrayList<>();
+    Set<String> group = new LinkedHashSet<>();
+
+    for (String word : Objects.isNull(query) ? new String[0] : query.trim().split("\\s+")) {
+      if (OR.equals(word)) {
+        addGroup(groups, group);
+        group = new LinkedHashSet<>();
+      } else if (!AND.equals(word)) {
+        group.addAll(tokenize(word));
+      }
+    }
+
+    addGroup(groups, group);
+
+    return groups;
+  }
+
+  public void add(int reviewId, String text, Integer movieId, Integer cinemaId) {
+    lock.writeLock().lock();
+
+    try {
+      for (String term : getTerms(text, movieId, cinemaId)) {
+        postings.computeIfAbsent(term, key -> new PostingList()).add(reviewId);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(int reviewId, String text, Integer movieId, Integer cinemaId) {
+    lock.writeLock().lock();
+
+    try {
+      for (String term : getTerms(text, movieId, cinemaId)) {
+        PostingList list = postings.get(term);
+
+        if (Objects.nonNull(list) && list.remove(reviewId) && list.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // The ids of the matching reviews, highest (newest) first, at most limit of them.
+  public int[] search(List<Set<String>> groups, Integer movieId, Integer cinemaId, int limit) {
+    int[] matches = new int[0];
+
+    lock.readLock().lock();
+
+    try {
+      for (Set<String> group : groups) {
+        Set<String> terms = new LinkedHashSet<>(group);
+        addTargetTerms(terms, movieId, cinemaId);
+        matches = PostingList.union(matches, searchGroup(terms));
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    int count = Math.min(limit, matches.length);
+    int[] newest = new int[count];
+
+    for (int i = 0; i < count; i++) {
+      newest[i] = matches[matches.length - 1 - i];
+    }
+
+    return newest;
+  }
+
+  public int getTermCount() {
+    lock.readLock().lock();
+
+    try {
+      return postings.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private int[] searchGroup(Set<String> terms) {
+    List<PostingList> lists = new ArrayList<>();
+
+    for (String term : terms) {
+      PostingList list = postings.get(term);
+
+      if (Objects.isNull(list)) {
+        return new int[0];
+      }
+
+      lists.add(list);
+    }
+
+    lists.sort(Comparator.comparingInt(PostingList::size));
+
+    int[] matches = lists.get(0).toArray();
+
+    for (int i = 1; i < lists.size() && matches.length > 0; i++) {
+      matches = PostingList.intersect(matches, lists.get(i).toArray());
+    }
+
+    return matches;
+  }
+
+  private static Set<String> getTerms(String text, Integer movieId, Integer cinemaId) {
+    Set<String> terms = tokenize(text);
+    addTargetTerms(terms, movieId, cinemaId);
+    return terms;
+  }
+
+  private static void addTargetTerms(Set<String> terms, Integer movieId, Integer cinemaId) {
+    if (Objects.nonNull(movieId)) {
+      terms.add(MOVIE_TERM + movieId);
+    }
+
+    if (Objects.nonNull(cinemaId)) {
+      terms.add(CINEMA_TERM + cinemaId);
+    }
+  }
+
+  private static void addGroup(List<Set<String>> groups, Set<String> group) {
+    if (!group.isEmpty()) {
+      groups.add(group);
+    }
+  }
+}
@@ -0,0 +1,332 @@
+package filmfocus.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Substring index of titles: every title is folded (lower-cased, accents removed, anything but letters and digits
+ * turned into one space), padded with a space on both sides and split into its overlapping trigrams, each mapping to
+ * the posting list of the titles containing it. The start of every word is also indexed as a bigram of a space and
+ * its first letter.
+ *
+ * <p>A query of three or more characters intersects the lists of its trigrams and checks the candidates against the
+ * folded titles, so it matches anywhere in a title. Shorter queries match the start of a word only. Matches are ranked
+ * by where the query was found: the whole title, its start, the start of a word and anywhere else, then by the length
+ * of the title and its id.
+ */
+public class TitleTrigramIndex {
+
+  private static final String SEPARATORS = "[^\\p{L}\\p{N}]+";
+  private static final String MARKS = "\\p{M}+";
+  private static final char SPACE = ' ';
+  private static final int GRAM = 3;
+  private static final int EXACT = 0;
+  private static final int TITLE_PREFIX = 1;
+  private static final int WORD_PREFIX = 2;
+  private static final int SUBSTRING = 3;
+  private static final int MAX_RANKED_LENGTH = (1 << 20) - 1;
+  private static final int INITIAL_HEAP_CAPACITY = 16;
+
+  private Map<String, PostingList> postings = new HashMap<>();
+  // Folded titles by id; movie ids are dense, so an array saves a map lookup for each candidate.
+  private String[] titles = new String[0];
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // The title lower-cased and without accents, with its words separated by one space, e.g. "Amélie (2001)" becomes
+  // "amelie 2001".
+  public static String fold(String title) {
+    if (Objects.isNull(title)) {
+      return "";
+    }
+
+    return Normalizer.normalize(title, Normalizer.Form.NFD)
+                     .replaceAll(MARKS, "")
+                     .toLowerCase(Locale.ROOT)
+                     .replaceAll(SEPARATORS, " ")
+                     .trim();
+  }
+
+  // Builds the index anew from the titles by id and swaps it in; the ids are added in order so every list is appended.
+  public void replaceAll(Map<Integer, String> titlesById) {
+    Map<String, PostingList> newPostings = new HashMap<>();
+    TreeMap<Integer, String> sorted = new TreeMap<>(titlesById);
+    String[] newTitles = new String[sorted.isEmpty() ? 0 : sorted.lastKey() + 1];
+
+    sorted.forEach((id, title) -> {
+      String folded = fold(title);
+      newTitles[id] = folded;
+      addPostings(newPostings, id, folded);
+    });
+
+    lock.writeLock().lock();
+
+    try {
+      postings = newPostings;
+      titles = newTitles;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void add(int id, String title) {
+    String folded = fold(title);
+
+    lock.writeLock().lock();
+
+    try {
+      if (id >= titles.length) {
+        titles = Arrays.copyOf(titles, Math.max(id + 1, titles.length * 2));
+      }
+
+      String previous = titles[id];
+      titles[id] = folded;
+
+      if (folded.equals(previous)) {
+        return;
+      }
+
+      if (Objects.nonNull(previous)) {
+        removePostings(id, previous);
+      }
+
+      addPostings(postings, id, folded);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(int id) {
+    lock.writeLock().lock();
+
+    try {
+      if (id < titles.length && Objects.nonNull(titles[id])) {
+        removePostings(id, titles[id]);
+        titles[id] = null;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // The ids of the accepted titles matching the query, best match first, at most limit of them.
+  public int[] search(String query, IntPredicate accept, int limit) {
+    String folded = fold(query);
+
+    if (folded.isEmpty() || limit <= 0) {
+      return new int[0];
+    }
+
+    boolean isShort = folded.length() < GRAM;
+    String wordStart = SPACE + folded;
+    Set<String> grams = isShort ? Set.of(wordStart) : getGrams(folded);
+    TopKeys best = new TopKeys(limit);
+
+    lock.readLock().lock();
+
+    try {
+      for (int id : getCandidates(grams)) {
+        String title = titles[id];
+        long lengthKey = (long) Math.min(title.length(), MAX_RANKED_LENGTH) << 32 | id;
+
+        // Even an exact match of this title would not make the best ones.
+        if (!best.accepts(lengthKey)) {
+          continue;
+        }
+
+        int rank = rank(title, folded, wordStart, isShort);
+
+        if (rank >= 0 && accept.test(id)) {
+          best.add((long) rank << 52 | lengthKey);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    return best.toIds();
+  }
+
+  public int getGramCount() {
+    lock.readLock().lock();
+
+    try {
+      return postings.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private int[] getCandidates(Set<String> grams) {
+    List<PostingList> lists = new ArrayList<>();
+
+    for (String gram : grams) {
+      PostingList list = postings.get(gram);
+
+      if (Objects.isNull(list)) {
+        return new int[0];
+      }
+
+      lists.add(list);
+    }
+
+    lists.sort(Comparator.comparingInt(PostingList::size));
+
+    int[] candidates = lists.get(0).toArray();
+
+    for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+      candidates = PostingList.intersect(candidates, lists.get(i).toArray());
+    }
+
+    return candidates;
+  }
+
+  // Lower is better; -1 when the trigrams matched but the title does not contain the query.
+  private static int rank(String title, String folded, String wordStart, boolean isShort) {
+    if (title.equals(folded)) {
+      return EXACT;
+    }
+
+    if (title.startsWith(folded)) {
+      return TITLE_PREFIX;
+    }
+
+    if (title.contains(wordStart)) {
+      return WORD_PREFIX;
+    }
+
+    return !isShort && title.contains(folded) ? SUBSTRING : -1;
+  }
+
+  private void removePostings(int id, String folded) {
+    for (String gram : getTitleGrams(folded)) {
+      PostingList list = postings.get(gram);
+
+      if (Objects.nonNull(list) && list.remove(id) && list.isEmpty()) {
+        postings.remove(gram);
+      }
+    }
+  }
+
+  private static void addPostings(Map<String, PostingList> postings, int id, String folded) {
+    for (String gram : getTitleGrams(folded)) {
+      postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+    }
+  }
+
+  private static Set<String> getTitleGrams(String folded) {
+    String padded = SPACE + folded + SPACE;
+    Set<String> grams = getGrams(padded);
+
+    for (int i = 0; i < padded.length() - 1; i++) {
+      if (padded.charAt(i) == SPACE && padded.charAt(i + 1) != SPACE) {
+        grams.add(padded.substring(i, i + 2));
+      }
+    }
+
+    return grams;
+  }
+
+  private static Set<String> getGrams(String text) {
+    Set<String> grams = new LinkedHashSet<>();
+
+    for (int i = 0; i + GRAM <= text.length(); i++) {
+      grams.add(text.substring(i, i + GRAM));
+    }
+
+    return grams;
+  }
+
+  // The lowest keys seen so far, at most limit of them, in a binary max-heap so the worst one is dropped first.
+  private static final class TopKeys {
+
+    private final int limit;
+    private long[] heap = new long[INITIAL_HEAP_CAPACITY];
+    private int size;
+
+    private TopKeys(int limit) {
+      this.limit = limit;
+    }
+
+    // False when the heap is full and the key is not lower than the worst one kept.
+    private boolean accepts(long key) {
+      return size < limit || key < heap[0];
+    }
+
+    private void add(long key) {
+      if (size < limit) {
+        if (size == heap.length) {
+          heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        heap[size] = key;
+        siftUp(size++);
+      } else if (key < heap[0]) {
+        heap[0] = key;
+        siftDown(0);
+      }
+    }
+
+    // The ids held in the low half of the keys, lowest key first.
+    private int[] toIds() {
+      long[] sorted = Arrays.copyOf(heap, size);
+      int[] ids = new int[size];
+
+      Arrays.sort(sorted);
+
+      for (int i = 0; i < size; i++) {
+        ids[i] = (int) sorted[i];
+      }
+
+      return ids;
+    }
+
+    private void siftUp(int index) {
+      while (index > 0 && heap[(index - 1) / 2] < heap[index]) {
+        swap(index, (index - 1) / 2);
+        index = (index - 1) / 2;
+      }
+    }
+
+    private void siftDown(int index) {
+      while (true) {
+        int largest = index;
+        int left = 2 * index + 1;
+        int right = left + 1;
+
+        if (left < size && heap[left] > heap[largest]) {
+          largest = left;
+        }
+
+        if (right < size && heap[right] > heap[largest]) {
+          largest = right;
+        }
+
+        if (largest == index) {
+          return;
+        }
+
+        swap(index, largest);
+        index = largest;
+      }
+    }
+
+    private void swap(int first, int second) {
+      long key = heap[first];
+      heap[first] = heap[second];
+      heap[second] = key;
+    }
+  }
+}
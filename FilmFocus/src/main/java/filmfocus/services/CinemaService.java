@@ -11,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
@@ -93,17 +94,17 @@ public class CinemaService {
     return cinemaDto;
   }
 
-  public CinemaDto updateCinemaAverageRating(double newRating, int cinemaId) {
-    Cinema cinema = getCinemaById(cinemaId);
-    CinemaDto cinemaDto = cinemaMapper.mapCinemaToCinemaDto(cinema);
-    cinema.setAverageRating(newRating);
-    cinemaDto.setAverageRating(newRating);
+  // Adds a rating change to the running sum and count in one statement, so concurrent reviews never overwrite
+  // each other. A new review counts 1, a deleted one -1 and an edited one 0 with the difference of the ratings.
+  @Transactional
+  public void addCinemaRating(int cinemaId, double ratingDelta, int countDelta) {
+    if (cinemaRepository.addRating(cinemaId, ratingDelta, countDelta) == 0) {
+      log.error(String.format("Exception caught: %s", CINEMA_NOT_FOUND_MESSAGE));
 
-    cinemaRepository.save(cinema);
+      throw new CinemaNotFoundException(CINEMA_NOT_FOUND_MESSAGE);
+    }
 
     log.info(String.format("Updated average rating for cinema with id %d", cinemaId));
-
-    return cinemaDto;
   }
 
   public CinemaDto deleteCinema(int id) {
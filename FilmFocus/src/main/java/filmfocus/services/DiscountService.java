@@ -6,13 +6,15 @@ import filmfocus.mappers.DiscountMapper;
 import filmfocus.models.dtos.DiscountDto;
 import filmfocus.models.entities.Discount;
 import filmfocus.models.requests.DiscountRequest;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.KeysetPaging;
 import filmfocus.repositories.DiscountRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 import static filmfocus.utils.constants.ExceptionMessages.DISCOUNT_ALREADY_EXISTS_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.DISCOUNT_NOT_FOUND_MESSAGE;
@@ -24,11 +26,14 @@ public class DiscountService {
 
   private final DiscountRepository discountRepository;
   private final DiscountMapper discountMapper;
+  private final KeysetPaging keysetPaging;
 
   @Autowired
-  public DiscountService(DiscountRepository discountRepository, DiscountMapper discountMapper) {
+  public DiscountService(
+    DiscountRepository discountRepository, DiscountMapper discountMapper, KeysetPaging keysetPaging) {
     this.discountRepository = discountRepository;
     this.discountMapper = discountMapper;
+    this.keysetPaging = keysetPaging;
   }
 
   public Discount addDiscount(DiscountRequest request) {
@@ -44,16 +49,18 @@ public class DiscountService {
     return discountRepository.save(new Discount(request.getType(), request.getCode(), request.getPercentage()));
   }
 
-  public List<Discount> getAllDiscounts() {
-    log.info("All discounts were requested from the database");
+  public KeysetPage<DiscountDto> getDiscountDtosPage(Integer afterId, Integer size) {
+    log.info(String.format("A page of discounts after id %s was requested from the database", afterId));
 
-    return discountRepository.findAll();
+    return keysetPaging.getPage(afterId, size, discountRepository::findByIdGreaterThan, Discount::getId,
+                                discountMapper::mapDiscountToDiscountDto);
   }
 
-  public List<DiscountDto> getAllDiscountDtos() {
-    log.info("An attempt to map all discounts to discount DTOs");
+  public void forEachDiscountDto(Consumer<DiscountDto> action) {
+    log.info("All discounts were requested to be streamed from the database");
 
-    return discountMapper.mapDiscountListToDiscountDtoList(getAllDiscounts());
+    keysetPaging.forEach(discountRepository::findByIdGreaterThan, Discount::getId,
+                         discount -> action.accept(discountMapper.mapDiscountToDiscountDto(discount)));
   }
 
   public Discount getDiscountById(int id) {
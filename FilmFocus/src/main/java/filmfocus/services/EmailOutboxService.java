@@ -0,0 +1,151 @@
+package filmfocus.services;
+
+import com.mailjet.client.errors.MailjetException;
+import com.mailjet.client.errors.MailjetSocketTimeoutException;
+import filmfocus.email.EmailMessage;
+import filmfocus.email.EmailSendResult;
+import filmfocus.email.EmailSender;
+import filmfocus.models.entities.OutboxEmail;
+import filmfocus.repositories.OutboxEmailRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+public class EmailOutboxService {
+
+  private static final Logger log = LoggerFactory.getLogger(EmailOutboxService.class);
+
+  private static final int MAX_ERROR_LENGTH = 1024;
+
+  private final EmailSender emailSender;
+  private final OutboxEmailRepository outboxEmailRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final long initialBackoff;
+  private final long maxBackoff;
+  private final long retention;
+
+  @Autowired
+  public EmailOutboxService(
+    EmailSender emailSender, OutboxEmailRepository outboxEmailRepository, TransactionTemplate transactionTemplate,
+    @Value("${email.outbox.batch-size}") int batchSize, @Value("${email.outbox.max-attempts}") int maxAttempts,
+    @Value("${email.outbox.initial-backoff}") long initialBackoff,
+    @Value("${email.outbox.max-backoff}") long maxBackoff, @Value("${email.outbox.retention}") long retention) {
+    this.emailSender = emailSender;
+    this.outboxEmailRepository = outboxEmailRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.retention = retention;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public OutboxEmail enqueue(EmailMessage message) {
+    log.info(String.format("Email '%s' to %s was added to the outbox", message.getSubject(),
+                           message.getRecipientEmail()));
+
+    return outboxEmailRepository.save(new OutboxEmail(message, LocalDateTime.now()));
+  }
+
+  @Scheduled(fixedDelayString = "${email.outbox.dispatch-interval}")
+  public void dispatchOutbox() {
+    Integer dispatched;
+
+    do {
+      dispatched = transactionTemplate.execute(status -> dispatchBatch(LocalDateTime.now()));
+    } while (Objects.nonNull(dispatched) && dispatched == batchSize);
+  }
+
+  @Scheduled(fixedDelayString = "${email.outbox.purge-interval}")
+  public void purgeOutbox() {
+    purgeOutbox(LocalDateTime.now());
+  }
+
+  void purgeOutbox(LocalDateTime now) {
+    LocalDateTime purgedBefore = now.minus(Duration.ofMillis(retention));
+    Integer purged = transactionTemplate.execute(status -> outboxEmailRepository.deleteFinishedEmails(
+      Arrays.asList(OutboxEmail.Status.SENT, OutboxEmail.Status.DEAD), purgedBefore));
+
+    if (Objects.nonNull(purged) && purged > 0) {
+      log.info(String.format("%d sent and dead emails were purged from the outbox", purged));
+    }
+  }
+
+  int dispatchBatch(LocalDateTime now) {
+    List<OutboxEmail> emails =
+      outboxEmailRepository.findDueEmails(OutboxEmail.Status.PENDING, now, PageRequest.of(0, batchSize));
+
+    if (emails.isEmpty()) {
+      return 0;
+    }
+
+    List<EmailMessage> messages = new ArrayList<>(emails.size());
+    emails.forEach(email -> messages.add(email.toEmailMessage()));
+
+    List<EmailSendResult> results;
+
+    try {
+      results = emailSender.sendAll(messages);
+    } catch (MailjetException | MailjetSocketTimeoutException | RuntimeException exception) {
+      results = Collections.nCopies(emails.size(), EmailSendResult.failed(exception.getMessage()));
+    }
+
+    for (int i = 0; i < emails.size(); i++) {
+      OutboxEmail email = emails.get(i);
+
+      if (results.get(i).isSuccess()) {
+        email.setStatus(OutboxEmail.Status.SENT);
+        email.setAttempts(email.getAttempts() + 1);
+      } else {
+        scheduleRetry(email, results.get(i).getError(), now);
+      }
+    }
+
+    outboxEmailRepository.saveAll(emails);
+
+    log.info(String.format("%d emails were dispatched from the outbox", emails.size()));
+
+    return emails.size();
+  }
+
+  private void scheduleRetry(OutboxEmail email, String lastError, LocalDateTime now) {
+    int attempts = email.getAttempts() + 1;
+    String error = String.valueOf(lastError);
+
+    email.setAttempts(attempts);
+    email.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+    if (attempts >= maxAttempts) {
+      email.setStatus(OutboxEmail.Status.DEAD);
+
+      log.error(String.format("Email with id %d was moved to the dead letters after %d attempts: %s",
+                              email.getId(), attempts, error));
+      return;
+    }
+
+    long backoff = initialBackoff << Math.min(attempts - 1, 30);
+    email.setNextAttemptAt(now.plus(Duration.ofMillis(Math.min(backoff, maxBackoff))));
+
+    log.warn(String.format("Email with id %d failed on attempt %d and will be retried: %s",
+                           email.getId(), attempts, error));
+  }
+}
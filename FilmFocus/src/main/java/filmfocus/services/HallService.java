@@ -5,6 +5,7 @@ import filmfocus.mappers.HallMapper;
 import filmfocus.models.dtos.HallDto;
 import filmfocus.models.entities.Cinema;
 import filmfocus.models.entities.Hall;
+import filmfocus.models.entities.Seat;
 import filmfocus.models.requests.HallRequest;
 import filmfocus.repositories.HallRepository;
 import org.slf4j.Logger;
@@ -12,9 +13,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static filmfocus.utils.constants.ExceptionMessages.HALL_NOT_FOUND_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.SEAT_LAYOUT_NOT_VALID_MESSAGE;
 
 @Service
 public class HallService {
@@ -35,9 +40,12 @@ public class HallService {
   public Hall addHall(HallRequest request) {
     log.info("An attempt to add new hall in the database");
 
+    List<Seat> blockedSeats = getBlockedSeats(request);
+
     return hallRepository.save(
       new Hall(request.getCapacity(),
-               cinemaService.getCinemaById(request.getCinemaId())
+               cinemaService.getCinemaById(request.getCinemaId()),
+               getRows(request), getSeatsPerRow(request), blockedSeats
       ));
   }
 
@@ -68,10 +76,12 @@ public class HallService {
 
   public HallDto updateHall(HallRequest request, int id) {
     HallDto hallDto = getHallDtoById(id);
+    List<Seat> blockedSeats = getBlockedSeats(request);
 
     hallRepository.save(
       new Hall(id, request.getCapacity(),
-               cinemaService.getCinemaById(request.getCinemaId())
+               cinemaService.getCinemaById(request.getCinemaId()),
+               getRows(request), getSeatsPerRow(request), blockedSeats
       ));
 
     log.info(String.format("Hall with an id %d has been updated", id));
@@ -88,4 +98,43 @@ public class HallService {
 
     return hallDto;
   }
+
+  private List<Seat> getBlockedSeats(HallRequest request) {
+    if (Objects.isNull(request.getRows()) && Objects.isNull(request.getSeatsPerRow())) {
+      return new ArrayList<>();
+    }
+
+    if (Objects.isNull(request.getRows()) || Objects.isNull(request.getSeatsPerRow())) {
+      log.error(String.format("Exception caught: %s", SEAT_LAYOUT_NOT_VALID_MESSAGE));
+
+      throw new IllegalArgumentException(SEAT_LAYOUT_NOT_VALID_MESSAGE);
+    }
+
+    List<Seat> blockedSeats = new ArrayList<>();
+
+    if (Objects.nonNull(request.getBlockedSeats())) {
+      blockedSeats = request.getBlockedSeats().stream()
+                            .map(seat -> new Seat(seat.getSeatRow(), seat.getSeatNumber()))
+                            .filter(seat -> seat.getSeatRow() <= request.getRows() &&
+                                            seat.getSeatNumber() <= request.getSeatsPerRow())
+                            .distinct()
+                            .collect(Collectors.toList());
+    }
+
+    if (request.getRows() * request.getSeatsPerRow() - blockedSeats.size() != request.getCapacity()) {
+      log.error(String.format("Exception caught: %s", SEAT_LAYOUT_NOT_VALID_MESSAGE));
+
+      throw new IllegalArgumentException(SEAT_LAYOUT_NOT_VALID_MESSAGE);
+    }
+
+    return blockedSeats;
+  }
+
+  private int getRows(HallRequest request) {
+    return Objects.isNull(request.getRows()) ? 0 : request.getRows();
+  }
+
+  private int getSeatsPerRow(HallRequest request) {
+    return Objects.isNull(request.getSeatsPerRow()) ? 0 : request.getSeatsPerRow();
+  }
 }
@@ -1,76 +1,35 @@
 package filmfocus.services;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-import org.springframework.beans.factory.annotation.Value;
+import filmfocus.imdb.ImdbGateway;
+import filmfocus.imdb.ImdbList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 @Service
 public class ImdbService {
 
-  private final RestTemplate restTemplate;
+  private static final Logger log = LoggerFactory.getLogger(ImdbService.class);
 
-  private String imdbKey;
+  private final ImdbGateway imdbGateway;
 
-  private String baseUrl;
-
-  public ImdbService(
-    RestTemplate restTemplate, @Value("${imdb.key}") String imdbKey, @Value("${imdb.url}") String baseUrl) {
-    this.restTemplate = restTemplate;
-    this.imdbKey = imdbKey;
-    this.baseUrl = baseUrl;
-  }
-
-  public void setImdbKey(String imdbKey) {
-    this.imdbKey = imdbKey;
-  }
-
-  public void setBaseUrl(String baseUrl) {
-    this.baseUrl = baseUrl;
+  @Autowired
+  public ImdbService(ImdbGateway imdbGateway) {
+    this.imdbGateway = imdbGateway;
   }
 
   public String getMovies(String filter) {
-    String searchUrl;
-
-    if ("top".equals(filter)) {
-      searchUrl = baseUrl + "Top250Movies/" + imdbKey;
-    } else if ("coming soon".equals(filter)) {
-      searchUrl = baseUrl + "ComingSoon/" + imdbKey;
-    } else if ("box office".equals(filter)) {
-      searchUrl = baseUrl + "BoxOfficeAllTime/" + imdbKey;
-    } else {
-      throw new IllegalArgumentException("Invalid filter type");
-    }
+    ImdbList list;
 
-    String unfilteredMovies = restTemplate.getForObject(searchUrl, String.class);
+    try {
+      list = ImdbList.fromFilter(filter);
+    } catch (IllegalArgumentException exception) {
+      log.error(String.format("Exception caught: %s", exception.getMessage()));
 
-    return filterMoviesTopMovies(unfilteredMovies);
-  }
-
-  private String filterMoviesTopMovies(String responseBody) {
-    JSONObject responseJson = new JSONObject(responseBody);
-    JSONArray movies = responseJson.getJSONArray("items");
-    JSONArray filteredMovies = new JSONArray();
-
-    for (int i = 0; i < movies.length(); i++) {
-      JSONObject movie = movies.getJSONObject(i);
-      JSONObject filteredMovie = new JSONObject();
-
-      filteredMovie.put("title", movie.getString("title"));
-      filteredMovie.put("year", movie.getString("year"));
-
-      if (movie.has("image")) {
-        filteredMovie.put("image", movie.getString("image"));
-      }
-
-      filteredMovies.put(filteredMovie);
+      throw exception;
     }
 
-    JSONObject resultJson = new JSONObject();
-    resultJson.put("movies", filteredMovies);
-
-    return resultJson.toString(2);
+    return imdbGateway.getMovies(list);
   }
 }
-
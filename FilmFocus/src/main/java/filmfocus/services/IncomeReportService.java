@@ -1,54 +1,83 @@
 package filmfocus.services;
 
-import filmfocus.models.entities.Item;
-import filmfocus.models.entities.Order;
-import filmfocus.models.entities.Ticket;
+import filmfocus.analytics.ReportCache;
+import filmfocus.analytics.ReportPartitioner;
+import filmfocus.analytics.SalesFacts;
+import filmfocus.models.dtos.IncomeBreakdownDto;
+import filmfocus.models.dtos.IncomeBreakdownRowDto;
+import filmfocus.models.views.DailyIncomeView;
+import filmfocus.models.views.IncomeBreakdownView;
+import filmfocus.repositories.RevenueRollupRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static filmfocus.utils.constants.ExceptionMessages.REPORT_DIMENSION_NOT_VALID_MESSAGE;
 
 @Service
 public class IncomeReportService {
 
   private static final Logger log = LoggerFactory.getLogger(IncomeReportService.class);
 
+  private static final Comparator<IncomeBreakdownRowDto> ROW_ORDER =
+    Comparator.comparing(IncomeBreakdownRowDto::getDay, Comparator.nullsFirst(Comparator.naturalOrder()))
+              .thenComparing(nullsFirst(IncomeBreakdownRowDto::getCinemaId))
+              .thenComparing(nullsFirst(IncomeBreakdownRowDto::getHallId))
+              .thenComparing(nullsFirst(IncomeBreakdownRowDto::getMovieId))
+              .thenComparing(nullsFirst(IncomeBreakdownRowDto::getCategoryId))
+              .thenComparing(nullsFirst(IncomeBreakdownRowDto::getItemId));
+
   private final CinemaService cinemaService;
   private final HallService hallService;
   private final ItemService itemService;
   private final MovieService movieService;
   private final UserService userService;
-  private final OrderService orderService;
-  private final TicketService ticketService;
+  private final RevenueRollupRepository revenueRollupRepository;
+  private final SalesFactService salesFactService;
+  private final ReportPartitioner reportPartitioner;
+  private final ReportCache reportCache;
 
   @Autowired
   public IncomeReportService(
-    CinemaService cinemaService, HallService hallService, ItemService itemService,
-    MovieService movieService, UserService userService, OrderService orderService, TicketService ticketService) {
+    CinemaService cinemaService, HallService hallService, ItemService itemService, MovieService movieService,
+    UserService userService, RevenueRollupRepository revenueRollupRepository, SalesFactService salesFactService,
+    ReportPartitioner reportPartitioner, ReportCache reportCache) {
     this.cinemaService = cinemaService;
     this.hallService = hallService;
     this.itemService = itemService;
     this.movieService = movieService;
     this.userService = userService;
-    this.orderService = orderService;
-    this.ticketService = ticketService;
+    this.revenueRollupRepository = revenueRollupRepository;
+    this.salesFactService = salesFactService;
+    this.reportPartitioner = reportPartitioner;
+    this.reportCache = reportCache;
   }
 
   public double getAllIncomesByCinemaId(int id, LocalDate startDate, LocalDate endDate) {
-    double incomes = 0;
-
     cinemaService.getCinemaById(id);
 
-    List<Order> allOrders = orderService.getOrdersByDateBetween(startDate, endDate);
-
-    for (Order order : allOrders) {
-      if (isOrderWithinDateRange(order, startDate, endDate) && isOrderFromCinema(order, id)) {
-        incomes += order.getTotalPrice();
-      }
-    }
+    double incomes = salesFactService.isLoaded()
+      ? salesFactService.getNetIncome(SalesFacts.Dimension.CINEMA, id, startDate, endDate.minusDays(1))
+      : getRollupIncome(ReportCache.Report.CINEMA_INCOMES, id, startDate, endDate,
+                        (from, to) -> revenueRollupRepository.sumNetIncomeByCinemaId(id, from, to),
+                        (from, to) -> revenueRollupRepository.findDailyNetIncomeByCinemaId(id, from, to));
 
     log.info(String.format("All incomes by cinema id %d calculated", id));
 
@@ -56,17 +85,13 @@ public class IncomeReportService {
   }
 
   public double getAllIncomesByHallId(int id, LocalDate startDate, LocalDate endDate) {
-    double incomes = 0;
-
     hallService.getHallById(id);
 
-    List<Order> allOrders = orderService.getOrdersByDateBetween(startDate, endDate);
-
-    for (Order order : allOrders) {
-      if (isOrderWithinDateRange(order, startDate, endDate) && isOrderFromHall(order, id)) {
-        incomes += order.getTotalPrice();
-      }
-    }
+    double incomes = salesFactService.isLoaded()
+      ? salesFactService.getNetIncome(SalesFacts.Dimension.HALL, id, startDate, endDate.minusDays(1))
+      : getRollupIncome(ReportCache.Report.HALL_INCOMES, id, startDate, endDate,
+                        (from, to) -> revenueRollupRepository.sumNetIncomeByHallId(id, from, to),
+                        (from, to) -> revenueRollupRepository.findDailyNetIncomeByHallId(id, from, to));
 
     log.info(String.format("All incomes by hall id %d calculated", id));
 
@@ -74,21 +99,13 @@ public class IncomeReportService {
   }
 
   public double getAllIncomesByItemId(int id, LocalDate startDate, LocalDate endDate) {
-    double incomes = 0;
-
     itemService.getItemDtoById(id);
 
-    List<Order> allOrders = orderService.getOrdersByDateBetween(startDate, endDate);
-
-    for (Order order : allOrders) {
-      if (isOrderWithinDateRange(order, startDate, endDate)) {
-        for (Item item : order.getItems()) {
-          if (id == item.getId()) {
-            incomes += item.getPrice();
-          }
-        }
-      }
-    }
+    double incomes = salesFactService.isLoaded()
+      ? salesFactService.getGrossIncome(SalesFacts.Dimension.ITEM, id, startDate, endDate.minusDays(1))
+      : getRollupIncome(ReportCache.Report.ITEM_INCOMES, id, startDate, endDate,
+                        (from, to) -> revenueRollupRepository.sumGrossIncomeByItemId(id, from, to),
+                        (from, to) -> revenueRollupRepository.findDailyGrossIncomeByItemId(id, from, to));
 
     log.info(String.format("All incomes by item id %d calculated", id));
 
@@ -96,17 +113,13 @@ public class IncomeReportService {
   }
 
   public double getAllIncomesByMovieId(int id, LocalDate startDate, LocalDate endDate) {
-    double incomes = 0;
-
     movieService.getMovieById(id);
 
-    List<Ticket> allTickets = ticketService.getTicketsByDateBetween(startDate, endDate);
-
-    for (Ticket ticket : allTickets) {
-      if (isTicketWithinDateRange(ticket, startDate, endDate) && isTicketForMovie(ticket, id)) {
-        incomes += ticket.getProjection().getPrice();
-      }
-    }
+    double incomes = salesFactService.isLoaded()
+      ? salesFactService.getGrossIncome(SalesFacts.Dimension.MOVIE, id, startDate, endDate)
+      : getRollupIncome(ReportCache.Report.MOVIE_INCOMES, id, startDate, endDate.plusDays(1),
+                        (from, to) -> revenueRollupRepository.sumGrossIncomeByMovieId(id, from, to),
+                        (from, to) -> revenueRollupRepository.findDailyGrossIncomeByMovieId(id, from, to));
 
     log.info(String.format("All incomes by movie id %d calculated", id));
 
@@ -114,75 +127,125 @@ public class IncomeReportService {
   }
 
   public double getAllIncomesByUserId(int id, LocalDate startDate, LocalDate endDate) {
-    double incomes = 0;
-
     userService.getUserById(id);
 
-    List<Order> allOrders = orderService.getOrdersByDateBetween(startDate, endDate);
-
-    for (Order order : allOrders) {
-      if (isOrderWithinDateRange(order, startDate, endDate) && isOrderFromUser(order, id)) {
-        incomes += order.getTotalPrice();
-      }
-    }
+    double incomes = getRollupIncome(ReportCache.Report.USER_INCOMES, id, startDate, endDate,
+                                     (from, to) -> revenueRollupRepository.sumNetIncomeByUserId(id, from, to),
+                                     (from, to) -> revenueRollupRepository.findDailyNetIncomeByUserId(id, from, to));
 
     log.info(String.format("All incomes by user id %d calculated", id));
 
     return incomes;
   }
 
-  private boolean isOrderFromCinema(Order order, int cinemaId) {
-    List<Ticket> tickets = order.getTickets();
+  // Grouped queries over the rollup at the finest grain, one per partition of the range, folded down to the requested
+  // dimensions in one pass. The folding adds the rows up, so rows of the same group from two partitions just merge.
+  public IncomeBreakdownDto getIncomesBreakdown(List<String> dimensions, LocalDate startDate, LocalDate endDate) {
+    Set<Dimension> selected = parseDimensions(dimensions);
+    Map<List<Object>, IncomeBreakdownRowDto> rows = new LinkedHashMap<>();
+    List<IncomeBreakdownView> views =
+      reportPartitioner.evaluate(startDate, endDate, revenueRollupRepository::findIncomeBreakdown, this::concat);
+
+    for (IncomeBreakdownView view : views) {
+      IncomeBreakdownRowDto key = new IncomeBreakdownRowDto();
+      key.setDay(selected.contains(Dimension.DAY) ? view.getSaleDate() : null);
+      key.setCinemaId(selected.contains(Dimension.CINEMA) ? idOrNull(view.getCinemaId()) : null);
+      key.setHallId(selected.contains(Dimension.HALL) ? idOrNull(view.getHallId()) : null);
+      key.setMovieId(selected.contains(Dimension.MOVIE) ? idOrNull(view.getMovieId()) : null);
+      key.setItemId(selected.contains(Dimension.ITEM) ? idOrNull(view.getItemId()) : null);
+      key.setCategoryId(selected.contains(Dimension.CATEGORY) ? view.getCategoryId() : null);
+
+      IncomeBreakdownRowDto row = rows.computeIfAbsent(
+        Arrays.asList(key.getDay(), key.getCinemaId(), key.getHallId(), key.getMovieId(), key.getItemId(),
+                      key.getCategoryId()), dimensionValues -> key);
+
+      row.setGrossIncome(row.getGrossIncome() + view.getGrossIncome());
+      row.setNetIncome(row.getNetIncome() + view.getNetIncome());
+      row.setTicketCount(row.getTicketCount() + view.getTicketCount());
+      row.setItemCount(row.getItemCount() + view.getItemCount());
+    }
 
-    for (Ticket ticket : tickets) {
-      if (cinemaId == ticket.getProjection().getHall().getCinema().getId()) {
+    List<IncomeBreakdownRowDto> sortedRows = new ArrayList<>(rows.values());
+    sortedRows.sort(ROW_ORDER);
 
-        log.info("Order is from cinema");
+    log.info(String.format("Income breakdown by %s between %s and %s calculated", selected, startDate, endDate));
 
-        return true;
-      }
+    return new IncomeBreakdownDto(
+      startDate, endDate,
+      selected.stream().map(dimension -> dimension.name().toLowerCase(Locale.ROOT)).collect(Collectors.toList()),
+      sortedRows);
+  }
+
+  // The end date is excluded. Closed days come from the report cache when it is enabled, with the days missing from
+  // it fetched per partition; everything else is summed straight from the rollup, per partition.
+  private double getRollupIncome(
+    ReportCache.Report report, int id, LocalDate startDate, LocalDate endDate,
+    BiFunction<LocalDate, LocalDate, Double> rangeQuery,
+    BiFunction<LocalDate, LocalDate, List<DailyIncomeView>> dailyQuery) {
+    BiFunction<LocalDate, LocalDate, Double> partitionedQuery =
+      (from, to) -> reportPartitioner.sum(from, to, rangeQuery);
+
+    if (!reportCache.isEnabled()) {
+      return partitionedQuery.apply(startDate, endDate);
     }
 
-    log.info("Order is not from cinema");
+    return reportCache.sum(report, id, startDate, endDate, (from, to) -> reportPartitioner.evaluate(
+      from, to, (partitionStart, partitionEnd) -> toDailyIncomes(dailyQuery.apply(partitionStart, partitionEnd)),
+      this::merge), partitionedQuery);
+  }
 
-    return false;
+  private Map<LocalDate, Double> toDailyIncomes(List<DailyIncomeView> views) {
+    Map<LocalDate, Double> incomes = new HashMap<>();
+    views.forEach(view -> incomes.put(view.getSaleDate(), view.getIncome()));
+
+    return incomes;
   }
 
-  private boolean isOrderFromHall(Order order, int hallId) {
-    List<Ticket> tickets = order.getTickets();
+  private Map<LocalDate, Double> merge(Map<LocalDate, Double> first, Map<LocalDate, Double> second) {
+    first.putAll(second);
 
-    for (Ticket ticket : tickets) {
-      if (hallId == ticket.getProjection().getHall().getId()) {
+    return first;
+  }
 
-        log.info("Order is from hall");
+  private Set<Dimension> parseDimensions(List<String> dimensions) {
+    Set<Dimension> selected = EnumSet.noneOf(Dimension.class);
 
-        return true;
-      }
+    if (Objects.isNull(dimensions)) {
+      return selected;
     }
 
-    log.info("Order is not from hall");
+    for (String dimension : dimensions) {
+      try {
+        selected.add(Dimension.valueOf(dimension.trim().toUpperCase(Locale.ROOT)));
+      } catch (IllegalArgumentException exception) {
+        String message = String.format(REPORT_DIMENSION_NOT_VALID_MESSAGE, dimension);
 
-    return false;
-  }
+        log.error(String.format("Exception caught: %s", message));
 
-  private boolean isTicketForMovie(Ticket ticket, int movieId) {
-    return movieId == ticket.getProjection().getMovie().getId();
-  }
+        throw new IllegalArgumentException(message);
+      }
+    }
 
-  private boolean isOrderFromUser(Order order, int userId) {
-    return userId == order.getUser().getId();
+    return selected;
   }
 
-  private boolean isTicketWithinDateRange(Ticket ticket, LocalDate startDate, LocalDate endDate) {
-    LocalDate ticketDate = ticket.getDateOfPurchase();
+  private <T> List<T> concat(List<T> first, List<T> second) {
+    List<T> all = new ArrayList<>(first.size() + second.size());
+    all.addAll(first);
+    all.addAll(second);
+
+    return all;
+  }
 
-    return ticketDate.isEqual(startDate) || ticketDate.isEqual(endDate) ||
-           (ticketDate.isAfter(startDate) && ticketDate.isBefore(endDate));
+  private Integer idOrNull(int id) {
+    return id == 0 ? null : id;
   }
 
-  private boolean isOrderWithinDateRange(Order order, LocalDate startDate, LocalDate endDate) {
-    LocalDate orderDate = order.getDateOfPurchase();
+  private static Comparator<IncomeBreakdownRowDto> nullsFirst(Function<IncomeBreakdownRowDto, Integer> getter) {
+    return Comparator.comparing(getter, Comparator.nullsFirst(Comparator.naturalOrder()));
+  }
 
-    return orderDate.isEqual(startDate) || (orderDate.isAfter(startDate) && orderDate.isBefore(endDate));
+  public enum Dimension {
+    DAY, CINEMA, HALL, MOVIE, CATEGORY, ITEM
   }
 }
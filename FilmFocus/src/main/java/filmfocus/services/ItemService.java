@@ -7,14 +7,16 @@ import filmfocus.mappers.ItemMapper;
 import filmfocus.models.dtos.ItemDto;
 import filmfocus.models.entities.Item;
 import filmfocus.models.requests.ItemRequest;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.KeysetPaging;
+import filmfocus.pagination.KeysetPaging.KeysetQuery;
 import filmfocus.repositories.ItemRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.Consumer;
 
 import static filmfocus.utils.constants.ExceptionMessages.ITEM_ALREADY_EXISTS_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.ITEM_NOT_FOUND_MESSAGE;
@@ -27,11 +29,13 @@ public class ItemService {
 
   private final ItemRepository itemRepository;
   private final ItemMapper itemMapper;
+  private final KeysetPaging keysetPaging;
 
   @Autowired
-  public ItemService(ItemRepository itemRepository, ItemMapper itemMapper) {
+  public ItemService(ItemRepository itemRepository, ItemMapper itemMapper, KeysetPaging keysetPaging) {
     this.itemRepository = itemRepository;
     this.itemMapper = itemMapper;
+    this.keysetPaging = keysetPaging;
   }
 
   public Item addItem(ItemRequest itemRequest) {
@@ -75,33 +79,33 @@ public class ItemService {
     }));
   }
 
-  public List<ItemDto> getItemsByQuantity(int quantity, Boolean isBelow) {
-    List<ItemDto> filteredItems = new ArrayList<>();
-    List<ItemDto> itemList = getAllItems();
+  public KeysetPage<ItemDto> getItemsPage(Integer afterId, Integer size) {
+    log.info(String.format("An attempt to extract a page of items after id %s from the database", afterId));
 
-    for (ItemDto item : itemList) {
-
-      if (isBelow) {
+    return keysetPaging.getPage(afterId, size, itemRepository::findByIdGreaterThan, Item::getId,
+                                itemMapper::mapItemToItemDto);
+  }
 
-        if (item.getQuantity() < quantity) {
-          filteredItems.add(item);
-        }
-      } else {
+  public void forEachItem(Consumer<ItemDto> action) {
+    log.info("An attempt to stream all items from the database");
 
-        if (item.getQuantity() > quantity) {
+    keysetPaging.forEach(itemRepository::findByIdGreaterThan, Item::getId,
+                         item -> action.accept(itemMapper.mapItemToItemDto(item)));
+  }
 
-          filteredItems.add(item);
-        }
-      }
-    }
+  public KeysetPage<ItemDto> getItemsPageByQuantity(int quantity, boolean isBelow, Integer afterId, Integer size) {
+    log.info(String.format("An attempt to extract a page of items by quantity %d after id %s from the database",
+                           quantity, afterId));
 
-    return filteredItems;
+    return keysetPaging.getPage(afterId, size, byQuantity(quantity, isBelow), Item::getId,
+                                itemMapper::mapItemToItemDto);
   }
 
-  public List<ItemDto> getAllItems() {
-    log.info("An attempt to extract all items from the database");
+  public void forEachItemByQuantity(int quantity, boolean isBelow, Consumer<ItemDto> action) {
+    log.info(String.format("An attempt to stream items by quantity %d from the database", quantity));
 
-    return itemMapper.mapItemToItemDtoList(itemRepository.findAll());
+    keysetPaging.forEach(byQuantity(quantity, isBelow), Item::getId,
+                         item -> action.accept(itemMapper.mapItemToItemDto(item)));
   }
 
   public ItemDto editItem(ItemRequest itemRequest, int id) {
@@ -147,4 +151,12 @@ public class ItemService {
 
     return decrementedQuantity;
   }
+
+  private KeysetQuery<Item> byQuantity(int quantity, boolean isBelow) {
+    if (isBelow) {
+      return (afterId, page) -> itemRepository.findByQuantityLessThanAndIdGreaterThan(quantity, afterId, page);
+    }
+
+    return (afterId, page) -> itemRepository.findByQuantityGreaterThanAndIdGreaterThan(quantity, afterId, page);
+  }
 }
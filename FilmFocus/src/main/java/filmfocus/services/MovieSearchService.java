@@ -0,0 +1,188 @@
+package filmfocus.services;
+
+import filmfocus.mappers.MovieMapper;
+import filmfocus.models.dtos.MovieSearchDto;
+import filmfocus.models.entities.Movie;
+import filmfocus.models.requests.MovieSearchRequest;
+import filmfocus.repositories.MovieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static filmfocus.repositories.specifications.MovieSpecifications.hasCategoryIdIn;
+import static filmfocus.repositories.specifications.MovieSpecifications.hasRatingAtLeast;
+import static filmfocus.repositories.specifications.MovieSpecifications.hasRatingAtMost;
+import static filmfocus.repositories.specifications.MovieSpecifications.isReleasedAfter;
+import static filmfocus.repositories.specifications.MovieSpecifications.isReleasedBefore;
+import static filmfocus.repositories.specifications.MovieSpecifications.titleContains;
+import static filmfocus.utils.constants.ExceptionMessages.PAGE_NUMBER_NOT_VALID_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.PAGE_SIZE_NOT_VALID_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.SORT_FIELD_NOT_VALID_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.SORT_ORDER_NOT_VALID_MESSAGE;
+
+/**
+ * Searches movies by any combination of title, categories, release date range and rating range. The filters are
+ * combined into one specification, so a search is one page query plus a count and the two facet counts.
+ *
+ * <p>Facets follow the usual disjunctive rule: the category counts apply every filter but the categories and the
+ * rating band counts every filter but the rating range, so they show what choosing another value would return.
+ */
+@Service
+public class MovieSearchService {
+
+  private static final Logger log = LoggerFactory.getLogger(MovieSearchService.class);
+
+  private static final String DEFAULT_SORT = "rating";
+  private static final Map<String, String> SORT_PROPERTIES =
+    Map.of("title", "title", "rating", "averageRating", "releaseDate", "releaseDate");
+
+  private final MovieRepository movieRepository;
+  private final MovieMapper movieMapper;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+
+  @Autowired
+  public MovieSearchService(
+    MovieRepository movieRepository, MovieMapper movieMapper,
+    @Value("${movies.search.default-size}") int defaultPageSize,
+    @Value("${movies.search.max-size}") int maxPageSize) {
+    this.movieRepository = movieRepository;
+    this.movieMapper = movieMapper;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+  }
+
+  @Transactional(readOnly = true)
+  public MovieSearchDto searchMovies(MovieSearchRequest request) {
+    Sort sort = getSort(request.getSort(), request.getOrder());
+    int size = getPageSize(request.getSize());
+    int page = getPage(request.getPage());
+
+    Specification<Movie> common = getCommonFilter(request);
+    Specification<Movie> categories = getCategoryFilter(request);
+    Specification<Movie> ratings = getRatingFilter(request);
+    Specification<Movie> filter = common.and(categories).and(ratings);
+
+    List<Movie> movies = movieRepository.findPage(filter, sort, page * size, size);
+
+    // A first page that is not full already holds every match.
+    long totalCount = page == 0 && movies.size() < size ? movies.size() : movieRepository.count(filter);
+
+    log.info(String.format("A movie search found %d movies", totalCount));
+
+    return new MovieSearchDto(movieMapper.mapMovieListToMovieDtoList(movies), page, size, totalCount,
+                              movieRepository.countByCategory(common.and(ratings)),
+                              movieRepository.countByRatingBand(common.and(categories)));
+  }
+
+  private Specification<Movie> getCommonFilter(MovieSearchRequest request) {
+    Specification<Movie> filter = Specification.where(null);
+
+    if (Objects.nonNull(request.getTitle()) && !request.getTitle().isBlank()) {
+      filter = filter.and(titleContains(request.getTitle().trim()));
+    }
+
+    if (Objects.nonNull(request.getReleasedAfter())) {
+      filter = filter.and(isReleasedAfter(request.getReleasedAfter()));
+    }
+
+    if (Objects.nonNull(request.getReleasedBefore())) {
+      filter = filter.and(isReleasedBefore(request.getReleasedBefore()));
+    }
+
+    return filter;
+  }
+
+  private Specification<Movie> getCategoryFilter(MovieSearchRequest request) {
+    if (Objects.isNull(request.getCategoryId()) || request.getCategoryId().isEmpty()) {
+      return Specification.where(null);
+    }
+
+    return Specification.where(hasCategoryIdIn(request.getCategoryId()));
+  }
+
+  private Specification<Movie> getRatingFilter(MovieSearchRequest request) {
+    Specification<Movie> filter = Specification.where(null);
+
+    if (Objects.nonNull(request.getMinRating())) {
+      filter = filter.and(hasRatingAtLeast(request.getMinRating()));
+    }
+
+    if (Objects.nonNull(request.getMaxRating())) {
+      filter = filter.and(hasRatingAtMost(request.getMaxRating()));
+    }
+
+    return filter;
+  }
+
+  // Ratings sort highest first and the rest in ascending order unless told otherwise. Ties are broken by id in the
+  // same direction, so pages never overlap.
+  private Sort getSort(String field, String order) {
+    String property = SORT_PROPERTIES.get(Objects.isNull(field) ? DEFAULT_SORT : field);
+
+    if (Objects.isNull(property)) {
+      String message = String.format(SORT_FIELD_NOT_VALID_MESSAGE, field);
+
+      log.error(String.format("Exception caught: %s", message));
+
+      throw new IllegalArgumentException(message);
+    }
+
+    Sort.Direction direction;
+
+    if (Objects.isNull(order)) {
+      direction = SORT_PROPERTIES.get(DEFAULT_SORT).equals(property) ? Sort.Direction.DESC : Sort.Direction.ASC;
+    } else {
+      try {
+        direction = Sort.Direction.fromString(order);
+      } catch (IllegalArgumentException exception) {
+        String message = String.format(SORT_ORDER_NOT_VALID_MESSAGE, order);
+
+        log.error(String.format("Exception caught: %s", message));
+
+        throw new IllegalArgumentException(message);
+      }
+    }
+
+    return Sort.by(direction, property, "id");
+  }
+
+  private int getPage(Integer page) {
+    if (Objects.isNull(page)) {
+      return 0;
+    }
+
+    if (page < 0) {
+      log.error(String.format("Exception caught: %s", PAGE_NUMBER_NOT_VALID_MESSAGE));
+
+      throw new IllegalArgumentException(PAGE_NUMBER_NOT_VALID_MESSAGE);
+    }
+
+    return page;
+  }
+
+  private int getPageSize(Integer size) {
+    if (Objects.isNull(size)) {
+      return defaultPageSize;
+    }
+
+    if (size < 1 || size > maxPageSize) {
+      String message = String.format(PAGE_SIZE_NOT_VALID_MESSAGE, maxPageSize);
+
+      log.error(String.format("Exception caught: %s", message));
+
+      throw new IllegalArgumentException(message);
+    }
+
+    return size;
+  }
+}
@@ -1,5 +1,7 @@
 package filmfocus.services;
 
+import filmfocus.catalog.MovieCatalog;
+import filmfocus.catalog.MovieSnapshot;
 import filmfocus.exceptions.DateNotValidException;
 import filmfocus.exceptions.MovieAlreadyExistsException;
 import filmfocus.exceptions.MovieNotFoundException;
@@ -8,18 +10,28 @@ import filmfocus.models.dtos.MovieDto;
 import filmfocus.models.entities.Movie;
 import filmfocus.models.requests.MovieRequest;
 import filmfocus.repositories.MovieRepository;
+import filmfocus.utils.ReadModelLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static filmfocus.utils.constants.ExceptionMessages.DATE_NOT_VALID_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.MOVIE_ALREADY_EXISTS_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.MOVIE_NOT_FOUND_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.PAGE_SIZE_NOT_VALID_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.SEARCH_QUERY_NOT_VALID_MESSAGE;
 
 @Service
 public class MovieService {
@@ -30,15 +42,45 @@ public class MovieService {
   private final MovieMapper movieMapper;
   private final CategoryService categoryService;
   private final ImdbService imdbService;
+  private final MovieCatalog movieCatalog;
+  private final int defaultSuggestionCount;
+  private final int maxSuggestionCount;
+  private final ReadModelLoader loader = new ReadModelLoader();
 
   @Autowired
   public MovieService(
     MovieRepository movieRepository, MovieMapper movieMapper, CategoryService categoryService,
-    ImdbService imdbService) {
+    ImdbService imdbService, MovieCatalog movieCatalog,
+    @Value("${movies.suggestions.default-size}") int defaultSuggestionCount,
+    @Value("${movies.suggestions.max-size}") int maxSuggestionCount) {
     this.movieRepository = movieRepository;
     this.movieMapper = movieMapper;
     this.categoryService = categoryService;
     this.imdbService = imdbService;
+    this.movieCatalog = movieCatalog;
+    this.defaultSuggestionCount = defaultSuggestionCount;
+    this.maxSuggestionCount = maxSuggestionCount;
+  }
+
+  // Loads the catalog read model once the application is ready and reloads it periodically, which also picks up the
+  // changes made by other instances and to categories. The loader holds the movie changes that commit while the
+  // movies are read and applies them again to the reloaded catalog; until the first load, catalog reads go to the
+  // database.
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${movies.catalog.refresh-interval}",
+             initialDelayString = "${movies.catalog.refresh-interval}")
+  @Transactional(readOnly = true)
+  public void loadCatalog() {
+    List<MovieSnapshot> movies;
+
+    try (Stream<Movie> stream = loader.startLoad(movieRepository::streamAllWithCategory)) {
+      movies = stream.map(MovieSnapshot::of).collect(Collectors.toList());
+      movieCatalog.replaceAll(movies);
+    } finally {
+      loader.finishLoad();
+    }
+
+    log.info(String.format("The movie catalog was loaded with %d movies", movies.size()));
   }
 
   public Movie addMovie(MovieRequest request) {
@@ -57,10 +99,14 @@ public class MovieService {
       throw new MovieAlreadyExistsException(MOVIE_ALREADY_EXISTS_MESSAGE);
     });
 
-    return movieRepository.save(
+    Movie movie = movieRepository.save(
       new Movie(request.getTitle(), request.getDescription(), request.getReleaseDate(),
                 request.getRuntime(), categoryService.getCategoryById(request.getCategoryId()))
     );
+
+    putInCatalogAfterCommit(movie);
+
+    return movie;
   }
 
   public List<MovieDto> getMoviesByTitle(String title, double minRating) {
@@ -74,6 +120,13 @@ public class MovieService {
         "Required request parameter 'title' for method parameter type String is present but converted to null");
     }
 
+    if (movieCatalog.isLoaded()) {
+      log.info(String.format("All movies with title %s and rating %.2f were requested from the catalog",
+                             title, minRating));
+
+      return toMovieDtos(movieCatalog.findByTitleContaining(title, minRating));
+    }
+
     if (minRating == 0.0) {
       log.info(String.format("All movies with title %s were requested from the database", title));
 
@@ -88,7 +141,38 @@ public class MovieService {
     }
   }
 
+  // Typeahead: the best matches of the start of a title, ignoring case and accents. Until the catalog is loaded the
+  // database is searched instead, case-sensitively and by id.
+  public List<MovieDto> getMovieSuggestions(String query, Integer size) {
+    if (query == null || query.isBlank()) {
+      log.error(String.format("Exception caught: %s", SEARCH_QUERY_NOT_VALID_MESSAGE));
+
+      throw new IllegalArgumentException(SEARCH_QUERY_NOT_VALID_MESSAGE);
+    }
+
+    int count = getSuggestionCount(size);
+
+    if (movieCatalog.isLoaded()) {
+      log.info(String.format("Movie suggestions for %s were requested from the catalog", query));
+
+      return toMovieDtos(movieCatalog.findByTitle(query, Double.NEGATIVE_INFINITY, count));
+    }
+
+    log.info(String.format("Movie suggestions for %s were requested from the database", query));
+
+    List<Movie> movies = movieRepository.findByTitleContaining(query.trim());
+
+    return movieMapper.mapMovieListToMovieDtoList(movies.subList(0, Math.min(count, movies.size())));
+  }
+
   public List<MovieDto> getMoviesByCategory(Integer categoryId, double minRating) {
+    if (movieCatalog.isLoaded()) {
+      log.info(String.format("All movies with category id %d and rating %.2f were requested from the catalog",
+                             categoryId, minRating));
+
+      return toMovieDtos(movieCatalog.findByCategoryId(categoryId, minRating));
+    }
+
     if (minRating == 0.0) {
       log.info(String.format("All movies with category id %d were requested from the database", categoryId));
 
@@ -106,6 +190,13 @@ public class MovieService {
   public List<MovieDto> getMoviesByReleaseDate(LocalDate releaseDate, Double minRating, boolean isAfter) {
     List<Movie> movies;
 
+    if (movieCatalog.isLoaded()) {
+      log.info(String.format("All movies with releaseDate %s were requested from the catalog", releaseDate));
+
+      return toMovieDtos(movieCatalog.findByReleaseDate(
+        releaseDate, isAfter, Objects.nonNull(minRating) ? minRating : Double.NEGATIVE_INFINITY));
+    }
+
     log.info(String.format("All movies with releaseDate %s were requested from the database", releaseDate));
 
     if (isAfter) {
@@ -122,6 +213,12 @@ public class MovieService {
   }
 
   public List<MovieDto> getMoviesByMinRating(double rating) {
+    if (movieCatalog.isLoaded()) {
+      log.info(String.format("All movies with rating of %.2f were requested from the catalog", rating));
+
+      return toMovieDtos(movieCatalog.findByMinRating(rating));
+    }
+
     log.info(String.format("All movies with rating of %.2f were requested from the database", rating));
 
     return movieMapper.mapMovieListToMovieDtoList(movieRepository.findByAverageRatingGreaterThanEqual(rating));
@@ -137,6 +234,12 @@ public class MovieService {
   }
 
   public MovieDto getMovieDtoById(int id) {
+    MovieSnapshot snapshot = movieCatalog.getById(id);
+
+    if (Objects.nonNull(snapshot)) {
+      return snapshot.toMovieDto();
+    }
+
     log.info(String.format("An attempt to extract a movie DTO with an id %d from the database", id));
 
     return movieMapper.mapMovieToMovieDto(getMovieById(id));
@@ -156,19 +259,17 @@ public class MovieService {
   public List<Integer> getIdsOfMoviesByTitle(String title) {
     log.info(String.format("All movies IDs with title %s were requested from the database", title));
 
-    List<Movie> movies = movieRepository.findByTitleContaining(title);
-
-    return movies.stream()
-                 .map(Movie::getId)
-                 .collect(Collectors.toList());
+    return movieRepository.findIdsByTitleContaining(title);
   }
 
   public String getImdbMovies(String filter) {
     return imdbService.getMovies(filter);
   }
 
+  // Only the editable fields are changed; the average rating belongs to the running sums.
   public MovieDto updateMovie(MovieRequest request, int id) {
-    MovieDto movieDto = getMovieDtoById(id);
+    Movie movie = getMovieById(id);
+    MovieDto movieDto = movieMapper.mapMovieToMovieDto(movie);
 
     if (isDateNotValid(request.getReleaseDate())) {
       log.error(String.format("Exception caught: %s", DATE_NOT_VALID_MESSAGE));
@@ -176,33 +277,41 @@ public class MovieService {
       throw new DateNotValidException(DATE_NOT_VALID_MESSAGE);
     }
 
-    movieRepository.save(new Movie(id, request.getTitle(), request.getDescription(), request.getReleaseDate(),
-                                   request.getRuntime(), categoryService.getCategoryById(request.getCategoryId())));
+    movie.setTitle(request.getTitle());
+    movie.setDescription(request.getDescription());
+    movie.setReleaseDate(request.getReleaseDate());
+    movie.setRuntime(request.getRuntime());
+    movie.setCategory(categoryService.getCategoryById(request.getCategoryId()));
+
+    movieRepository.save(movie);
+    putInCatalogAfterCommit(movie);
 
     log.info(String.format("Movie with an id %d has been updated", id));
 
     return movieDto;
   }
 
-  public MovieDto updateMovieAverageRating(double newRating, int movieId) {
-    Movie movie = getMovieById(movieId);
-
-    MovieDto movieDto = movieMapper.mapMovieToMovieDto(movie);
+  // Adds a rating change to the running sum and count in one statement, so concurrent reviews never overwrite
+  // each other. A new review counts 1, a deleted one -1 and an edited one 0 with the difference of the ratings.
+  @Transactional
+  public void addMovieRating(int movieId, double ratingDelta, int countDelta) {
+    if (movieRepository.addRating(movieId, ratingDelta, countDelta) == 0) {
+      log.error(String.format("Exception caught: %s", MOVIE_NOT_FOUND_MESSAGE));
 
-    movie.setAverageRating(newRating);
-    movieDto.setAverageRating(newRating);
+      throw new MovieNotFoundException(MOVIE_NOT_FOUND_MESSAGE);
+    }
 
-    movieRepository.save(movie);
+    movieRepository.findAverageRatingById(movieId).ifPresent(
+      rating -> loader.runAfterCommit(() -> movieCatalog.updateRating(movieId, rating)));
 
     log.info(String.format("Updated average rating for movie with id %d", movieId));
-
-    return movieDto;
   }
 
   public MovieDto deleteMovie(int id) {
     MovieDto movieDto = getMovieDtoById(id);
 
     movieRepository.deleteById(id);
+    loader.runAfterCommit(() -> movieCatalog.remove(id));
 
     log.info(String.format("Movie with an id %d has been deleted", id));
 
@@ -212,4 +321,31 @@ public class MovieService {
   public boolean isDateNotValid(LocalDate releaseDate) {
     return releaseDate.isBefore(LocalDate.now());
   }
+
+  private int getSuggestionCount(Integer size) {
+    if (Objects.isNull(size)) {
+      return defaultSuggestionCount;
+    }
+
+    if (size < 1 || size > maxSuggestionCount) {
+      String message = String.format(PAGE_SIZE_NOT_VALID_MESSAGE, maxSuggestionCount);
+
+      log.error(String.format("Exception caught: %s", message));
+
+      throw new IllegalArgumentException(message);
+    }
+
+    return size;
+  }
+
+  private List<MovieDto> toMovieDtos(List<MovieSnapshot> movies) {
+    return movies.stream().map(MovieSnapshot::toMovieDto).collect(Collectors.toList());
+  }
+
+  private void putInCatalogAfterCommit(Movie movie) {
+    if (Objects.nonNull(movie)) {
+      MovieSnapshot snapshot = MovieSnapshot.of(movie);
+      loader.runAfterCommit(() -> movieCatalog.put(snapshot));
+    }
+  }
 }
@@ -0,0 +1,154 @@
+package filmfocus.services;
+
+import filmfocus.exceptions.ExportLimitExceededException;
+import filmfocus.export.ExportFormat;
+import filmfocus.export.ExportWriter;
+import filmfocus.models.views.ItemExportView;
+import filmfocus.models.views.OrderExportView;
+import filmfocus.models.views.TicketExportView;
+import filmfocus.repositories.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static filmfocus.utils.constants.ExceptionMessages.EXPORT_FORMAT_NOT_VALID_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.EXPORT_LIMIT_EXCEEDED_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.EXPORT_TYPE_NOT_VALID_MESSAGE;
+
+/**
+ * Streams orders, their tickets or their items between two dates to an output stream. The rows come from a
+ * forward-only cursor that is read in pages of the fetch size of the export queries and are written out one at a
+ * time, so the memory used does not grow with the size of the export. Only a limited number of exports run at once,
+ * each between {@link #startExport()} and {@link #finishExport()}.
+ */
+@Service
+public class OrderExportService {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderExportService.class);
+
+  private static final int FLUSH_INTERVAL = 1000;
+
+  private static final List<String> ORDER_COLUMNS =
+    Arrays.asList("orderId", "dateOfPurchase", "userId", "username", "totalPrice");
+  private static final List<String> TICKET_COLUMNS =
+    Arrays.asList("orderId", "ticketId", "dateOfPurchase", "projectionId", "programDate", "startTime", "movieId",
+                  "movieTitle", "cinemaId", "hallId", "seatRow", "seatNumber", "price");
+  private static final List<String> ITEM_COLUMNS =
+    Arrays.asList("orderId", "dateOfPurchase", "itemId", "itemName", "price");
+
+  private final OrderRepository orderRepository;
+  private final Semaphore exportPermits;
+
+  @Autowired
+  public OrderExportService(
+    OrderRepository orderRepository, @Value("${reports.exports.max-concurrent}") int maxConcurrentExports) {
+    this.orderRepository = orderRepository;
+    this.exportPermits = new Semaphore(maxConcurrentExports);
+  }
+
+  public void startExport() {
+    if (!exportPermits.tryAcquire()) {
+      log.error(String.format("Exception caught: %s", EXPORT_LIMIT_EXCEEDED_MESSAGE));
+
+      throw new ExportLimitExceededException(EXPORT_LIMIT_EXCEEDED_MESSAGE);
+    }
+  }
+
+  public void finishExport() {
+    exportPermits.release();
+  }
+
+  public ExportType getExportType(String type) {
+    return parse(ExportType.class, type, EXPORT_TYPE_NOT_VALID_MESSAGE);
+  }
+
+  public ExportFormat getExportFormat(String format) {
+    return parse(ExportFormat.class, format, EXPORT_FORMAT_NOT_VALID_MESSAGE);
+  }
+
+  @Transactional(readOnly = true)
+  public long export(
+    ExportType type, ExportFormat format, LocalDate startDate, LocalDate endDate, OutputStream outputStream)
+    throws IOException {
+    long rows;
+
+    switch (type) {
+      case ORDERS:
+        try (Stream<OrderExportView> orders = orderRepository.streamOrderExport(startDate, endDate)) {
+          rows = write(orders, ORDER_COLUMNS, format, outputStream, order -> Arrays.asList(
+            order.getOrderId(), order.getDateOfPurchase(), order.getUserId(), order.getUsername(),
+            order.getTotalPrice()));
+        }
+        break;
+      case TICKETS:
+        try (Stream<TicketExportView> tickets = orderRepository.streamTicketExport(startDate, endDate)) {
+          rows = write(tickets, TICKET_COLUMNS, format, outputStream, ticket -> Arrays.asList(
+            ticket.getOrderId(), ticket.getTicketId(), ticket.getDateOfPurchase(), ticket.getProjectionId(),
+            ticket.getProgramDate(), ticket.getStartTime(), ticket.getMovieId(), ticket.getMovieTitle(),
+            ticket.getCinemaId(), ticket.getHallId(), ticket.getSeatRow(), ticket.getSeatNumber(),
+            ticket.getPrice()));
+        }
+        break;
+      default:
+        try (Stream<ItemExportView> items = orderRepository.streamItemExport(startDate, endDate)) {
+          rows = write(items, ITEM_COLUMNS, format, outputStream, item -> Arrays.asList(
+            item.getOrderId(), item.getDateOfPurchase(), item.getItemId(), item.getItemName(), item.getPrice()));
+        }
+    }
+
+    log.info(String.format("%d %s between %s and %s were exported as %s", rows,
+                           type.name().toLowerCase(Locale.ROOT), startDate, endDate, format));
+
+    return rows;
+  }
+
+  private <T> long write(
+    Stream<T> source, List<String> columns, ExportFormat format, OutputStream outputStream,
+    Function<T, List<?>> toRow) throws IOException {
+    ExportWriter writer = format.newWriter(columns, outputStream);
+    Iterator<T> rows = source.iterator();
+    long written = 0;
+
+    while (rows.hasNext()) {
+      writer.writeRow(toRow.apply(rows.next()));
+
+      if (++written % FLUSH_INTERVAL == 0) {
+        writer.flush();
+      }
+    }
+
+    writer.flush();
+
+    return written;
+  }
+
+  private <E extends Enum<E>> E parse(Class<E> type, String value, String message) {
+    try {
+      return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException exception) {
+      String formattedMessage = String.format(message, value);
+
+      log.error(String.format("Exception caught: %s", formattedMessage));
+
+      throw new IllegalArgumentException(formattedMessage);
+    }
+  }
+
+  public enum ExportType {
+    ORDERS, TICKETS, ITEMS
+  }
+}
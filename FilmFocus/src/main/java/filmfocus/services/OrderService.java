@@ -1,13 +1,13 @@
 package filmfocus.services;
 
-import com.mailjet.client.errors.MailjetException;
-import com.mailjet.client.errors.MailjetSocketTimeoutException;
+import filmfocus.analytics.ReportCache;
 import filmfocus.exceptions.DiscountNotFoundException;
 import filmfocus.exceptions.DiscountNotValidException;
 import filmfocus.exceptions.NotAuthorizedException;
 import filmfocus.exceptions.OrderNotFoundException;
 import filmfocus.mappers.OrderMapper;
 import filmfocus.models.dtos.OrderDto;
+import filmfocus.models.dtos.SeatHoldDto;
 import filmfocus.models.entities.Item;
 import filmfocus.models.entities.Order;
 import filmfocus.models.entities.Ticket;
@@ -19,6 +19,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -43,11 +46,17 @@ public class OrderService {
   private final TicketService ticketService;
   private final ItemService itemService;
   private final EmailService emailService;
+  private final SeatHoldService seatHoldService;
+  private final RevenueRollupService revenueRollupService;
+  private final SalesFactService salesFactService;
+  private final ReportCache reportCache;
 
   @Autowired
   public OrderService(
     DiscountService discountService, OrderMapper orderMapper, OrderRepository orderRepository,
-    UserService userService, TicketService ticketService, ItemService itemService, EmailService emailService) {
+    UserService userService, TicketService ticketService, ItemService itemService, EmailService emailService,
+    SeatHoldService seatHoldService, RevenueRollupService revenueRollupService, SalesFactService salesFactService,
+    ReportCache reportCache) {
     this.discountService = discountService;
     this.orderMapper = orderMapper;
     this.orderRepository = orderRepository;
@@ -55,9 +64,14 @@ public class OrderService {
     this.ticketService = ticketService;
     this.itemService = itemService;
     this.emailService = emailService;
+    this.seatHoldService = seatHoldService;
+    this.revenueRollupService = revenueRollupService;
+    this.salesFactService = salesFactService;
+    this.reportCache = reportCache;
   }
 
-  public Order addOrder(OrderRequest request) throws MailjetSocketTimeoutException, MailjetException {
+  @Transactional
+  public Order addOrder(OrderRequest request) {
     List<Ticket> tickets =
       request.getTicketsIds().stream().map(ticketService::getTicketById).collect(Collectors.toList());
 
@@ -88,41 +102,46 @@ public class OrderService {
 
     order = orderRepository.save(order);
 
+    revenueRollupService.recordOrder(order);
+    salesFactService.recordOrder(order);
+
     emailService.sendOrderConfirmationEmail(user, order);
 
     return order;
   }
 
-  public Order makeReservationWithUserId(List<TicketRequest> requests, int userId, String discountCode) throws
-    MailjetSocketTimeoutException,
-    MailjetException {
-    List<Item> items = Collections.emptyList();
-    List<Ticket> tickets = new ArrayList<>();
-
-    User user = userService.getUserById(userId);
+  @Transactional
+  public Order makeReservationWithUserId(List<TicketRequest> requests, int userId, String discountCode) {
+    User user = getAuthorizedUser(userId);
 
-    if (!userService.isCurrentUserAuthorized(userId)) {
-      log.error(String.format("Exception caught: %s", NOT_AUTHORIZED_MESSAGE));
-      throw new NotAuthorizedException(NOT_AUTHORIZED_MESSAGE);
+    if (Objects.nonNull(discountCode)) {
+      isDiscountCodeValid(discountCode);
     }
 
-    for (TicketRequest request : requests) {
-      tickets.add(ticketService.addTicket(new TicketRequest(request.getProjectionId())));
-    }
+    return saveReservation(user, ticketService.addTickets(requests), discountCode);
+  }
 
-    double price = calculateOrderPrice(items, tickets);
+  public SeatHoldDto holdSeatsWithUserId(List<TicketRequest> requests, int userId) {
+    getAuthorizedUser(userId);
 
-    if (Objects.nonNull(discountCode) && isDiscountCodeValid(discountCode)) {
-      price = discountService.applyDiscount(price, discountCode);
-    }
+    return seatHoldService.holdSeats(requests, userId);
+  }
 
-    log.info("An attempt to add a new order in the database");
+  @Transactional
+  public Order confirmHoldWithUserId(String holdId, int userId, String discountCode) {
+    User user = getAuthorizedUser(userId);
 
-    Order order = orderRepository.save(new Order(LocalDate.now(), user, tickets, items, price));
+    if (Objects.nonNull(discountCode)) {
+      isDiscountCodeValid(discountCode);
+    }
 
-    emailService.sendOrderConfirmationEmail(user, order);
+    return saveReservation(user, seatHoldService.confirmHold(holdId, userId), discountCode);
+  }
 
-    return order;
+  public SeatHoldDto releaseHoldWithUserId(String holdId, int userId) {
+    getAuthorizedUser(userId);
+
+    return seatHoldService.releaseHold(holdId, userId);
   }
 
   public List<OrderDto> getOrdersByUserId(int userId) {
@@ -149,7 +168,15 @@ public class OrderService {
     return orderRepository.findOrdersByDateOfPurchaseBetween(startDate, endDate);
   }
 
-  public OrderDto updateOrder(OrderRequest request, int id) throws MailjetSocketTimeoutException, MailjetException {
+  public int getItemsCountByItemName(String name, LocalDate startDate, LocalDate endDate) {
+    log.info(String.format("Items count for item with name '%s' between %s and %s was requested", name, startDate,
+                           endDate));
+
+    return (int) orderRepository.countItemsByItemName(name, startDate, endDate);
+  }
+
+  @Transactional
+  public OrderDto updateOrder(OrderRequest request, int id) {
     Order order = orderRepository.findById(id).orElseThrow(() -> {
       log.error(String.format("Exception caught: %s", ORDER_NOT_FOUND_MESSAGE));
 
@@ -190,6 +217,8 @@ public class OrderService {
       }
     }
 
+    revenueRollupService.retractOrder(order);
+    salesFactService.retractOrder(order);
 
     order.setItems(items);
     order.setTickets(tickets);
@@ -198,6 +227,10 @@ public class OrderService {
 
     orderRepository.save(order);
 
+    revenueRollupService.recordOrder(order);
+    salesFactService.recordOrder(order);
+    invalidateReportsAfterCommit(order.getDateOfPurchase());
+
     log.info(String.format("Order with id %d was updated", id));
 
     emailService.sendOrderConfirmationEmail(user, order);
@@ -205,6 +238,7 @@ public class OrderService {
     return orderDto;
   }
 
+  @Transactional
   public OrderDto deleteOrder(int id) {
     Order order = orderRepository.findById(id).orElseThrow(() -> {
       log.error(String.format("Exception caught: %s", ORDER_NOT_FOUND_MESSAGE));
@@ -213,11 +247,47 @@ public class OrderService {
 
     OrderDto orderDto = orderMapper.mapOrderToOrderDto(order);
 
+    revenueRollupService.retractOrder(order);
+    salesFactService.retractOrder(order);
+    invalidateReportsAfterCommit(order.getDateOfPurchase());
+
     orderRepository.delete(order);
     log.info(String.format("Order with id %d was deleted from the database", id));
     return orderDto;
   }
 
+  private User getAuthorizedUser(int userId) {
+    User user = userService.getUserById(userId);
+
+    if (!userService.isCurrentUserAuthorized(userId)) {
+      log.error(String.format("Exception caught: %s", NOT_AUTHORIZED_MESSAGE));
+      throw new NotAuthorizedException(NOT_AUTHORIZED_MESSAGE);
+    }
+
+    return user;
+  }
+
+  private Order saveReservation(User user, List<Ticket> tickets, String discountCode) {
+    List<Item> items = Collections.emptyList();
+
+    double price = calculateOrderPrice(items, tickets);
+
+    if (Objects.nonNull(discountCode) && isDiscountCodeValid(discountCode)) {
+      price = discountService.applyDiscount(price, discountCode);
+    }
+
+    log.info("An attempt to add a new order in the database");
+
+    Order order = orderRepository.save(new Order(LocalDate.now(), user, tickets, items, price));
+
+    revenueRollupService.recordOrder(order);
+    salesFactService.recordOrder(order);
+
+    emailService.sendOrderConfirmationEmail(user, order);
+
+    return order;
+  }
+
   private boolean isDiscountCodeValid(String discountCode) {
     String regex = "\\d{4}";
 
@@ -228,6 +298,22 @@ public class OrderService {
     }
   }
 
+  // The cached reports of the day of the order are dropped once the change is visible, so they are not filled
+  // again from the data before it.
+  private void invalidateReportsAfterCommit(LocalDate day) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      reportCache.invalidateDay(day);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        reportCache.invalidateDay(day);
+      }
+    });
+  }
+
   private double calculateOrderPrice(List<Item> items, List<Ticket> tickets) {
     double sum = 0;
 
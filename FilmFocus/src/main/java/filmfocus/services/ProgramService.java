@@ -8,6 +8,8 @@ import filmfocus.models.dtos.ProgramDto;
 import filmfocus.models.entities.Cinema;
 import filmfocus.models.entities.Program;
 import filmfocus.models.requests.ProgramRequest;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.KeysetPaging;
 import filmfocus.repositories.ProgramRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +19,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import static filmfocus.utils.constants.ExceptionMessages.DATE_NOT_VALID_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.ITEM_ALREADY_EXISTS_MESSAGE;
@@ -31,12 +34,16 @@ public class ProgramService {
   private final ProgramRepository programRepository;
   private final ProgramMapper programMapper;
   private final CinemaService cinemaService;
+  private final KeysetPaging keysetPaging;
 
   @Autowired
-  public ProgramService(ProgramRepository programRepository, ProgramMapper programMapper, CinemaService cinemaService) {
+  public ProgramService(
+    ProgramRepository programRepository, ProgramMapper programMapper, CinemaService cinemaService,
+    KeysetPaging keysetPaging) {
     this.programRepository = programRepository;
     this.programMapper = programMapper;
     this.cinemaService = cinemaService;
+    this.keysetPaging = keysetPaging;
   }
 
   public Program addProgram(ProgramRequest request) {
@@ -71,6 +78,20 @@ public class ProgramService {
     }
   }
 
+  public KeysetPage<ProgramDto> getProgramsPage(Integer afterId, Integer size) {
+    log.info(String.format("A page of programs after id %s was requested from the database", afterId));
+
+    return keysetPaging.getPage(afterId, size, programRepository::findByIdGreaterThan, Program::getId,
+                                programMapper::mapProgramToProgramDto);
+  }
+
+  public void forEachProgram(Consumer<ProgramDto> action) {
+    log.info("All programs were requested to be streamed from the database");
+
+    keysetPaging.forEach(programRepository::findByIdGreaterThan, Program::getId,
+                         program -> action.accept(programMapper.mapProgramToProgramDto(program)));
+  }
+
   public List<ProgramDto> getProgramsByCinemaId(int cinemaId) {
     log.info(String.format("All programs with cinema id %d were requested from the database", cinemaId));
 
@@ -0,0 +1,68 @@
+package filmfocus.services;
+
+import filmfocus.repositories.CinemaRepository;
+import filmfocus.repositories.MovieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Recomputes the rating sum, count and average of every movie and cinema from their reviews, to correct any drift of
+ * the running sums that {@link RatingUpdateService} writes behind. Each entity is rebuilt in its own transaction that
+ * locks its row, with review commits and flushes held off by {@link RatingUpdateService}: the changes it has collected
+ * for the entity come from reviews the rebuild counts and are dropped, and every later change is flushed on top of the
+ * rebuilt values.
+ */
+@Service
+public class RatingAggregateService {
+
+  private static final Logger log = LoggerFactory.getLogger(RatingAggregateService.class);
+
+  private final MovieRepository movieRepository;
+  private final CinemaRepository cinemaRepository;
+  private final RatingUpdateService ratingUpdateService;
+  private final TransactionTemplate transactionTemplate;
+
+  @Autowired
+  public RatingAggregateService(
+    MovieRepository movieRepository, CinemaRepository cinemaRepository, RatingUpdateService ratingUpdateService,
+    TransactionTemplate transactionTemplate) {
+    this.movieRepository = movieRepository;
+    this.cinemaRepository = cinemaRepository;
+    this.ratingUpdateService = ratingUpdateService;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  @Scheduled(
+    fixedDelayString = "${reviews.rating-rebuild-interval}",
+    initialDelayString = "${reviews.rating-rebuild-interval}")
+  public void rebuildRatingAggregates() {
+    int movies = rebuild(movieRepository.findAllIds(), movieId -> ratingUpdateService.rebuildMovieRating(
+      movieId, () -> transactionTemplate.executeWithoutResult(status -> {
+        movieRepository.lockRatingById(movieId);
+        movieRepository.rebuildRating(movieId);
+      })));
+
+    int cinemas = rebuild(cinemaRepository.findAllIds(), cinemaId -> ratingUpdateService.rebuildCinemaRating(
+      cinemaId, () -> transactionTemplate.executeWithoutResult(status -> {
+        cinemaRepository.lockRatingById(cinemaId);
+        cinemaRepository.rebuildRating(cinemaId);
+      })));
+
+    log.info(String.format("Rating aggregates of %d movies and %d cinemas were rebuilt", movies, cinemas));
+  }
+
+  private int rebuild(List<Integer> ids, IntConsumer rebuildRating) {
+    for (int id : ids) {
+      rebuildRating.accept(id);
+    }
+
+    return ids.size();
+  }
+}
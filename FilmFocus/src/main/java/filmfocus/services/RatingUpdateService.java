@@ -0,0 +1,201 @@
+package filmfocus.services;
+
+import filmfocus.exceptions.CinemaNotFoundException;
+import filmfocus.exceptions.MovieNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Collects the rating changes of reviews in memory and writes them behind, merged into one update per movie and
+ * cinema every flush interval, so a burst of reviews on one movie no longer queues on its row. A change is only
+ * collected once its review has been committed; the review rows stay the source of truth, and changes lost with the
+ * process are corrected by the next {@link RatingAggregateService} rebuild.
+ *
+ * <p>A rebuild counts every committed review, so the changes collected for its movie or cinema must be dropped and
+ * none may be collected or flushed while it reads. Committing a review together with collecting its change, and
+ * flushing, hold the lock shared; {@link #rebuildMovieRating} and {@link #rebuildCinemaRating} hold it exclusively.
+ */
+@Service
+public class RatingUpdateService {
+
+  private static final Logger log = LoggerFactory.getLogger(RatingUpdateService.class);
+
+  private final MovieService movieService;
+  private final CinemaService cinemaService;
+  private final Map<Integer, RatingDelta> movieDeltas = new ConcurrentHashMap<>();
+  private final Map<Integer, RatingDelta> cinemaDeltas = new ConcurrentHashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  @Autowired
+  public RatingUpdateService(MovieService movieService, CinemaService cinemaService) {
+    this.movieService = movieService;
+    this.cinemaService = cinemaService;
+  }
+
+  public void addMovieRating(int movieId, double ratingDelta, int countDelta) {
+    collectAfterCommit(movieDeltas, movieId, new RatingDelta(ratingDelta, countDelta));
+  }
+
+  public void addCinemaRating(int cinemaId, double ratingDelta, int countDelta) {
+    collectAfterCommit(cinemaDeltas, cinemaId, new RatingDelta(ratingDelta, countDelta));
+  }
+
+  // Runs the rebuild, which must commit before it returns, and drops the changes collected for the movie so far.
+  public void rebuildMovieRating(int movieId, Runnable rebuild) {
+    rebuild(movieDeltas, movieId, rebuild);
+  }
+
+  public void rebuildCinemaRating(int cinemaId, Runnable rebuild) {
+    rebuild(cinemaDeltas, cinemaId, rebuild);
+  }
+
+  public int getPendingUpdates() {
+    return movieDeltas.size() + cinemaDeltas.size();
+  }
+
+  @Scheduled(fixedDelayString = "${reviews.rating-flush-interval}")
+  public void flushRatings() {
+    int movies = flush(movieDeltas, true);
+    int cinemas = flush(cinemaDeltas, false);
+
+    if (movies + cinemas > 0) {
+      log.info(String.format("Ratings of %d movies and %d cinemas were flushed", movies, cinemas));
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flushRatings();
+  }
+
+  private int flush(Map<Integer, RatingDelta> deltas, boolean movies) {
+    List<Integer> ids = new ArrayList<>(deltas.keySet());
+    int flushed = 0;
+
+    for (int id : ids) {
+      lock.readLock().lock();
+
+      try {
+        if (flush(deltas, id, movies)) {
+          flushed++;
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    return flushed;
+  }
+
+  private boolean flush(Map<Integer, RatingDelta> deltas, int id, boolean movies) {
+    RatingDelta delta = deltas.remove(id);
+
+    if (delta == null || delta.isEmpty()) {
+      return false;
+    }
+
+    try {
+      if (movies) {
+        movieService.addMovieRating(id, delta.rating, delta.count);
+      } else {
+        cinemaService.addCinemaRating(id, delta.rating, delta.count);
+      }
+
+      return true;
+    } catch (MovieNotFoundException | CinemaNotFoundException exception) {
+      log.warn(String.format("Rating changes for deleted %s with id %d were dropped", movies ? "movie" : "cinema",
+                             id));
+    } catch (RuntimeException exception) {
+      deltas.merge(id, delta, RatingDelta::plus);
+
+      log.error(String.format("Exception caught: %s", exception.getMessage()));
+    }
+
+    return false;
+  }
+
+  private void rebuild(Map<Integer, RatingDelta> deltas, int id, Runnable rebuild) {
+    lock.writeLock().lock();
+
+    try {
+      rebuild.run();
+      deltas.remove(id);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void collectAfterCommit(Map<Integer, RatingDelta> deltas, int id, RatingDelta delta) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      lock.readLock().lock();
+
+      try {
+        deltas.merge(id, delta, RatingDelta::plus);
+      } finally {
+        lock.readLock().unlock();
+      }
+
+      return;
+    }
+
+    // Held from just before the commit until the change is collected, so a rebuild either counts the review and
+    // finds its change to drop, or runs before the review is visible and leaves its change to be flushed.
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+      private boolean isLocked;
+
+      @Override
+      public void beforeCommit(boolean readOnly) {
+        lock.readLock().lock();
+        isLocked = true;
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        if (!isLocked) {
+          return;
+        }
+
+        try {
+          if (status == STATUS_COMMITTED) {
+            deltas.merge(id, delta, RatingDelta::plus);
+          }
+        } finally {
+          lock.readLock().unlock();
+        }
+      }
+    });
+  }
+
+  private static final class RatingDelta {
+
+    private final double rating;
+    private final int count;
+
+    private RatingDelta(double rating, int count) {
+      this.rating = rating;
+      this.count = count;
+    }
+
+    private RatingDelta plus(RatingDelta other) {
+      return new RatingDelta(rating + other.rating, count + other.count);
+    }
+
+    private boolean isEmpty() {
+      return rating == 0 && count == 0;
+    }
+  }
+}
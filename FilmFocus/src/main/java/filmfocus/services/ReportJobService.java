@@ -0,0 +1,314 @@
+package filmfocus.services;
+
+import filmfocus.analytics.ReportPartitioner;
+import filmfocus.exceptions.ReportJobLimitExceededException;
+import filmfocus.exceptions.ReportJobNotFinishedException;
+import filmfocus.exceptions.ReportJobNotFoundException;
+import filmfocus.models.dtos.ReportJobDto;
+import filmfocus.models.requests.ReportJobRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static filmfocus.utils.constants.ExceptionMessages.REPORT_JOB_LIMIT_EXCEEDED_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.REPORT_JOB_NOT_FINISHED_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.REPORT_JOB_NOT_FOUND_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.REPORT_JOB_QUEUE_FULL_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.REPORT_PARAMETER_MISSING_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.REPORT_TYPE_NOT_VALID_MESSAGE;
+
+/**
+ * Runs reports in the background so a long date range never holds a request thread. Jobs run on a fixed pool with a
+ * bounded queue and every user may only have a limited number of jobs waiting or running at once. Reports that add
+ * up over time are evaluated one month at a time, which is what the progress of a job counts. Finished jobs and their
+ * results are kept for the retention period, so a result can be downloaded more than once.
+ */
+@Service
+public class ReportJobService {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+  private final IncomeReportService incomeReportService;
+  private final StatisticsReportService statisticsReportService;
+  private final UserService userService;
+  private final int perUserLimit;
+  private final long retention;
+  private final ExecutorService executor;
+  private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+  private final Map<Integer, AtomicInteger> activeJobs = new ConcurrentHashMap<>();
+
+  @Autowired
+  public ReportJobService(
+    IncomeReportService incomeReportService, StatisticsReportService statisticsReportService, UserService userService,
+    @Value("${reports.jobs.threads}") int threads, @Value("${reports.jobs.queue-capacity}") int queueCapacity,
+    @Value("${reports.jobs.per-user-limit}") int perUserLimit, @Value("${reports.jobs.retention}") long retention) {
+    this.incomeReportService = incomeReportService;
+    this.statisticsReportService = statisticsReportService;
+    this.userService = userService;
+    this.perUserLimit = perUserLimit;
+    this.retention = retention;
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                                           new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+      Thread thread = new Thread(runnable, "report-job");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public ReportJobDto submitJob(ReportJobRequest request) {
+    ReportType type = getReportType(request);
+    int userId = userService.getCurrentUser().getId();
+    AtomicInteger userJobs = activeJobs.computeIfAbsent(userId, id -> new AtomicInteger());
+
+    if (userJobs.incrementAndGet() > perUserLimit) {
+      userJobs.decrementAndGet();
+
+      log.error(String.format("Exception caught: %s", REPORT_JOB_LIMIT_EXCEEDED_MESSAGE));
+
+      throw new ReportJobLimitExceededException(REPORT_JOB_LIMIT_EXCEEDED_MESSAGE);
+    }
+
+    ReportJob job = new ReportJob(UUID.randomUUID().toString(), userId, type, request);
+    jobs.put(job.id, job);
+
+    try {
+      executor.execute(() -> runJob(job));
+    } catch (RejectedExecutionException exception) {
+      jobs.remove(job.id);
+      userJobs.decrementAndGet();
+
+      log.error(String.format("Exception caught: %s", REPORT_JOB_QUEUE_FULL_MESSAGE));
+
+      throw new ReportJobLimitExceededException(REPORT_JOB_QUEUE_FULL_MESSAGE);
+    }
+
+    log.info(String.format("Report job %s of type %s was submitted by user with id %d", job.id, type, userId));
+
+    return mapReportJobToReportJobDto(job);
+  }
+
+  public ReportJobDto getJob(String jobId) {
+    return mapReportJobToReportJobDto(getUserJob(jobId));
+  }
+
+  public Object getJobResult(String jobId) {
+    ReportJob job = getUserJob(jobId);
+
+    if (job.status != Status.DONE) {
+      log.error(String.format("Exception caught: %s", REPORT_JOB_NOT_FINISHED_MESSAGE));
+
+      throw new ReportJobNotFinishedException(REPORT_JOB_NOT_FINISHED_MESSAGE);
+    }
+
+    return job.result;
+  }
+
+  @Scheduled(fixedDelayString = "${reports.jobs.cleanup-interval}")
+  public void removeExpiredJobs() {
+    removeExpiredJobs(LocalDateTime.now());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  void removeExpiredJobs(LocalDateTime now) {
+    LocalDateTime expiredBefore = now.minusNanos(TimeUnit.MILLISECONDS.toNanos(retention));
+    int jobCount = jobs.size();
+
+    jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiredBefore));
+
+    if (jobs.size() < jobCount) {
+      log.info(String.format("%d expired report jobs were removed", jobCount - jobs.size()));
+    }
+  }
+
+  private void runJob(ReportJob job) {
+    job.startedAt = LocalDateTime.now();
+    job.status = Status.RUNNING;
+
+    try {
+      job.result = runReport(job);
+      job.progress = 100;
+      finishJob(job, Status.DONE);
+
+      log.info(String.format("Report job %s finished", job.id));
+    } catch (RuntimeException exception) {
+      job.error = exception.getMessage();
+      finishJob(job, Status.FAILED);
+
+      log.error(String.format("Report job %s failed", job.id), exception);
+    }
+  }
+
+  // The job only counts against the limit of its user until the final status is visible to a poller.
+  private void finishJob(ReportJob job, Status status) {
+    job.finishedAt = LocalDateTime.now();
+    activeJobs.get(job.userId).decrementAndGet();
+    job.status = status;
+  }
+
+  private Object runReport(ReportJob job) {
+    ReportJobRequest request = job.request;
+
+    if (job.type == ReportType.INCOMES_BREAKDOWN) {
+      return incomeReportService.getIncomesBreakdown(request.getDimensions(), request.getStartDate(),
+                                                     request.getEndDate());
+    }
+
+    // Reports that include their end date are split over [startDate, endDate + 1) and get the day before each
+    // partition end, so both kinds of report can share the same monthly partitions.
+    LocalDate rangeEnd = job.type.inclusiveEnd ? request.getEndDate().plusDays(1) : request.getEndDate();
+    List<LocalDate> bounds = ReportPartitioner.getMonthlyBounds(request.getStartDate(), rangeEnd);
+    int partitions = bounds.size() - 1;
+    double total = 0;
+
+    for (int i = 1; i <= partitions; i++) {
+      LocalDate partitionEnd = job.type.inclusiveEnd ? bounds.get(i).minusDays(1) : bounds.get(i);
+
+      total += runPartition(job.type, request, bounds.get(i - 1), partitionEnd);
+      job.progress = i * 100 / partitions;
+    }
+
+    if (job.type.count) {
+      return (int) total;
+    }
+
+    return total;
+  }
+
+  private double runPartition(ReportType type, ReportJobRequest request, LocalDate startDate, LocalDate endDate) {
+    switch (type) {
+      case CINEMA_INCOMES:
+        return incomeReportService.getAllIncomesByCinemaId(request.getId(), startDate, endDate);
+      case HALL_INCOMES:
+        return incomeReportService.getAllIncomesByHallId(request.getId(), startDate, endDate);
+      case ITEM_INCOMES:
+        return incomeReportService.getAllIncomesByItemId(request.getId(), startDate, endDate);
+      case MOVIE_INCOMES:
+        return incomeReportService.getAllIncomesByMovieId(request.getId(), startDate, endDate);
+      case USER_INCOMES:
+        return incomeReportService.getAllIncomesByUserId(request.getId(), startDate, endDate);
+      case CATEGORY_TICKETS_COUNT:
+        return statisticsReportService.getPurchasedTicketsCountByMovieCategory(request.getId(), startDate, endDate);
+      case MOVIE_TICKETS_COUNT:
+        return statisticsReportService.getPurchasedTicketsCountByMovieTitle(request.getName(), startDate, endDate);
+      default:
+        return statisticsReportService.getPurchasedItemsCountByItemName(request.getName(), startDate, endDate);
+    }
+  }
+
+  private ReportType getReportType(ReportJobRequest request) {
+    ReportType type;
+
+    try {
+      type = ReportType.valueOf(request.getType().trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException exception) {
+      String message = String.format(REPORT_TYPE_NOT_VALID_MESSAGE, request.getType());
+
+      log.error(String.format("Exception caught: %s", message));
+
+      throw new IllegalArgumentException(message);
+    }
+
+    boolean missingId = type.parameter.equals("id") && Objects.isNull(request.getId());
+    boolean missingName = type.parameter.equals("name") && Objects.isNull(request.getName());
+
+    if (missingId || missingName) {
+      String message = String.format(REPORT_PARAMETER_MISSING_MESSAGE, request.getType(), type.parameter);
+
+      log.error(String.format("Exception caught: %s", message));
+
+      throw new IllegalArgumentException(message);
+    }
+
+    return type;
+  }
+
+  private ReportJob getUserJob(String jobId) {
+    ReportJob job = jobs.get(jobId);
+
+    if (job == null || job.userId != userService.getCurrentUser().getId()) {
+      log.error(String.format("Exception caught: %s", REPORT_JOB_NOT_FOUND_MESSAGE));
+
+      throw new ReportJobNotFoundException(REPORT_JOB_NOT_FOUND_MESSAGE);
+    }
+
+    return job;
+  }
+
+  private ReportJobDto mapReportJobToReportJobDto(ReportJob job) {
+    return new ReportJobDto(job.id, job.type.name().toLowerCase(Locale.ROOT).replace('_', '-'),
+                            job.status.name().toLowerCase(Locale.ROOT), job.progress, job.submittedAt, job.startedAt,
+                            job.finishedAt, job.error);
+  }
+
+  public enum ReportType {
+
+    CINEMA_INCOMES("id", false, false),
+    HALL_INCOMES("id", false, false),
+    ITEM_INCOMES("id", false, false),
+    MOVIE_INCOMES("id", true, false),
+    USER_INCOMES("id", false, false),
+    INCOMES_BREAKDOWN("dimensions", false, false),
+    CATEGORY_TICKETS_COUNT("id", true, true),
+    MOVIE_TICKETS_COUNT("name", true, true),
+    ITEMS_COUNT("name", false, true);
+
+    private final String parameter;
+    private final boolean inclusiveEnd;
+    private final boolean count;
+
+    ReportType(String parameter, boolean inclusiveEnd, boolean count) {
+      this.parameter = parameter;
+      this.inclusiveEnd = inclusiveEnd;
+      this.count = count;
+    }
+  }
+
+  private enum Status {
+    QUEUED, RUNNING, DONE, FAILED
+  }
+
+  private static final class ReportJob {
+
+    private final String id;
+    private final int userId;
+    private final ReportType type;
+    private final ReportJobRequest request;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile int progress;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Object result;
+    private volatile String error;
+
+    private ReportJob(String id, int userId, ReportType type, ReportJobRequest request) {
+      this.id = id;
+      this.userId = userId;
+      this.type = type;
+      this.request = request;
+    }
+  }
+}
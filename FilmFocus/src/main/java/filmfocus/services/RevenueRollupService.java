@@ -0,0 +1,138 @@
+package filmfocus.services;
+
+import filmfocus.models.entities.Hall;
+import filmfocus.models.entities.Item;
+import filmfocus.models.entities.Order;
+import filmfocus.models.entities.Projection;
+import filmfocus.models.entities.RevenueRollup;
+import filmfocus.models.entities.Ticket;
+import filmfocus.repositories.RevenueRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the daily revenue rollup in step with the tickets and orders. Every issued ticket and every change to an order
+ * adds its sales to the rollup or takes them out again inside its own transaction, so the rollup always includes the
+ * current day.
+ *
+ * <p>Tickets are sold on their own as well as in orders, so the gross income and count of tickets are added when a
+ * ticket is issued, and an order only adds the net income of its tickets. The discounted total of an order is spread
+ * over its tickets and items in proportion to their prices. Items are booked to the cinema and hall of the first
+ * ticket of the order.
+ */
+@Service
+public class RevenueRollupService {
+
+  private static final Logger log = LoggerFactory.getLogger(RevenueRollupService.class);
+
+  private final RevenueRollupRepository revenueRollupRepository;
+
+  @Autowired
+  public RevenueRollupService(RevenueRollupRepository revenueRollupRepository) {
+    this.revenueRollupRepository = revenueRollupRepository;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordTickets(List<Ticket> tickets) {
+    Map<List<Object>, RevenueRollup> rollups = new LinkedHashMap<>();
+
+    for (Ticket ticket : tickets) {
+      Projection projection = ticket.getProjection();
+      Hall hall = projection.getHall();
+
+      RevenueRollup rollup = getRollup(rollups, ticket.getDateOfPurchase(), hall.getCinema().getId(), hall.getId(),
+                                       projection.getMovie().getId(), 0, 0);
+      rollup.setGrossIncome(rollup.getGrossIncome() + projection.getPrice());
+      rollup.setTicketCount(rollup.getTicketCount() + 1);
+    }
+
+    applyRollups(rollups.values(), 1);
+
+    log.info(String.format("Sales of %d tickets were added to the revenue rollup", tickets.size()));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordOrder(Order order) {
+    applyRollups(getRollups(order), 1);
+
+    log.info(String.format("Sales of order with id %d were added to the revenue rollup", order.getId()));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void retractOrder(Order order) {
+    applyRollups(getRollups(order), -1);
+
+    log.info(String.format("Sales of order with id %d were removed from the revenue rollup", order.getId()));
+  }
+
+  Collection<RevenueRollup> getRollups(Order order) {
+    List<Ticket> tickets = Objects.isNull(order.getTickets()) ? Collections.emptyList() : order.getTickets();
+    List<Item> items = Objects.isNull(order.getItems()) ? Collections.emptyList() : order.getItems();
+    int userId = Objects.isNull(order.getUser()) ? 0 : order.getUser().getId();
+
+    double grossTotal = tickets.stream().mapToDouble(ticket -> ticket.getProjection().getPrice()).sum() +
+                        items.stream().mapToDouble(this::getItemPrice).sum();
+    double discountFactor = grossTotal > 0 ? order.getTotalPrice() / grossTotal : 0;
+
+    Map<List<Object>, RevenueRollup> rollups = new LinkedHashMap<>();
+
+    for (Ticket ticket : tickets) {
+      Projection projection = ticket.getProjection();
+      Hall hall = projection.getHall();
+
+      RevenueRollup rollup = getRollup(rollups, order.getDateOfPurchase(), hall.getCinema().getId(), hall.getId(),
+                                       projection.getMovie().getId(), 0, userId);
+      rollup.setNetIncome(rollup.getNetIncome() + projection.getPrice() * discountFactor);
+    }
+
+    Hall venue = tickets.stream()
+                        .min(Comparator.comparingInt(Ticket::getId))
+                        .map(ticket -> ticket.getProjection().getHall())
+                        .orElse(null);
+    int cinemaId = Objects.isNull(venue) ? 0 : venue.getCinema().getId();
+    int hallId = Objects.isNull(venue) ? 0 : venue.getId();
+
+    for (Item item : items) {
+      RevenueRollup rollup = getRollup(rollups, order.getDateOfPurchase(), cinemaId, hallId, 0, item.getId(), userId);
+      rollup.setGrossIncome(rollup.getGrossIncome() + getItemPrice(item));
+      rollup.setNetIncome(rollup.getNetIncome() + getItemPrice(item) * discountFactor);
+      rollup.setItemCount(rollup.getItemCount() + 1);
+    }
+
+    return rollups.values();
+  }
+
+  private void applyRollups(Collection<RevenueRollup> rollups, int sign) {
+    for (RevenueRollup rollup : rollups) {
+      revenueRollupRepository.addToRollup(
+        rollup.getSaleDate(), rollup.getCinemaId(), rollup.getHallId(), rollup.getMovieId(), rollup.getItemId(),
+        rollup.getUserId(), sign * rollup.getGrossIncome(), sign * rollup.getNetIncome(),
+        sign * rollup.getTicketCount(), sign * rollup.getItemCount());
+    }
+  }
+
+  private RevenueRollup getRollup(
+    Map<List<Object>, RevenueRollup> rollups, LocalDate saleDate, int cinemaId, int hallId, int movieId, int itemId,
+    int userId) {
+    return rollups.computeIfAbsent(Arrays.asList(saleDate, cinemaId, hallId, movieId, itemId),
+                                   key -> new RevenueRollup(saleDate, cinemaId, hallId, movieId, itemId, userId));
+  }
+
+  private double getItemPrice(Item item) {
+    return Objects.isNull(item.getPrice()) ? 0 : item.getPrice();
+  }
+}
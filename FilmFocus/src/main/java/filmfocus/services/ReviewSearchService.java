@@ -0,0 +1,104 @@
+package filmfocus.services;
+
+import filmfocus.models.entities.Review;
+import filmfocus.models.views.ReviewTextView;
+import filmfocus.repositories.ReviewRepository;
+import filmfocus.search.ReviewTextIndex;
+import filmfocus.utils.ReadModelLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the review texts in an in-memory {@link ReviewTextIndex}. The index is built from the reviews once the
+ * application is ready and every committed review change is applied to it as well; the {@link ReadModelLoader} holds
+ * back the changes that commit while the index is built.
+ */
+@Service
+public class ReviewSearchService {
+
+  private static final Logger log = LoggerFactory.getLogger(ReviewSearchService.class);
+
+  private final ReviewRepository reviewRepository;
+  private final ReviewTextIndex index = new ReviewTextIndex();
+  private final ReadModelLoader loader = new ReadModelLoader();
+
+  @Autowired
+  public ReviewSearchService(ReviewRepository reviewRepository) {
+    this.reviewRepository = reviewRepository;
+  }
+
+  // Requests are served before the application is ready, so reviews change while the index is built; those changes
+  // are held by the loader and applied once the build has finished.
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void loadIndex() {
+    try (Stream<ReviewTextView> texts = loader.startLoad(reviewRepository::streamReviewTexts)) {
+      loadIndex(texts.iterator());
+    } finally {
+      loader.finishLoad();
+    }
+
+    log.info(String.format("The review text index was loaded with %d terms", index.getTermCount()));
+  }
+
+  public void indexReview(Review review) {
+    int id = review.getId();
+    String text = review.getReviewText();
+    Integer movieId = getMovieId(review);
+    Integer cinemaId = getCinemaId(review);
+
+    loader.runAfterCommit(() -> index.add(id, text, movieId, cinemaId));
+  }
+
+  public void reindexReview(Review review, String previousText) {
+    int id = review.getId();
+    String text = review.getReviewText();
+    Integer movieId = getMovieId(review);
+    Integer cinemaId = getCinemaId(review);
+
+    loader.runAfterCommit(() -> {
+      index.remove(id, previousText, movieId, cinemaId);
+      index.add(id, text, movieId, cinemaId);
+    });
+  }
+
+  public void removeReview(Review review) {
+    int id = review.getId();
+    String text = review.getReviewText();
+    Integer movieId = getMovieId(review);
+    Integer cinemaId = getCinemaId(review);
+
+    loader.runAfterCommit(() -> index.remove(id, text, movieId, cinemaId));
+  }
+
+  // The ids of the matching reviews, newest first.
+  public int[] findReviewIds(List<Set<String>> query, Integer movieId, Integer cinemaId, int limit) {
+    return index.search(query, movieId, cinemaId, limit);
+  }
+
+  void loadIndex(Iterator<ReviewTextView> texts) {
+    while (texts.hasNext()) {
+      ReviewTextView text = texts.next();
+      index.add(text.getId(), text.getReviewText(), text.getMovieId(), text.getCinemaId());
+    }
+  }
+
+  private Integer getMovieId(Review review) {
+    return Objects.nonNull(review.getMovie()) ? review.getMovie().getId() : null;
+  }
+
+  private Integer getCinemaId(Review review) {
+    return Objects.nonNull(review.getCinema()) ? review.getCinema().getId() : null;
+  }
+}
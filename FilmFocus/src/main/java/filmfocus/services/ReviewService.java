@@ -4,23 +4,44 @@ import filmfocus.exceptions.NotAuthorizedException;
 import filmfocus.exceptions.ReviewNotFoundException;
 import filmfocus.mappers.ReviewMapper;
 import filmfocus.models.dtos.ReviewDto;
+import filmfocus.models.dtos.ReviewPageDto;
 import filmfocus.models.entities.Cinema;
 import filmfocus.models.entities.Movie;
 import filmfocus.models.entities.Review;
 import filmfocus.models.entities.User;
 import filmfocus.models.requests.ReviewRequest;
+import filmfocus.pagination.ReviewCursor;
 import filmfocus.repositories.ReviewRepository;
+import filmfocus.search.ReviewTextIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static filmfocus.repositories.specifications.ReviewSpecifications.hasCinemaId;
+import static filmfocus.repositories.specifications.ReviewSpecifications.hasMovieId;
+import static filmfocus.repositories.specifications.ReviewSpecifications.isCinemaReviewOfUser;
+import static filmfocus.repositories.specifications.ReviewSpecifications.isMovieReviewOfUser;
 import static filmfocus.utils.constants.ExceptionMessages.NOT_AUTHORIZED_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.PAGE_CURSOR_NOT_VALID_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.PAGE_SIZE_NOT_VALID_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.REVIEW_NOT_FOUND_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.SEARCH_QUERY_NOT_VALID_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.SORT_ORDER_NOT_VALID_MESSAGE;
 
 @Service
 public class ReviewService {
@@ -32,18 +53,31 @@ public class ReviewService {
   private final UserService userService;
   private final MovieService movieService;
   private final CinemaService cinemaService;
+  private final RatingUpdateService ratingUpdateService;
+  private final ReviewStatsService reviewStatsService;
+  private final ReviewSearchService reviewSearchService;
+  private final int defaultPageSize;
+  private final int maxPageSize;
 
   @Autowired
   public ReviewService(
     ReviewRepository reviewRepository, ReviewMapper reviewMapper, UserService userService, MovieService movieService,
-    CinemaService cinemaService) {
+    CinemaService cinemaService, RatingUpdateService ratingUpdateService, ReviewStatsService reviewStatsService,
+    ReviewSearchService reviewSearchService, @Value("${reviews.pages.default-size}") int defaultPageSize,
+    @Value("${reviews.pages.max-size}") int maxPageSize) {
     this.reviewRepository = reviewRepository;
     this.reviewMapper = reviewMapper;
     this.userService = userService;
     this.movieService = movieService;
     this.cinemaService = cinemaService;
+    this.ratingUpdateService = ratingUpdateService;
+    this.reviewStatsService = reviewStatsService;
+    this.reviewSearchService = reviewSearchService;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
   }
 
+  @Transactional
   public Review addMovieReview(ReviewRequest request, int movieId) {
     User user = userService.getCurrentUser();
     Movie movie = movieService.getMovieById(movieId);
@@ -54,12 +88,14 @@ public class ReviewService {
 
     reviewRepository.save(review);
 
-    double averageRating = calculateAverageRatingForMovie(movieId);
-    movieService.updateMovieAverageRating(averageRating, movieId);
+    ratingUpdateService.addMovieRating(movieId, review.getRating(), 1);
+    reviewStatsService.recordReview(review);
+    reviewSearchService.indexReview(review);
 
     return review;
   }
 
+  @Transactional
   public Review addCinemaReview(ReviewRequest request, int cinemaId) {
     User user = userService.getCurrentUser();
     Cinema cinema = cinemaService.getCinemaById(cinemaId);
@@ -70,49 +106,67 @@ public class ReviewService {
 
     reviewRepository.save(review);
 
-    double averageRating = calculateAverageRatingForCinema(cinemaId);
-    cinemaService.updateCinemaAverageRating(averageRating, cinemaId);
+    ratingUpdateService.addCinemaRating(cinemaId, review.getRating(), 1);
+    reviewStatsService.recordReview(review);
+    reviewSearchService.indexReview(review);
 
     return review;
   }
 
-  public List<ReviewDto> getReviewsByMovieId(int movieId) {
+  public ReviewPageDto getReviewsByMovieId(int movieId, String cursor, Integer size, String order) {
     movieService.getMovieById(movieId);
 
-    log.info(String.format("An attempt to extract all reviews with movie id %d", movieId));
+    log.info(String.format("An attempt to extract a page of reviews with movie id %d", movieId));
 
-    return reviewRepository.findByMovieId(movieId).stream()
-                           .map(reviewMapper::mapReviewToReviewDto)
-                           .collect(Collectors.toList());
+    return getReviewPage(hasMovieId(movieId), cursor, size, order);
   }
 
-  public List<ReviewDto> getReviewsByCinemaId(int cinemaId) {
+  public ReviewPageDto getReviewsByCinemaId(int cinemaId, String cursor, Integer size, String order) {
     cinemaService.getCinemaById(cinemaId);
 
-    log.info(String.format("An attempt to extract all reviews with cinema id %d", cinemaId));
+    log.info(String.format("An attempt to extract a page of reviews with cinema id %d", cinemaId));
 
-    return reviewRepository.findByCinemaId(cinemaId).stream().map(reviewMapper::mapReviewToReviewDto)
-                           .collect(Collectors.toList());
+    return getReviewPage(hasCinemaId(cinemaId), cursor, size, order);
   }
 
-  public List<ReviewDto> getMovieReviewsByUserId(int userId) {
+  public ReviewPageDto getMovieReviewsByUserId(int userId, String cursor, Integer size, String order) {
     if (userService.isCurrentUserAuthorized(userId)) {
-      return reviewMapper.mapReviewListToReviewDtoList(
-        reviewRepository.findAllByUserIdAndMovieIsNotNullAndCinemaIsNull(userId));
+      return getReviewPage(isMovieReviewOfUser(userId), cursor, size, order);
     } else {
       throw new NotAuthorizedException(NOT_AUTHORIZED_MESSAGE);
     }
   }
 
-  public List<ReviewDto> getCinemaReviewsByUserId(int userId) {
+  public ReviewPageDto getCinemaReviewsByUserId(int userId, String cursor, Integer size, String order) {
     if (userService.isCurrentUserAuthorized(userId)) {
-      return reviewMapper.mapReviewListToReviewDtoList(
-        reviewRepository.findAllByUserIdAndMovieIsNullAndCinemaIsNotNull(userId));
+      return getReviewPage(isCinemaReviewOfUser(userId), cursor, size, order);
     } else {
       throw new NotAuthorizedException(NOT_AUTHORIZED_MESSAGE);
     }
   }
 
+  // The newest reviews whose text matches the query, optionally only the ones of a movie or a cinema.
+  public List<ReviewDto> searchReviews(String query, Integer movieId, Integer cinemaId, Integer size) {
+    List<Set<String>> terms = ReviewTextIndex.parseQuery(query);
+
+    if (terms.isEmpty()) {
+      log.error(String.format("Exception caught: %s", SEARCH_QUERY_NOT_VALID_MESSAGE));
+
+      throw new IllegalArgumentException(SEARCH_QUERY_NOT_VALID_MESSAGE);
+    }
+
+    int[] ids = reviewSearchService.findReviewIds(terms, movieId, cinemaId, getPageSize(size));
+    List<Integer> orderedIds = Arrays.stream(ids).boxed().collect(Collectors.toList());
+    Map<Integer, Review> reviews = reviewRepository.findAllById(orderedIds).stream()
+                                                   .collect(Collectors.toMap(Review::getId, Function.identity()));
+
+    log.info(String.format("A search of reviews found %d of them", ids.length));
+
+    return reviewMapper.mapReviewListToReviewDtoList(
+      orderedIds.stream().map(reviews::get).filter(Objects::nonNull).collect(Collectors.toList()));
+  }
+
+  @Transactional
   public ReviewDto updateReview(ReviewRequest request, int reviewId) {
     Review review = reviewRepository.findById(reviewId).orElseThrow(() -> {
       log.error(String.format("Exception caught: " + REVIEW_NOT_FOUND_MESSAGE));
@@ -127,6 +181,8 @@ public class ReviewService {
     }
 
     ReviewDto reviewDto = reviewMapper.mapReviewToReviewDto(review);
+    double previousRating = review.getRating();
+    String previousText = review.getReviewText();
 
     review.setReviewText(request.getReviewText());
     review.setRating(request.getRating());
@@ -135,20 +191,14 @@ public class ReviewService {
 
     log.info(String.format("Review with id %d was updated", reviewId));
 
-    double averageRating;
-    if (review.getMovie() != null) {
-
-      averageRating = calculateAverageRatingForMovie(review.getMovie().getId());
-      movieService.updateMovieAverageRating(averageRating, review.getMovie().getId());
-    } else {
-
-      averageRating = calculateAverageRatingForCinema(review.getCinema().getId());
-      cinemaService.updateCinemaAverageRating(averageRating, review.getCinema().getId());
-    }
+    addRating(review, review.getRating() - previousRating, 0);
+    reviewStatsService.changeReviewRating(review, previousRating);
+    reviewSearchService.reindexReview(review, previousText);
 
     return reviewDto;
   }
 
+  @Transactional
   public ReviewDto deleteReview(int reviewId) {
     Review review = reviewRepository.findById(reviewId).orElseThrow(() -> {
       log.error(String.format("Exception caught: " + REVIEW_NOT_FOUND_MESSAGE));
@@ -168,41 +218,78 @@ public class ReviewService {
 
     log.info(String.format("Review with id %d was deleted", reviewId));
 
-    double averageRating;
-    if (review.getMovie() != null) {
-      averageRating = calculateAverageRatingForMovie(review.getMovie().getId());
-      movieService.updateMovieAverageRating(averageRating, review.getMovie().getId());
-    } else {
-      averageRating = calculateAverageRatingForCinema(review.getCinema().getId());
-      cinemaService.updateCinemaAverageRating(averageRating, review.getCinema().getId());
-    }
+    addRating(review, -review.getRating(), -1);
+    reviewStatsService.retractReview(review);
+    reviewSearchService.removeReview(review);
 
     return reviewDto;
   }
 
-  private double calculateAverageRatingForCinema(int cinemaId) {
-    List<ReviewDto> reviews = getReviewsByCinemaId(cinemaId);
+  // One review more than the page size is read to know whether a next page exists. A cursor keeps the order it was
+  // created with, so the order is only taken into account for the first page.
+  private ReviewPageDto getReviewPage(Specification<Review> filter, String cursor, Integer size, String order) {
+    ReviewCursor after = Objects.isNull(cursor) ? null : decodeCursor(cursor);
+    Sort.Direction direction = Objects.nonNull(after) ? after.getDirection() : getDirection(order);
+    int pageSize = getPageSize(size);
+
+    List<Review> reviews = reviewRepository.findPage(filter, direction, after, pageSize + 1);
+    String nextCursor = null;
+
+    if (reviews.size() > pageSize) {
+      reviews = reviews.subList(0, pageSize);
+      nextCursor = ReviewCursor.after(reviews.get(pageSize - 1), direction).encode();
+    }
+
+    return new ReviewPageDto(reviewMapper.mapReviewListToReviewDtoList(reviews), nextCursor);
+  }
+
+  private ReviewCursor decodeCursor(String cursor) {
+    try {
+      return ReviewCursor.decode(cursor);
+    } catch (IllegalArgumentException | DateTimeException exception) {
+      log.error(String.format("Exception caught: %s", PAGE_CURSOR_NOT_VALID_MESSAGE));
 
-    return calculateAverageRating(reviews);
+      throw new IllegalArgumentException(PAGE_CURSOR_NOT_VALID_MESSAGE);
+    }
   }
 
-  private double calculateAverageRatingForMovie(int movieId) {
-    List<ReviewDto> reviews = getReviewsByMovieId(movieId);
+  private Sort.Direction getDirection(String order) {
+    if (Objects.isNull(order)) {
+      return Sort.Direction.DESC;
+    }
+
+    try {
+      return Sort.Direction.fromString(order);
+    } catch (IllegalArgumentException exception) {
+      String message = String.format(SORT_ORDER_NOT_VALID_MESSAGE, order);
+
+      log.error(String.format("Exception caught: %s", message));
 
-    return calculateAverageRating(reviews);
+      throw new IllegalArgumentException(message);
+    }
   }
 
-  private double calculateAverageRating(List<ReviewDto> reviews) {
-    double sum = 0;
-    int numberOfReviews = reviews.size();
+  private int getPageSize(Integer size) {
+    if (Objects.isNull(size)) {
+      return defaultPageSize;
+    }
+
+    if (size < 1 || size > maxPageSize) {
+      String message = String.format(PAGE_SIZE_NOT_VALID_MESSAGE, maxPageSize);
+
+      log.error(String.format("Exception caught: %s", message));
 
-    for (ReviewDto review : reviews) {
-      sum += review.getRating();
+      throw new IllegalArgumentException(message);
     }
 
-    if (numberOfReviews == 0) {
-      return sum / (numberOfReviews + 1);
+    return size;
+  }
+
+  private void addRating(Review review, double ratingDelta, int countDelta) {
+    if (review.getMovie() != null) {
+      ratingUpdateService.addMovieRating(review.getMovie().getId(), ratingDelta, countDelta);
+    } else {
+      ratingUpdateService.addCinemaRating(review.getCinema().getId(), ratingDelta, countDelta);
     }
-    return sum / numberOfReviews;
   }
 }
@@ -0,0 +1,149 @@
+package filmfocus.services;
+
+import filmfocus.analytics.RatingHistogram;
+import filmfocus.models.dtos.ReviewStatsDto;
+import filmfocus.models.entities.Review;
+import filmfocus.models.views.ReviewRatingView;
+import filmfocus.repositories.ReviewRepository;
+import filmfocus.utils.ReadModelLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a rating histogram for every movie and cinema with reviews, so their review statistics are served without
+ * reading the reviews. The histograms are loaded from the reviews once the application is ready and every committed
+ * review change is applied to them as well; the {@link ReadModelLoader} holds back the changes that commit while
+ * the load runs, so none is lost or counted twice.
+ */
+@Service
+public class ReviewStatsService {
+
+  private static final Logger log = LoggerFactory.getLogger(ReviewStatsService.class);
+
+  private final ReviewRepository reviewRepository;
+  private final MovieService movieService;
+  private final CinemaService cinemaService;
+  private final int trendDays;
+  private final Map<Integer, RatingHistogram> movieHistograms = new ConcurrentHashMap<>();
+  private final Map<Integer, RatingHistogram> cinemaHistograms = new ConcurrentHashMap<>();
+  private final ReadModelLoader loader = new ReadModelLoader();
+
+  @Autowired
+  public ReviewStatsService(
+    ReviewRepository reviewRepository, MovieService movieService, CinemaService cinemaService,
+    @Value("${reviews.stats.trend-days}") int trendDays) {
+    this.reviewRepository = reviewRepository;
+    this.movieService = movieService;
+    this.cinemaService = cinemaService;
+    this.trendDays = trendDays;
+  }
+
+  // Requests are served before the application is ready, so reviews change while the histograms load; those changes
+  // are held by the loader and applied once the load has finished.
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void loadHistograms() {
+    try (Stream<ReviewRatingView> ratings = loader.startLoad(reviewRepository::streamReviewRatings)) {
+      loadHistograms(ratings.iterator());
+    } finally {
+      loader.finishLoad();
+    }
+
+    log.info(String.format("Rating histograms of %d movies and %d cinemas were loaded", movieHistograms.size(),
+                           cinemaHistograms.size()));
+  }
+
+  public void recordReview(Review review) {
+    changeAfterCommit(review, review.getRating(), 1);
+  }
+
+  public void retractReview(Review review) {
+    changeAfterCommit(review, review.getRating(), -1);
+  }
+
+  public void changeReviewRating(Review review, double previousRating) {
+    changeAfterCommit(review, previousRating, -1);
+    changeAfterCommit(review, review.getRating(), 1);
+  }
+
+  public ReviewStatsDto getMovieReviewStats(int movieId) {
+    movieService.getMovieById(movieId);
+
+    log.info(String.format("Review statistics of movie with id %d were requested", movieId));
+
+    return toReviewStatsDto(movieHistograms.get(movieId));
+  }
+
+  public ReviewStatsDto getCinemaReviewStats(int cinemaId) {
+    cinemaService.getCinemaById(cinemaId);
+
+    log.info(String.format("Review statistics of cinema with id %d were requested", cinemaId));
+
+    return toReviewStatsDto(cinemaHistograms.get(cinemaId));
+  }
+
+  void loadHistograms(Iterator<ReviewRatingView> ratings) {
+    while (ratings.hasNext()) {
+      ReviewRatingView rating = ratings.next();
+      int epochDay = toEpochDay(rating.getDateModified());
+
+      if (Objects.nonNull(rating.getMovieId())) {
+        getHistogram(movieHistograms, rating.getMovieId()).add(rating.getRating(), epochDay);
+      } else if (Objects.nonNull(rating.getCinemaId())) {
+        getHistogram(cinemaHistograms, rating.getCinemaId()).add(rating.getRating(), epochDay);
+      }
+    }
+  }
+
+  private void changeAfterCommit(Review review, double rating, int sign) {
+    Map<Integer, RatingHistogram> histograms = Objects.nonNull(review.getMovie()) ? movieHistograms : cinemaHistograms;
+    int id = Objects.nonNull(review.getMovie()) ? review.getMovie().getId() : review.getCinema().getId();
+    int epochDay = toEpochDay(review.getDateModified());
+    Runnable change = () -> {
+      if (sign > 0) {
+        getHistogram(histograms, id).add(rating, epochDay);
+      } else {
+        getHistogram(histograms, id).remove(rating, epochDay);
+      }
+    };
+
+    loader.runAfterCommit(change);
+  }
+
+  private ReviewStatsDto toReviewStatsDto(RatingHistogram histogram) {
+    RatingHistogram.Snapshot snapshot =
+      (Objects.isNull(histogram) ? new RatingHistogram(trendDays) : histogram).snapshot(toEpochDay(LocalDate.now()));
+    Map<Integer, Long> buckets = new LinkedHashMap<>();
+
+    for (int stars = RatingHistogram.MIN_STARS; stars <= RatingHistogram.MAX_STARS; stars++) {
+      buckets.put(stars, snapshot.getBucket(stars));
+    }
+
+    double trend = snapshot.getRecentCount() > 0 ? snapshot.getRecentMean() - snapshot.getMean() : 0;
+
+    return new ReviewStatsDto(snapshot.getCount(), snapshot.getMean(), buckets, trendDays, snapshot.getRecentCount(),
+                              snapshot.getRecentMean(), trend);
+  }
+
+  private RatingHistogram getHistogram(Map<Integer, RatingHistogram> histograms, int id) {
+    return histograms.computeIfAbsent(id, key -> new RatingHistogram(trendDays));
+  }
+
+  private int toEpochDay(LocalDate date) {
+    return Objects.isNull(date) ? RatingHistogram.NO_DAY : (int) date.toEpochDay();
+  }
+}
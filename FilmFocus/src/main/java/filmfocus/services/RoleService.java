@@ -6,13 +6,15 @@ import filmfocus.mappers.RoleMapper;
 import filmfocus.models.dtos.RoleDto;
 import filmfocus.models.entities.Role;
 import filmfocus.models.requests.RoleRequest;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.KeysetPaging;
 import filmfocus.repositories.RoleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 import static filmfocus.utils.constants.ExceptionMessages.ROLE_ALREADY_EXISTS_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.ROLE_NOT_FOUND_MESSAGE;
@@ -24,11 +26,13 @@ public class RoleService {
 
   private final RoleRepository roleRepository;
   private final RoleMapper roleMapper;
+  private final KeysetPaging keysetPaging;
 
   @Autowired
-  public RoleService(RoleRepository roleRepository, RoleMapper roleMapper) {
+  public RoleService(RoleRepository roleRepository, RoleMapper roleMapper, KeysetPaging keysetPaging) {
     this.roleRepository = roleRepository;
     this.roleMapper = roleMapper;
+    this.keysetPaging = keysetPaging;
   }
 
   public Role addRole(RoleRequest roleRequest) {
@@ -39,16 +43,18 @@ public class RoleService {
     return roleRepository.save(new Role(roleRequest.getName()));
   }
 
-  public List<Role> getAllRoles() {
-    log.info("Trying to retrieve all roles");
+  public KeysetPage<RoleDto> getRolesDtoPage(Integer afterId, Integer size) {
+    log.info(String.format("Trying to retrieve a page of role DTOs after id %s", afterId));
 
-    return roleRepository.findAll();
+    return keysetPaging.getPage(afterId, size, roleRepository::findByIdGreaterThan, Role::getId,
+                                roleMapper::mapRoleToRoleDto);
   }
 
-  public List<RoleDto> getAllRolesDto() {
-    log.info("Trying to retrieve all roles DTOs");
+  public void forEachRoleDto(Consumer<RoleDto> action) {
+    log.info("Trying to stream all role DTOs");
 
-    return roleMapper.mapRolesToRoleDtos(getAllRoles());
+    keysetPaging.forEach(roleRepository::findByIdGreaterThan, Role::getId,
+                         role -> action.accept(roleMapper.mapRoleToRoleDto(role)));
   }
 
   public Role getRoleById(int id) {
@@ -0,0 +1,259 @@
+package filmfocus.services;
+
+import filmfocus.analytics.SalesFacts;
+import filmfocus.models.entities.Hall;
+import filmfocus.models.entities.Item;
+import filmfocus.models.entities.Order;
+import filmfocus.models.entities.Projection;
+import filmfocus.models.entities.Ticket;
+import filmfocus.models.views.ItemSaleView;
+import filmfocus.models.views.TicketSaleView;
+import filmfocus.repositories.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the columnar sales facts of the reporting node. The facts are loaded from the orders once the application is
+ * ready and every committed change to an order is appended afterwards, a retracted order as negated facts. Until the
+ * load has finished {@link #isLoaded()} is false and the reports keep using the database.
+ *
+ * <p>Prices are split over the tickets and items of an order the same way as in the revenue rollup: the discounted
+ * total in proportion to the prices, and items go to the cinema and hall of the first ticket of the order.
+ */
+@Service
+public class SalesFactService {
+
+  private static final Logger log = LoggerFactory.getLogger(SalesFactService.class);
+
+  private final OrderRepository orderRepository;
+  private final boolean enabled;
+  private final SalesFacts salesFacts = new SalesFacts();
+  private volatile boolean loaded;
+
+  @Autowired
+  public SalesFactService(OrderRepository orderRepository, @Value("${reports.sales-facts.enabled}") boolean enabled) {
+    this.orderRepository = orderRepository;
+    this.enabled = enabled;
+  }
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  // Orders committed while the load runs are appended right away; only an order whose commit races the start of
+  // the load queries by a few microseconds could be counted twice.
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void loadFacts() {
+    if (!enabled) {
+      return;
+    }
+
+    try (Stream<TicketSaleView> ticketSales = orderRepository.streamTicketSales();
+         Stream<ItemSaleView> itemSales = orderRepository.streamItemSales()) {
+      loadFacts(ticketSales.iterator(), itemSales.iterator());
+    }
+
+    loaded = true;
+
+    log.info(String.format("%d sales facts were loaded", salesFacts.size()));
+  }
+
+  public void recordOrder(Order order) {
+    appendAfterCommit(getFacts(order, 1));
+  }
+
+  public void retractOrder(Order order) {
+    appendAfterCommit(getFacts(order, -1));
+  }
+
+  // The sales of both the from and the to date are included.
+  public double getGrossIncome(SalesFacts.Dimension dimension, int id, LocalDate fromDate, LocalDate toDate) {
+    return salesFacts.sumPrice(SalesFacts.Price.GROSS, dimension, id, toEpochDay(fromDate), toEpochDay(toDate));
+  }
+
+  public double getNetIncome(SalesFacts.Dimension dimension, int id, LocalDate fromDate, LocalDate toDate) {
+    return salesFacts.sumPrice(SalesFacts.Price.NET, dimension, id, toEpochDay(fromDate), toEpochDay(toDate));
+  }
+
+  public long getQuantity(SalesFacts.Dimension dimension, int id, LocalDate fromDate, LocalDate toDate) {
+    return salesFacts.sumQuantity(dimension, id, toEpochDay(fromDate), toEpochDay(toDate));
+  }
+
+  public long getQuantity(
+    SalesFacts.Dimension dimension, Collection<Integer> ids, LocalDate fromDate, LocalDate toDate) {
+    BitSet idSet = new BitSet();
+    ids.forEach(idSet::set);
+
+    return salesFacts.sumQuantity(dimension, idSet, toEpochDay(fromDate), toEpochDay(toDate));
+  }
+
+  void loadFacts(Iterator<TicketSaleView> ticketSales, Iterator<ItemSaleView> itemSales) {
+    TicketSaleView ticketSale = next(ticketSales);
+    ItemSaleView itemSale = next(itemSales);
+
+    while (ticketSale != null || itemSale != null) {
+      int orderId = ticketSale == null ? itemSale.getOrderId()
+        : itemSale == null ? ticketSale.getOrderId()
+        : Math.min(ticketSale.getOrderId(), itemSale.getOrderId());
+
+      List<TicketSaleView> orderTickets = new ArrayList<>();
+      while (ticketSale != null && ticketSale.getOrderId() == orderId) {
+        orderTickets.add(ticketSale);
+        ticketSale = next(ticketSales);
+      }
+
+      List<ItemSaleView> orderItems = new ArrayList<>();
+      while (itemSale != null && itemSale.getOrderId() == orderId) {
+        orderItems.add(itemSale);
+        itemSale = next(itemSales);
+      }
+
+      loadOrder(orderTickets, orderItems);
+    }
+  }
+
+  private List<SalesFact> getFacts(Order order, int sign) {
+    List<Ticket> tickets = Objects.isNull(order.getTickets()) ? Collections.emptyList() : order.getTickets();
+    List<Item> items = Objects.isNull(order.getItems()) ? Collections.emptyList() : order.getItems();
+
+    double grossTotal = tickets.stream().mapToDouble(ticket -> ticket.getProjection().getPrice()).sum() +
+                        items.stream().mapToDouble(this::getItemPrice).sum();
+    double discountFactor = grossTotal > 0 ? order.getTotalPrice() / grossTotal : 0;
+    int epochDay = (int) order.getDateOfPurchase().toEpochDay();
+
+    List<SalesFact> facts = new ArrayList<>();
+
+    for (Ticket ticket : tickets) {
+      Projection projection = ticket.getProjection();
+      Hall hall = projection.getHall();
+      int categoryId =
+        Objects.isNull(projection.getMovie().getCategory()) ? 0 : projection.getMovie().getCategory().getId();
+
+      facts.add(new SalesFact(epochDay, projection.getId(), projection.getMovie().getId(), categoryId, hall.getId(),
+                              hall.getCinema().getId(), 0, sign, projection.getPrice(), discountFactor));
+    }
+
+    Hall venue = tickets.stream()
+                        .min(Comparator.comparingInt(Ticket::getId))
+                        .map(ticket -> ticket.getProjection().getHall())
+                        .orElse(null);
+    int cinemaId = Objects.isNull(venue) ? 0 : venue.getCinema().getId();
+    int hallId = Objects.isNull(venue) ? 0 : venue.getId();
+
+    for (Item item : items) {
+      facts.add(new SalesFact(epochDay, 0, 0, 0, hallId, cinemaId, item.getId(), sign, getItemPrice(item),
+                              discountFactor));
+    }
+
+    return facts;
+  }
+
+  private void loadOrder(List<TicketSaleView> tickets, List<ItemSaleView> items) {
+    double grossTotal = tickets.stream().mapToDouble(TicketSaleView::getPrice).sum() +
+                        items.stream().mapToDouble(ItemSaleView::getPrice).sum();
+    double totalPrice = tickets.isEmpty() ? items.get(0).getTotalPrice() : tickets.get(0).getTotalPrice();
+    double discountFactor = grossTotal > 0 ? totalPrice / grossTotal : 0;
+    LocalDate saleDate = tickets.isEmpty() ? items.get(0).getSaleDate() : tickets.get(0).getSaleDate();
+    int epochDay = (int) saleDate.toEpochDay();
+
+    for (TicketSaleView ticket : tickets) {
+      int categoryId = Objects.isNull(ticket.getCategoryId()) ? 0 : ticket.getCategoryId();
+
+      append(new SalesFact(epochDay, ticket.getProjectionId(), ticket.getMovieId(), categoryId, ticket.getHallId(),
+                           ticket.getCinemaId(), 0, 1, ticket.getPrice(), discountFactor));
+    }
+
+    int cinemaId = tickets.isEmpty() ? 0 : tickets.get(0).getCinemaId();
+    int hallId = tickets.isEmpty() ? 0 : tickets.get(0).getHallId();
+
+    for (ItemSaleView item : items) {
+      append(new SalesFact(epochDay, 0, 0, 0, hallId, cinemaId, item.getItemId(), 1, item.getPrice(),
+                           discountFactor));
+    }
+  }
+
+  private void appendAfterCommit(List<SalesFact> facts) {
+    if (!enabled) {
+      return;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      facts.forEach(this::append);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        facts.forEach(SalesFactService.this::append);
+      }
+    });
+  }
+
+  private void append(SalesFact fact) {
+    salesFacts.append(fact.epochDay, fact.projectionId, fact.movieId, fact.categoryId, fact.hallId, fact.cinemaId,
+                      fact.itemId, fact.quantity, fact.quantity * fact.grossPrice,
+                      fact.quantity * fact.grossPrice * fact.discountFactor);
+  }
+
+  private int toEpochDay(LocalDate date) {
+    return (int) date.toEpochDay();
+  }
+
+  private double getItemPrice(Item item) {
+    return Objects.isNull(item.getPrice()) ? 0 : item.getPrice();
+  }
+
+  private <T> T next(Iterator<T> iterator) {
+    return iterator.hasNext() ? iterator.next() : null;
+  }
+
+  private static final class SalesFact {
+
+    private final int epochDay;
+    private final int projectionId;
+    private final int movieId;
+    private final int categoryId;
+    private final int hallId;
+    private final int cinemaId;
+    private final int itemId;
+    private final int quantity;
+    private final double grossPrice;
+    private final double discountFactor;
+
+    private SalesFact(
+      int epochDay, int projectionId, int movieId, int categoryId, int hallId, int cinemaId, int itemId, int quantity,
+      double grossPrice, double discountFactor) {
+      this.epochDay = epochDay;
+      this.projectionId = projectionId;
+      this.movieId = movieId;
+      this.categoryId = categoryId;
+      this.hallId = hallId;
+      this.cinemaId = cinemaId;
+      this.itemId = itemId;
+      this.quantity = quantity;
+      this.grossPrice = grossPrice;
+      this.discountFactor = discountFactor;
+    }
+  }
+}
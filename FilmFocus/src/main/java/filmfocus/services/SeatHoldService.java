@@ -0,0 +1,137 @@
+package filmfocus.services;
+
+import filmfocus.exceptions.SeatHoldNotFoundException;
+import filmfocus.inventory.HashedTimingWheel;
+import filmfocus.mappers.TicketMapper;
+import filmfocus.models.dtos.SeatHoldDto;
+import filmfocus.models.entities.Ticket;
+import filmfocus.models.requests.TicketRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static filmfocus.utils.constants.ExceptionMessages.SEAT_HOLD_NOT_FOUND_MESSAGE;
+
+@Service
+public class SeatHoldService {
+
+  private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+  private static final int WHEEL_SIZE = 512;
+
+  private final TicketService ticketService;
+  private final TicketMapper ticketMapper;
+  private final long holdDuration;
+  private final HashedTimingWheel<SeatHold> timingWheel;
+  private final Map<String, SeatHold> holds = new ConcurrentHashMap<>();
+
+  @Autowired
+  public SeatHoldService(
+    TicketService ticketService, TicketMapper ticketMapper, @Value("${holds.duration}") long holdDuration,
+    @Value("${holds.tick-duration}") long tickDuration) {
+    this.ticketService = ticketService;
+    this.ticketMapper = ticketMapper;
+    this.holdDuration = holdDuration;
+    this.timingWheel = new HashedTimingWheel<>(tickDuration, WHEEL_SIZE, System.currentTimeMillis());
+  }
+
+  public SeatHoldDto holdSeats(List<TicketRequest> requests, int userId) {
+    List<Ticket> tickets = ticketService.reserveTickets(requests);
+
+    // Registered before its expiry is scheduled, so an expiry on the next tick always finds it to remove.
+    SeatHold hold = new SeatHold(UUID.randomUUID().toString(), userId, tickets);
+    holds.put(hold.id, hold);
+    hold.timeout = timingWheel.schedule(hold, System.currentTimeMillis() + holdDuration);
+
+    log.info(String.format("%d seats were held for user with id %d", tickets.size(), userId));
+
+    return mapSeatHoldToSeatHoldDto(hold);
+  }
+
+  public List<Ticket> confirmHold(String holdId, int userId) {
+    SeatHold hold = takeHold(holdId, userId);
+
+    log.info(String.format("Seat hold %s is being turned into tickets", holdId));
+
+    return ticketService.issueTickets(hold.tickets);
+  }
+
+  public SeatHoldDto releaseHold(String holdId, int userId) {
+    SeatHold hold = takeHold(holdId, userId);
+
+    ticketService.releaseTickets(hold.tickets);
+
+    log.info(String.format("Seat hold %s was released", holdId));
+
+    return mapSeatHoldToSeatHoldDto(hold);
+  }
+
+  public int getActiveHolds() {
+    return timingWheel.getPendingTimeouts();
+  }
+
+  @Scheduled(fixedRateString = "${holds.tick-duration}")
+  public void expireHolds() {
+    expireHolds(System.currentTimeMillis());
+  }
+
+  void expireHolds(long now) {
+    List<SeatHold> expired = timingWheel.advance(now);
+
+    for (SeatHold hold : expired) {
+      holds.remove(hold.id);
+      ticketService.releaseTickets(hold.tickets);
+    }
+
+    if (!expired.isEmpty()) {
+      log.info(String.format("%d seat holds expired and their seats were released", expired.size()));
+    }
+  }
+
+  // Cancelling the timeout is what decides a race with the expiry tick: only one of them can win it.
+  private SeatHold takeHold(String holdId, int userId) {
+    SeatHold hold = holds.get(holdId);
+
+    if (hold == null || hold.userId != userId || hold.timeout == null || !hold.timeout.cancel()) {
+      log.error(String.format("Exception caught: %s", SEAT_HOLD_NOT_FOUND_MESSAGE));
+
+      throw new SeatHoldNotFoundException(SEAT_HOLD_NOT_FOUND_MESSAGE);
+    }
+
+    holds.remove(holdId);
+
+    return hold;
+  }
+
+  private SeatHoldDto mapSeatHoldToSeatHoldDto(SeatHold hold) {
+    LocalDateTime expiresAt =
+      LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.timeout.getDeadlineMillis()), ZoneId.systemDefault());
+
+    return new SeatHoldDto(hold.id, hold.userId, expiresAt, ticketMapper.mapTicketToDtoList(hold.tickets));
+  }
+
+  private static final class SeatHold {
+
+    private final String id;
+    private final int userId;
+    private final List<Ticket> tickets;
+    private volatile HashedTimingWheel.Timeout<SeatHold> timeout;
+
+    private SeatHold(String id, int userId, List<Ticket> tickets) {
+      this.id = id;
+      this.userId = userId;
+      this.tickets = tickets;
+    }
+  }
+}
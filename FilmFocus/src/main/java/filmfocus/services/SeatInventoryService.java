@@ -0,0 +1,416 @@
+package filmfocus.services;
+
+import filmfocus.exceptions.NoAvailableTicketsException;
+import filmfocus.exceptions.SeatNotAvailableException;
+import filmfocus.inventory.SeatMap;
+import filmfocus.models.entities.Projection;
+import filmfocus.models.entities.Seat;
+import filmfocus.models.views.ProjectionSeatsView;
+import filmfocus.repositories.ProjectionRepository;
+import filmfocus.repositories.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static filmfocus.utils.constants.ExceptionMessages.NO_AVAILABLE_TICKETS_EXCEPTION;
+import static filmfocus.utils.constants.ExceptionMessages.SEAT_NOT_AVAILABLE_MESSAGE;
+
+@Service
+public class SeatInventoryService {
+
+  private static final Logger log = LoggerFactory.getLogger(SeatInventoryService.class);
+
+  private final ProjectionRepository projectionRepository;
+  private final TicketRepository ticketRepository;
+  private final Map<Integer, ProjectionSeats> inventory = new ConcurrentHashMap<>();
+
+  @Autowired
+  public SeatInventoryService(ProjectionRepository projectionRepository, TicketRepository ticketRepository) {
+    this.projectionRepository = projectionRepository;
+    this.ticketRepository = ticketRepository;
+  }
+
+  public Seat reserveSeat(Projection projection, Integer seatRow, Integer seatNumber) {
+    if (Objects.isNull(seatRow) || Objects.isNull(seatNumber)) {
+      return reserveSeats(projection, 1).get(0);
+    }
+
+    ProjectionSeats seats = getProjectionSeats(projection);
+    seats.lock.readLock().lock();
+
+    try {
+      reserveCapacity(seats, 1);
+
+      if (!seats.seatMap.occupy(seatRow, seatNumber)) {
+        seats.release(1);
+
+        log.error(String.format("Exception caught: %s", SEAT_NOT_AVAILABLE_MESSAGE));
+
+        throw new SeatNotAvailableException(SEAT_NOT_AVAILABLE_MESSAGE);
+      }
+
+      seats.heldSeats.add(new Seat(seatRow, seatNumber));
+    } finally {
+      seats.lock.readLock().unlock();
+    }
+
+    return new Seat(seatRow, seatNumber);
+  }
+
+  public List<Seat> reserveSeats(Projection projection, int count) {
+    ProjectionSeats seats = getProjectionSeats(projection);
+    List<Seat> reserved;
+    seats.lock.readLock().lock();
+
+    try {
+      reserveCapacity(seats, count);
+
+      reserved = seats.seatMap.occupyBestAdjacent(count);
+
+      if (reserved.isEmpty()) {
+        reserved = occupyAnySeats(seats.seatMap, count);
+      }
+
+      if (reserved.size() < count) {
+        releaseSeatMap(seats.seatMap, reserved);
+        seats.release(count);
+
+        log.error(String.format("Exception caught: %s", NO_AVAILABLE_TICKETS_EXCEPTION));
+
+        throw new NoAvailableTicketsException(NO_AVAILABLE_TICKETS_EXCEPTION);
+      }
+
+      seats.heldSeats.addAll(reserved);
+    } finally {
+      seats.lock.readLock().unlock();
+    }
+
+    log.info(String.format("%d seats were reserved for projection with id %d", count, projection.getId()));
+
+    return reserved;
+  }
+
+  // Marks the seats as being written before their tickets are saved, so a reconciliation that counted the tickets
+  // meanwhile leaves the projection alone.
+  public void issueSeats(int projectionId, Collection<Seat> reserved) {
+    ProjectionSeats seats = inventory.get(projectionId);
+
+    if (seats == null) {
+      return;
+    }
+
+    seats.lock.readLock().lock();
+
+    try {
+      seats.startWrite(reserved);
+    } finally {
+      seats.lock.readLock().unlock();
+    }
+  }
+
+  public void confirmSeats(int projectionId, Collection<Seat> reserved) {
+    ProjectionSeats seats = inventory.get(projectionId);
+
+    if (seats == null) {
+      return;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      seats.confirm(reserved);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+          seats.confirm(reserved);
+        } else {
+          releaseReserved(seats, reserved);
+        }
+      }
+    });
+  }
+
+  public void releaseSeats(int projectionId, Collection<Seat> reserved) {
+    ProjectionSeats seats = inventory.get(projectionId);
+
+    if (seats != null) {
+      releaseReserved(seats, reserved);
+
+      log.info(String.format("%d seats were released for projection with id %d", reserved.size(), projectionId));
+    }
+  }
+
+  public int getAvailableSeats(Projection projection) {
+    return getProjectionSeats(projection).getAvailable();
+  }
+
+  public SeatMap getSeatMap(Projection projection) {
+    return getProjectionSeats(projection).seatMap;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void seedInventory() {
+    reconcileInventory();
+  }
+
+  @Scheduled(
+    fixedDelayString = "${inventory.reconciliation-interval}",
+    initialDelayString = "${inventory.reconciliation-interval}")
+  public void reconcileInventory() {
+    Map<Integer, InventorySnapshot> snapshots = new HashMap<>();
+    inventory.forEach((id, seats) -> snapshots.put(id, seats.snapshot()));
+
+    List<ProjectionSeatsView> views = projectionRepository.findProjectionSeatsByProgramDateFrom(LocalDate.now());
+    Set<Integer> activeProjectionIds = new HashSet<>();
+
+    for (ProjectionSeatsView view : views) {
+      int projectionId = view.getProjectionId();
+      int soldTickets = (int) view.getSoldTickets();
+      InventorySnapshot snapshot = snapshots.get(projectionId);
+      ProjectionSeats seats = inventory.get(projectionId);
+      activeProjectionIds.add(projectionId);
+
+      if (seats != null && snapshot != null && reconcileSeats(seats, projectionId, view.getCapacity(), soldTickets,
+                                                              snapshot)) {
+        log.warn(String.format("Seat inventory for projection with id %d was corrected to %d sold tickets",
+                               projectionId, soldTickets));
+      }
+    }
+
+    inventory.keySet().retainAll(activeProjectionIds);
+
+    log.info(String.format("Seat inventory reconciled for %d projections", activeProjectionIds.size()));
+  }
+
+  // Reservations and ticket writes are held off from the correction to the swap of the rebuilt seat map. One made
+  // after the snapshot fails the reconciliation, and none can take a seat on the old map after that and be lost with
+  // it. The held seats have no tickets yet, so they are carried over into the new map.
+  private boolean reconcileSeats(ProjectionSeats seats, int projectionId, int capacity, int soldTickets,
+                                 InventorySnapshot snapshot) {
+    seats.lock.writeLock().lock();
+
+    try {
+      if (!seats.reconcile(capacity, soldTickets, snapshot)) {
+        return false;
+      }
+
+      SeatMap seatMap = seats.seatMap.emptyCopy();
+
+      for (Seat seat : seats.heldSeats) {
+        seatMap.occupy(seat.getSeatRow(), seat.getSeatNumber());
+      }
+
+      seats.seatMap = loadSeatMap(seatMap, ticketRepository.findSeatsByProjectionId(projectionId));
+
+      return true;
+    } finally {
+      seats.lock.writeLock().unlock();
+    }
+  }
+
+  private void releaseReserved(ProjectionSeats seats, Collection<Seat> reserved) {
+    seats.lock.readLock().lock();
+
+    try {
+      releaseSeatMap(seats.seatMap, reserved);
+      seats.release(reserved.size());
+      seats.forget(reserved);
+    } finally {
+      seats.lock.readLock().unlock();
+    }
+  }
+
+  private void reserveCapacity(ProjectionSeats seats, int count) {
+    if (!seats.tryReserve(count)) {
+      log.error(String.format("Exception caught: %s", NO_AVAILABLE_TICKETS_EXCEPTION));
+
+      throw new NoAvailableTicketsException(NO_AVAILABLE_TICKETS_EXCEPTION);
+    }
+  }
+
+  private ProjectionSeats getProjectionSeats(Projection projection) {
+    int capacity = projection.getHall().getCapacity();
+
+    ProjectionSeats seats = inventory.computeIfAbsent(projection.getId(), id -> {
+      List<Seat> soldSeats = ticketRepository.findSeatsByProjectionId(id);
+
+      SeatMap seatMap = loadSeatMap(SeatMap.forHall(projection.getHall()), soldSeats);
+
+      return new ProjectionSeats(capacity, soldSeats.size(), seatMap);
+    });
+
+    seats.setCapacity(capacity);
+
+    return seats;
+  }
+
+  private SeatMap loadSeatMap(SeatMap seatMap, List<Seat> soldSeats) {
+    int unassigned = 0;
+
+    for (Seat seat : soldSeats) {
+      if (seat == null || !seatMap.occupy(seat.getSeatRow(), seat.getSeatNumber())) {
+        unassigned++;
+      }
+    }
+
+    occupyAnySeats(seatMap, unassigned);
+
+    return seatMap;
+  }
+
+  private List<Seat> occupyAnySeats(SeatMap seatMap, int count) {
+    List<Seat> occupied = new ArrayList<>(count);
+
+    while (occupied.size() < count) {
+      List<Seat> seat = seatMap.occupyBestAdjacent(1);
+
+      if (seat.isEmpty()) {
+        break;
+      }
+
+      occupied.addAll(seat);
+    }
+
+    return occupied;
+  }
+
+  private void releaseSeatMap(SeatMap seatMap, Collection<Seat> seats) {
+    for (Seat seat : seats) {
+      seatMap.release(seat.getSeatRow(), seat.getSeatNumber());
+    }
+  }
+
+  private static final class ProjectionSeats {
+
+    private final AtomicInteger sold;
+    private final AtomicInteger pending = new AtomicInteger();
+    // The pending seats: held until their tickets are written, then being written until the write commits or rolls
+    // back. Every write start is counted, so a reconciliation can tell that one happened since its snapshot.
+    private final Set<Seat> heldSeats = ConcurrentHashMap.newKeySet();
+    private final Set<Seat> writingSeats = ConcurrentHashMap.newKeySet();
+    private final AtomicLong writes = new AtomicLong();
+    // Read-locked by reservations, releases and ticket write starts, which only need the seat map and the pending
+    // seats not to be swapped or counted under them, and write-locked by the reconciliation that does both.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile int capacity;
+    private volatile SeatMap seatMap;
+
+    private ProjectionSeats(int capacity, int sold, SeatMap seatMap) {
+      this.capacity = capacity;
+      this.sold = new AtomicInteger(sold);
+      this.seatMap = seatMap;
+    }
+
+    private boolean tryReserve(int count) {
+      pending.addAndGet(count);
+
+      while (true) {
+        int current = sold.get();
+
+        if (current + count > capacity) {
+          pending.addAndGet(-count);
+          return false;
+        }
+
+        if (sold.compareAndSet(current, current + count)) {
+          return true;
+        }
+      }
+    }
+
+    private void startWrite(Collection<Seat> seats) {
+      writes.incrementAndGet();
+      writingSeats.addAll(seats);
+      heldSeats.removeAll(seats);
+    }
+
+    // The counters are updated before the seats leave the pending sets, see snapshot.
+    private void confirm(Collection<Seat> seats) {
+      pending.addAndGet(-seats.size());
+      forget(seats);
+    }
+
+    private void forget(Collection<Seat> seats) {
+      writingSeats.removeAll(seats);
+      heldSeats.removeAll(seats);
+    }
+
+    private void release(int count) {
+      sold.addAndGet(-count);
+      pending.addAndGet(-count);
+    }
+
+    private int getAvailable() {
+      return Math.max(capacity - sold.get(), 0);
+    }
+
+    private void setCapacity(int capacity) {
+      if (this.capacity != capacity) {
+        this.capacity = capacity;
+      }
+    }
+
+    // The tickets counted by a reconciliation are the sold seats that are not pending, as long as no ticket write
+    // runs between the snapshot and the count: none may be running when the snapshot is taken, and none may start
+    // before the correction. The write count is read before the writing seats, which leave only after their counters
+    // were updated. The sold count is read before the pending count: a reservation bumps pending first, so one that
+    // is not counted in sold either shows up in pending or moves sold past the snapshot and fails the
+    // compare-and-set below. A reservation that fails meanwhile can leave pending one too high, which only hides a
+    // seat until the next reconciliation.
+    private InventorySnapshot snapshot() {
+      long writeCount = writes.get();
+      boolean isWriting = !writingSeats.isEmpty();
+      int soldSnapshot = sold.get();
+      int pendingSnapshot = pending.get();
+
+      return new InventorySnapshot(writeCount, isWriting, soldSnapshot, pendingSnapshot);
+    }
+
+    private boolean reconcile(int capacity, int soldTickets, InventorySnapshot snapshot) {
+      setCapacity(capacity);
+
+      int expectedSold = soldTickets + snapshot.pending;
+
+      return !snapshot.isWriting && writes.get() == snapshot.writes && snapshot.sold != expectedSold &&
+             sold.compareAndSet(snapshot.sold, expectedSold);
+    }
+  }
+
+  private static final class InventorySnapshot {
+
+    private final long writes;
+    private final boolean isWriting;
+    private final int sold;
+    private final int pending;
+
+    private InventorySnapshot(long writes, boolean isWriting, int sold, int pending) {
+      this.writes = writes;
+      this.isWriting = isWriting;
+      this.sold = sold;
+      this.pending = pending;
+    }
+  }
+}
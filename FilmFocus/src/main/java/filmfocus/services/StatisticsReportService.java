@@ -1,8 +1,7 @@
 package filmfocus.services;
 
-import filmfocus.models.entities.Item;
-import filmfocus.models.entities.Order;
-import filmfocus.models.entities.Ticket;
+import filmfocus.analytics.SalesFacts;
+import filmfocus.models.dtos.ItemDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,96 +21,60 @@ public class StatisticsReportService {
 
   private final ItemService itemService;
   private final OrderService orderService;
+  private final SalesFactService salesFactService;
 
   @Autowired
   public StatisticsReportService(
     TicketService ticketService, MovieService movieService,
-    CategoryService categoryService, ItemService itemService, OrderService orderService) {
+    CategoryService categoryService, ItemService itemService, OrderService orderService,
+    SalesFactService salesFactService) {
     this.ticketService = ticketService;
     this.movieService = movieService;
     this.categoryService = categoryService;
     this.itemService = itemService;
     this.orderService = orderService;
+    this.salesFactService = salesFactService;
   }
 
   public int getPurchasedTicketsCountByMovieCategory(int categoryId, LocalDate startDate, LocalDate endDate) {
     categoryService.getCategoryById(categoryId);
 
-    List<Ticket> allTickets = ticketService.getTicketsByDateBetween(startDate, endDate);
-
     log.info("Retrieving all incomes by category ID");
 
-    int totalTickets = 0;
-    for (Ticket ticket : allTickets) {
-      if (isTicketWithinDateRange(ticket, startDate, endDate) && isTicketForMovieCategory(ticket, categoryId)) {
-        totalTickets += 1;
-      }
+    if (salesFactService.isLoaded()) {
+      return (int) salesFactService.getQuantity(SalesFacts.Dimension.CATEGORY, categoryId, startDate, endDate);
     }
 
-    return totalTickets;
+    return ticketService.getTicketsCountByMovieCategoryId(categoryId, startDate, endDate);
   }
 
   public int getPurchasedTicketsCountByMovieTitle(String title, LocalDate startDate, LocalDate endDate) {
     movieService.getMovieByTitle(title);
     List<Integer> movieIds = movieService.getIdsOfMoviesByTitle(title);
-    List<Ticket> tickets = ticketService.getTicketsByDateBetween(startDate, endDate);
 
     log.info(
       String.format("Retrieving purchased tickets count for movie with title '%s' between %s and %s", title, startDate,
                     endDate));
 
-    int totalTickets = 0;
-    for (Ticket ticket : tickets) {
-      if (isTicketWithinDateRange(ticket, startDate, endDate) && isTicketForMovieWithTitle(ticket, movieIds)) {
-        totalTickets += 1;
-      }
+    if (salesFactService.isLoaded()) {
+      return (int) salesFactService.getQuantity(SalesFacts.Dimension.MOVIE, movieIds, startDate, endDate);
     }
 
-    return totalTickets;
+    return ticketService.getTicketsCountByMovieIds(movieIds, startDate, endDate);
   }
 
   public int getPurchasedItemsCountByItemName(String name, LocalDate startDate, LocalDate endDate) {
-    int totalTickets = 0;
-
-    itemService.getItemDtoByName(name);
-    List<Order> allOrders = orderService.getOrdersByDateBetween(startDate, endDate);
-
-    for (Order order : allOrders) {
-      if (isOrderWithinDateRange(order, startDate, endDate)) {
-        for (Item item : order.getItems()) {
-          if (name.equals(item.getName())) {
-            totalTickets += 1;
-          }
-        }
-      }
-    }
+    ItemDto item = itemService.getItemDtoByName(name);
 
     log.info(
       String.format("Retrieving purchased items count for item with name '%s' between %s and %s",
                     name, startDate, endDate));
 
-    return totalTickets;
-  }
-
-  private boolean isOrderWithinDateRange(Order order, LocalDate startDate, LocalDate endDate) {
-    LocalDate orderDate = order.getDateOfPurchase();
-    return orderDate.isEqual(startDate) || (orderDate.isAfter(startDate) && orderDate.isBefore(endDate));
-  }
-
-  private boolean isTicketWithinDateRange(Ticket ticket, LocalDate startDate, LocalDate endDate) {
-    LocalDate ticketDate = ticket.getDateOfPurchase();
-
-    return ticketDate.isEqual(startDate) || ticketDate.isEqual(endDate) ||
-           (ticketDate.isAfter(startDate) && ticketDate.isBefore(endDate));
-  }
-
-  private boolean isTicketForMovieWithTitle(Ticket ticket, List<Integer> movieIds) {
-    int movieId = ticket.getProjection().getMovie().getId();
-
-    return movieIds.contains(movieId);
-  }
+    if (salesFactService.isLoaded()) {
+      return (int) salesFactService.getQuantity(SalesFacts.Dimension.ITEM, item.getId(), startDate,
+                                                endDate.minusDays(1));
+    }
 
-  private boolean isTicketForMovieCategory(Ticket ticket, int id) {
-    return id == ticket.getProjection().getMovie().getCategory().getId();
+    return orderService.getItemsCountByItemName(name, startDate, endDate);
   }
 }
@@ -3,9 +3,14 @@ package filmfocus.services;
 import filmfocus.exceptions.DateNotValidException;
 import filmfocus.exceptions.NoAvailableTicketsException;
 import filmfocus.exceptions.TicketNotFoundException;
+import filmfocus.inventory.SeatMap;
+import filmfocus.mappers.SeatMapper;
 import filmfocus.mappers.TicketMapper;
+import filmfocus.models.dtos.SeatDto;
+import filmfocus.models.dtos.SeatMapDto;
 import filmfocus.models.dtos.TicketDto;
 import filmfocus.models.entities.Projection;
+import filmfocus.models.entities.Seat;
 import filmfocus.models.entities.Ticket;
 import filmfocus.models.requests.TicketRequest;
 import filmfocus.repositories.TicketRepository;
@@ -13,11 +18,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static filmfocus.utils.constants.ExceptionMessages.DATE_NOT_VALID_MESSAGE;
@@ -30,39 +41,94 @@ public class TicketService {
   private static final Logger log = LoggerFactory.getLogger(TicketService.class);
 
   private final ProjectionService projectionService;
+  private final RevenueRollupService revenueRollupService;
+  private final SeatInventoryService seatInventoryService;
+  private final SeatMapper seatMapper;
   private final TicketMapper ticketMapper;
   private final TicketRepository ticketRepository;
 
   @Autowired
   public TicketService(
-    ProjectionService projectionService, TicketMapper ticketMapper, TicketRepository ticketRepository) {
+    ProjectionService projectionService, RevenueRollupService revenueRollupService,
+    SeatInventoryService seatInventoryService, SeatMapper seatMapper, TicketMapper ticketMapper,
+    TicketRepository ticketRepository) {
     this.projectionService = projectionService;
+    this.revenueRollupService = revenueRollupService;
+    this.seatInventoryService = seatInventoryService;
+    this.seatMapper = seatMapper;
     this.ticketMapper = ticketMapper;
     this.ticketRepository = ticketRepository;
   }
 
+  @Transactional
   public Ticket addTicket(TicketRequest request) {
-    Projection projection = projectionService.getProjectionById(request.getProjectionId());
+    return addTickets(Collections.singletonList(request)).get(0);
+  }
 
-    LocalDate programDate = projection.getProgram().getProgramDate();
-    LocalDate dateOfPurchase = LocalDate.now();
-    LocalTime projectionStartTime = projection.getStartTime();
-    LocalDateTime currentDateTime = LocalDateTime.now();
+  @Transactional
+  public List<Ticket> addTickets(List<TicketRequest> requests) {
+    List<Ticket> tickets = reserveTickets(requests);
 
+    log.info(String.format("An attempt to add %d new tickets in the database", tickets.size()));
 
-    if (programDate.isBefore(dateOfPurchase) || currentDateTime.toLocalTime().isAfter(projectionStartTime) ) {
-      log.error(String.format("Exception caught: %s", DATE_NOT_VALID_MESSAGE));
-      throw new DateNotValidException(DATE_NOT_VALID_MESSAGE);
+    return issueTickets(tickets);
+  }
+
+  public List<Ticket> reserveTickets(List<TicketRequest> requests) {
+    Map<Integer, List<TicketRequest>> requestsByProjection =
+      requests.stream().collect(Collectors.groupingBy(TicketRequest::getProjectionId, LinkedHashMap::new,
+                                                      Collectors.toList()));
+
+    List<Ticket> tickets = new ArrayList<>(requests.size());
+
+    try {
+      for (Map.Entry<Integer, List<TicketRequest>> group : requestsByProjection.entrySet()) {
+        Projection projection = projectionService.getProjectionById(group.getKey());
+
+        validateProjectionDate(projection);
+
+        for (Seat seat : reserveSeats(projection, group.getValue())) {
+          tickets.add(new Ticket(LocalDate.now(), projection, seat));
+        }
+      }
+    } catch (RuntimeException exception) {
+      releaseTickets(tickets);
+
+      throw exception;
     }
 
+    return tickets;
+  }
+
+  // The tickets are flushed while their seats can still be released, so a failed insert never leaves the seats sold.
+  @Transactional
+  public List<Ticket> issueTickets(List<Ticket> reservedTickets) {
+    List<Ticket> tickets;
+
+    for (Ticket ticket : reservedTickets) {
+      ticket.setDateOfPurchase(LocalDate.now());
+    }
+
+    groupSeatsByProjection(reservedTickets).forEach(seatInventoryService::issueSeats);
+
+    try {
+      tickets = ticketRepository.saveAll(reservedTickets);
+      ticketRepository.flush();
 
-    calculateAvailableTickets(projection);
+      revenueRollupService.recordTickets(tickets);
+    } catch (RuntimeException exception) {
+      releaseTickets(reservedTickets);
 
-    Ticket ticket = new Ticket(dateOfPurchase, projection);
+      throw exception;
+    }
+
+    groupSeatsByProjection(reservedTickets).forEach(seatInventoryService::confirmSeats);
 
-    log.info("An attempt to add a new ticket in the database");
+    return tickets;
+  }
 
-    return ticketRepository.save(ticket);
+  public void releaseTickets(List<Ticket> reservedTickets) {
+    groupSeatsByProjection(reservedTickets).forEach(seatInventoryService::releaseSeats);
   }
 
   public List<TicketDto> getTicketsByProjectionId(int id) {
@@ -75,6 +141,19 @@ public class TicketService {
     return tickets.stream().map(ticketMapper::mapTicketToTicketDto).collect(Collectors.toList());
   }
 
+  public SeatMapDto getSeatMapByProjectionId(int id, Integer adjacentSeats) {
+    Projection projection = projectionService.getProjectionById(id);
+    SeatMap seatMap = seatInventoryService.getSeatMap(projection);
+
+    List<SeatDto> suggestedSeats = Objects.isNull(adjacentSeats) ? Collections.emptyList() :
+                                   seatMapper.mapSeatListToSeatDtoList(seatMap.findBestAdjacent(adjacentSeats));
+
+    log.info(String.format("The seat map of projection with id %d was requested", id));
+
+    return new SeatMapDto(projection.getId(), seatMap.getRows(), seatMap.getSeatsPerRow(),
+                          seatInventoryService.getAvailableSeats(projection), seatMap.render(), suggestedSeats);
+  }
+
   public Ticket getTicketById(int id) {
     log.info(String.format("Retrieving ticket with id %d from database", id));
 
@@ -92,10 +171,26 @@ public class TicketService {
     return ticketRepository.findTicketsByDateOfPurchaseBetween(startDate, endDate);
   }
 
+  public int getTicketsCountByMovieCategoryId(int categoryId, LocalDate startDate, LocalDate endDate) {
+    log.info(String.format("Tickets count for movie category with id %d between %s and %s was requested",
+                           categoryId, startDate, endDate));
+
+    return (int) ticketRepository.countTicketsByMovieCategoryId(categoryId, startDate, endDate);
+  }
+
+  public int getTicketsCountByMovieIds(List<Integer> movieIds, LocalDate startDate, LocalDate endDate) {
+    if (movieIds.isEmpty()) {
+      return 0;
+    }
+
+    log.info(String.format("Tickets count for %d movies between %s and %s was requested", movieIds.size(),
+                           startDate, endDate));
+
+    return (int) ticketRepository.countTicketsByMovieIds(movieIds, startDate, endDate);
+  }
+
   public int calculateAvailableTickets(Projection projection) {
-    int capacity = projection.getHall().getCapacity();
-    int totalTickets = ticketRepository.countByProjectionId(projection.getId());
-    int availableTickets = capacity - totalTickets;
+    int availableTickets = seatInventoryService.getAvailableSeats(projection);
 
     if (availableTickets <= 0) {
       log.error(String.format("Exception caught: %s", NO_AVAILABLE_TICKETS_EXCEPTION));
@@ -103,6 +198,51 @@ public class TicketService {
       throw new NoAvailableTicketsException(NO_AVAILABLE_TICKETS_EXCEPTION);
     }
 
-    return capacity - totalTickets;
+    return availableTickets;
+  }
+
+  private void validateProjectionDate(Projection projection) {
+    LocalDate programDate = projection.getProgram().getProgramDate();
+    LocalTime projectionStartTime = projection.getStartTime();
+    LocalDateTime currentDateTime = LocalDateTime.now();
+
+    if (programDate.isBefore(currentDateTime.toLocalDate()) ||
+        currentDateTime.toLocalTime().isAfter(projectionStartTime)) {
+      log.error(String.format("Exception caught: %s", DATE_NOT_VALID_MESSAGE));
+      throw new DateNotValidException(DATE_NOT_VALID_MESSAGE);
+    }
+  }
+
+  private List<Seat> reserveSeats(Projection projection, List<TicketRequest> requests) {
+    List<Seat> seats = new ArrayList<>(requests.size());
+    int unselectedSeats = 0;
+
+    try {
+      for (TicketRequest request : requests) {
+        if (Objects.isNull(request.getSeatRow()) || Objects.isNull(request.getSeatNumber())) {
+          unselectedSeats++;
+        } else {
+          seats.add(seatInventoryService.reserveSeat(projection, request.getSeatRow(), request.getSeatNumber()));
+        }
+      }
+
+      if (unselectedSeats > 0) {
+        seats.addAll(seatInventoryService.reserveSeats(projection, unselectedSeats));
+      }
+    } catch (RuntimeException exception) {
+      if (!seats.isEmpty()) {
+        seatInventoryService.releaseSeats(projection.getId(), seats);
+      }
+
+      throw exception;
+    }
+
+    return seats;
+  }
+
+  private Map<Integer, List<Seat>> groupSeatsByProjection(List<Ticket> tickets) {
+    return tickets.stream()
+                  .collect(Collectors.groupingBy(ticket -> ticket.getProjection().getId(),
+                                                 Collectors.mapping(Ticket::getSeat, Collectors.toList())));
   }
 }
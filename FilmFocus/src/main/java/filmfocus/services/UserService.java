@@ -16,6 +16,9 @@ import filmfocus.models.entities.User;
 import filmfocus.models.requests.AdminRequest;
 import filmfocus.models.requests.LoginRequest;
 import filmfocus.models.requests.UserRequest;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.KeysetPaging;
+import filmfocus.pagination.KeysetPaging.KeysetQuery;
 import filmfocus.repositories.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,12 +31,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static filmfocus.utils.constants.ExceptionMessages.NOT_AUTHORIZED_MESSAGE;
@@ -59,13 +64,14 @@ public class UserService {
   private final Random random;
   private final RoleService roleService;
   private final UserMapper userMapper;
+  private final KeysetPaging keysetPaging;
 
   @Autowired
   public UserService(
     AuthenticationManager authenticationManager, BCryptPasswordEncoder passwordEncoder, EmailService emailService,
     JwtCookieUtil jwtCookieUtil,
     UserRepository userRepository, Random random, RoleService roleService,
-    UserMapper userMapper) {
+    UserMapper userMapper, KeysetPaging keysetPaging) {
     this.authenticationManager = authenticationManager;
     this.passwordEncoder = passwordEncoder;
     this.emailService = emailService;
@@ -74,6 +80,7 @@ public class UserService {
     this.random = random;
     this.roleService = roleService;
     this.userMapper = userMapper;
+    this.keysetPaging = keysetPaging;
   }
 
   public HttpCookie login(LoginRequest request) {
@@ -85,7 +92,8 @@ public class UserService {
     return jwtCookieUtil.createJWTCookie(userDetails);
   }
 
-  public HttpCookie registerUser(UserRequest userRequest) throws MailjetSocketTimeoutException, MailjetException {
+  @Transactional
+  public HttpCookie registerUser(UserRequest userRequest) {
     addUser(userRequest);
 
     log.info("An attempt a new user to be registered");
@@ -99,7 +107,8 @@ public class UserService {
     return login(new LoginRequest(request.getUsername(), request.getPassword()));
   }
 
-  public User addUser(UserRequest userRequest) throws MailjetSocketTimeoutException, MailjetException {
+  @Transactional
+  public User addUser(UserRequest userRequest) {
     String password = passwordEncoder.encode(userRequest.getPassword());
 
     userValidation(userRequest);
@@ -109,12 +118,13 @@ public class UserService {
                userRequest.getLastName(),
                LocalDate.now(), getDefaultRoleList());
 
-    emailService.sendRegistrationConfirmationEmail(user);
-
     log.info("Trying to add a new user");
 
+    user = userRepository.save(user);
 
-    return userRepository.save(user);
+    emailService.sendRegistrationConfirmationEmail(user);
+
+    return user;
   }
 
   public User addUserByAdmin(AdminRequest request) {
@@ -202,25 +212,38 @@ public class UserService {
     return userMapper.mapUserToUserDto(getUserByEmail(email));
   }
 
-  public List<User> getUsersByRoleName(String roleName) {
-    log.info(String.format("Trying to retrieve users with role %s", roleName));
+  public KeysetPage<UserDto> getUsersDtoPageByRoleName(String roleName, Integer afterId, Integer size) {
+    log.info(String.format("Trying to retrieve a page of user DTOs with role %s after id %s", roleName, afterId));
 
-    return userRepository.findAllByRolesName(roleName.toUpperCase());
+    return keysetPaging.getPage(afterId, size, byRoleName(roleName), User::getId, userMapper::mapUserToUserDto);
   }
 
-  public List<UserDto> getUsersDtoByRoleName(String roleName) {
-    log.info(String.format("Trying to retrieve user DTOS with role %s", roleName));
+  public void forEachUserDtoByRoleName(String roleName, Consumer<UserDto> action) {
+    log.info(String.format("Trying to stream user DTOs with role %s", roleName));
 
-    return userMapper.mapUsersToUserDtos(getUsersByRoleName(roleName));
+    keysetPaging.forEach(byRoleName(roleName), User::getId, user -> action.accept(userMapper.mapUserToUserDto(user)));
   }
 
-  public List<User> getUsersByJoinDate(LocalDate joinDate, boolean isBefore) {
-    return isBefore ? userRepository.findAllByJoinDateBefore(joinDate)
-                    : userRepository.findAllByJoinDateAfter(joinDate);
+  public KeysetPage<UserDto> getUsersDtoPageByJoinDate(
+    LocalDate joinDate, boolean isBefore, Integer afterId, Integer size) {
+    return keysetPaging.getPage(afterId, size, byJoinDate(joinDate, isBefore), User::getId,
+                                userMapper::mapUserToUserDto);
+  }
+
+  public void forEachUserDtoByJoinDate(LocalDate joinDate, boolean isBefore, Consumer<UserDto> action) {
+    keysetPaging.forEach(byJoinDate(joinDate, isBefore), User::getId,
+                         user -> action.accept(userMapper.mapUserToUserDto(user)));
+  }
+
+  private KeysetQuery<User> byRoleName(String roleName) {
+    String name = roleName.toUpperCase();
+
+    return (afterId, page) -> userRepository.findAllByRolesNameAndIdGreaterThan(name, afterId, page);
   }
 
-  public List<UserDto> getUsersDtosByJoinDate(LocalDate joinDate, boolean isBefore) {
-    return userMapper.mapUsersToUserDtos(getUsersByJoinDate(joinDate, isBefore));
+  private KeysetQuery<User> byJoinDate(LocalDate joinDate, boolean isBefore) {
+    return isBefore ? (afterId, page) -> userRepository.findAllByJoinDateBeforeAndIdGreaterThan(joinDate, afterId, page)
+                    : (afterId, page) -> userRepository.findAllByJoinDateAfterAndIdGreaterThan(joinDate, afterId, page);
   }
 
   private User getUserByUsernameOnLogin(String username) {
@@ -0,0 +1,113 @@
+package filmfocus.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Orders the committed changes of an in-memory read model around its load from the database. Requests are served
+ * before the application is ready, so changes commit while the model is still loading: one committed before the load
+ * query started is already in what the query reads and is dropped, and one committed after it is held until the load
+ * has finished and then applied. Once loaded, changes are applied as they commit.
+ *
+ * <p>A model that is loaded again keeps serving while it reloads, so a change that commits during a reload is applied
+ * right away and held as well, then applied once more to the reloaded model. Changes to such a model must set values
+ * rather than add to them, so applying one twice does no harm.
+ *
+ * <p>Which side of the query a change falls on is decided by a lock: a change holds it shared from just before its
+ * transaction commits until the change has been applied or held, and the load holds it exclusively while it starts
+ * its query.
+ */
+public class ReadModelLoader {
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Queue<Runnable> heldChanges = new ConcurrentLinkedQueue<>();
+  private volatile boolean loaded;
+  private volatile boolean loading;
+
+  // Starts the load query with no change committing; the changes held so far are all in what it reads.
+  public <T> T startLoad(Supplier<T> query) {
+    lock.writeLock().lock();
+
+    try {
+      heldChanges.clear();
+      loading = true;
+
+      return query.get();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // Applies the changes held while loading, even when the load failed, and every later change right away.
+  public void finishLoad() {
+    lock.writeLock().lock();
+
+    try {
+      for (Runnable change = heldChanges.poll(); change != null; change = heldChanges.poll()) {
+        change.run();
+      }
+
+      loading = false;
+      loaded = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // Applies the change once the current transaction has committed, or right away outside of one.
+  public void runAfterCommit(Runnable change) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      lock.readLock().lock();
+
+      try {
+        apply(change);
+      } finally {
+        lock.readLock().unlock();
+      }
+
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+      private boolean isLocked;
+
+      @Override
+      public void beforeCommit(boolean readOnly) {
+        lock.readLock().lock();
+        isLocked = true;
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        if (!isLocked) {
+          return;
+        }
+
+        try {
+          if (status == STATUS_COMMITTED) {
+            apply(change);
+          }
+        } finally {
+          lock.readLock().unlock();
+        }
+      }
+    });
+  }
+
+  private void apply(Runnable change) {
+    if (loaded) {
+      change.run();
+    }
+
+    if (!loaded || loading) {
+      heldChanges.add(change);
+    }
+  }
+}
@@ -20,6 +20,8 @@ public final class ExceptionMessages {
   public static final String REVIEW_NOT_FOUND_MESSAGE = "No such review was found in the database!";
   public static final String TICKET_NOT_FOUND_MESSAGE = "No such ticket was found in the database!";
   public static final String DISCOUNT_NOT_FOUND_MESSAGE = "No such discount was found in the database!";
+  public static final String SEAT_HOLD_NOT_FOUND_MESSAGE = "No such seat hold was found or it has already expired!";
+  public static final String REPORT_JOB_NOT_FOUND_MESSAGE = "No such report job was found or it has already expired!";
 
   /**
    * Authorization messages
@@ -37,6 +39,29 @@ public final class ExceptionMessages {
   public static final String DISCOUNT_CODE_NOT_VALID_MESSAGE = "Discount code not valid.";
   public static final String NO_AVAILABLE_TICKETS_EXCEPTION = "No more tickets available for this projection.";
   public static final String NO_AVAILABLE_ITEMS_EXCEPTION = "No more items of this kind available.";
+  public static final String SEAT_NOT_AVAILABLE_MESSAGE = "The selected seat is not available for this projection.";
+  public static final String SEAT_LAYOUT_NOT_VALID_MESSAGE = "The capacity must match the seats in the hall layout.";
+  public static final String REPORT_DIMENSION_NOT_VALID_MESSAGE =
+    "Unknown report dimension '%s'. Use cinema, hall, movie, item, category or day.";
+  public static final String EXPORT_TYPE_NOT_VALID_MESSAGE = "Unknown export '%s'. Use orders, tickets or items.";
+  public static final String EXPORT_FORMAT_NOT_VALID_MESSAGE = "Unknown export format '%s'. Use csv or ndjson.";
+  public static final String EXPORT_LIMIT_EXCEEDED_MESSAGE = "Too many exports are running. Try again later.";
+  public static final String REPORT_TYPE_NOT_VALID_MESSAGE = "Unknown report type '%s'.";
+  public static final String REPORT_PARAMETER_MISSING_MESSAGE = "The report type '%s' needs the '%s' parameter.";
+  public static final String REPORT_JOB_LIMIT_EXCEEDED_MESSAGE =
+    "You already have the maximum number of report jobs running. Try again when one of them has finished.";
+  public static final String REPORT_JOB_QUEUE_FULL_MESSAGE = "Too many report jobs are waiting. Try again later.";
+  public static final String REPORT_JOB_NOT_FINISHED_MESSAGE = "The report job has not finished successfully yet.";
+  public static final String PAGE_CURSOR_NOT_VALID_MESSAGE = "Page cursor not valid.";
+  public static final String PAGE_SIZE_NOT_VALID_MESSAGE = "The page size must be between 1 and %d.";
+  public static final String PAGE_NUMBER_NOT_VALID_MESSAGE = "The page number can't be negative.";
+  public static final String SORT_FIELD_NOT_VALID_MESSAGE =
+    "Unknown sort field '%s'. Use title, rating or releaseDate.";
+  public static final String SORT_ORDER_NOT_VALID_MESSAGE = "Unknown sort order '%s'. Use asc or desc.";
+  public static final String SEARCH_QUERY_NOT_VALID_MESSAGE = "The search query must contain at least one word.";
+  public static final String IMDB_FILTER_NOT_VALID_MESSAGE = "Invalid filter type";
+  public static final String UPSTREAM_UNAVAILABLE_MESSAGE =
+    "The %s service is not available at the moment. Try again later.";
 
   /**
    * Existing entity properties messages
@@ -37,11 +37,17 @@ public final class URIConstants {
    * Reports endpoints
    */
 
+  public static final String REPORTS_INCOMES_PATH = "/reports/incomes";
   public static final String REPORTS_CINEMAS_ID_INCOMES_PATH = "/reports/cinemas/{id}/incomes";
   public static final String REPORTS_HALLS_ID_INCOMES_PATH = "/reports/halls/{id}/incomes";
   public static final String REPORTS_ITEMS_ID_INCOMES_PATH = "/reports/items/{id}/incomes";
   public static final String REPORTS_MOVIES_ID_INCOMES_PATH = "/reports/movies/{id}/incomes";
   public static final String REPORTS_USERS_ID_INCOMES_PATH = "/reports/users/{id}/incomes";
+  public static final String REPORTS_EXPORTS_TYPE_PATH = "/reports/exports/{type}";
+  public static final String REPORTS_JOBS_PATH = "/reports/jobs";
+  public static final String REPORTS_JOBS_ID_PATH = "/reports/jobs/{jobId}";
+  public static final String REPORTS_JOBS_ID_RESULT_PATH = "/reports/jobs/{jobId}/result";
+  public static final String REPORTS_UPSTREAMS_PATH = "/reports/upstreams";
 
   /**
    * Items endpoints
@@ -56,6 +62,8 @@ public final class URIConstants {
 
   public static final String MOVIES_PATH = "/movies";
   public static final String MOVIES_ID_PATH = "/movies/{id}";
+  public static final String MOVIES_SUGGESTIONS_PATH = "/movies/suggestions";
+  public static final String MOVIES_SEARCH_PATH = "/movies/search";
   public static final String CATEGORIES_ID_MOVIES_PATH = "/categories/{id}/movies";
 
   /**
@@ -65,6 +73,9 @@ public final class URIConstants {
   public static final String ORDERS_PATH = "/orders";
   public static final String ORDERS_ID_PATH = "/orders/{id}";
   public static final String USERS_ID_ORDERS_PATH = "/users/{id}/orders";
+  public static final String USERS_ID_HOLDS_PATH = "/users/{id}/holds";
+  public static final String USERS_ID_HOLDS_ID_PATH = "/users/{id}/holds/{holdId}";
+  public static final String USERS_ID_HOLDS_ID_ORDERS_PATH = "/users/{id}/holds/{holdId}/orders";
 
   /**
    * Programs endpoints
@@ -88,8 +99,11 @@ public final class URIConstants {
    */
 
   public static final String REVIEWS_ID_PATH = "/reviews/{id}";
+  public static final String REVIEWS_SEARCH_PATH = "/reviews/search";
   public static final String CINEMAS_ID_REVIEWS_PATH = "/cinemas/{id}/reviews";
   public static final String MOVIES_ID_REVIEWS_PATH = "/movies/{id}/reviews";
+  public static final String CINEMAS_ID_REVIEWS_STATS_PATH = "/cinemas/{id}/reviews/stats";
+  public static final String MOVIES_ID_REVIEWS_STATS_PATH = "/movies/{id}/reviews/stats";
   public static final String USERS_ID_MOVIES_REVIEWS_PATH = "/users/{id}/movies/reviews";
   public static final String USERS_ID_CINEMAS_REVIEWS_PATH = "/users/{id}/cinemas/reviews";
 
@@ -116,6 +130,7 @@ public final class URIConstants {
   public static final String TICKETS_PATH = "/tickets";
   public static final String TICKETS_ID_PATH = "/tickets/{id}";
   public static final String PROJECTIONS_ID_TICKETS_PATH = "/projections/{id}/tickets";
+  public static final String PROJECTIONS_ID_SEATS_PATH = "/projections/{id}/seats";
 
   /**
    * Users endpoints
@@ -13,6 +13,8 @@ CREATE TABLE IF NOT EXISTS filmfocus.cinemas
     address character varying(255),
     city character varying(255),
     average_rating double precision NOT NULL DEFAULT 0.0,
+    rating_sum double precision NOT NULL DEFAULT 0.0,
+    rating_count integer NOT NULL DEFAULT 0,
     CONSTRAINT cinemas_pkey PRIMARY KEY (id),
     CONSTRAINT unique_address_city UNIQUE (address, city)
 );
@@ -33,6 +35,8 @@ CREATE TABLE IF NOT EXISTS filmfocus.halls
     id SERIAL,
     capacity integer NOT NULL,
     cinema_id integer,
+    seat_rows integer NOT NULL DEFAULT 0,
+    seats_per_row integer NOT NULL DEFAULT 0,
     CONSTRAINT halls_pkey PRIMARY KEY (id),
     CONSTRAINT fk_halls_cinema_id FOREIGN KEY (cinema_id)
         REFERENCES filmfocus.cinemas (id)
@@ -40,6 +44,30 @@ CREATE TABLE IF NOT EXISTS filmfocus.halls
         ON DELETE CASCADE
 );
 
+CREATE TABLE IF NOT EXISTS filmfocus.hall_blocked_seats
+(
+    hall_id integer NOT NULL,
+    seat_row integer NOT NULL,
+    seat_number integer NOT NULL,
+    CONSTRAINT fk_hall_blocked_seats_hall_id FOREIGN KEY (hall_id)
+        REFERENCES filmfocus.halls (id)
+        ON UPDATE CASCADE
+        ON DELETE CASCADE
+);
+
+ALTER TABLE filmfocus.halls ADD COLUMN IF NOT EXISTS seat_rows integer NOT NULL DEFAULT 0;
+ALTER TABLE filmfocus.halls ADD COLUMN IF NOT EXISTS seats_per_row integer NOT NULL DEFAULT 0;
+
+WITH laid_out AS (
+    UPDATE filmfocus.halls
+    SET seat_rows = (GREATEST(capacity, 1) + 9) / 10, seats_per_row = 10
+    WHERE seat_rows = 0 OR seats_per_row = 0
+    RETURNING id, GREATEST(capacity, 1) AS capacity, seat_rows
+)
+INSERT INTO filmfocus.hall_blocked_seats (hall_id, seat_row, seat_number)
+SELECT laid_out.id, laid_out.seat_rows, seat_number
+FROM laid_out, generate_series(laid_out.capacity - (laid_out.seat_rows - 1) * 10 + 1, 10) AS seat_number;
+
 CREATE TABLE IF NOT EXISTS filmfocus.items
 (
     id SERIAL,
@@ -54,6 +82,8 @@ CREATE TABLE IF NOT EXISTS filmfocus.movies
     id SERIAL,
     title character varying(255) UNIQUE,
     average_rating double precision NOT NULL DEFAULT 0.0,
+    rating_sum double precision NOT NULL DEFAULT 0.0,
+    rating_count integer NOT NULL DEFAULT 0,
     description character varying(255),
     release_date date,
     runtime bigint,
@@ -65,6 +95,16 @@ CREATE TABLE IF NOT EXISTS filmfocus.movies
         ON DELETE CASCADE
 );
 
+-- Serves the title LIKE '%...%' queries used until the in-memory title index is loaded.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_movies_title_trgm ON filmfocus.movies USING gin (title gin_trgm_ops);
+
+-- Serve the filters, sort orders and facet counts of the movie search.
+CREATE INDEX IF NOT EXISTS idx_movies_lower_title_trgm ON filmfocus.movies USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_movies_category_id_average_rating ON filmfocus.movies (category_id, average_rating);
+CREATE INDEX IF NOT EXISTS idx_movies_average_rating ON filmfocus.movies (average_rating);
+CREATE INDEX IF NOT EXISTS idx_movies_release_date ON filmfocus.movies (release_date);
+
 CREATE TABLE IF NOT EXISTS filmfocus.users
 (
     id SERIAL,
@@ -90,6 +130,8 @@ CREATE TABLE IF NOT EXISTS filmfocus.orders
         ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_orders_date_of_purchase ON filmfocus.orders (date_of_purchase);
+
 CREATE TABLE IF NOT EXISTS filmfocus.orders_items
 (
     order_id integer NOT NULL,
@@ -163,19 +205,66 @@ CREATE TABLE IF NOT EXISTS filmfocus.reviews
         ON DELETE CASCADE
 );
 
+UPDATE filmfocus.reviews SET date_modified = DATE '1970-01-01' WHERE date_modified IS NULL;
+ALTER TABLE filmfocus.reviews ALTER COLUMN date_modified SET NOT NULL;
+
+DROP INDEX IF EXISTS filmfocus.idx_reviews_movie_id;
+DROP INDEX IF EXISTS filmfocus.idx_reviews_cinema_id;
+CREATE INDEX IF NOT EXISTS idx_reviews_movie_id_date_modified_id
+    ON filmfocus.reviews (movie_id, date_modified, id);
+CREATE INDEX IF NOT EXISTS idx_reviews_cinema_id_date_modified_id
+    ON filmfocus.reviews (cinema_id, date_modified, id);
+CREATE INDEX IF NOT EXISTS idx_reviews_user_id_date_modified_id
+    ON filmfocus.reviews (user_id, date_modified, id);
+
+ALTER TABLE filmfocus.movies ADD COLUMN IF NOT EXISTS rating_sum double precision NOT NULL DEFAULT 0.0;
+ALTER TABLE filmfocus.movies ADD COLUMN IF NOT EXISTS rating_count integer NOT NULL DEFAULT 0;
+ALTER TABLE filmfocus.cinemas ADD COLUMN IF NOT EXISTS rating_sum double precision NOT NULL DEFAULT 0.0;
+ALTER TABLE filmfocus.cinemas ADD COLUMN IF NOT EXISTS rating_count integer NOT NULL DEFAULT 0;
+
+UPDATE filmfocus.movies m
+SET rating_sum = totals.rating_sum, rating_count = totals.rating_count
+FROM (SELECT movie_id, SUM(rating) AS rating_sum, COUNT(*) AS rating_count
+      FROM filmfocus.reviews WHERE movie_id IS NOT NULL GROUP BY movie_id) totals
+WHERE m.id = totals.movie_id;
+
+UPDATE filmfocus.cinemas c
+SET rating_sum = totals.rating_sum, rating_count = totals.rating_count
+FROM (SELECT cinema_id, SUM(rating) AS rating_sum, COUNT(*) AS rating_count
+      FROM filmfocus.reviews WHERE cinema_id IS NOT NULL GROUP BY cinema_id) totals
+WHERE c.id = totals.cinema_id;
+
 
 CREATE TABLE IF NOT EXISTS filmfocus.tickets
 (
     id SERIAL,
     date_of_purchase date,
     projection_id integer,
+    seat_row integer,
+    seat_number integer,
     CONSTRAINT tickets_pkey PRIMARY KEY (id),
+    CONSTRAINT unique_projection_seat UNIQUE (projection_id, seat_row, seat_number),
     CONSTRAINT fk_tickets_projection_id FOREIGN KEY (projection_id)
         REFERENCES filmfocus.projections (id)
         ON UPDATE CASCADE
         ON DELETE CASCADE
 );
 
+ALTER TABLE filmfocus.tickets ADD COLUMN IF NOT EXISTS seat_row integer;
+ALTER TABLE filmfocus.tickets ADD COLUMN IF NOT EXISTS seat_number integer;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'unique_projection_seat') THEN
+        ALTER TABLE filmfocus.tickets
+            ADD CONSTRAINT unique_projection_seat UNIQUE (projection_id, seat_row, seat_number);
+    END IF;
+END $$;
+
+ALTER SEQUENCE IF EXISTS filmfocus.tickets_id_seq INCREMENT BY 50;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_date_of_purchase ON filmfocus.tickets (date_of_purchase);
+
 CREATE TABLE IF NOT EXISTS filmfocus.orders_tickets
 (
     order_id integer NOT NULL,
@@ -210,4 +299,91 @@ CREATE TABLE IF NOT EXISTS filmfocus.users_roles
         REFERENCES filmfocus.roles (id)
         ON UPDATE CASCADE
         ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS filmfocus.email_outbox
+(
+    id SERIAL,
+    recipient_email character varying(255) NOT NULL,
+    recipient_name character varying(255),
+    subject character varying(255),
+    html_part text,
+    status character varying(16) NOT NULL,
+    attempts integer NOT NULL DEFAULT 0,
+    next_attempt_at timestamp without time zone NOT NULL,
+    created_at timestamp without time zone NOT NULL,
+    last_error character varying(1024),
+    CONSTRAINT email_outbox_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt
+    ON filmfocus.email_outbox (status, next_attempt_at);
+
+CREATE TABLE IF NOT EXISTS filmfocus.revenue_rollup
+(
+    id SERIAL,
+    sale_date date NOT NULL,
+    cinema_id integer NOT NULL DEFAULT 0,
+    hall_id integer NOT NULL DEFAULT 0,
+    movie_id integer NOT NULL DEFAULT 0,
+    item_id integer NOT NULL DEFAULT 0,
+    user_id integer NOT NULL DEFAULT 0,
+    gross_income double precision NOT NULL DEFAULT 0.0,
+    net_income double precision NOT NULL DEFAULT 0.0,
+    ticket_count integer NOT NULL DEFAULT 0,
+    item_count integer NOT NULL DEFAULT 0,
+    CONSTRAINT revenue_rollup_pkey PRIMARY KEY (id),
+    CONSTRAINT unique_revenue_rollup_key UNIQUE (sale_date, cinema_id, hall_id, movie_id, item_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revenue_rollup_cinema_date ON filmfocus.revenue_rollup (cinema_id, sale_date);
+CREATE INDEX IF NOT EXISTS idx_revenue_rollup_hall_date ON filmfocus.revenue_rollup (hall_id, sale_date);
+CREATE INDEX IF NOT EXISTS idx_revenue_rollup_movie_date ON filmfocus.revenue_rollup (movie_id, sale_date);
+CREATE INDEX IF NOT EXISTS idx_revenue_rollup_item_date ON filmfocus.revenue_rollup (item_id, sale_date);
+CREATE INDEX IF NOT EXISTS idx_revenue_rollup_user_date ON filmfocus.revenue_rollup (user_id, sale_date);
+
+-- Backfills the rollup from the existing tickets and orders the first time the script runs. Tickets add their gross
+-- income and count, orders the net income of their tickets and items and the gross income and count of their items.
+INSERT INTO filmfocus.revenue_rollup
+    (sale_date, cinema_id, hall_id, movie_id, item_id, user_id, gross_income, net_income, ticket_count, item_count)
+WITH order_venues AS (
+    SELECT DISTINCT ON (ot.order_id) ot.order_id, h.cinema_id, h.id AS hall_id
+    FROM filmfocus.orders_tickets ot
+    JOIN filmfocus.tickets t ON t.id = ot.tickets_id
+    JOIN filmfocus.projections p ON p.id = t.projection_id
+    JOIN filmfocus.halls h ON h.id = p.hall_id
+    ORDER BY ot.order_id, t.id
+), order_lines AS (
+    SELECT ot.order_id, h.cinema_id, h.id AS hall_id, p.movie_id, 0 AS item_id,
+           COALESCE(p.price, 0) AS gross, 0 AS items
+    FROM filmfocus.orders_tickets ot
+    JOIN filmfocus.tickets t ON t.id = ot.tickets_id
+    JOIN filmfocus.projections p ON p.id = t.projection_id
+    JOIN filmfocus.halls h ON h.id = p.hall_id
+    UNION ALL
+    SELECT oi.order_id, COALESCE(v.cinema_id, 0), COALESCE(v.hall_id, 0), 0, oi.item_id,
+           COALESCE(i.price, 0), 1
+    FROM filmfocus.orders_items oi
+    JOIN filmfocus.items i ON i.id = oi.item_id
+    LEFT JOIN order_venues v ON v.order_id = oi.order_id
+), order_totals AS (
+    SELECT order_id, SUM(gross) AS gross FROM order_lines GROUP BY order_id
+), rollup_lines AS (
+    SELECT o.date_of_purchase AS sale_date, l.cinema_id, l.hall_id, l.movie_id, l.item_id,
+           COALESCE(o.user_id, 0) AS user_id, l.items * l.gross AS gross,
+           CASE WHEN ot.gross > 0 THEN l.gross * o.total_price / ot.gross ELSE 0 END AS net, 0 AS tickets, l.items
+    FROM order_lines l
+    JOIN order_totals ot ON ot.order_id = l.order_id
+    JOIN filmfocus.orders o ON o.id = l.order_id
+    WHERE o.date_of_purchase IS NOT NULL
+    UNION ALL
+    SELECT t.date_of_purchase, h.cinema_id, h.id, p.movie_id, 0, 0, COALESCE(p.price, 0), 0, 1, 0
+    FROM filmfocus.tickets t
+    JOIN filmfocus.projections p ON p.id = t.projection_id
+    JOIN filmfocus.halls h ON h.id = p.hall_id
+    WHERE t.date_of_purchase IS NOT NULL
+)
+SELECT sale_date, cinema_id, hall_id, movie_id, item_id, user_id, SUM(gross), SUM(net), SUM(tickets), SUM(items)
+FROM rollup_lines
+WHERE NOT EXISTS (SELECT 1 FROM filmfocus.revenue_rollup)
+GROUP BY sale_date, cinema_id, hall_id, movie_id, item_id, user_id;
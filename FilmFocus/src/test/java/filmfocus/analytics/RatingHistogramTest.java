@@ -0,0 +1,118 @@
+package filmfocus.analytics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RatingHistogramTest {
+
+  private static final double DELTA = 0.000001;
+  private static final int TREND_DAYS = 7;
+  private static final int TODAY = 19000;
+
+  private RatingHistogram histogram;
+
+  @Before
+  public void setUp() {
+    histogram = new RatingHistogram(TREND_DAYS);
+  }
+
+  @Test
+  public void testToStars_ratingsRoundedAndClamped() {
+    assertEquals(1, RatingHistogram.toStars(0));
+    assertEquals(1, RatingHistogram.toStars(1.4));
+    assertEquals(2, RatingHistogram.toStars(1.5));
+    assertEquals(5, RatingHistogram.toStars(7));
+  }
+
+  @Test
+  public void testSnapshot_ratingsAdded_bucketsAndMeanCounted() {
+    histogram.add(1, TODAY);
+    histogram.add(4.6, TODAY);
+    histogram.add(5, TODAY - 1);
+
+    RatingHistogram.Snapshot snapshot = histogram.snapshot(TODAY);
+
+    assertEquals(1, snapshot.getBucket(1));
+    assertEquals(0, snapshot.getBucket(3));
+    assertEquals(2, snapshot.getBucket(5));
+    assertEquals(3, snapshot.getCount());
+    assertEquals(3.533333, snapshot.getMean(), DELTA);
+  }
+
+  @Test
+  public void testSnapshot_ratingsOutsideTrendWindow_onlyInTotals() {
+    histogram.add(1, TODAY - TREND_DAYS);
+    histogram.add(1, RatingHistogram.NO_DAY);
+    histogram.add(4, TODAY - TREND_DAYS + 1);
+    histogram.add(5, TODAY);
+
+    RatingHistogram.Snapshot snapshot = histogram.snapshot(TODAY);
+
+    assertEquals(4, snapshot.getCount());
+    assertEquals(2.75, snapshot.getMean(), DELTA);
+    assertEquals(2, snapshot.getRecentCount());
+    assertEquals(4.5, snapshot.getRecentMean(), DELTA);
+  }
+
+  @Test
+  public void testAdd_slotOfOlderDay_reusedForNewDay() {
+    histogram.add(1, TODAY - TREND_DAYS);
+    histogram.add(5, TODAY);
+
+    RatingHistogram.Snapshot snapshot = histogram.snapshot(TODAY);
+
+    assertEquals(1, snapshot.getRecentCount());
+    assertEquals(5, snapshot.getRecentMean(), DELTA);
+  }
+
+  @Test
+  public void testAdd_dayOlderThanSlot_onlyInTotals() {
+    histogram.add(5, TODAY);
+    histogram.add(1, TODAY - TREND_DAYS);
+
+    RatingHistogram.Snapshot snapshot = histogram.snapshot(TODAY);
+
+    assertEquals(2, snapshot.getCount());
+    assertEquals(1, snapshot.getRecentCount());
+    assertEquals(5, snapshot.getRecentMean(), DELTA);
+  }
+
+  @Test
+  public void testRemove_ratingRemovedFromBucketsAndTrend() {
+    histogram.add(2, TODAY);
+    histogram.add(4, TODAY);
+    histogram.remove(2, TODAY);
+
+    RatingHistogram.Snapshot snapshot = histogram.snapshot(TODAY);
+
+    assertEquals(0, snapshot.getBucket(2));
+    assertEquals(1, snapshot.getBucket(4));
+    assertEquals(4, snapshot.getMean(), DELTA);
+    assertEquals(1, snapshot.getRecentCount());
+    assertEquals(4, snapshot.getRecentMean(), DELTA);
+  }
+
+  @Test
+  public void testRemove_dayLeftTrendWindow_onlyTotalsChanged() {
+    histogram.add(3, TODAY - TREND_DAYS);
+    histogram.add(5, TODAY);
+    histogram.remove(3, TODAY - TREND_DAYS);
+
+    RatingHistogram.Snapshot snapshot = histogram.snapshot(TODAY);
+
+    assertEquals(1, snapshot.getCount());
+    assertEquals(1, snapshot.getRecentCount());
+    assertEquals(5, snapshot.getRecentMean(), DELTA);
+  }
+
+  @Test
+  public void testSnapshot_noRatings_zeroMeans() {
+    RatingHistogram.Snapshot snapshot = histogram.snapshot(TODAY);
+
+    assertEquals(0, snapshot.getCount());
+    assertEquals(0, snapshot.getMean(), DELTA);
+    assertEquals(0, snapshot.getRecentMean(), DELTA);
+  }
+}
@@ -0,0 +1,144 @@
+package filmfocus.analytics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReportCacheTest {
+
+  private static final double DELTA = 0.000001;
+  private static final LocalDate TODAY = LocalDate.of(2023, 3, 20);
+  private static final LocalDate FIRST_DAY = LocalDate.of(2023, 3, 1);
+  private static final long MAX_DAYS = 10;
+
+  private ReportCache reportCache;
+  private List<List<LocalDate>> dailyQueries;
+  private List<List<LocalDate>> liveQueries;
+  private BiFunction<LocalDate, LocalDate, Map<LocalDate, Double>> dailyQuery;
+  private BiFunction<LocalDate, LocalDate, Double> liveQuery;
+
+  @Before
+  public void setUp() {
+    reportCache = new ReportCache(true, MAX_DAYS);
+    dailyQueries = new ArrayList<>();
+    liveQueries = new ArrayList<>();
+
+    // Every closed day of March has sold for its day of month, e.g. 2 on the 2nd.
+    dailyQuery = (from, to) -> {
+      dailyQueries.add(Arrays.asList(from, to));
+      Map<LocalDate, Double> days = new HashMap<>();
+      for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+        days.put(day, (double) day.getDayOfMonth());
+      }
+      return days;
+    };
+    liveQuery = (from, to) -> {
+      liveQueries.add(Arrays.asList(from, to));
+      return 100.0;
+    };
+  }
+
+  @Test
+  public void testSum_closedRange_cachedAfterFirstCall() {
+    double first = sum(FIRST_DAY, FIRST_DAY.plusDays(5));
+    double second = sum(FIRST_DAY, FIRST_DAY.plusDays(5));
+
+    assertEquals(15, first, DELTA);
+    assertEquals(15, second, DELTA);
+    assertEquals(1, dailyQueries.size());
+    assertTrue(liveQueries.isEmpty());
+  }
+
+  @Test
+  public void testSum_rangeUntilFuture_todayComputedLive() {
+    double first = sum(LocalDate.of(2023, 3, 18), LocalDate.of(2023, 3, 25));
+    double second = sum(LocalDate.of(2023, 3, 18), LocalDate.of(2023, 3, 25));
+
+    assertEquals(18 + 19 + 100, first, DELTA);
+    assertEquals(first, second, DELTA);
+    assertEquals(1, dailyQueries.size());
+    assertEquals(Arrays.asList(TODAY, LocalDate.of(2023, 3, 25)), liveQueries.get(1));
+  }
+
+  @Test
+  public void testSum_overlappingRanges_onlyGapsQueried() {
+    sum(LocalDate.of(2023, 3, 5), LocalDate.of(2023, 3, 8));
+    sum(LocalDate.of(2023, 3, 10), LocalDate.of(2023, 3, 12));
+
+    double result = sum(FIRST_DAY, LocalDate.of(2023, 3, 15));
+
+    assertEquals(105, result, DELTA);
+    assertEquals(Arrays.asList(
+      Arrays.asList(FIRST_DAY, LocalDate.of(2023, 3, 5)),
+      Arrays.asList(LocalDate.of(2023, 3, 8), LocalDate.of(2023, 3, 10)),
+      Arrays.asList(LocalDate.of(2023, 3, 12), LocalDate.of(2023, 3, 15))), dailyQueries.subList(2, 5));
+  }
+
+  @Test
+  public void testInvalidateDay_cachedDay_onlyThatDayQueriedAgain() {
+    sum(FIRST_DAY, LocalDate.of(2023, 3, 11));
+
+    reportCache.invalidateDay(LocalDate.of(2023, 3, 4));
+    double result = sum(FIRST_DAY, LocalDate.of(2023, 3, 11));
+
+    assertEquals(55, result, DELTA);
+    assertEquals(Arrays.asList(LocalDate.of(2023, 3, 4), LocalDate.of(2023, 3, 5)), dailyQueries.get(1));
+    assertEquals(2, dailyQueries.size());
+  }
+
+  @Test
+  public void testSum_invalidatedWhileQuerying_resultNotCached() {
+    BiFunction<LocalDate, LocalDate, Map<LocalDate, Double>> invalidatingQuery = (from, to) -> {
+      reportCache.invalidateDay(from);
+      return dailyQuery.apply(from, to);
+    };
+
+    reportCache.sum(ReportCache.Report.CINEMA_INCOMES, 1, FIRST_DAY, FIRST_DAY.plusDays(3), invalidatingQuery,
+                    liveQuery, TODAY);
+    double result = sum(FIRST_DAY, FIRST_DAY.plusDays(3));
+
+    assertEquals(6, result, DELTA);
+    assertEquals(2, dailyQueries.size());
+  }
+
+  @Test
+  public void testSum_differentEntities_cachedSeparately() {
+    sum(FIRST_DAY, FIRST_DAY.plusDays(2));
+    reportCache.sum(ReportCache.Report.CINEMA_INCOMES, 2, FIRST_DAY, FIRST_DAY.plusDays(2), dailyQuery, liveQuery,
+                    TODAY);
+    reportCache.sum(ReportCache.Report.HALL_INCOMES, 1, FIRST_DAY, FIRST_DAY.plusDays(2), dailyQuery, liveQuery,
+                    TODAY);
+
+    assertEquals(3, dailyQueries.size());
+  }
+
+  @Test
+  public void testSum_moreDaysThanMaximum_leastRecentlyUsedSeriesDropped() {
+    sum(FIRST_DAY, FIRST_DAY.plusDays(5));
+    reportCache.sum(ReportCache.Report.HALL_INCOMES, 1, FIRST_DAY, FIRST_DAY.plusDays(4), dailyQuery, liveQuery,
+                    TODAY);
+    sum(FIRST_DAY, FIRST_DAY.plusDays(5));
+    reportCache.sum(ReportCache.Report.MOVIE_INCOMES, 1, FIRST_DAY, FIRST_DAY.plusDays(3), dailyQuery, liveQuery,
+                    TODAY);
+
+    sum(FIRST_DAY, FIRST_DAY.plusDays(5));
+    reportCache.sum(ReportCache.Report.HALL_INCOMES, 1, FIRST_DAY, FIRST_DAY.plusDays(4), dailyQuery, liveQuery,
+                    TODAY);
+
+    assertEquals(4, dailyQueries.size());
+  }
+
+  private double sum(LocalDate startDate, LocalDate endDate) {
+    return reportCache.sum(ReportCache.Report.CINEMA_INCOMES, 1, startDate, endDate, dailyQuery, liveQuery, TODAY);
+  }
+}
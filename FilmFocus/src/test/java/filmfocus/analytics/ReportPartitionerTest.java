@@ -0,0 +1,89 @@
+package filmfocus.analytics;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ReportPartitionerTest {
+
+  private static final double DELTA = 0.000001;
+  private static final LocalDate START_DATE = LocalDate.of(2023, 1, 15);
+  private static final LocalDate END_DATE = LocalDate.of(2023, 4, 10);
+
+  private ReportPartitioner reportPartitioner;
+
+  @After
+  public void tearDown() {
+    if (reportPartitioner != null) {
+      reportPartitioner.shutdown();
+    }
+  }
+
+  @Test
+  public void testSum_rangeWithinThreshold_singleQuery() {
+    reportPartitioner = new ReportPartitioner(2, 366);
+    List<List<LocalDate>> partitions = Collections.synchronizedList(new ArrayList<>());
+
+    double result = reportPartitioner.sum(START_DATE, END_DATE, (from, to) -> {
+      partitions.add(Arrays.asList(from, to));
+      return 5.0;
+    });
+
+    assertEquals(5, result, DELTA);
+    assertEquals(Collections.singletonList(Arrays.asList(START_DATE, END_DATE)), partitions);
+  }
+
+  @Test
+  public void testSum_longRange_monthlyPartitionsSummed() {
+    reportPartitioner = new ReportPartitioner(2, 0);
+    List<List<LocalDate>> partitions = Collections.synchronizedList(new ArrayList<>());
+
+    double result = reportPartitioner.sum(START_DATE, END_DATE, (from, to) -> {
+      partitions.add(Arrays.asList(from, to));
+      return (double) from.getMonthValue();
+    });
+
+    partitions.sort((first, second) -> first.get(0).compareTo(second.get(0)));
+
+    assertEquals(10, result, DELTA);
+    assertEquals(Arrays.asList(
+      Arrays.asList(START_DATE, LocalDate.of(2023, 2, 1)),
+      Arrays.asList(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 3, 1)),
+      Arrays.asList(LocalDate.of(2023, 3, 1), LocalDate.of(2023, 4, 1)),
+      Arrays.asList(LocalDate.of(2023, 4, 1), END_DATE)), partitions);
+  }
+
+  @Test
+  public void testEvaluate_longRange_partialResultsMergedInOrder() {
+    reportPartitioner = new ReportPartitioner(2, 0);
+
+    String result = reportPartitioner.evaluate(START_DATE, END_DATE, (from, to) -> from.getMonth().name(),
+                                               (first, second) -> first + "," + second);
+
+    assertEquals("JANUARY,FEBRUARY,MARCH,APRIL", result);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testEvaluate_failingPartition_exceptionRethrown() {
+    reportPartitioner = new ReportPartitioner(2, 0);
+
+    reportPartitioner.sum(START_DATE, END_DATE, (from, to) -> {
+      if (from.getMonthValue() == 3) {
+        throw new IllegalStateException("Partition failed");
+      }
+      return 1.0;
+    });
+  }
+
+  @Test
+  public void testGetMonthlyBounds_emptyRange_onlyStartDate() {
+    assertEquals(Collections.singletonList(START_DATE), ReportPartitioner.getMonthlyBounds(START_DATE, START_DATE));
+  }
+}
@@ -0,0 +1,73 @@
+package filmfocus.analytics;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class SalesFactsTest {
+
+  private static final double DELTA = 0.000001;
+
+  @Test
+  public void testSumPrice_matchingFacts_summedWithinDays() {
+    SalesFacts salesFacts = new SalesFacts();
+    salesFacts.append(10, 1, 1, 1, 1, 1, 0, 1, 12, 10);
+    salesFacts.append(11, 2, 2, 1, 2, 1, 0, 1, 8, 8);
+    salesFacts.append(12, 1, 1, 1, 1, 1, 0, 1, 12, 12);
+    salesFacts.append(11, 0, 0, 0, 3, 2, 5, 1, 4, 4);
+
+    assertEquals(18, salesFacts.sumPrice(SalesFacts.Price.NET, SalesFacts.Dimension.CINEMA, 1, 10, 11), DELTA);
+    assertEquals(24, salesFacts.sumPrice(SalesFacts.Price.GROSS, SalesFacts.Dimension.MOVIE, 1, 0, 20), DELTA);
+    assertEquals(4, salesFacts.sumPrice(SalesFacts.Price.GROSS, SalesFacts.Dimension.ITEM, 5, 11, 11), DELTA);
+  }
+
+  @Test
+  public void testSumQuantity_retractedFact_cancelledOut() {
+    SalesFacts salesFacts = new SalesFacts();
+    salesFacts.append(10, 1, 1, 3, 1, 1, 0, 1, 12, 12);
+    salesFacts.append(10, 1, 1, 3, 1, 1, 0, 1, 12, 12);
+    salesFacts.append(10, 1, 1, 3, 1, 1, 0, -1, -12, -12);
+
+    assertEquals(1, salesFacts.sumQuantity(SalesFacts.Dimension.CATEGORY, 3, 10, 10));
+    assertEquals(12, salesFacts.sumPrice(SalesFacts.Price.NET, SalesFacts.Dimension.HALL, 1, 10, 10), DELTA);
+  }
+
+  @Test
+  public void testSumQuantity_idSet_onlyListedIdsCounted() {
+    SalesFacts salesFacts = new SalesFacts();
+    salesFacts.append(10, 1, 1, 1, 1, 1, 0, 1, 12, 12);
+    salesFacts.append(10, 2, 2, 1, 1, 1, 0, 1, 12, 12);
+    salesFacts.append(10, 3, 3, 1, 1, 1, 0, 1, 12, 12);
+
+    BitSet movieIds = new BitSet();
+    movieIds.set(1);
+    movieIds.set(3);
+
+    assertEquals(2, salesFacts.sumQuantity(SalesFacts.Dimension.MOVIE, movieIds, 10, 10));
+  }
+
+  @Test
+  public void testAppend_moreThanOneChunk_allFactsCounted() {
+    SalesFacts salesFacts = new SalesFacts();
+
+    for (int i = 0; i < SalesFacts.CHUNK_SIZE + 10; i++) {
+      salesFacts.append(i % 7, 1, 1, 1, 1, 1, 0, 1, 1, 1);
+    }
+
+    assertEquals(SalesFacts.CHUNK_SIZE + 10, salesFacts.size());
+    assertEquals(SalesFacts.CHUNK_SIZE + 10, salesFacts.sumQuantity(SalesFacts.Dimension.PROJECTION, 1, 0, 6));
+  }
+
+  @Test
+  public void testClear_factsRemoved() {
+    SalesFacts salesFacts = new SalesFacts();
+    salesFacts.append(10, 1, 1, 1, 1, 1, 0, 1, 12, 12);
+
+    salesFacts.clear();
+
+    assertEquals(0, salesFacts.size());
+    assertEquals(0, salesFacts.sumQuantity(SalesFacts.Dimension.PROJECTION, 1, 0, 20));
+  }
+}
@@ -0,0 +1,142 @@
+package filmfocus.catalog;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MovieCatalogTest {
+
+  private static final int DRAMA = 1;
+  private static final int COMEDY = 2;
+  private static final LocalDate DATE = LocalDate.of(2024, 5, 1);
+
+  private MovieCatalog catalog;
+
+  @Before
+  public void setUp() {
+    catalog = new MovieCatalog();
+    catalog.replaceAll(Arrays.asList(
+      movie(1, "The Long Road", 4.5, DATE.minusDays(10), DRAMA),
+      movie(2, "Road Trip", 3.0, DATE, COMEDY),
+      movie(3, "Quiet Night", 4.0, DATE.plusDays(10), DRAMA),
+      movie(4, "Untitled", 0, null, null)));
+  }
+
+  @Test
+  public void testReplaceAll_loadedWithEveryMovie() {
+    assertTrue(catalog.isLoaded());
+    assertEquals(4, catalog.size());
+    assertEquals("Road Trip", catalog.getById(2).getTitle());
+  }
+
+  @Test
+  public void testReplaceAll_previousMoviesReplaced() {
+    catalog.replaceAll(Collections.singletonList(movie(5, "Road Home", 2.0, DATE, COMEDY)));
+
+    assertEquals(1, catalog.size());
+    assertEquals(Collections.singletonList(5), ids(catalog.findByCategoryId(COMEDY, 0)));
+    assertEquals(Collections.singletonList(5), ids(catalog.findByTitle("road", 0, 10)));
+  }
+
+  @Test
+  public void testFindByTitle_foldedAndBestMatchFirst() {
+    assertEquals(Arrays.asList(2, 1), ids(catalog.findByTitle("ROAD", 0, 10)));
+    assertEquals(Collections.singletonList(1), ids(catalog.findByTitle("road", 4, 10)));
+    assertEquals(Collections.singletonList(2), ids(catalog.findByTitle("road", 0, 1)));
+    assertTrue(catalog.findByTitle("road movie", 0, 10).isEmpty());
+  }
+
+  @Test
+  public void testFindByTitleContaining_caseSensitiveAndOrderedById() {
+    assertEquals(Arrays.asList(1, 2), ids(catalog.findByTitleContaining("Road", 0)));
+    assertEquals(Collections.singletonList(1), ids(catalog.findByTitleContaining("Road", 4)));
+    assertTrue(catalog.findByTitleContaining("road trip", 0).isEmpty());
+  }
+
+  @Test
+  public void testFindByTitle_titleIndexFollowsChanges() {
+    catalog.put(movie(2, "Quiet Trip", 3.0, DATE, COMEDY));
+    catalog.remove(3);
+
+    assertEquals(Collections.singletonList(1), ids(catalog.findByTitle("road", 0, 10)));
+    assertEquals(Collections.singletonList(2), ids(catalog.findByTitle("quiet", 0, 10)));
+  }
+
+  @Test
+  public void testFindByCategoryId_highestRatingFirst() {
+    assertEquals(Arrays.asList(1, 3), ids(catalog.findByCategoryId(DRAMA, 0)));
+    assertEquals(Collections.singletonList(1), ids(catalog.findByCategoryId(DRAMA, 4.2)));
+    assertTrue(catalog.findByCategoryId(99, 0).isEmpty());
+  }
+
+  @Test
+  public void testFindByMinRating_highestRatingFirst() {
+    assertEquals(Arrays.asList(1, 3, 2, 4), ids(catalog.findByMinRating(0)));
+    assertEquals(Arrays.asList(1, 3), ids(catalog.findByMinRating(4)));
+  }
+
+  @Test
+  public void testFindByReleaseDate_strictBoundsOrderedByDate() {
+    assertEquals(Collections.singletonList(3), ids(catalog.findByReleaseDate(DATE, true, 0)));
+    assertEquals(Collections.singletonList(1), ids(catalog.findByReleaseDate(DATE, false, 0)));
+    assertEquals(Arrays.asList(1, 2), ids(catalog.findByReleaseDate(DATE.plusDays(1), false, 0)));
+    assertTrue(catalog.findByReleaseDate(DATE.minusDays(1), false, 4.6).isEmpty());
+  }
+
+  @Test
+  public void testPut_movieChanged_everyIndexUpdated() {
+    catalog.put(movie(2, "Road Trip", 5.0, DATE.minusDays(20), DRAMA));
+
+    assertEquals(Arrays.asList(2, 1, 3, 4), ids(catalog.findByMinRating(0)));
+    assertEquals(Arrays.asList(2, 1, 3), ids(catalog.findByCategoryId(DRAMA, 0)));
+    assertTrue(catalog.findByCategoryId(COMEDY, 0).isEmpty());
+    assertEquals(Arrays.asList(2, 1), ids(catalog.findByReleaseDate(DATE, false, 0)));
+  }
+
+  @Test
+  public void testUpdateRating_ratingOrderChanged() {
+    catalog.updateRating(3, 4.9);
+
+    assertEquals(Arrays.asList(3, 1), ids(catalog.findByCategoryId(DRAMA, 0)));
+    assertEquals(4.9, catalog.getById(3).getAverageRating(), 0.001);
+  }
+
+  @Test
+  public void testRemove_movieGoneFromEveryIndex() {
+    catalog.remove(1);
+
+    assertNull(catalog.getById(1));
+    assertEquals(Collections.singletonList(3), ids(catalog.findByCategoryId(DRAMA, 0)));
+    assertEquals(Arrays.asList(3, 2, 4), ids(catalog.findByMinRating(0)));
+    assertTrue(catalog.findByReleaseDate(DATE, false, 0).isEmpty());
+  }
+
+  @Test
+  public void testToMovieDto_newCopyEveryTime() {
+    MovieSnapshot snapshot = catalog.getById(1);
+
+    snapshot.toMovieDto().setTitle("Changed");
+
+    assertEquals("The Long Road", snapshot.toMovieDto().getTitle());
+    assertEquals("Drama", snapshot.toMovieDto().getCategory().getName());
+    assertNull(catalog.getById(4).toMovieDto().getCategory());
+  }
+
+  private static MovieSnapshot movie(int id, String title, double rating, LocalDate releaseDate, Integer categoryId) {
+    return new MovieSnapshot(id, title, rating, "", releaseDate, null, categoryId,
+                             categoryId == null ? null : categoryId == DRAMA ? "Drama" : "Comedy");
+  }
+
+  private static List<Integer> ids(List<MovieSnapshot> movies) {
+    return movies.stream().map(MovieSnapshot::getId).collect(Collectors.toList());
+  }
+}
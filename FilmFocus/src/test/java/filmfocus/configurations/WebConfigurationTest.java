@@ -1,10 +1,11 @@
 package filmfocus.configurations;
 
+import filmfocus.http.UpstreamClient;
+import filmfocus.http.UpstreamMetrics;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.Random;
 
@@ -17,10 +18,11 @@ public class WebConfigurationTest {
   private WebConfiguration webConfiguration;
 
   @Test
-  public void testRestTemplate() {
-    RestTemplate restTemplate = webConfiguration.restTemplate();
+  public void testImdbUpstreamClient() {
+    UpstreamClient upstreamClient =
+      webConfiguration.imdbUpstreamClient(new UpstreamMetrics(), 2000, 5000, 4, 5, 30000);
 
-    assertNotNull(restTemplate);
+    assertNotNull(upstreamClient);
   }
 
   @Test
@@ -1,6 +1,9 @@
 package filmfocus.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import filmfocus.models.dtos.DiscountDto;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.ListResponses;
 import filmfocus.services.DiscountService;
 import filmfocus.testUtils.factories.DiscountFactory;
 import org.junit.Before;
@@ -8,12 +11,17 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.function.Consumer;
+
 import static filmfocus.testUtils.constants.DiscountConstants.CODE;
 import static filmfocus.testUtils.constants.DiscountConstants.ID;
 import static filmfocus.testUtils.constants.DiscountConstants.PERCENTAGE;
@@ -23,13 +31,16 @@ import static filmfocus.utils.constants.URIConstants.DISCOUNTS_PATH;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -44,6 +55,8 @@ public class DiscountControllerTest {
 
   @Mock
   private DiscountService discountService;
+  @Spy
+  private ListResponses listResponses = new ListResponses(Jackson2ObjectMapperBuilder.json().build());
 
   @InjectMocks
   private DiscountController discountController;
@@ -70,9 +83,16 @@ public class DiscountControllerTest {
 
   @Test
   public void testGetAllDiscounts_singleDiscount_success() throws Exception {
-    when(discountService.getAllDiscountDtos()).thenReturn(DiscountFactory.getDefaultDiscountDtoList());
+    doAnswer(invocation -> {
+      DiscountFactory.getDefaultDiscountDtoList().forEach(invocation.<Consumer<DiscountDto>>getArgument(0));
+      return null;
+    }).when(discountService).forEachDiscountDto(any());
+
+    MvcResult result = mockMvc.perform(get(DISCOUNTS_PATH))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
 
-    mockMvc.perform(get(DISCOUNTS_PATH))
+    mockMvc.perform(asyncDispatch(result))
            .andExpect(status().isOk())
            .andExpect(jsonPath("$[0].id").value(ID))
            .andExpect(jsonPath("$[0].type").value(TYPE))
@@ -80,6 +100,20 @@ public class DiscountControllerTest {
            .andExpect(jsonPath("$[0].percentage").value(PERCENTAGE));
   }
 
+  @Test
+  public void testGetDiscountsPage_lastPage_noNextLink() throws Exception {
+    when(discountService.getDiscountDtosPage(ID, 10)).thenReturn(
+      new KeysetPage<>(DiscountFactory.getDefaultDiscountDtoList(), null));
+
+    mockMvc.perform(get(DISCOUNTS_PATH)
+                      .queryParam("afterId", String.valueOf(ID))
+                      .queryParam("size", "10"))
+           .andExpect(status().isOk())
+           .andExpect(header().doesNotExist("Link"))
+           .andExpect(jsonPath("$[0].id").value(ID))
+           .andExpect(jsonPath("$[0].code").value(CODE));
+  }
+
   @Test
   public void testGetDiscountByType_discountFound_success() throws Exception {
     when(discountService.getDiscountDtoByType(anyString())).thenReturn(DiscountFactory.getDefaultDiscountDto());
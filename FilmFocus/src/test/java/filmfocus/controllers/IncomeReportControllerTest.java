@@ -1,5 +1,7 @@
 package filmfocus.controllers;
 
+import filmfocus.models.dtos.IncomeBreakdownDto;
+import filmfocus.models.dtos.IncomeBreakdownRowDto;
 import filmfocus.services.IncomeReportService;
 import org.junit.Before;
 import org.junit.Test;
@@ -11,17 +13,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.Collections;
+
 import static filmfocus.testUtils.constants.ReportConstants.END_DATE;
 import static filmfocus.testUtils.constants.ReportConstants.ID;
 import static filmfocus.testUtils.constants.ReportConstants.INCOMES;
 import static filmfocus.testUtils.constants.ReportConstants.START_DATE;
 import static filmfocus.utils.constants.URIConstants.REPORTS_CINEMAS_ID_INCOMES_PATH;
 import static filmfocus.utils.constants.URIConstants.REPORTS_HALLS_ID_INCOMES_PATH;
+import static filmfocus.utils.constants.URIConstants.REPORTS_INCOMES_PATH;
 import static filmfocus.utils.constants.URIConstants.REPORTS_ITEMS_ID_INCOMES_PATH;
 import static filmfocus.utils.constants.URIConstants.REPORTS_MOVIES_ID_INCOMES_PATH;
 import static filmfocus.utils.constants.URIConstants.REPORTS_USERS_ID_INCOMES_PATH;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -100,4 +106,24 @@ public class IncomeReportControllerTest {
            .andExpect(status().isOk())
            .andExpect(jsonPath("$").value(INCOMES));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testGetIncomesBreakdown_breakdownReturned_success() throws Exception {
+    IncomeBreakdownRowDto row = new IncomeBreakdownRowDto();
+    row.setCinemaId(ID);
+    row.setNetIncome(INCOMES);
+
+    when(incomeReportService.getIncomesBreakdown(anyList(), any(), any())).thenReturn(
+      new IncomeBreakdownDto(START_DATE, END_DATE, Collections.singletonList("cinema"),
+                             Collections.singletonList(row)));
+
+    mockMvc.perform(get(REPORTS_INCOMES_PATH)
+                      .queryParam("dimensions", "cinema")
+                      .queryParam("startDate", String.valueOf(START_DATE))
+                      .queryParam("endDate", String.valueOf(END_DATE)))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.rows[0].cinemaId").value(ID))
+           .andExpect(jsonPath("$.rows[0].netIncome").value(INCOMES))
+           .andExpect(jsonPath("$.rows[0].movieId").doesNotExist());
+  }
+}
@@ -1,6 +1,9 @@
 package filmfocus.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import filmfocus.models.dtos.ItemDto;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.ListResponses;
 import filmfocus.services.ItemService;
 import filmfocus.testUtils.factories.ItemFactory;
 import org.junit.Before;
@@ -8,13 +11,17 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import static filmfocus.testUtils.constants.ItemConstants.ID;
 import static filmfocus.testUtils.constants.ItemConstants.IS_BELLOW;
@@ -24,17 +31,18 @@ import static filmfocus.testUtils.constants.ItemConstants.QUANTITY;
 import static filmfocus.utils.constants.URIConstants.ITEMS_ID_PATH;
 import static filmfocus.utils.constants.URIConstants.ITEMS_PATH;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -45,6 +53,8 @@ public class ItemControllerTest {
 
   @Mock
   private ItemService itemService;
+  @Spy
+  private ListResponses listResponses = new ListResponses(Jackson2ObjectMapperBuilder.json().build());
   @InjectMocks
   private ItemController itemController;
 
@@ -71,10 +81,16 @@ public class ItemControllerTest {
 
   @Test
   public void testGetAllItems_success() throws Exception {
-    when(itemService.getAllItems()).thenReturn(
-      Collections.singletonList(ItemFactory.getDefaultItemDto()));
+    doAnswer(invocation -> {
+      invocation.<Consumer<ItemDto>>getArgument(0).accept(ItemFactory.getDefaultItemDto());
+      return null;
+    }).when(itemService).forEachItem(any());
 
-    mockMvc.perform(get(ITEMS_PATH))
+    MvcResult result = mockMvc.perform(get(ITEMS_PATH))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
            .andExpect(status().isOk())
            .andExpect(jsonPath("$").exists())
            .andExpect(jsonPath("$[0].id").value(ID))
@@ -83,6 +99,20 @@ public class ItemControllerTest {
            .andExpect(jsonPath("$[0].quantity").value(QUANTITY));
   }
 
+  @Test
+  public void testGetItemsPage_nextPageExists_success() throws Exception {
+    when(itemService.getItemsPage(null, 1)).thenReturn(
+      new KeysetPage<>(Collections.singletonList(ItemFactory.getDefaultItemDto()), ID));
+
+    mockMvc.perform(get(ITEMS_PATH)
+                      .queryParam("size", "1"))
+           .andExpect(status().isOk())
+           .andExpect(header().string("Link", String.format("<http://localhost%s?size=1&afterId=%d>; rel=\"next\"",
+                                                            ITEMS_PATH, ID)))
+           .andExpect(jsonPath("$[0].id").value(ID))
+           .andExpect(jsonPath("$[0].name").value(NAME));
+  }
+
   @Test
   public void testGetItemByName_itemFound_success() throws Exception {
     when(itemService.getItemDtoByName(anyString())).thenReturn(ItemFactory.getDefaultItemDto());
@@ -143,16 +173,39 @@ public class ItemControllerTest {
 
   @Test
   public void testGetItemsByQuantity() throws Exception {
-    when(itemService.getItemsByQuantity(anyInt(), anyBoolean())).thenReturn(ItemFactory.getDefaultItemDtoList());
+    doAnswer(invocation -> {
+      invocation.<Consumer<ItemDto>>getArgument(2).accept(ItemFactory.getDefaultItemDto());
+      return null;
+    }).when(itemService).forEachItemByQuantity(eq(QUANTITY), eq(IS_BELLOW), any());
+
+    MvcResult result = mockMvc.perform(get(ITEMS_PATH)
+                                         .queryParam("quantity", String.valueOf(QUANTITY))
+                                         .queryParam("isBelow", String.valueOf(IS_BELLOW)))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[0].id").value(ID))
+           .andExpect(jsonPath("$[0].name").value(NAME))
+           .andExpect(jsonPath("$[0].price").value(PRICE))
+           .andExpect(jsonPath("$[0].quantity").value(QUANTITY));
+  }
 
+  @Test
+  public void testGetItemsPageByQuantity_nextPageExists_success() throws Exception {
+    when(itemService.getItemsPageByQuantity(QUANTITY, IS_BELLOW, null, 1)).thenReturn(
+      new KeysetPage<>(Collections.singletonList(ItemFactory.getDefaultItemDto()), ID));
 
     mockMvc.perform(get(ITEMS_PATH)
                       .queryParam("quantity", String.valueOf(QUANTITY))
-                      .queryParam("isBelow", String.valueOf(IS_BELLOW)))
+                      .queryParam("isBelow", String.valueOf(IS_BELLOW))
+                      .queryParam("size", "1"))
            .andExpect(status().isOk())
+           .andExpect(header().string("Link", String.format(
+             "<http://localhost%s?quantity=%d&isBelow=%s&size=1&afterId=%d>; rel=\"next\"", ITEMS_PATH, QUANTITY,
+             IS_BELLOW, ID)))
            .andExpect(jsonPath("$[0].id").value(ID))
-           .andExpect(jsonPath("$[0].name").value(NAME))
-           .andExpect(jsonPath("$[0].price").value(PRICE))
            .andExpect(jsonPath("$[0].quantity").value(QUANTITY));
   }
 }
@@ -2,7 +2,10 @@ package filmfocus.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import filmfocus.models.dtos.CategoryFacetDto;
 import filmfocus.models.dtos.MovieDto;
+import filmfocus.models.dtos.MovieSearchDto;
+import filmfocus.services.MovieSearchService;
 import filmfocus.services.MovieService;
 import filmfocus.testUtils.factories.CategoryFactory;
 import filmfocus.testUtils.factories.MovieFactory;
@@ -32,11 +35,14 @@ import static filmfocus.testUtils.factories.MovieFactory.getDefaultMovieRequest;
 import static filmfocus.utils.constants.URIConstants.CATEGORIES_ID_MOVIES_PATH;
 import static filmfocus.utils.constants.URIConstants.MOVIES_ID_PATH;
 import static filmfocus.utils.constants.URIConstants.MOVIES_PATH;
+import static filmfocus.utils.constants.URIConstants.MOVIES_SEARCH_PATH;
+import static filmfocus.utils.constants.URIConstants.MOVIES_SUGGESTIONS_PATH;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -56,6 +62,8 @@ public class MovieControllerTest {
   private MockMvc mockMvc;
   @Mock
   private MovieService movieService;
+  @Mock
+  private MovieSearchService movieSearchService;
 
   @InjectMocks
   private MovieController movieController;
@@ -67,6 +75,42 @@ public class MovieControllerTest {
       .build();
   }
 
+  @Test
+  public void testSearchMovies_filtersBound_success() throws Exception {
+    MovieSearchDto result = new MovieSearchDto(getDefaultMovieDtoList(), 1, 5, 6,
+                                               Collections.singletonList(new CategoryFacetDto(ID, "Drama", 6)),
+                                               Collections.singletonMap(4, 6L));
+
+    when(movieSearchService.searchMovies(argThat(request -> TITLE.equals(request.getTitle()) &&
+                                                            request.getCategoryId().size() == 2 &&
+                                                            RELEASE_DATE.equals(request.getReleasedAfter()) &&
+                                                            request.getPage() == 1))).thenReturn(result);
+
+    mockMvc.perform(get(MOVIES_SEARCH_PATH)
+                      .queryParam("title", TITLE)
+                      .queryParam("categoryId", "1", "2")
+                      .queryParam("releasedAfter", RELEASE_DATE.toString())
+                      .queryParam("page", "1")
+                      .queryParam("size", "5"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.movies[0].id").value(ID))
+           .andExpect(jsonPath("$.totalCount").value(6))
+           .andExpect(jsonPath("$.categories[0].count").value(6))
+           .andExpect(jsonPath("$.ratingBands.4").value(6));
+  }
+
+  @Test
+  public void testGetMovieSuggestions_success() throws Exception {
+    when(movieService.getMovieSuggestions(anyString(), any())).thenReturn(getDefaultMovieDtoList());
+
+    mockMvc.perform(get(MOVIES_SUGGESTIONS_PATH)
+                      .queryParam("query", TITLE)
+                      .queryParam("size", "5"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[0].id").value(ID))
+           .andExpect(jsonPath("$[0].title").value(TITLE));
+  }
+
   @Test
   public void testGetMoviesByTitle_success() throws Exception {
     when(movieService.getMoviesByTitle(anyString(), anyDouble())).thenReturn(getDefaultMovieDtoList());
@@ -2,8 +2,10 @@ package filmfocus.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import filmfocus.models.dtos.OrderDto;
+import filmfocus.models.dtos.SeatHoldDto;
 import filmfocus.services.OrderService;
 import filmfocus.testUtils.factories.OrderFactory;
+import filmfocus.testUtils.factories.TicketFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -19,6 +21,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static filmfocus.testUtils.constants.DiscountConstants.CODE;
+import static filmfocus.testUtils.constants.OrderConstants.HOLD_ID;
 import static filmfocus.testUtils.constants.RoleConstants.NAME;
 import static filmfocus.testUtils.constants.UserConstants.DAY;
 import static filmfocus.testUtils.constants.UserConstants.EMAIL;
@@ -30,6 +33,9 @@ import static filmfocus.testUtils.constants.UserConstants.USERNAME;
 import static filmfocus.testUtils.constants.UserConstants.YEAR;
 import static filmfocus.utils.constants.URIConstants.ORDERS_ID_PATH;
 import static filmfocus.utils.constants.URIConstants.ORDERS_PATH;
+import static filmfocus.utils.constants.URIConstants.USERS_ID_HOLDS_ID_ORDERS_PATH;
+import static filmfocus.utils.constants.URIConstants.USERS_ID_HOLDS_ID_PATH;
+import static filmfocus.utils.constants.URIConstants.USERS_ID_HOLDS_PATH;
 import static filmfocus.utils.constants.URIConstants.USERS_ID_ORDERS_PATH;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -91,6 +97,39 @@ public class OrderControllerTest {
            .andExpect(header().string("Location", ORDERS_PATH + "/" + ID));
   }
 
+  @Test
+  public void testHoldSeatsWithUserId_seatsHeld_success() throws Exception {
+    String json = objectMapper.writeValueAsString(Collections.singletonList(TicketFactory.getDefaultTicketRequest()));
+    when(orderService.holdSeatsWithUserId(any(), anyInt())).thenReturn(
+      new SeatHoldDto(HOLD_ID, ID, null, TicketFactory.getDefaultTicketDtoList()));
+
+    mockMvc.perform(post(USERS_ID_HOLDS_PATH, ID)
+                      .contentType(MediaType.APPLICATION_JSON)
+                      .content(json))
+           .andExpect(status().isCreated())
+           .andExpect(header().string("Location", "/users/" + ID + "/holds/" + HOLD_ID))
+           .andExpect(jsonPath("$.id").value(HOLD_ID))
+           .andExpect(jsonPath("$.tickets[0].seat.seatRow").value(1));
+  }
+
+  @Test
+  public void testConfirmHoldWithUserId_orderAdded_success() throws Exception {
+    when(orderService.confirmHoldWithUserId(HOLD_ID, ID, null)).thenReturn(OrderFactory.getDefaultOrder());
+
+    mockMvc.perform(post(USERS_ID_HOLDS_ID_ORDERS_PATH, ID, HOLD_ID))
+           .andExpect(status().isCreated())
+           .andExpect(header().string("Location", ORDERS_PATH + "/" + ID));
+  }
+
+  @Test
+  public void testReleaseHoldWithUserId_holdReleased_success() throws Exception {
+    when(orderService.releaseHoldWithUserId(HOLD_ID, ID)).thenReturn(
+      new SeatHoldDto(HOLD_ID, ID, null, TicketFactory.getDefaultTicketDtoList()));
+
+    mockMvc.perform(delete(USERS_ID_HOLDS_ID_PATH, ID, HOLD_ID))
+           .andExpect(status().isNoContent());
+  }
+
   @Test
   public void testGetOrdersByUserId_noExceptions_success() throws Exception {
     List<OrderDto> defaultOrderDtoList = OrderFactory.getDefaultOrderDtoList();
@@ -0,0 +1,103 @@
+package filmfocus.controllers;
+
+import filmfocus.exceptions.ExportLimitExceededException;
+import filmfocus.export.ExportFormat;
+import filmfocus.handlers.GlobalExceptionHandler;
+import filmfocus.services.OrderExportService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static filmfocus.testUtils.constants.ReportConstants.END_DATE;
+import static filmfocus.testUtils.constants.ReportConstants.START_DATE;
+import static filmfocus.utils.constants.ExceptionMessages.EXPORT_LIMIT_EXCEEDED_MESSAGE;
+import static filmfocus.utils.constants.URIConstants.REPORTS_EXPORTS_TYPE_PATH;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OrderExportControllerTest {
+
+  private MockMvc mockMvc;
+
+  @Mock
+  private OrderExportService orderExportService;
+
+  @InjectMocks
+  private OrderExportController orderExportController;
+
+  @Before
+  public void setUp() {
+    mockMvc = MockMvcBuilders
+      .standaloneSetup(orderExportController)
+      .setControllerAdvice(new GlobalExceptionHandler())
+      .build();
+  }
+
+  @Test
+  public void testExportOrders_csv_streamedAsAttachment() throws Exception {
+    when(orderExportService.getExportType("orders")).thenReturn(OrderExportService.ExportType.ORDERS);
+    when(orderExportService.getExportFormat("csv")).thenReturn(ExportFormat.CSV);
+    doAnswer(invocation -> {
+      invocation.getArgument(4, OutputStream.class).write("orderId\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+      return 1L;
+    }).when(orderExportService).export(eq(OrderExportService.ExportType.ORDERS), eq(ExportFormat.CSV), any(), any(),
+                                       any());
+
+    MvcResult result = mockMvc.perform(get(REPORTS_EXPORTS_TYPE_PATH, "orders")
+                                         .queryParam("startDate", String.valueOf(START_DATE))
+                                         .queryParam("endDate", String.valueOf(END_DATE)))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+           .andExpect(status().isOk())
+           .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                                      "attachment; filename=\"orders_1900-01-01_2100-01-01.csv\""))
+           .andExpect(content().contentType("text/csv"))
+           .andExpect(content().string("orderId\r\n1\r\n"));
+
+    InOrder inOrder = inOrder(orderExportService);
+    inOrder.verify(orderExportService).startExport();
+    inOrder.verify(orderExportService).export(any(), any(), any(), any(), any());
+    inOrder.verify(orderExportService).finishExport();
+  }
+
+  @Test
+  public void testExportOrders_tooManyExports_tooManyRequests() throws Exception {
+    when(orderExportService.getExportType("orders")).thenReturn(OrderExportService.ExportType.ORDERS);
+    when(orderExportService.getExportFormat("csv")).thenReturn(ExportFormat.CSV);
+    doThrow(new ExportLimitExceededException(EXPORT_LIMIT_EXCEEDED_MESSAGE)).when(orderExportService).startExport();
+
+    mockMvc.perform(get(REPORTS_EXPORTS_TYPE_PATH, "orders")
+                      .queryParam("startDate", String.valueOf(START_DATE))
+                      .queryParam("endDate", String.valueOf(END_DATE)))
+           .andExpect(status().isTooManyRequests());
+
+    verify(orderExportService, never()).export(any(), any(), any(), any(), any());
+    verify(orderExportService, never()).finishExport();
+  }
+}
@@ -2,6 +2,9 @@ package filmfocus.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import filmfocus.models.dtos.ProgramDto;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.ListResponses;
 import filmfocus.services.ProgramService;
 import filmfocus.testUtils.constants.CinemaConstants;
 import filmfocus.testUtils.factories.ProgramFactory;
@@ -10,14 +13,18 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
 
 import static filmfocus.testUtils.constants.ProgramConstants.DATE;
 import static filmfocus.testUtils.constants.ProgramConstants.ID;
@@ -27,13 +34,16 @@ import static filmfocus.utils.constants.URIConstants.PROGRAMS_PATH;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -45,6 +55,8 @@ public class ProgramControllerTest {
   private MockMvc mvc;
   @Mock
   private ProgramService programService;
+  @Spy
+  private ListResponses listResponses = new ListResponses(Jackson2ObjectMapperBuilder.json().build());
   @InjectMocks
   private ProgramController programController;
 
@@ -87,9 +99,16 @@ public class ProgramControllerTest {
   @Test
 
   public void testGetAllProgramsTest_getALlPrograms_success() throws Exception {
-    when(programService.getAllPrograms(null)).thenReturn(ProgramFactory.getDefaultProgramDtoList());
+    doAnswer(invocation -> {
+      ProgramFactory.getDefaultProgramDtoList().forEach(invocation.<Consumer<ProgramDto>>getArgument(0));
+      return null;
+    }).when(programService).forEachProgram(any());
 
-    mvc.perform(get(PROGRAMS_PATH))
+    MvcResult result = mvc.perform(get(PROGRAMS_PATH))
+                          .andExpect(request().asyncStarted())
+                          .andReturn();
+
+    mvc.perform(asyncDispatch(result))
        .andExpect(status().isOk())
        .andExpect(jsonPath("$[0].id").value(ID))
        .andExpect(jsonPath("$[0].programDate[0]").value(DATE.getYear()))
@@ -100,6 +119,20 @@ public class ProgramControllerTest {
        .andExpect(jsonPath("$[0].cinema.address").value(CinemaConstants.ADDRESS));
   }
 
+  @Test
+  public void testGetProgramsPage_nextPageExists_success() throws Exception {
+    when(programService.getProgramsPage(null, 1)).thenReturn(
+      new KeysetPage<>(ProgramFactory.getDefaultProgramDtoList(), ID));
+
+    mvc.perform(get(PROGRAMS_PATH)
+                  .queryParam("size", "1"))
+       .andExpect(status().isOk())
+       .andExpect(header().string("Link", String.format("<http://localhost%s?size=1&afterId=%d>; rel=\"next\"",
+                                                        PROGRAMS_PATH, ID)))
+       .andExpect(jsonPath("$[0].id").value(ID))
+       .andExpect(jsonPath("$[0].cinema.id").value(CinemaConstants.ID));
+  }
+
   @Test
   public void testGetProgramsByCinemaId_success() throws Exception {
     when(programService.getProgramsByCinemaId(CinemaConstants.ID)).thenReturn(
@@ -0,0 +1,89 @@
+package filmfocus.controllers;
+
+import filmfocus.models.dtos.ReportJobDto;
+import filmfocus.services.ReportJobService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static filmfocus.testUtils.constants.ReportConstants.INCOMES;
+import static filmfocus.utils.constants.URIConstants.REPORTS_JOBS_ID_PATH;
+import static filmfocus.utils.constants.URIConstants.REPORTS_JOBS_ID_RESULT_PATH;
+import static filmfocus.utils.constants.URIConstants.REPORTS_JOBS_PATH;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReportJobControllerTest {
+
+  private static final String JOB_ID = "3f5b1c2e-job";
+
+  private MockMvc mockMvc;
+
+  @Mock
+  private ReportJobService reportJobService;
+
+  @InjectMocks
+  private ReportJobController reportJobController;
+
+  @Before
+  public void setUp() {
+    mockMvc = MockMvcBuilders
+      .standaloneSetup(reportJobController)
+      .build();
+  }
+
+  @Test
+  public void testSubmitJob_validRequest_accepted() throws Exception {
+    when(reportJobService.submitJob(any())).thenReturn(reportJob("queued", 0));
+
+    mockMvc.perform(post(REPORTS_JOBS_PATH)
+                      .contentType(MediaType.APPLICATION_JSON)
+                      .content("{\"type\":\"cinema-incomes\",\"id\":1,\"startDate\":\"2023-01-01\"," +
+                               "\"endDate\":\"2024-01-01\"}"))
+           .andExpect(status().isAccepted())
+           .andExpect(header().string("Location", "/reports/jobs/" + JOB_ID))
+           .andExpect(jsonPath("$.status").value("queued"));
+  }
+
+  @Test
+  public void testSubmitJob_missingType_badRequest() throws Exception {
+    mockMvc.perform(post(REPORTS_JOBS_PATH)
+                      .contentType(MediaType.APPLICATION_JSON)
+                      .content("{\"id\":1,\"startDate\":\"2023-01-01\",\"endDate\":\"2024-01-01\"}"))
+           .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void testGetJob_runningJob_progressReturned() throws Exception {
+    when(reportJobService.getJob(JOB_ID)).thenReturn(reportJob("running", 40));
+
+    mockMvc.perform(get(REPORTS_JOBS_ID_PATH, JOB_ID))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.progress").value(40));
+  }
+
+  @Test
+  public void testGetJobResult_finishedJob_resultReturned() throws Exception {
+    when(reportJobService.getJobResult(JOB_ID)).thenReturn(INCOMES);
+
+    mockMvc.perform(get(REPORTS_JOBS_ID_RESULT_PATH, JOB_ID))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$").value(INCOMES));
+  }
+
+  private ReportJobDto reportJob(String status, int progress) {
+    return new ReportJobDto(JOB_ID, "cinema-incomes", status, progress, null, null, null, null);
+  }
+}
@@ -1,7 +1,10 @@
 package filmfocus.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import filmfocus.models.dtos.ReviewPageDto;
+import filmfocus.models.dtos.ReviewStatsDto;
 import filmfocus.services.ReviewService;
+import filmfocus.services.ReviewStatsService;
 import filmfocus.testUtils.constants.CinemaConstants;
 import filmfocus.testUtils.constants.MovieConstants;
 import filmfocus.testUtils.constants.UserConstants;
@@ -18,6 +21,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static filmfocus.testUtils.constants.ReviewConstants.DATE_MODIFIED;
 import static filmfocus.testUtils.constants.ReviewConstants.ID;
 import static filmfocus.testUtils.constants.ReviewConstants.RATING;
@@ -26,8 +32,11 @@ import static filmfocus.testUtils.constants.UserConstants.DAY;
 import static filmfocus.testUtils.constants.UserConstants.MONTH;
 import static filmfocus.testUtils.constants.UserConstants.YEAR;
 import static filmfocus.utils.constants.URIConstants.CINEMAS_ID_REVIEWS_PATH;
+import static filmfocus.utils.constants.URIConstants.CINEMAS_ID_REVIEWS_STATS_PATH;
 import static filmfocus.utils.constants.URIConstants.MOVIES_ID_REVIEWS_PATH;
+import static filmfocus.utils.constants.URIConstants.MOVIES_ID_REVIEWS_STATS_PATH;
 import static filmfocus.utils.constants.URIConstants.REVIEWS_ID_PATH;
+import static filmfocus.utils.constants.URIConstants.REVIEWS_SEARCH_PATH;
 import static filmfocus.utils.constants.URIConstants.USERS_ID_CINEMAS_REVIEWS_PATH;
 import static filmfocus.utils.constants.URIConstants.USERS_ID_MOVIES_REVIEWS_PATH;
 import static org.hamcrest.Matchers.is;
@@ -55,6 +64,9 @@ public class ReviewControllerTest {
   @Mock
   private ReviewService reviewService;
 
+  @Mock
+  private ReviewStatsService reviewStatsService;
+
   @InjectMocks
   private ReviewController reviewController;
 
@@ -91,118 +103,122 @@ public class ReviewControllerTest {
 
   @Test
   public void testGetReviewsByCinemaId_noExceptions_success() throws Exception {
-    when(reviewService.getReviewsByCinemaId(anyInt())).thenReturn(ReviewFactory.getDefaultReviewDtoList());
+    when(reviewService.getReviewsByCinemaId(anyInt(), any(), any(), any())).thenReturn(
+      new ReviewPageDto(ReviewFactory.getDefaultReviewDtoList(), null));
 
     mockMvc.perform(get(CINEMAS_ID_REVIEWS_PATH, CinemaConstants.ID))
            .andExpect(status().isOk())
-           .andExpect(jsonPath("$[0].id").value(ID))
-           .andExpect(jsonPath("$[0].rating").value(RATING))
-           .andExpect(jsonPath("$[0].reviewText").value(REVIEW_TEXT))
-           .andExpect(jsonPath("$[0].dateModified[0]", is(DATE_MODIFIED.getYear())))
-           .andExpect(jsonPath("$[0].dateModified[1]", is(DATE_MODIFIED.getMonthValue())))
-           .andExpect(jsonPath("$[0].dateModified[2]", is(DATE_MODIFIED.getDayOfMonth())))
-           .andExpect(jsonPath("$[0].movie.id").value(MovieConstants.ID))
-           .andExpect(jsonPath("$[0].movie.title").value(MovieConstants.TITLE))
-           .andExpect(jsonPath("$[0].movie.description").value(MovieConstants.DESCRIPTION))
-           .andExpect(jsonPath("$[0].movie.releaseDate[0]", is(MovieConstants.RELEASE_DATE.getYear())))
-           .andExpect(jsonPath("$[0].movie.releaseDate[1]", is(MovieConstants.RELEASE_DATE.getMonthValue())))
-           .andExpect(jsonPath("$[0].movie.releaseDate[2]", is(MovieConstants.RELEASE_DATE.getDayOfMonth())))
-           .andExpect(jsonPath("$[0].cinema").value(CinemaFactory.getDefaultCinemaDto()))
-           .andExpect(jsonPath("$[0].user.id").value(UserConstants.ID))
-           .andExpect(jsonPath("$[0].user.username").value(UserConstants.USERNAME))
-           .andExpect(jsonPath("$[0].user.email").value(UserConstants.EMAIL))
-           .andExpect(jsonPath("$[0].user.firstName").value(UserConstants.FIRST_NAME))
-           .andExpect(jsonPath("$[0].user.lastName").value(UserConstants.LAST_NAME))
-           .andExpect(jsonPath("$[0].user.joinDate[0]").value(YEAR))
-           .andExpect(jsonPath("$[0].user.joinDate[1]").value(MONTH))
-           .andExpect(jsonPath("$[0].user.joinDate[2]").value(DAY));
+           .andExpect(jsonPath("$.reviews[0].id").value(ID))
+           .andExpect(jsonPath("$.reviews[0].rating").value(RATING))
+           .andExpect(jsonPath("$.reviews[0].reviewText").value(REVIEW_TEXT))
+           .andExpect(jsonPath("$.reviews[0].dateModified[0]", is(DATE_MODIFIED.getYear())))
+           .andExpect(jsonPath("$.reviews[0].dateModified[1]", is(DATE_MODIFIED.getMonthValue())))
+           .andExpect(jsonPath("$.reviews[0].dateModified[2]", is(DATE_MODIFIED.getDayOfMonth())))
+           .andExpect(jsonPath("$.reviews[0].movie.id").value(MovieConstants.ID))
+           .andExpect(jsonPath("$.reviews[0].movie.title").value(MovieConstants.TITLE))
+           .andExpect(jsonPath("$.reviews[0].movie.description").value(MovieConstants.DESCRIPTION))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[0]", is(MovieConstants.RELEASE_DATE.getYear())))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[1]", is(MovieConstants.RELEASE_DATE.getMonthValue())))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[2]", is(MovieConstants.RELEASE_DATE.getDayOfMonth())))
+           .andExpect(jsonPath("$.reviews[0].cinema").value(CinemaFactory.getDefaultCinemaDto()))
+           .andExpect(jsonPath("$.reviews[0].user.id").value(UserConstants.ID))
+           .andExpect(jsonPath("$.reviews[0].user.username").value(UserConstants.USERNAME))
+           .andExpect(jsonPath("$.reviews[0].user.email").value(UserConstants.EMAIL))
+           .andExpect(jsonPath("$.reviews[0].user.firstName").value(UserConstants.FIRST_NAME))
+           .andExpect(jsonPath("$.reviews[0].user.lastName").value(UserConstants.LAST_NAME))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[0]").value(YEAR))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[1]").value(MONTH))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[2]").value(DAY));
   }
 
   @Test
   public void testGetReviewsByMovieId_noExceptions_success() throws Exception {
-    when(reviewService.getReviewsByMovieId(anyInt())).thenReturn(ReviewFactory.getDefaultReviewDtoList());
+    when(reviewService.getReviewsByMovieId(anyInt(), any(), any(), any())).thenReturn(
+      new ReviewPageDto(ReviewFactory.getDefaultReviewDtoList(), null));
 
     mockMvc.perform(get(MOVIES_ID_REVIEWS_PATH, MovieConstants.ID))
            .andExpect(status().isOk())
-           .andExpect(jsonPath("$[0].id").value(ID))
-           .andExpect(jsonPath("$[0].rating").value(RATING))
-           .andExpect(jsonPath("$[0].reviewText").value(REVIEW_TEXT))
-           .andExpect(jsonPath("$[0].dateModified[0]", is(DATE_MODIFIED.getYear())))
-           .andExpect(jsonPath("$[0].dateModified[1]", is(DATE_MODIFIED.getMonthValue())))
-           .andExpect(jsonPath("$[0].dateModified[2]", is(DATE_MODIFIED.getDayOfMonth())))
-           .andExpect(jsonPath("$[0].movie.id").value(MovieConstants.ID))
-           .andExpect(jsonPath("$[0].movie.title").value(MovieConstants.TITLE))
-           .andExpect(jsonPath("$[0].movie.description").value(MovieConstants.DESCRIPTION))
-           .andExpect(jsonPath("$[0].movie.releaseDate[0]", is(MovieConstants.RELEASE_DATE.getYear())))
-           .andExpect(jsonPath("$[0].movie.releaseDate[1]", is(MovieConstants.RELEASE_DATE.getMonthValue())))
-           .andExpect(jsonPath("$[0].movie.releaseDate[2]", is(MovieConstants.RELEASE_DATE.getDayOfMonth())))
-           .andExpect(jsonPath("$[0].cinema").value(CinemaFactory.getDefaultCinemaDto()))
-           .andExpect(jsonPath("$[0].user.id").value(UserConstants.ID))
-           .andExpect(jsonPath("$[0].user.username").value(UserConstants.USERNAME))
-           .andExpect(jsonPath("$[0].user.email").value(UserConstants.EMAIL))
-           .andExpect(jsonPath("$[0].user.firstName").value(UserConstants.FIRST_NAME))
-           .andExpect(jsonPath("$[0].user.lastName").value(UserConstants.LAST_NAME))
-           .andExpect(jsonPath("$[0].user.joinDate[0]").value(YEAR))
-           .andExpect(jsonPath("$[0].user.joinDate[1]").value(MONTH))
-           .andExpect(jsonPath("$[0].user.joinDate[2]").value(DAY));
+           .andExpect(jsonPath("$.reviews[0].id").value(ID))
+           .andExpect(jsonPath("$.reviews[0].rating").value(RATING))
+           .andExpect(jsonPath("$.reviews[0].reviewText").value(REVIEW_TEXT))
+           .andExpect(jsonPath("$.reviews[0].dateModified[0]", is(DATE_MODIFIED.getYear())))
+           .andExpect(jsonPath("$.reviews[0].dateModified[1]", is(DATE_MODIFIED.getMonthValue())))
+           .andExpect(jsonPath("$.reviews[0].dateModified[2]", is(DATE_MODIFIED.getDayOfMonth())))
+           .andExpect(jsonPath("$.reviews[0].movie.id").value(MovieConstants.ID))
+           .andExpect(jsonPath("$.reviews[0].movie.title").value(MovieConstants.TITLE))
+           .andExpect(jsonPath("$.reviews[0].movie.description").value(MovieConstants.DESCRIPTION))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[0]", is(MovieConstants.RELEASE_DATE.getYear())))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[1]", is(MovieConstants.RELEASE_DATE.getMonthValue())))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[2]", is(MovieConstants.RELEASE_DATE.getDayOfMonth())))
+           .andExpect(jsonPath("$.reviews[0].cinema").value(CinemaFactory.getDefaultCinemaDto()))
+           .andExpect(jsonPath("$.reviews[0].user.id").value(UserConstants.ID))
+           .andExpect(jsonPath("$.reviews[0].user.username").value(UserConstants.USERNAME))
+           .andExpect(jsonPath("$.reviews[0].user.email").value(UserConstants.EMAIL))
+           .andExpect(jsonPath("$.reviews[0].user.firstName").value(UserConstants.FIRST_NAME))
+           .andExpect(jsonPath("$.reviews[0].user.lastName").value(UserConstants.LAST_NAME))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[0]").value(YEAR))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[1]").value(MONTH))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[2]").value(DAY));
   }
 
   @Test
   public void testGetMovieReviewsByUserId_noExceptions_success() throws Exception {
-    when(reviewService.getMovieReviewsByUserId(anyInt())).thenReturn(ReviewFactory.getDefaultReviewDtoList());
+    when(reviewService.getMovieReviewsByUserId(anyInt(), any(), any(), any())).thenReturn(
+      new ReviewPageDto(ReviewFactory.getDefaultReviewDtoList(), null));
 
     mockMvc.perform(get(USERS_ID_MOVIES_REVIEWS_PATH, UserConstants.ID))
            .andExpect(status().isOk())
-           .andExpect(jsonPath("$[0].id").value(ID))
-           .andExpect(jsonPath("$[0].rating").value(RATING))
-           .andExpect(jsonPath("$[0].reviewText").value(REVIEW_TEXT))
-           .andExpect(jsonPath("$[0].dateModified[0]", is(DATE_MODIFIED.getYear())))
-           .andExpect(jsonPath("$[0].dateModified[1]", is(DATE_MODIFIED.getMonthValue())))
-           .andExpect(jsonPath("$[0].dateModified[2]", is(DATE_MODIFIED.getDayOfMonth())))
-           .andExpect(jsonPath("$[0].movie.id").value(MovieConstants.ID))
-           .andExpect(jsonPath("$[0].movie.title").value(MovieConstants.TITLE))
-           .andExpect(jsonPath("$[0].movie.description").value(MovieConstants.DESCRIPTION))
-           .andExpect(jsonPath("$[0].movie.releaseDate[0]", is(MovieConstants.RELEASE_DATE.getYear())))
-           .andExpect(jsonPath("$[0].movie.releaseDate[1]", is(MovieConstants.RELEASE_DATE.getMonthValue())))
-           .andExpect(jsonPath("$[0].movie.releaseDate[2]", is(MovieConstants.RELEASE_DATE.getDayOfMonth())))
-           .andExpect(jsonPath("$[0].cinema").value(CinemaFactory.getDefaultCinemaDto()))
-           .andExpect(jsonPath("$[0].user.id").value(UserConstants.ID))
-           .andExpect(jsonPath("$[0].user.username").value(UserConstants.USERNAME))
-           .andExpect(jsonPath("$[0].user.email").value(UserConstants.EMAIL))
-           .andExpect(jsonPath("$[0].user.firstName").value(UserConstants.FIRST_NAME))
-           .andExpect(jsonPath("$[0].user.lastName").value(UserConstants.LAST_NAME))
-           .andExpect(jsonPath("$[0].user.joinDate[0]").value(YEAR))
-           .andExpect(jsonPath("$[0].user.joinDate[1]").value(MONTH))
-           .andExpect(jsonPath("$[0].user.joinDate[2]").value(DAY));
+           .andExpect(jsonPath("$.reviews[0].id").value(ID))
+           .andExpect(jsonPath("$.reviews[0].rating").value(RATING))
+           .andExpect(jsonPath("$.reviews[0].reviewText").value(REVIEW_TEXT))
+           .andExpect(jsonPath("$.reviews[0].dateModified[0]", is(DATE_MODIFIED.getYear())))
+           .andExpect(jsonPath("$.reviews[0].dateModified[1]", is(DATE_MODIFIED.getMonthValue())))
+           .andExpect(jsonPath("$.reviews[0].dateModified[2]", is(DATE_MODIFIED.getDayOfMonth())))
+           .andExpect(jsonPath("$.reviews[0].movie.id").value(MovieConstants.ID))
+           .andExpect(jsonPath("$.reviews[0].movie.title").value(MovieConstants.TITLE))
+           .andExpect(jsonPath("$.reviews[0].movie.description").value(MovieConstants.DESCRIPTION))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[0]", is(MovieConstants.RELEASE_DATE.getYear())))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[1]", is(MovieConstants.RELEASE_DATE.getMonthValue())))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[2]", is(MovieConstants.RELEASE_DATE.getDayOfMonth())))
+           .andExpect(jsonPath("$.reviews[0].cinema").value(CinemaFactory.getDefaultCinemaDto()))
+           .andExpect(jsonPath("$.reviews[0].user.id").value(UserConstants.ID))
+           .andExpect(jsonPath("$.reviews[0].user.username").value(UserConstants.USERNAME))
+           .andExpect(jsonPath("$.reviews[0].user.email").value(UserConstants.EMAIL))
+           .andExpect(jsonPath("$.reviews[0].user.firstName").value(UserConstants.FIRST_NAME))
+           .andExpect(jsonPath("$.reviews[0].user.lastName").value(UserConstants.LAST_NAME))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[0]").value(YEAR))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[1]").value(MONTH))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[2]").value(DAY));
   }
 
   @Test
   public void testGetCinemaReviewsByUserId_noExceptions_success() throws Exception {
-    when(reviewService.getCinemaReviewsByUserId(anyInt())).thenReturn(ReviewFactory.getDefaultReviewDtoList());
+    when(reviewService.getCinemaReviewsByUserId(anyInt(), any(), any(), any())).thenReturn(
+      new ReviewPageDto(ReviewFactory.getDefaultReviewDtoList(), null));
 
     mockMvc.perform(get(USERS_ID_CINEMAS_REVIEWS_PATH, UserConstants.ID))
            .andExpect(status().isOk())
-           .andExpect(jsonPath("$[0].id").value(ID))
-           .andExpect(jsonPath("$[0].rating").value(RATING))
-           .andExpect(jsonPath("$[0].reviewText").value(REVIEW_TEXT))
-           .andExpect(jsonPath("$[0].dateModified[0]", is(DATE_MODIFIED.getYear())))
-           .andExpect(jsonPath("$[0].dateModified[1]", is(DATE_MODIFIED.getMonthValue())))
-           .andExpect(jsonPath("$[0].dateModified[2]", is(DATE_MODIFIED.getDayOfMonth())))
-           .andExpect(jsonPath("$[0].movie.id").value(MovieConstants.ID))
-           .andExpect(jsonPath("$[0].movie.title").value(MovieConstants.TITLE))
-           .andExpect(jsonPath("$[0].movie.description").value(MovieConstants.DESCRIPTION))
-           .andExpect(jsonPath("$[0].movie.releaseDate[0]", is(MovieConstants.RELEASE_DATE.getYear())))
-           .andExpect(jsonPath("$[0].movie.releaseDate[1]", is(MovieConstants.RELEASE_DATE.getMonthValue())))
-           .andExpect(jsonPath("$[0].movie.releaseDate[2]", is(MovieConstants.RELEASE_DATE.getDayOfMonth())))
-           .andExpect(jsonPath("$[0].cinema").value(CinemaFactory.getDefaultCinemaDto()))
-           .andExpect(jsonPath("$[0].user.id").value(UserConstants.ID))
-           .andExpect(jsonPath("$[0].user.username").value(UserConstants.USERNAME))
-           .andExpect(jsonPath("$[0].user.email").value(UserConstants.EMAIL))
-           .andExpect(jsonPath("$[0].user.firstName").value(UserConstants.FIRST_NAME))
-           .andExpect(jsonPath("$[0].user.lastName").value(UserConstants.LAST_NAME))
-           .andExpect(jsonPath("$[0].user.joinDate[0]").value(YEAR))
-           .andExpect(jsonPath("$[0].user.joinDate[1]").value(MONTH))
-           .andExpect(jsonPath("$[0].user.joinDate[2]").value(DAY));
+           .andExpect(jsonPath("$.reviews[0].id").value(ID))
+           .andExpect(jsonPath("$.reviews[0].rating").value(RATING))
+           .andExpect(jsonPath("$.reviews[0].reviewText").value(REVIEW_TEXT))
+           .andExpect(jsonPath("$.reviews[0].dateModified[0]", is(DATE_MODIFIED.getYear())))
+           .andExpect(jsonPath("$.reviews[0].dateModified[1]", is(DATE_MODIFIED.getMonthValue())))
+           .andExpect(jsonPath("$.reviews[0].dateModified[2]", is(DATE_MODIFIED.getDayOfMonth())))
+           .andExpect(jsonPath("$.reviews[0].movie.id").value(MovieConstants.ID))
+           .andExpect(jsonPath("$.reviews[0].movie.title").value(MovieConstants.TITLE))
+           .andExpect(jsonPath("$.reviews[0].movie.description").value(MovieConstants.DESCRIPTION))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[0]", is(MovieConstants.RELEASE_DATE.getYear())))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[1]", is(MovieConstants.RELEASE_DATE.getMonthValue())))
+           .andExpect(jsonPath("$.reviews[0].movie.releaseDate[2]", is(MovieConstants.RELEASE_DATE.getDayOfMonth())))
+           .andExpect(jsonPath("$.reviews[0].cinema").value(CinemaFactory.getDefaultCinemaDto()))
+           .andExpect(jsonPath("$.reviews[0].user.id").value(UserConstants.ID))
+           .andExpect(jsonPath("$.reviews[0].user.username").value(UserConstants.USERNAME))
+           .andExpect(jsonPath("$.reviews[0].user.email").value(UserConstants.EMAIL))
+           .andExpect(jsonPath("$.reviews[0].user.firstName").value(UserConstants.FIRST_NAME))
+           .andExpect(jsonPath("$.reviews[0].user.lastName").value(UserConstants.LAST_NAME))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[0]").value(YEAR))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[1]").value(MONTH))
+           .andExpect(jsonPath("$.reviews[0].user.joinDate[2]").value(DAY));
   }
 
   @Test
@@ -288,4 +304,66 @@ public class ReviewControllerTest {
                       .queryParam(RETURN_OLD, String.valueOf(false)))
            .andExpect(status().isNoContent());
   }
+
+  @Test
+  public void testGetReviewsByMovieId_pageParameters_nextCursorReturned() throws Exception {
+    when(reviewService.getReviewsByMovieId(MovieConstants.ID, "cursor", 10, "asc")).thenReturn(
+      new ReviewPageDto(ReviewFactory.getDefaultReviewDtoList(), "next"));
+
+    mockMvc.perform(get(MOVIES_ID_REVIEWS_PATH, MovieConstants.ID)
+                      .param("cursor", "cursor")
+                      .param("size", "10")
+                      .param("order", "asc"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.reviews[0].id").value(ID))
+           .andExpect(jsonPath("$.nextCursor").value("next"));
+  }
+
+  @Test
+  public void testSearchReviews_noExceptions_success() throws Exception {
+    when(reviewService.searchReviews("sound OR audio", null, CinemaConstants.ID, null)).thenReturn(
+      ReviewFactory.getDefaultReviewDtoList());
+
+    mockMvc.perform(get(REVIEWS_SEARCH_PATH)
+                      .param("query", "sound OR audio")
+                      .param("cinemaId", String.valueOf(CinemaConstants.ID)))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[0].id").value(ID))
+           .andExpect(jsonPath("$[0].reviewText").value(REVIEW_TEXT));
+  }
+
+  @Test
+  public void testGetMovieReviewStats_noExceptions_success() throws Exception {
+    when(reviewStatsService.getMovieReviewStats(anyInt())).thenReturn(getReviewStatsDto());
+
+    mockMvc.perform(get(MOVIES_ID_REVIEWS_STATS_PATH, MovieConstants.ID))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.count").value(3))
+           .andExpect(jsonPath("$.mean").value(3.5))
+           .andExpect(jsonPath("$.histogram.5").value(2))
+           .andExpect(jsonPath("$.trendDays").value(30))
+           .andExpect(jsonPath("$.trend").value(0.5));
+  }
+
+  @Test
+  public void testGetCinemaReviewStats_noExceptions_success() throws Exception {
+    when(reviewStatsService.getCinemaReviewStats(anyInt())).thenReturn(getReviewStatsDto());
+
+    mockMvc.perform(get(CINEMAS_ID_REVIEWS_STATS_PATH, CinemaConstants.ID))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.count").value(3))
+           .andExpect(jsonPath("$.histogram.2").value(1))
+           .andExpect(jsonPath("$.recentCount").value(1));
+  }
+
+  private static ReviewStatsDto getReviewStatsDto() {
+    Map<Integer, Long> histogram = new LinkedHashMap<>();
+    histogram.put(1, 0L);
+    histogram.put(2, 1L);
+    histogram.put(3, 0L);
+    histogram.put(4, 0L);
+    histogram.put(5, 2L);
+
+    return new ReviewStatsDto(3, 3.5, histogram, 30, 1, 4, 0.5);
+  }
 }
@@ -1,6 +1,9 @@
 package filmfocus.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import filmfocus.models.dtos.RoleDto;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.ListResponses;
 import filmfocus.services.RoleService;
 import filmfocus.testUtils.factories.RoleFactory;
 import org.junit.Before;
@@ -8,12 +11,17 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.function.Consumer;
+
 import static filmfocus.testUtils.constants.RoleConstants.ID;
 import static filmfocus.testUtils.constants.RoleConstants.NAME;
 import static filmfocus.utils.constants.URIConstants.ROLES_ID_PATH;
@@ -21,13 +29,16 @@ import static filmfocus.utils.constants.URIConstants.ROLES_PATH;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -41,6 +52,8 @@ public class RoleControllerTest {
 
   @Mock
   private RoleService roleService;
+  @Spy
+  private ListResponses listResponses = new ListResponses(Jackson2ObjectMapperBuilder.json().build());
 
   @InjectMocks
   private RoleController roleController;
@@ -66,10 +79,30 @@ public class RoleControllerTest {
 
   @Test
   public void testGetAllRoles_noExceptions_success() throws Exception {
-    when(roleService.getAllRolesDto()).thenReturn(RoleFactory.getDefaultRoleDtoList());
+    doAnswer(invocation -> {
+      RoleFactory.getDefaultRoleDtoList().forEach(invocation.<Consumer<RoleDto>>getArgument(0));
+      return null;
+    }).when(roleService).forEachRoleDto(any());
+
+    MvcResult result = mockMvc.perform(get(ROLES_PATH))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[0].id").value(ID))
+           .andExpect(jsonPath("$[0].name").value(NAME));
+  }
 
-    mockMvc.perform(get(ROLES_PATH))
+  @Test
+  public void testGetRolesPage_nextPageExists_success() throws Exception {
+    when(roleService.getRolesDtoPage(null, 1)).thenReturn(new KeysetPage<>(RoleFactory.getDefaultRoleDtoList(), ID));
+
+    mockMvc.perform(get(ROLES_PATH)
+                      .queryParam("size", "1"))
            .andExpect(status().isOk())
+           .andExpect(header().string("Link", String.format("<http://localhost%s?size=1&afterId=%d>; rel=\"next\"",
+                                                            ROLES_PATH, ID)))
            .andExpect(jsonPath("$[0].id").value(ID))
            .andExpect(jsonPath("$[0].name").value(NAME));
   }
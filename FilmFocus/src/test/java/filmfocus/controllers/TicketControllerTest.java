@@ -1,6 +1,7 @@
 package filmfocus.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import filmfocus.models.dtos.SeatMapDto;
 import filmfocus.models.dtos.TicketDto;
 import filmfocus.services.TicketService;
 import filmfocus.testUtils.factories.TicketFactory;
@@ -15,14 +16,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static filmfocus.testUtils.constants.ProjectionConstants.ID;
 import static filmfocus.testUtils.constants.TicketConstants.DATE_OF_PURCHASE;
+import static filmfocus.utils.constants.URIConstants.PROJECTIONS_ID_SEATS_PATH;
 import static filmfocus.utils.constants.URIConstants.PROJECTIONS_ID_TICKETS_PATH;
 import static filmfocus.utils.constants.URIConstants.TICKETS_PATH;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -109,4 +114,21 @@ public class TicketControllerTest {
            .andExpect(jsonPath("$[0].projection.startTime[1]").value(
              defaultTicketDto.getProjection().getStartTime().getMinute()));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testGetSeatMapByProjectionId_success() throws Exception {
+    SeatMapDto seatMapDto = new SeatMapDto(ID, 2, 3, 4, Arrays.asList("OXO", "OO_"),
+                                           Collections.singletonList(TicketFactory.getDefaultSeatDto()));
+    when(ticketService.getSeatMapByProjectionId(anyInt(), eq(2))).thenReturn(seatMapDto);
+
+    mockMvc.perform(get(PROJECTIONS_ID_SEATS_PATH, ID).param("adjacentSeats", "2"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.projectionId").value(ID))
+           .andExpect(jsonPath("$.rows").value(2))
+           .andExpect(jsonPath("$.seatsPerRow").value(3))
+           .andExpect(jsonPath("$.availableSeats").value(4))
+           .andExpect(jsonPath("$.seats[0]").value("OXO"))
+           .andExpect(jsonPath("$.suggestedSeats[0].seatRow").value(1))
+           .andExpect(jsonPath("$.suggestedSeats[0].seatNumber").value(1));
+  }
+}
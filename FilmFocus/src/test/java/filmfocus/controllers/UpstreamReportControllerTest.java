@@ -0,0 +1,52 @@
+package filmfocus.controllers;
+
+import filmfocus.http.UpstreamMetrics;
+import filmfocus.models.dtos.UpstreamEndpointStatsDto;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static filmfocus.utils.constants.URIConstants.REPORTS_UPSTREAMS_PATH;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UpstreamReportControllerTest {
+
+  private MockMvc mockMvc;
+
+  @Mock
+  private UpstreamMetrics upstreamMetrics;
+
+  @InjectMocks
+  private UpstreamReportController upstreamReportController;
+
+  @Before
+  public void setUp() {
+    mockMvc = MockMvcBuilders
+      .standaloneSetup(upstreamReportController)
+      .build();
+  }
+
+  @Test
+  public void testGetUpstreamStats_statsReturned_success() throws Exception {
+    when(upstreamMetrics.getStats()).thenReturn(
+      List.of(new UpstreamEndpointStatsDto("IMDB", "Top250Movies", 3, 2, 1, 0, 1, 120.5, 300)));
+
+    mockMvc.perform(get(REPORTS_UPSTREAMS_PATH))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[0].upstream").value("IMDB"))
+           .andExpect(jsonPath("$[0].endpoint").value("Top250Movies"))
+           .andExpect(jsonPath("$[0].failures").value(1))
+           .andExpect(jsonPath("$[0].shortCircuits").value(1));
+  }
+}
@@ -1,6 +1,9 @@
 package filmfocus.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import filmfocus.models.dtos.UserDto;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.ListResponses;
 import filmfocus.services.UserService;
 import filmfocus.testUtils.constants.RoleConstants;
 import filmfocus.testUtils.constants.UserConstants;
@@ -11,12 +14,17 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.function.Consumer;
+
 import static filmfocus.testUtils.constants.HttpCookieConstants.COOKIE_NAME;
 import static filmfocus.testUtils.constants.HttpCookieConstants.COOKIE_VALUE;
 import static filmfocus.testUtils.constants.RoleConstants.NAME;
@@ -39,7 +47,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -47,6 +58,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -66,6 +78,8 @@ public class UserControllerTest {
 
   @Mock
   private UserService userService;
+  @Spy
+  private ListResponses listResponses = new ListResponses(Jackson2ObjectMapperBuilder.json().build());
 
   @InjectMocks
   private UserController userController;
@@ -153,10 +167,17 @@ public class UserControllerTest {
 
   @Test
   public void testGetUserByRoleName_userFound_success() throws Exception {
-    when(userService.getUsersDtoByRoleName(anyString())).thenReturn(UserFactory.getDefaultUserDtoList());
+    doAnswer(invocation -> {
+      UserFactory.getDefaultUserDtoList().forEach(invocation.<Consumer<UserDto>>getArgument(1));
+      return null;
+    }).when(userService).forEachUserDtoByRoleName(eq(NAME), any());
 
-    mockMvc.perform(get(USERS_PATH)
-                      .queryParam("roleName", NAME))
+    MvcResult result = mockMvc.perform(get(USERS_PATH)
+                                         .queryParam("roleName", NAME))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
            .andExpect(status().isOk())
            .andExpect(jsonPath("$[0].id").value(ID))
            .andExpect(jsonPath("$[0].username").value(USERNAME))
@@ -172,11 +193,18 @@ public class UserControllerTest {
 
   @Test
   public void testGetUsersByJoinDate_returnsUsersList_success() throws Exception {
-    when(userService.getUsersDtosByJoinDate(any(), anyBoolean())).thenReturn(UserFactory.getDefaultUserDtoList());
-
-    mockMvc.perform(get(USERS_PATH)
-                      .queryParam(JOIN_DATE_STRING, String.valueOf(JOIN_DATE))
-                      .queryParam(IS_BEFORE, String.valueOf(true)))
+    doAnswer(invocation -> {
+      UserFactory.getDefaultUserDtoList().forEach(invocation.<Consumer<UserDto>>getArgument(2));
+      return null;
+    }).when(userService).forEachUserDtoByJoinDate(any(), anyBoolean(), any());
+
+    MvcResult result = mockMvc.perform(get(USERS_PATH)
+                                         .queryParam(JOIN_DATE_STRING, String.valueOf(JOIN_DATE))
+                                         .queryParam(IS_BEFORE, String.valueOf(true)))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
            .andExpect(status().isOk())
            .andExpect(jsonPath("$[0].id").value(ID))
            .andExpect(jsonPath("$[0].username").value(USERNAME))
@@ -190,6 +218,36 @@ public class UserControllerTest {
            .andExpect(jsonPath("$[0].roles[0].name").value(NAME));
   }
 
+  @Test
+  public void testGetUsersPageByRoleName_nextPageExists_success() throws Exception {
+    when(userService.getUsersDtoPageByRoleName(NAME, null, 1)).thenReturn(
+      new KeysetPage<>(UserFactory.getDefaultUserDtoList(), ID));
+
+    mockMvc.perform(get(USERS_PATH)
+                      .queryParam("roleName", NAME)
+                      .queryParam("size", "1"))
+           .andExpect(status().isOk())
+           .andExpect(header().string("Link", String.format("<http://localhost%s?roleName=%s&size=1&afterId=%d>; "
+                                                            + "rel=\"next\"", USERS_PATH, NAME, ID)))
+           .andExpect(jsonPath("$[0].id").value(ID))
+           .andExpect(jsonPath("$[0].username").value(USERNAME));
+  }
+
+  @Test
+  public void testGetUsersPageByJoinDate_lastPage_noNextLink() throws Exception {
+    when(userService.getUsersDtoPageByJoinDate(JOIN_DATE, true, ID, 10)).thenReturn(
+      new KeysetPage<>(UserFactory.getDefaultUserDtoList(), null));
+
+    mockMvc.perform(get(USERS_PATH)
+                      .queryParam(JOIN_DATE_STRING, String.valueOf(JOIN_DATE))
+                      .queryParam(IS_BEFORE, String.valueOf(true))
+                      .queryParam("afterId", String.valueOf(ID))
+                      .queryParam("size", "10"))
+           .andExpect(status().isOk())
+           .andExpect(header().doesNotExist("Link"))
+           .andExpect(jsonPath("$[0].id").value(ID));
+  }
+
   @Test
   public void testUpdateUser_returnOldTrue_success() throws Exception {
     when(userService.updateUser(any(), anyInt())).thenReturn(UserFactory.getDefaultUserDto());
@@ -0,0 +1,139 @@
+package filmfocus.email;
+
+import com.mailjet.client.errors.MailjetException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EmailBatcherTest {
+
+  private static final long LONG_WINDOW = 60_000L;
+  private static final long SHORT_WINDOW = 20L;
+  private static final long SEND_TIMEOUT = 5_000L;
+
+  private EmailBatcher emailBatcher;
+
+  @After
+  public void tearDown() {
+    if (emailBatcher != null) {
+      emailBatcher.shutdown();
+    }
+  }
+
+  @Test
+  public void testSubmit_batchFilled_sentInOneCall() throws Exception {
+    RecordingSender sender = new RecordingSender();
+    emailBatcher = new EmailBatcher(sender, 3, LONG_WINDOW, SEND_TIMEOUT);
+
+    List<CompletableFuture<EmailSendResult>> results = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      results.add(emailBatcher.submit(message("user" + i + "@mail.com")));
+    }
+
+    for (CompletableFuture<EmailSendResult> result : results) {
+      assertTrue(result.get(SEND_TIMEOUT, TimeUnit.MILLISECONDS).isSuccess());
+    }
+    assertEquals(1, sender.calls.size());
+    assertEquals(3, sender.calls.get(0).size());
+  }
+
+  @Test
+  public void testSubmit_windowElapsed_partialBatchSent() throws Exception {
+    RecordingSender sender = new RecordingSender();
+    emailBatcher = new EmailBatcher(sender, 50, SHORT_WINDOW, SEND_TIMEOUT);
+
+    CompletableFuture<EmailSendResult> first = emailBatcher.submit(message("first@mail.com"));
+    CompletableFuture<EmailSendResult> second = emailBatcher.submit(message("second@mail.com"));
+
+    assertTrue(first.get(SEND_TIMEOUT, TimeUnit.MILLISECONDS).isSuccess());
+    assertTrue(second.get(SEND_TIMEOUT, TimeUnit.MILLISECONDS).isSuccess());
+    assertEquals(1, sender.calls.size());
+    assertEquals(2, sender.calls.get(0).size());
+  }
+
+  @Test
+  public void testSubmit_perMessageResults_mappedToCallers() throws Exception {
+    RecordingSender sender = new RecordingSender();
+    emailBatcher = new EmailBatcher(sender, 2, LONG_WINDOW, SEND_TIMEOUT);
+
+    CompletableFuture<EmailSendResult> valid = emailBatcher.submit(message("valid@mail.com"));
+    CompletableFuture<EmailSendResult> invalid = emailBatcher.submit(message("invalid"));
+
+    assertTrue(valid.get(SEND_TIMEOUT, TimeUnit.MILLISECONDS).isSuccess());
+    assertFalse(invalid.get(SEND_TIMEOUT, TimeUnit.MILLISECONDS).isSuccess());
+    assertEquals("Invalid recipient invalid", invalid.get().getError());
+  }
+
+  @Test(expected = MailjetException.class)
+  public void testSend_messageRejected_throwsMailjetException() throws MailjetException {
+    emailBatcher = new EmailBatcher(new RecordingSender(), 1, LONG_WINDOW, SEND_TIMEOUT);
+
+    emailBatcher.send(message("invalid"));
+  }
+
+  @Test
+  public void testSubmit_senderFails_allCallersFailed() throws Exception {
+    EmailSender failingSender = messages -> {
+      throw new MailjetException("Service unavailable");
+    };
+    emailBatcher = new EmailBatcher(failingSender, 2, LONG_WINDOW, SEND_TIMEOUT);
+
+    CompletableFuture<EmailSendResult> first = emailBatcher.submit(message("first@mail.com"));
+    CompletableFuture<EmailSendResult> second = emailBatcher.submit(message("second@mail.com"));
+
+    for (CompletableFuture<EmailSendResult> result : new CompletableFuture[] {first, second}) {
+      try {
+        result.get(SEND_TIMEOUT, TimeUnit.MILLISECONDS);
+        throw new AssertionError("Expected the send to fail");
+      } catch (ExecutionException exception) {
+        assertTrue(exception.getCause() instanceof MailjetException);
+      }
+    }
+  }
+
+  @Test
+  public void testShutdown_pendingMessages_flushed() throws Exception {
+    RecordingSender sender = new RecordingSender();
+    emailBatcher = new EmailBatcher(sender, 50, LONG_WINDOW, SEND_TIMEOUT);
+
+    CompletableFuture<EmailSendResult> result = emailBatcher.submit(message("user@mail.com"));
+    emailBatcher.shutdown();
+    emailBatcher = null;
+
+    assertTrue(result.get(SEND_TIMEOUT, TimeUnit.MILLISECONDS).isSuccess());
+    assertEquals(1, sender.calls.size());
+  }
+
+  private EmailMessage message(String recipientEmail) {
+    return new EmailMessage(recipientEmail, "First Last", "Subject", "<p>Body</p>");
+  }
+
+  private static final class RecordingSender implements EmailSender {
+
+    private final List<List<EmailMessage>> calls = new CopyOnWriteArrayList<>();
+
+    @Override
+    public List<EmailSendResult> sendAll(List<EmailMessage> messages) {
+      calls.add(new ArrayList<>(messages));
+
+      List<EmailSendResult> results = new ArrayList<>();
+      for (EmailMessage message : messages) {
+        results.add(message.getRecipientEmail().contains("@")
+                    ? EmailSendResult.sent()
+                    : EmailSendResult.failed("Invalid recipient " + message.getRecipientEmail()));
+      }
+
+      return results;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package filmfocus.email;
+
+import com.mailjet.client.MailjetClient;
+import com.mailjet.client.MailjetRequest;
+import com.mailjet.client.MailjetResponse;
+import com.mailjet.client.errors.MailjetException;
+import com.mailjet.client.resource.Emailv31;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MailjetEmailSenderTest {
+
+  private static final int MAX_MESSAGES_PER_REQUEST = 2;
+
+  @Mock
+  private MailjetClient mailjetClient;
+
+  private MailjetEmailSender mailjetEmailSender;
+
+  @Before
+  public void setup() {
+    mailjetEmailSender = new MailjetEmailSender(mailjetClient, MAX_MESSAGES_PER_REQUEST);
+  }
+
+  @Test
+  public void testSendAll_messagesChunked_oneRequestPerChunk() throws Exception {
+    ArgumentCaptor<MailjetRequest> requests = ArgumentCaptor.forClass(MailjetRequest.class);
+
+    when(mailjetClient.post(any()))
+      .thenReturn(response(200, status("0", true), status("1", true)), response(200, status("0", true)));
+
+    List<EmailSendResult> results = mailjetEmailSender.sendAll(Arrays.asList(message(), message(), message()));
+
+    verify(mailjetClient, times(2)).post(requests.capture());
+    assertEquals(3, results.size());
+    assertTrue(results.stream().allMatch(EmailSendResult::isSuccess));
+    assertEquals(2, new JSONObject(requests.getAllValues().get(0).getBody()).getJSONArray(Emailv31.MESSAGES).length());
+  }
+
+  @Test
+  public void testSendAll_statusesOutOfOrder_mappedByCustomId() throws Exception {
+    when(mailjetClient.post(any())).thenReturn(response(400, status("1", true), status("0", false)));
+
+    List<EmailSendResult> results = mailjetEmailSender.sendAll(Arrays.asList(message(), message()));
+
+    assertFalse(results.get(0).isSuccess());
+    assertTrue(results.get(0).getError().contains("Invalid email"));
+    assertTrue(results.get(1).isSuccess());
+  }
+
+  @Test
+  public void testSendAll_requestRejected_allMessagesFailed() throws Exception {
+    when(mailjetClient.post(any())).thenReturn(new MailjetResponse(401, new JSONObject()));
+
+    List<EmailSendResult> results = mailjetEmailSender.sendAll(Arrays.asList(message(), message()));
+
+    assertFalse(results.get(0).isSuccess());
+    assertFalse(results.get(1).isSuccess());
+  }
+
+  @Test(expected = MailjetException.class)
+  public void testSend_messageRejected_throwsMailjetException() throws Exception {
+    when(mailjetClient.post(any())).thenReturn(response(400, status("0", false)));
+
+    mailjetEmailSender.send(message());
+  }
+
+  private EmailMessage message() {
+    return new EmailMessage("user@mail.com", "First Last", "Subject", "<p>Body</p>");
+  }
+
+  private JSONObject status(String customId, boolean success) throws JSONException {
+    JSONObject status = new JSONObject().put(Emailv31.Message.CUSTOMID, customId);
+
+    if (success) {
+      return status.put("Status", "success");
+    }
+
+    return status.put("Status", "error")
+      .put("Errors", new JSONArray().put(new JSONObject().put("ErrorMessage", "Invalid email")));
+  }
+
+  private MailjetResponse response(int httpStatus, JSONObject... statuses) throws JSONException {
+    JSONArray messages = new JSONArray();
+    for (JSONObject status : statuses) {
+      messages.put(status);
+    }
+
+    return new MailjetResponse(httpStatus, new JSONObject().put(Emailv31.MESSAGES, messages));
+  }
+}
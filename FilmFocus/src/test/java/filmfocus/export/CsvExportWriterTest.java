@@ -0,0 +1,36 @@
+package filmfocus.export;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class CsvExportWriterTest {
+
+  @Test
+  public void testWriteRow_plainValues_headerAndRowWritten() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    ExportWriter writer = new CsvExportWriter(Arrays.asList("id", "date", "price"), outputStream);
+    writer.writeRow(Arrays.asList(1, LocalDate.of(2023, 1, 2), 12.5));
+    writer.flush();
+
+    assertEquals("id,date,price\r\n1,2023-01-02,12.5\r\n", outputStream.toString(StandardCharsets.UTF_8.name()));
+  }
+
+  @Test
+  public void testWriteRow_specialCharactersAndNull_valuesEscaped() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    ExportWriter writer = new CsvExportWriter(Arrays.asList("title", "user"), outputStream);
+    writer.writeRow(Arrays.asList("Say \"hi\", again", null));
+    writer.flush();
+
+    assertEquals("title,user\r\n\"Say \"\"hi\"\", again\",\r\n", outputStream.toString(StandardCharsets.UTF_8.name()));
+  }
+}
@@ -0,0 +1,28 @@
+package filmfocus.export;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class NdjsonExportWriterTest {
+
+  @Test
+  public void testWriteRow_twoRows_oneObjectPerLine() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    ExportWriter writer = new NdjsonExportWriter(Arrays.asList("id", "date", "user", "price"), outputStream);
+    writer.writeRow(Arrays.asList(1, LocalDate.of(2023, 1, 2), "ana", 12.5));
+    writer.writeRow(Arrays.asList(2, LocalDate.of(2023, 1, 3), null, 8.0));
+    writer.flush();
+
+    assertEquals("{\"id\":1,\"date\":\"2023-01-02\",\"user\":\"ana\",\"price\":12.5}\n" +
+                 "{\"id\":2,\"date\":\"2023-01-03\",\"user\":null,\"price\":8.0}\n",
+                 outputStream.toString(StandardCharsets.UTF_8.name()));
+  }
+}
@@ -32,12 +32,17 @@ import filmfocus.exceptions.ReviewNotFoundException;
 import filmfocus.exceptions.RoleAlreadyExistsException;
 import filmfocus.exceptions.RoleNotChosenException;
 import filmfocus.exceptions.RoleNotFoundException;
+import filmfocus.exceptions.SeatHoldNotFoundException;
+import filmfocus.exceptions.SeatNotAvailableException;
 import filmfocus.exceptions.TicketNotFoundException;
 import filmfocus.exceptions.UserEmailAlreadyExistsException;
+import filmfocus.exceptions.UpstreamUnavailableException;
 import filmfocus.exceptions.UserNotFoundException;
 import filmfocus.exceptions.UsernameAlreadyExistsException;
+import filmfocus.pagination.ListResponses;
 import filmfocus.models.requests.CategoryRequest;
 import filmfocus.services.CategoryService;
+import filmfocus.services.MovieSearchService;
 import filmfocus.services.MovieService;
 import filmfocus.services.ProjectionService;
 import filmfocus.services.UserService;
@@ -90,6 +95,8 @@ import static filmfocus.utils.constants.ExceptionMessages.REVIEW_NOT_FOUND_MESSA
 import static filmfocus.utils.constants.ExceptionMessages.ROLE_ALREADY_EXISTS_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.ROLE_NOT_CHOSEN_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.ROLE_NOT_FOUND_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.SEAT_HOLD_NOT_FOUND_MESSAGE;
+import static filmfocus.utils.constants.ExceptionMessages.SEAT_NOT_AVAILABLE_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.TICKET_NOT_FOUND_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.USERNAME_ALREADY_EXISTS_MESSAGE;
 import static filmfocus.utils.constants.ExceptionMessages.USER_EMAIL_ALREADY_EXISTS_MESSAGE;
@@ -157,6 +164,15 @@ public class GlobalExceptionHandlerTest {
            .andExpect(jsonPath(ROOT_ERRORS).exists());
   }
 
+  @Test
+  public void testHandleUpstreamUnavailableException_onEndpointGetAllOrders_serviceUnavailable() throws Exception {
+    when(categoryService.getAllCategories()).thenThrow(UpstreamUnavailableException.class);
+
+    mockMvc.perform(get(URI))
+           .andExpect(status().isServiceUnavailable())
+           .andExpect(jsonPath(ROOT_ERRORS).exists());
+  }
+
   @Test
   public void testHandleNullPointerException_onEndpointGetAllOrders_badRequest() throws Exception {
     when(categoryService.getAllCategories()).thenThrow(NullPointerException.class);
@@ -203,7 +219,7 @@ public class GlobalExceptionHandlerTest {
   @Test
   public void testHandleMissingServletRequestParameterException_onEndpointGetAllOrders_badRequest() throws Exception {
     MovieService movieService = Mockito.mock(MovieService.class);
-    MovieController movieController = new MovieController(movieService);
+    MovieController movieController = new MovieController(movieService, Mockito.mock(MovieSearchService.class));
 
     MockMvc movieMockMvc =
       MockMvcBuilders.standaloneSetup(movieController).setControllerAdvice(new GlobalExceptionHandler()).build();
@@ -215,7 +231,7 @@ public class GlobalExceptionHandlerTest {
   @Test
   public void testHandleMissingPathVariableException_onEndpointGetAllMoviesByCategoryId_badRequest() throws Exception {
     MovieService movieService = Mockito.mock(MovieService.class);
-    MovieController movieController = new MovieController(movieService);
+    MovieController movieController = new MovieController(movieService, Mockito.mock(MovieSearchService.class));
 
     MockMvc movieMockMvc =
       MockMvcBuilders.standaloneSetup(movieController).setControllerAdvice(new GlobalExceptionHandler()).build();
@@ -228,7 +244,7 @@ public class GlobalExceptionHandlerTest {
   public void testHandleUnsatisfiedServletRequestParameterException_onEndpointGetAllOrders_badRequest() throws
     Exception {
     UserService userService = Mockito.mock(UserService.class);
-    UserController userController = new UserController(userService);
+    UserController userController = new UserController(userService, Mockito.mock(ListResponses.class));
 
     MockMvc movieMockMvc =
       MockMvcBuilders.standaloneSetup(userController).setControllerAdvice(new GlobalExceptionHandler()).build();
@@ -528,6 +544,24 @@ public class GlobalExceptionHandlerTest {
            .andExpect(jsonPath(ROOT_ERRORS, containsInAnyOrder(NO_AVAILABLE_TICKETS_EXCEPTION)));
   }
 
+  @Test
+  public void testSeatHoldNotFoundException_onEndpointGetAllCategories_notFound() throws Exception {
+    when(categoryService.getAllCategories()).thenThrow(new SeatHoldNotFoundException(SEAT_HOLD_NOT_FOUND_MESSAGE));
+
+    mockMvc.perform(get(URI))
+           .andExpect(status().isNotFound())
+           .andExpect(jsonPath(ROOT_ERRORS, containsInAnyOrder(SEAT_HOLD_NOT_FOUND_MESSAGE)));
+  }
+
+  @Test
+  public void testSeatNotAvailableException_onEndpointGetAllCategories_conflict() throws Exception {
+    when(categoryService.getAllCategories()).thenThrow(new SeatNotAvailableException(SEAT_NOT_AVAILABLE_MESSAGE));
+
+    mockMvc.perform(get(URI))
+           .andExpect(status().isConflict())
+           .andExpect(jsonPath(ROOT_ERRORS, containsInAnyOrder(SEAT_NOT_AVAILABLE_MESSAGE)));
+  }
+
   @Test
   public void testNoAvailableItemsException_onEndpointGetAllCategories_notFound() throws Exception {
     when(categoryService.getAllCategories()).thenThrow(new NoAvailableItemsException(NO_AVAILABLE_ITEMS_EXCEPTION));
@@ -0,0 +1,103 @@
+package filmfocus.http;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+
+  private static final int FAILURE_THRESHOLD = 3;
+  private static final long OPEN_DURATION = 1000;
+
+  private final AtomicLong now = new AtomicLong();
+  private CircuitBreaker circuitBreaker;
+
+  @Before
+  public void setUp() {
+    circuitBreaker = new CircuitBreaker("test", FAILURE_THRESHOLD, OPEN_DURATION, now::get);
+  }
+
+  @Test
+  public void testTryAcquire_fewerFailuresThanThreshold_staysClosed() {
+    fail(FAILURE_THRESHOLD - 1);
+
+    assertTrue(circuitBreaker.tryAcquire());
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+  }
+
+  @Test
+  public void testTryAcquire_successBetweenFailures_resetsCount() {
+    fail(FAILURE_THRESHOLD - 1);
+    circuitBreaker.onSuccess();
+    fail(FAILURE_THRESHOLD - 1);
+
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+  }
+
+  @Test
+  public void testTryAcquire_thresholdReached_refusedUntilOpenDurationPasses() {
+    fail(FAILURE_THRESHOLD);
+
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertFalse(circuitBreaker.tryAcquire());
+
+    now.set(OPEN_DURATION - 1);
+
+    assertFalse(circuitBreaker.tryAcquire());
+
+    now.set(OPEN_DURATION);
+
+    assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    assertTrue(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void testTryAcquire_halfOpen_onlyOneTrialCall() {
+    fail(FAILURE_THRESHOLD);
+    now.set(OPEN_DURATION);
+
+    assertTrue(circuitBreaker.tryAcquire());
+    assertFalse(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void testOnSuccess_trialCallSucceeded_closes() {
+    fail(FAILURE_THRESHOLD);
+    now.set(OPEN_DURATION);
+    circuitBreaker.tryAcquire();
+
+    circuitBreaker.onSuccess();
+
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    assertTrue(circuitBreaker.tryAcquire());
+    assertTrue(circuitBreaker.tryAcquire());
+  }
+
+  @Test
+  public void testOnFailure_trialCallFailed_opensAgain() {
+    fail(FAILURE_THRESHOLD);
+    now.set(OPEN_DURATION);
+    circuitBreaker.tryAcquire();
+
+    circuitBreaker.onFailure();
+
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertFalse(circuitBreaker.tryAcquire());
+
+    now.set(2 * OPEN_DURATION);
+
+    assertTrue(circuitBreaker.tryAcquire());
+  }
+
+  private void fail(int times) {
+    for (int i = 0; i < times; i++) {
+      assertTrue(circuitBreaker.tryAcquire());
+      circuitBreaker.onFailure();
+    }
+  }
+}
@@ -0,0 +1,268 @@
+package filmfocus.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import filmfocus.exceptions.UpstreamUnavailableException;
+import filmfocus.models.dtos.UpstreamEndpointStatsDto;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class UpstreamClientTest {
+
+  private static final String UPSTREAM = "test";
+  private static final String ENDPOINT = "Top250Movies";
+  private static final String FIRST_RESPONSE = "{\"items\": [{\"title\": \"Up\"}]}";
+  private static final String SECOND_RESPONSE = "{\"items\": [{\"title\": \"Heat\"}]}";
+  private static final Duration READ_TIMEOUT = Duration.ofMillis(300);
+  private static final int FAILURE_THRESHOLD = 2;
+  private static final long OPEN_DURATION = 1000;
+
+  private final AtomicInteger status = new AtomicInteger(200);
+  private final AtomicInteger requestCount = new AtomicInteger();
+  private final Set<InetSocketAddress> clientAddresses = ConcurrentHashMap.newKeySet();
+  private final AtomicLong now = new AtomicLong();
+  private volatile String responseBody = FIRST_RESPONSE;
+  private volatile CountDownLatch received = new CountDownLatch(0);
+  private final CountDownLatch released = new CountDownLatch(1);
+  private volatile boolean isBlocking;
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private URI uri;
+  private UpstreamMetrics metrics;
+
+  @Before
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    serverExecutor = Executors.newCachedThreadPool();
+    server.setExecutor(serverExecutor);
+    server.createContext("/", this::handle);
+    server.start();
+    uri = URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/");
+    metrics = new UpstreamMetrics();
+  }
+
+  @After
+  public void tearDown() {
+    released.countDown();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  public void testGet_upstreamAnswers_bodyReturned() {
+    UpstreamClient upstreamClient = createClient(4);
+
+    assertEquals(FIRST_RESPONSE, upstreamClient.get(ENDPOINT, uri));
+
+    UpstreamEndpointStatsDto stats = getStats();
+    assertEquals(1, stats.getCalls());
+    assertEquals(1, stats.getSuccesses());
+  }
+
+  @Test
+  public void testGet_sequentialCalls_connectionReused() {
+    UpstreamClient upstreamClient = createClient(4);
+
+    for (int i = 0; i < 3; i++) {
+      upstreamClient.get(ENDPOINT, uri);
+    }
+
+    assertEquals(3, requestCount.get());
+    assertEquals(1, clientAddresses.size());
+  }
+
+  @Test
+  public void testGet_serverErrorWithoutGoodResponse_throwsUpstreamUnavailable() {
+    UpstreamClient upstreamClient = createClient(4);
+    status.set(500);
+
+    try {
+      upstreamClient.get(ENDPOINT, uri);
+      fail();
+    } catch (UpstreamUnavailableException exception) {
+      assertEquals(1, getStats().getFailures());
+    }
+  }
+
+  @Test
+  public void testGet_serverErrorAfterGoodResponse_throwsUpstreamUnavailable() {
+    UpstreamClient upstreamClient = createClient(4);
+    upstreamClient.get(ENDPOINT, uri);
+    status.set(503);
+
+    try {
+      upstreamClient.get(ENDPOINT, uri);
+      fail();
+    } catch (UpstreamUnavailableException exception) {
+      UpstreamEndpointStatsDto stats = getStats();
+      assertEquals(2, stats.getCalls());
+      assertEquals(1, stats.getFailures());
+    }
+  }
+
+  @Test
+  public void testGet_upstreamHangs_timesOut() {
+    UpstreamClient upstreamClient = createClient(4);
+    isBlocking = true;
+    long start = System.nanoTime();
+
+    try {
+      upstreamClient.get(ENDPOINT, uri);
+      fail();
+    } catch (UpstreamUnavailableException exception) {
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+      assertEquals(1, getStats().getFailures());
+    }
+  }
+
+  @Test
+  public void testGet_circuitOpen_upstreamNotCalled() {
+    UpstreamClient upstreamClient = createClient(4);
+    upstreamClient.get(ENDPOINT, uri);
+    status.set(500);
+
+    for (int i = 0; i <= FAILURE_THRESHOLD; i++) {
+      try {
+        upstreamClient.get(ENDPOINT, uri);
+        fail();
+      } catch (UpstreamUnavailableException exception) {
+        // The last call is refused by the open circuit.
+      }
+    }
+
+    assertEquals(FAILURE_THRESHOLD + 1, requestCount.get());
+    assertEquals(1, getStats().getShortCircuits());
+
+    status.set(200);
+    responseBody = SECOND_RESPONSE;
+    now.set(OPEN_DURATION);
+
+    assertEquals(SECOND_RESPONSE, upstreamClient.get(ENDPOINT, uri));
+  }
+
+  @Test
+  public void testGet_trialCallThrowsUncheckedException_circuitNotStuck() {
+    UpstreamClient upstreamClient = createClient(4);
+    status.set(500);
+
+    for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+      try {
+        upstreamClient.get(ENDPOINT, uri);
+        fail();
+      } catch (UpstreamUnavailableException exception) {
+        // The circuit opens after the last failed call.
+      }
+    }
+
+    now.set(OPEN_DURATION);
+
+    try {
+      upstreamClient.get(ENDPOINT, URI.create("ftp://" + uri.getAuthority() + "/"));
+      fail();
+    } catch (UpstreamUnavailableException exception) {
+      assertEquals(FAILURE_THRESHOLD + 1, getStats().getFailures());
+    }
+
+    status.set(200);
+    now.set(2 * OPEN_DURATION);
+
+    assertEquals(FIRST_RESPONSE, upstreamClient.get(ENDPOINT, uri));
+  }
+
+  @Test
+  public void testGet_bulkheadFull_callRefused() throws Exception {
+    UpstreamClient upstreamClient = createClient(1);
+    ExecutorService caller = Executors.newSingleThreadExecutor();
+    isBlocking = true;
+    received = new CountDownLatch(1);
+
+    try {
+      Future<?> blocked = caller.submit(() -> {
+        try {
+          upstreamClient.get(ENDPOINT, uri);
+        } catch (UpstreamUnavailableException exception) {
+          // The blocked call times out once the refused one is checked.
+        }
+      });
+
+      assertTrue(received.await(5, TimeUnit.SECONDS));
+
+      try {
+        upstreamClient.get(ENDPOINT, uri);
+        fail();
+      } catch (UpstreamUnavailableException exception) {
+        assertEquals(1, getStats().getRejections());
+      }
+
+      blocked.get(5, TimeUnit.SECONDS);
+      assertEquals(1, requestCount.get());
+    } finally {
+      caller.shutdownNow();
+    }
+  }
+
+  private UpstreamClient createClient(int maxConcurrentCalls) {
+    HttpClient httpClient = HttpClient.newBuilder()
+                                      .version(HttpClient.Version.HTTP_1_1)
+                                      .connectTimeout(Duration.ofSeconds(1))
+                                      .build();
+
+    return new UpstreamClient(UPSTREAM, httpClient, READ_TIMEOUT, maxConcurrentCalls,
+                              new CircuitBreaker(UPSTREAM, FAILURE_THRESHOLD, OPEN_DURATION, now::get), metrics);
+  }
+
+  private UpstreamEndpointStatsDto getStats() {
+    List<UpstreamEndpointStatsDto> stats = metrics.getStats();
+
+    assertEquals(1, stats.size());
+    assertEquals(UPSTREAM, stats.get(0).getUpstream());
+    assertEquals(ENDPOINT, stats.get(0).getEndpoint());
+
+    return stats.get(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requestCount.incrementAndGet();
+    clientAddresses.add(exchange.getRemoteAddress());
+    received.countDown();
+
+    if (isBlocking) {
+      try {
+        released.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    byte[] body = responseBody.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(status.get(), body.length);
+
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(body);
+    }
+  }
+}
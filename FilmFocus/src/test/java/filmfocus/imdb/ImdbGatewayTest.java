@@ -0,0 +1,154 @@
+package filmfocus.imdb;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ImdbGatewayTest {
+
+  private static final long TTL = 1000;
+  private static final long MAX_STALE = 5000;
+  private static final String FIRST_RESPONSE =
+    "{\"items\": [{\"title\": \"Up\", \"year\": \"2009\", \"rank\": \"1\"}]}";
+  private static final String SECOND_RESPONSE = "{\"items\": [{\"title\": \"Heat\", \"year\": \"1995\"}]}";
+  private static final String FIRST_MOVIES = "{\"movies\":[{\"title\":\"Up\",\"year\":\"2009\"}]}";
+  private static final String SECOND_MOVIES = "{\"movies\":[{\"title\":\"Heat\",\"year\":\"1995\"}]}";
+
+  private final AtomicLong now = new AtomicLong();
+  private StubImdbClient imdbClient;
+  private ExecutorService executor;
+  private ImdbGateway imdbGateway;
+
+  @Before
+  public void setUp() {
+    imdbClient = new StubImdbClient();
+    executor = Executors.newSingleThreadExecutor();
+    imdbGateway = new ImdbGateway(imdbClient, TTL, MAX_STALE, now::get, executor);
+    imdbClient.setResponse(ImdbList.TOP, FIRST_RESPONSE);
+  }
+
+  @After
+  public void tearDown() {
+    imdbGateway.shutdown();
+  }
+
+  @Test
+  public void testGetMovies_freshList_servedFromCache() throws Exception {
+    JSONAssert.assertEquals(FIRST_MOVIES, imdbGateway.getMovies(ImdbList.TOP), true);
+
+    now.set(TTL - 1);
+    imdbClient.setResponse(ImdbList.TOP, SECOND_RESPONSE);
+
+    JSONAssert.assertEquals(FIRST_MOVIES, imdbGateway.getMovies(ImdbList.TOP), true);
+    assertEquals(1, imdbClient.getCallCount(ImdbList.TOP));
+  }
+
+  @Test
+  public void testGetMovies_staleList_servedWhileRefreshedInBackground() throws Exception {
+    imdbGateway.getMovies(ImdbList.TOP);
+    imdbClient.setResponse(ImdbList.TOP, SECOND_RESPONSE);
+    now.set(TTL);
+
+    JSONAssert.assertEquals(FIRST_MOVIES, imdbGateway.getMovies(ImdbList.TOP), true);
+
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    JSONAssert.assertEquals(SECOND_MOVIES, imdbGateway.getMovies(ImdbList.TOP), true);
+    assertEquals(2, imdbClient.getCallCount(ImdbList.TOP));
+  }
+
+  @Test
+  public void testGetMovies_expiredList_fetchedBeforeReturning() throws Exception {
+    imdbGateway.getMovies(ImdbList.TOP);
+    imdbClient.setResponse(ImdbList.TOP, SECOND_RESPONSE);
+    now.set(TTL + MAX_STALE);
+
+    JSONAssert.assertEquals(SECOND_MOVIES, imdbGateway.getMovies(ImdbList.TOP), true);
+    assertEquals(2, imdbClient.getCallCount(ImdbList.TOP));
+  }
+
+  @Test
+  public void testGetMovies_failedBackgroundRefresh_keepsStaleList() throws Exception {
+    imdbGateway.getMovies(ImdbList.TOP);
+    imdbClient.setResponse(ImdbList.TOP, "not json");
+    now.set(TTL);
+
+    imdbGateway.getMovies(ImdbList.TOP);
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    JSONAssert.assertEquals(FIRST_MOVIES, imdbGateway.getMovies(ImdbList.TOP), true);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGetMovies_upstreamFailsOnMiss_throwsUpstreamException() {
+    ImdbGateway failing = new ImdbGateway(list -> {
+      throw new IllegalStateException("IMDB is down");
+    }, TTL, MAX_STALE, now::get, executor);
+
+    failing.getMovies(ImdbList.BOX_OFFICE);
+  }
+
+  @Test
+  public void testGetMovies_concurrentMisses_oneUpstreamCall() throws Exception {
+    int requests = 8;
+    CountDownLatch fetchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFetch = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+    ImdbGateway slow = new ImdbGateway(list -> {
+      calls.incrementAndGet();
+      fetchStarted.countDown();
+      await(releaseFetch);
+      return FIRST_RESPONSE;
+    }, TTL, MAX_STALE, now::get, executor);
+    ExecutorService clients = Executors.newFixedThreadPool(requests);
+
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      results.add(clients.submit(() -> slow.getMovies(ImdbList.COMING_SOON)));
+      assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+
+      for (int i = 1; i < requests; i++) {
+        results.add(clients.submit(() -> slow.getMovies(ImdbList.COMING_SOON)));
+      }
+
+      // Gives the waiting requests time to reach the running fetch before it completes.
+      Thread.sleep(100);
+      releaseFetch.countDown();
+
+      for (Future<String> result : results) {
+        JSONAssert.assertEquals(FIRST_MOVIES, result.get(5, TimeUnit.SECONDS), true);
+      }
+
+      assertEquals(1, calls.get());
+    } finally {
+      clients.shutdownNow();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      if (!latch.await(5, TimeUnit.SECONDS)) {
+        fail("The fetch was never released");
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
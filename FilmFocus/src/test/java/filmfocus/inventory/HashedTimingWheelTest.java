@@ -0,0 +1,95 @@
+package filmfocus.inventory;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HashedTimingWheelTest {
+
+  private static final long START = 1_000_000L;
+  private static final long TICK = 100L;
+
+  @Test
+  public void testAdvance_beforeDeadline_nothingExpired() {
+    HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, START);
+    wheel.schedule("hold", START + 450);
+
+    assertTrue(wheel.advance(START + 449).isEmpty());
+    assertEquals(1, wheel.getPendingTimeouts());
+  }
+
+  @Test
+  public void testAdvance_afterDeadline_expiredOnce() {
+    HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, START);
+    HashedTimingWheel.Timeout<String> timeout = wheel.schedule("hold", START + 450);
+
+    assertEquals(Collections.singletonList("hold"), wheel.advance(START + 500));
+    assertTrue(wheel.advance(START + 10_000).isEmpty());
+    assertTrue(timeout.isExpired());
+    assertEquals(0, wheel.getPendingTimeouts());
+  }
+
+  @Test
+  public void testAdvance_deadlineBeyondOneTurn_waitsForRemainingRounds() {
+    HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 4, START);
+    wheel.schedule("hold", START + 1_000);
+
+    assertTrue(wheel.advance(START + 999).isEmpty());
+    assertEquals(Collections.singletonList("hold"), wheel.advance(START + 1_000));
+  }
+
+  @Test
+  public void testCancel_beforeExpiry_neverExpires() {
+    HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, START);
+    HashedTimingWheel.Timeout<String> timeout = wheel.schedule("hold", START + 200);
+
+    assertTrue(timeout.cancel());
+    assertTrue(wheel.advance(START + 1_000).isEmpty());
+    assertFalse(timeout.isExpired());
+    assertEquals(0, wheel.getPendingTimeouts());
+  }
+
+  @Test
+  public void testCancel_afterExpiry_fails() {
+    HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, START);
+    HashedTimingWheel.Timeout<String> timeout = wheel.schedule("hold", START + 200);
+
+    wheel.advance(START + 200);
+
+    assertFalse(timeout.cancel());
+  }
+
+  @Test
+  public void testAdvance_manyTimeouts_expiredInDeadlineOrder() {
+    HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, 16, START);
+    List<Integer> expired = new ArrayList<>();
+
+    for (int i = 0; i < 50_000; i++) {
+      wheel.schedule(i, START + (i % 100) * TICK);
+    }
+
+    for (long now = START; now <= START + 100 * TICK; now += TICK) {
+      List<Integer> batch = wheel.advance(now);
+
+      for (int timeout : batch) {
+        assertEquals((now - START) / TICK, timeout % 100);
+      }
+
+      expired.addAll(batch);
+    }
+
+    assertEquals(50_000, expired.size());
+    assertEquals(0, wheel.getPendingTimeouts());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructor_wheelSizeNotPowerOfTwo_throwsIllegalArgumentException() {
+    new HashedTimingWheel<String>(TICK, 10, START);
+  }
+}
@@ -0,0 +1,116 @@
+package filmfocus.inventory;
+
+import filmfocus.models.entities.Hall;
+import filmfocus.models.entities.Seat;
+import filmfocus.testUtils.factories.CinemaFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SeatMapTest {
+
+  @Test
+  public void testOccupy_freeSeat_success() {
+    SeatMap seatMap = new SeatMap(2, 5, Collections.emptyList());
+
+    assertTrue(seatMap.occupy(1, 3));
+    assertFalse(seatMap.isFree(1, 3));
+    assertEquals(9, seatMap.getAvailableSeats());
+  }
+
+  @Test
+  public void testOccupy_takenOrBlockedSeat_fail() {
+    SeatMap seatMap = new SeatMap(2, 5, Collections.singletonList(new Seat(2, 1)));
+
+    assertTrue(seatMap.occupy(1, 3));
+    assertFalse(seatMap.occupy(1, 3));
+    assertFalse(seatMap.occupy(2, 1));
+    assertFalse(seatMap.occupy(3, 1));
+  }
+
+  @Test
+  public void testRelease_takenSeat_seatFreed() {
+    SeatMap seatMap = new SeatMap(2, 5, Collections.emptyList());
+
+    seatMap.occupy(1, 3);
+    seatMap.release(1, 3);
+
+    assertTrue(seatMap.isFree(1, 3));
+    assertEquals(10, seatMap.getAvailableSeats());
+  }
+
+  @Test
+  public void testFindBestAdjacent_emptyHall_centerOfMiddleRow() {
+    SeatMap seatMap = new SeatMap(5, 10, Collections.emptyList());
+
+    List<Seat> seats = seatMap.findBestAdjacent(2);
+
+    assertEquals(Arrays.asList(new Seat(3, 5), new Seat(3, 6)), seats);
+  }
+
+  @Test
+  public void testOccupyBestAdjacent_rowFragmented_skipsToNextRow() {
+    SeatMap seatMap = new SeatMap(3, 4, Collections.emptyList());
+    seatMap.occupy(2, 2);
+    seatMap.occupy(2, 4);
+
+    List<Seat> seats = seatMap.occupyBestAdjacent(2);
+
+    assertEquals(Arrays.asList(new Seat(3, 2), new Seat(3, 3)), seats);
+    assertFalse(seatMap.isFree(3, 2));
+    assertFalse(seatMap.isFree(3, 3));
+  }
+
+  @Test
+  public void testOccupyBestAdjacent_noRun_returnsEmptyList() {
+    SeatMap seatMap = new SeatMap(1, 4, Collections.singletonList(new Seat(1, 2)));
+    seatMap.occupy(1, 4);
+
+    assertTrue(seatMap.occupyBestAdjacent(2).isEmpty());
+    assertTrue(seatMap.occupyBestAdjacent(5).isEmpty());
+  }
+
+  @Test
+  public void testOccupyBestAdjacent_fullRowOfSixtyFour_success() {
+    SeatMap seatMap = new SeatMap(1, SeatMap.MAX_SEATS_PER_ROW, Collections.emptyList());
+
+    assertEquals(SeatMap.MAX_SEATS_PER_ROW, seatMap.occupyBestAdjacent(SeatMap.MAX_SEATS_PER_ROW).size());
+    assertEquals(0, seatMap.getAvailableSeats());
+  }
+
+  @Test
+  public void testRender_mixedSeats_success() {
+    SeatMap seatMap = new SeatMap(2, 3, Collections.singletonList(new Seat(2, 3)));
+    seatMap.occupy(1, 2);
+
+    assertEquals(Arrays.asList("OXO", "OO_"), seatMap.render());
+  }
+
+  @Test
+  public void testForHall_noLayout_defaultLayoutMatchesCapacity() {
+    SeatMap seatMap = SeatMap.forHall(new Hall(1, 25, CinemaFactory.getDefaultCinema()));
+
+    assertEquals(3, seatMap.getRows());
+    assertEquals(SeatMap.DEFAULT_SEATS_PER_ROW, seatMap.getSeatsPerRow());
+    assertEquals(25, seatMap.getAvailableSeats());
+  }
+
+  @Test
+  public void testEmptyCopy_keepsBlockedSeats() {
+    SeatMap seatMap = new SeatMap(1, 3, Collections.singletonList(new Seat(1, 1)));
+    seatMap.occupy(1, 2);
+
+    assertEquals(Collections.singletonList("_OO"), seatMap.emptyCopy().render());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructor_rowTooWide_throwsIllegalArgumentException() {
+    new SeatMap(1, SeatMap.MAX_SEATS_PER_ROW + 1, Collections.emptyList());
+  }
+}
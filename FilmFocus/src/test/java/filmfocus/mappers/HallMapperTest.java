@@ -24,6 +24,9 @@ public class HallMapperTest {
     @Mock
     private CinemaMapper cinemaMapper;
 
+    @Mock
+    private SeatMapper seatMapper;
+
     @InjectMocks
     private HallMapper hallMapper;
 
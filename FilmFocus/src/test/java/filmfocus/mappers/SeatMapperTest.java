@@ -0,0 +1,50 @@
+package filmfocus.mappers;
+
+import filmfocus.models.dtos.SeatDto;
+import filmfocus.testUtils.factories.TicketFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.List;
+
+import static filmfocus.testUtils.constants.TicketConstants.SEAT_NUMBER;
+import static filmfocus.testUtils.constants.TicketConstants.SEAT_ROW;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SeatMapperTest {
+
+    @InjectMocks
+    private SeatMapper seatMapper;
+
+    @Test
+    public void testMapSeatToSeatDto_success() {
+        SeatDto seatDto = seatMapper.mapSeatToSeatDto(TicketFactory.getDefaultSeat());
+
+        assertEquals(SEAT_ROW, seatDto.getSeatRow());
+        assertEquals(SEAT_NUMBER, seatDto.getSeatNumber());
+    }
+
+    @Test
+    public void testMapSeatToSeatDto_noSeat_returnsNull() {
+        assertNull(seatMapper.mapSeatToSeatDto(null));
+    }
+
+    @Test
+    public void testMapSeatListToSeatDtoList_success() {
+        List<SeatDto> seatDtoList =
+          seatMapper.mapSeatListToSeatDtoList(Collections.singletonList(TicketFactory.getDefaultSeat()));
+
+        assertEquals(Collections.singletonList(TicketFactory.getDefaultSeatDto()), seatDtoList);
+    }
+
+    @Test
+    public void testMapSeatListToSeatDtoList_noSeats_returnsEmptyList() {
+        assertTrue(seatMapper.mapSeatListToSeatDtoList(null).isEmpty());
+    }
+}
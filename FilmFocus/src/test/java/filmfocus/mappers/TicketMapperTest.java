@@ -24,18 +24,23 @@ public class TicketMapperTest {
     @Mock
     private ProjectionMapper projectionMapper;
 
+    @Mock
+    private SeatMapper seatMapper;
+
     @InjectMocks
     private TicketMapper ticketMapper;
 
     @Test
     public void testMapTicketToTicketDto_success() {
         when(projectionMapper.mapProjectionToProjectionDto(any())).thenReturn(getDefaultProjectionDto());
+        when(seatMapper.mapSeatToSeatDto(any())).thenReturn(TicketFactory.getDefaultSeatDto());
 
         TicketDto ticket = ticketMapper.mapTicketToTicketDto(TicketFactory.getDefaultTicket());
 
         assertEquals(ticket.getId(), ID);
         assertEquals(ticket.getDateOfPurchase(), DATE_OF_PURCHASE);
         assertEquals(ticket.getProjection().getStartTime(), ProjectionConstants.START_TIME);
+        assertEquals(ticket.getSeat(), TicketFactory.getDefaultSeatDto());
     }
 
     @Test
@@ -0,0 +1,90 @@
+package filmfocus.pagination;
+
+import filmfocus.models.entities.Item;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KeysetPagingTest {
+
+  private static final int DEFAULT_PAGE_SIZE = 2;
+  private static final int MAX_PAGE_SIZE = 3;
+  private static final int ITEM_COUNT = 7;
+
+  @Mock
+  private EntityManager entityManager;
+
+  private KeysetPaging keysetPaging;
+  private List<Pageable> requestedPages;
+
+  @Before
+  public void setUp() {
+    keysetPaging = new KeysetPaging(entityManager, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+    requestedPages = new ArrayList<>();
+  }
+
+  @Test
+  public void testGetPage_noSize_defaultSizeAndNextAfterId() {
+    KeysetPage<String> page = keysetPaging.getPage(null, null, this::findAfter, Item::getId, Item::getName);
+
+    assertEquals(List.of("item1", "item2"), page.getItems());
+    assertEquals(Integer.valueOf(2), page.getNextAfterId());
+    assertEquals(PageRequest.of(0, DEFAULT_PAGE_SIZE + 1, Sort.by("id")), requestedPages.get(0));
+  }
+
+  @Test
+  public void testGetPage_lastPage_noNextAfterId() {
+    KeysetPage<String> page = keysetPaging.getPage(4, 3, this::findAfter, Item::getId, Item::getName);
+
+    assertEquals(List.of("item5", "item6", "item7"), page.getItems());
+    assertNull(page.getNextAfterId());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetPage_sizeAboveMax_throwsIllegalArgumentException() {
+    keysetPaging.getPage(null, MAX_PAGE_SIZE + 1, this::findAfter, Item::getId, Item::getName);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetPage_sizeZero_throwsIllegalArgumentException() {
+    keysetPaging.getPage(null, 0, this::findAfter, Item::getId, Item::getName);
+  }
+
+  @Test
+  public void testForEach_allRowsInMaxSizeChunks_clearsAfterEveryChunk() {
+    List<Integer> ids = new ArrayList<>();
+
+    keysetPaging.forEach(this::findAfter, Item::getId, item -> ids.add(item.getId()));
+
+    assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), ids);
+    assertEquals(3, requestedPages.size());
+    verify(entityManager, times(3)).clear();
+  }
+
+  // The rows of ITEM_COUNT items with ids from 1, as the derived findByIdGreaterThan query returns them.
+  private List<Item> findAfter(int afterId, Pageable page) {
+    requestedPages.add(page);
+
+    return IntStream.rangeClosed(afterId + 1, ITEM_COUNT)
+                    .limit(page.getPageSize())
+                    .mapToObj(id -> new Item(id, "item" + id, 1.0, 1))
+                    .collect(Collectors.toList());
+  }
+}
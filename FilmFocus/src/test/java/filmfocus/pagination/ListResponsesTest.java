@@ -0,0 +1,45 @@
+package filmfocus.pagination;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+
+public class ListResponsesTest {
+
+  private final ListResponses listResponses = new ListResponses(Jackson2ObjectMapperBuilder.json().build());
+
+  @Test
+  public void testStream_elements_writesJsonArray() throws Exception {
+    ResponseEntity<StreamingResponseBody> response = listResponses.<Map<String, Integer>>stream(
+      action -> List.of(Map.of("id", 1), Map.of("id", 2)).forEach(action));
+
+    assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    assertEquals("[{\"id\":1},{\"id\":2}]", write(response.getBody()));
+  }
+
+  @Test
+  public void testStream_noElements_writesEmptyArray() throws Exception {
+    Consumer<Consumer<Object>> none = action -> {
+    };
+
+    assertEquals("[]", write(listResponses.stream(none).getBody()));
+  }
+
+  private static String write(StreamingResponseBody body) throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    body.writeTo(outputStream);
+
+    return outputStream.toString(StandardCharsets.UTF_8);
+  }
+}
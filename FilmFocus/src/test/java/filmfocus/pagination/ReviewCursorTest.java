@@ -0,0 +1,38 @@
+package filmfocus.pagination;
+
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ReviewCursorTest {
+
+  private static final LocalDate DATE_MODIFIED = LocalDate.of(2024, 1, 1);
+
+  @Test
+  public void testDecode_encodedCursor_sameKeyAndDirection() {
+    String token = new ReviewCursor(DATE_MODIFIED, 42, Sort.Direction.DESC).encode();
+
+    ReviewCursor cursor = ReviewCursor.decode(token);
+
+    assertFalse(token.contains("2024"));
+    assertEquals(DATE_MODIFIED, cursor.getDateModified());
+    assertEquals(42, cursor.getId());
+    assertEquals(Sort.Direction.DESC, cursor.getDirection());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecode_notBase64_throwsIllegalArgumentException() {
+    ReviewCursor.decode("not a cursor!");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecode_missingParts_throwsIllegalArgumentException() {
+    ReviewCursor.decode(Base64.getUrlEncoder().encodeToString("19000:1".getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,62 @@
+package filmfocus.search;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PostingListTest {
+
+  @Test
+  public void testAdd_increasingIds_appendedAndCompressed() {
+    PostingList list = new PostingList();
+
+    for (int id = 1000; id < 1100; id++) {
+      list.add(id);
+    }
+
+    assertEquals(100, list.size());
+    assertEquals(1000, list.toArray()[0]);
+    assertEquals(1099, list.toArray()[99]);
+    assertTrue(list.getEncodedLength() < 110);
+  }
+
+  @Test
+  public void testAdd_outOfOrderAndDuplicate_keptSortedAndUnique() {
+    PostingList list = new PostingList();
+
+    list.add(5);
+    list.add(300000);
+    list.add(2);
+    assertFalse(list.add(5));
+    list.add(70);
+
+    assertArrayEquals(new int[] {2, 5, 70, 300000}, list.toArray());
+  }
+
+  @Test
+  public void testRemove_idsRemovedAndAppendContinues() {
+    PostingList list = new PostingList();
+    list.add(1);
+    list.add(2);
+    list.add(3);
+
+    assertTrue(list.remove(2));
+    assertFalse(list.remove(4));
+    list.add(9);
+
+    assertArrayEquals(new int[] {1, 3, 9}, list.toArray());
+  }
+
+  @Test
+  public void testIntersectAndUnion_sortedResults() {
+    int[] first = {1, 3, 5, 7};
+    int[] second = {3, 4, 5, 8};
+
+    assertArrayEquals(new int[] {3, 5}, PostingList.intersect(first, second));
+    assertArrayEquals(new int[] {1, 3, 4, 5, 7, 8}, PostingList.union(first, second));
+    assertArrayEquals(first, PostingList.union(first, new int[0]));
+  }
+}
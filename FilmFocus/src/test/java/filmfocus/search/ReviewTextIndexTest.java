@@ -0,0 +1,85 @@
+package filmfocus.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReviewTextIndexTest {
+
+  private static final int LIMIT = 10;
+
+  private ReviewTextIndex index;
+
+  @Before
+  public void setUp() {
+    index = new ReviewTextIndex();
+    index.add(1, "Great sound, comfy seats!", null, 12);
+    index.add(2, "The SOUND was too loud", null, 7);
+    index.add(3, "Loud audio and sticky floors", null, 12);
+    index.add(4, "Great sound design", 5, null);
+  }
+
+  @Test
+  public void testTokenize_lowerCasedWordsWithoutDuplicates() {
+    assertEquals(new LinkedHashSet<>(Arrays.asList("great", "sound", "3d")),
+                 ReviewTextIndex.tokenize("Great SOUND, great 3D!"));
+  }
+
+  @Test
+  public void testParseQuery_orSeparatesGroups() {
+    List<Set<String>> groups = ReviewTextIndex.parseQuery("sound OR audio AND loud");
+
+    assertEquals(2, groups.size());
+    assertEquals(Collections.singleton("sound"), groups.get(0));
+    assertEquals(new LinkedHashSet<>(Arrays.asList("audio", "loud")), groups.get(1));
+    assertTrue(ReviewTextIndex.parseQuery(" OR !? ").isEmpty());
+  }
+
+  @Test
+  public void testSearch_singleTerm_newestFirst() {
+    assertArrayEquals(new int[] {4, 2, 1}, search("sound", null, null));
+  }
+
+  @Test
+  public void testSearch_termsAndCinema_intersected() {
+    assertArrayEquals(new int[] {1}, search("sound", null, 12));
+    assertArrayEquals(new int[] {3}, search("loud audio", null, 12));
+    assertArrayEquals(new int[] {4}, search("great", 5, null));
+  }
+
+  @Test
+  public void testSearch_orGroups_united() {
+    assertArrayEquals(new int[] {3, 1}, search("seats OR audio loud", null, 12));
+  }
+
+  @Test
+  public void testSearch_unknownTerm_noMatches() {
+    assertArrayEquals(new int[0], search("sound popcorn", null, null));
+  }
+
+  @Test
+  public void testRemove_reviewNoLongerFound() {
+    index.remove(2, "The SOUND was too loud", null, 7);
+
+    assertArrayEquals(new int[] {4, 1}, search("sound", null, null));
+    assertArrayEquals(new int[] {3}, search("loud", null, null));
+  }
+
+  @Test
+  public void testSearch_limit_newestKept() {
+    assertArrayEquals(new int[] {4, 2}, index.search(ReviewTextIndex.parseQuery("sound"), null, null, 2));
+  }
+
+  private int[] search(String query, Integer movieId, Integer cinemaId) {
+    return index.search(ReviewTextIndex.parseQuery(query), movieId, cinemaId, LIMIT);
+  }
+}
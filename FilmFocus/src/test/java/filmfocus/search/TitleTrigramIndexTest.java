@@ -0,0 +1,65 @@
+package filmfocus.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TitleTrigramIndexTest {
+
+  private static final int LIMIT = 10;
+
+  private TitleTrigramIndex index;
+
+  @Before
+  public void setUp() {
+    Map<Integer, String> titles = new HashMap<>();
+    titles.put(1, "Le Fabuleux Destin d'Amélie Poulain");
+    titles.put(2, "Amélie");
+    titles.put(3, "The Matrix");
+    titles.put(4, "The Matrix Reloaded");
+    titles.put(5, "Dreamatrix");
+
+    index = new TitleTrigramIndex();
+    index.replaceAll(titles);
+  }
+
+  @Test
+  public void testFold_caseAccentsAndPunctuationRemoved() {
+    assertEquals("le fabuleux destin d amelie poulain",
+                 TitleTrigramIndex.fold("Le Fabuleux  Destin d'Amélie Poulain!"));
+  }
+
+  @Test
+  public void testSearch_exactThenPrefixThenWordThenSubstring() {
+    assertArrayEquals(new int[] {2, 1}, index.search("AMELIE", id -> true, LIMIT));
+    assertArrayEquals(new int[] {3, 4, 5}, index.search("matrix", id -> true, LIMIT));
+    assertArrayEquals(new int[] {3, 4}, index.search("the matrix", id -> true, LIMIT));
+  }
+
+  @Test
+  public void testSearch_shortQuery_wordStartsOnly() {
+    assertArrayEquals(new int[] {3, 4}, index.search("ma", id -> true, LIMIT));
+    assertArrayEquals(new int[] {4}, index.search("r", id -> true, LIMIT));
+  }
+
+  @Test
+  public void testSearch_filterAndLimitApplied() {
+    assertArrayEquals(new int[] {4, 5}, index.search("matrix", id -> id != 3, LIMIT));
+    assertArrayEquals(new int[] {3}, index.search("matrix", id -> true, 1));
+    assertArrayEquals(new int[0], index.search("  ", id -> true, LIMIT));
+  }
+
+  @Test
+  public void testAddAndRemove_titleChangeReindexed() {
+    index.add(3, "The Animatrix");
+    index.remove(4);
+
+    assertArrayEquals(new int[] {5, 3}, index.search("matrix", id -> true, LIMIT));
+    assertArrayEquals(new int[0], index.search("reloaded", id -> true, LIMIT));
+  }
+}
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -143,14 +144,18 @@ public class CinemaServiceTest {
   }
 
   @Test
-  public void testUpdateCinemaAverageRating_success() {
-    double newRating = 4.5;
+  public void testAddCinemaRating_cinemaExists_runningSumUpdated() {
+    when(cinemaRepository.addRating(ID, 4.5, 1)).thenReturn(1);
 
-    when(cinemaMapper.mapCinemaToCinemaDto(any())).thenReturn(CinemaFactory.getDefaultCinemaDto());
-    when(cinemaRepository.findById(anyInt())).thenReturn(Optional.of(CinemaFactory.getDefaultCinema()));
+    cinemaService.addCinemaRating(ID, 4.5, 1);
+
+    verify(cinemaRepository).addRating(ID, 4.5, 1);
+  }
 
-    CinemaDto result = cinemaService.updateCinemaAverageRating(newRating, ID);
+  @Test(expected = CinemaNotFoundException.class)
+  public void testAddCinemaRating_cinemaNotFound_throwsCinemaNotFoundException() {
+    when(cinemaRepository.addRating(ID, -4.5, -1)).thenReturn(0);
 
-    assertEquals(newRating, result.getAverageRating(), 0.01);
+    cinemaService.addCinemaRating(ID, -4.5, -1);
   }
-}
\ No newline at end of file
+}
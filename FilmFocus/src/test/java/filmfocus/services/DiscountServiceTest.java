@@ -13,7 +13,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.List;
 import java.util.Optional;
 
 import static filmfocus.testUtils.constants.DiscountConstants.CODE;
@@ -55,27 +54,6 @@ public class DiscountServiceTest {
     discountService.addDiscount(DiscountFactory.getDefaultDiscountRequest());
   }
 
-  @Test
-  public void testGetAllDiscounts_discountsFound_success() {
-    List<Discount> expected = DiscountFactory.getDefaultDiscountList();
-    when(discountRepository.findAll()).thenReturn(expected);
-
-    List<Discount> result = discountService.getAllDiscounts();
-
-    assertEquals(expected, result);
-  }
-
-  @Test
-  public void testGetAllDiscountsDto_discountsFound_success() {
-    List<DiscountDto> expected = DiscountFactory.getDefaultDiscountDtoList();
-    when(discountRepository.findAll()).thenReturn(DiscountFactory.getDefaultDiscountList());
-    when(discountMapper.mapDiscountListToDiscountDtoList(any())).thenReturn(expected);
-
-    List<DiscountDto> result = discountService.getAllDiscountDtos();
-
-    assertEquals(expected, result);
-  }
-
   @Test
   public void testGetDiscountById_discountFound_success() {
     Discount expected = DiscountFactory.getDefaultDiscount();
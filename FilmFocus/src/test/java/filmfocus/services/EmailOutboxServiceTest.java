@@ -0,0 +1,209 @@
+package filmfocus.services;
+
+import com.mailjet.client.errors.MailjetException;
+import com.mailjet.client.errors.MailjetSocketTimeoutException;
+import filmfocus.email.EmailMessage;
+import filmfocus.email.EmailSendResult;
+import filmfocus.email.EmailSender;
+import filmfocus.email.StubEmailSender;
+import filmfocus.models.entities.OutboxEmail;
+import filmfocus.repositories.OutboxEmailRepository;
+import filmfocus.testUtils.factories.UserFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EmailOutboxServiceTest {
+
+  private static final int BATCH_SIZE = 2;
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long INITIAL_BACKOFF = 1_000L;
+  private static final long MAX_BACKOFF = 3_000L;
+  private static final long RETENTION = 60_000L;
+  private static final LocalDateTime NOW = LocalDateTime.of(2023, 5, 10, 12, 0);
+
+  @Mock
+  private OutboxEmailRepository outboxEmailRepository;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private StubEmailSender stubEmailSender;
+
+  @Before
+  public void setup() {
+    stubEmailSender = new StubEmailSender();
+  }
+
+  @Test
+  public void testEnqueue_messageSavedAsPending() {
+    when(outboxEmailRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    OutboxEmail email = outboxService(stubEmailSender).enqueue(defaultMessage());
+
+    assertEquals(OutboxEmail.Status.PENDING, email.getStatus());
+    assertEquals(0, email.getAttempts());
+    assertEquals(UserFactory.getDefaultUser().getEmail(), email.getRecipientEmail());
+    assertEquals(0, stubEmailSender.getSentMessages().size());
+  }
+
+  @Test
+  public void testDispatchBatch_dueEmails_sentThroughStub() {
+    List<OutboxEmail> emails = Arrays.asList(pendingEmail(), pendingEmail());
+
+    when(outboxEmailRepository.findDueEmails(eq(OutboxEmail.Status.PENDING), eq(NOW), any())).thenReturn(emails);
+
+    int dispatched = outboxService(stubEmailSender).dispatchBatch(NOW);
+
+    assertEquals(2, dispatched);
+    assertEquals(2, stubEmailSender.getSentMessages().size());
+    assertEquals(OutboxEmail.Status.SENT, emails.get(0).getStatus());
+    assertEquals(1, emails.get(0).getAttempts());
+    verify(outboxEmailRepository).saveAll(emails);
+  }
+
+  @Test
+  public void testDispatchBatch_senderFails_retriedWithBackoff() throws MailjetSocketTimeoutException,
+    MailjetException {
+    EmailSender failingSender = mock(EmailSender.class);
+    OutboxEmail first = pendingEmail();
+    OutboxEmail second = pendingEmail();
+    second.setAttempts(1);
+
+    doThrow(new MailjetException("Service unavailable")).when(failingSender).sendAll(any());
+    when(outboxEmailRepository.findDueEmails(any(), any(), any())).thenReturn(Arrays.asList(first, second));
+
+    outboxService(failingSender).dispatchBatch(NOW);
+
+    assertEquals(OutboxEmail.Status.PENDING, first.getStatus());
+    assertEquals(1, first.getAttempts());
+    assertEquals(NOW.plusSeconds(1), first.getNextAttemptAt());
+    assertEquals("Service unavailable", first.getLastError());
+    assertEquals(NOW.plusSeconds(2), second.getNextAttemptAt());
+  }
+
+  @Test
+  public void testDispatchBatch_partialFailure_onlyFailedEmailRetried() throws MailjetSocketTimeoutException,
+    MailjetException {
+    EmailSender partialSender = mock(EmailSender.class);
+    OutboxEmail sent = pendingEmail();
+    OutboxEmail rejected = pendingEmail();
+
+    when(partialSender.sendAll(any()))
+      .thenReturn(Arrays.asList(EmailSendResult.sent(), EmailSendResult.failed("Invalid recipient")));
+    when(outboxEmailRepository.findDueEmails(any(), any(), any())).thenReturn(Arrays.asList(sent, rejected));
+
+    outboxService(partialSender).dispatchBatch(NOW);
+
+    assertEquals(OutboxEmail.Status.SENT, sent.getStatus());
+    assertEquals(OutboxEmail.Status.PENDING, rejected.getStatus());
+    assertEquals("Invalid recipient", rejected.getLastError());
+    assertEquals(NOW.plusSeconds(1), rejected.getNextAttemptAt());
+  }
+
+  @Test
+  public void testDispatchBatch_noDueEmails_nothingSent() {
+    when(outboxEmailRepository.findDueEmails(any(), any(), any())).thenReturn(Collections.emptyList());
+
+    assertEquals(0, outboxService(stubEmailSender).dispatchBatch(NOW));
+    assertEquals(0, stubEmailSender.getSentMessages().size());
+  }
+
+  @Test
+  public void testDispatchBatch_backoffCapped() throws MailjetSocketTimeoutException, MailjetException {
+    EmailSender failingSender = mock(EmailSender.class);
+    OutboxEmail email = pendingEmail();
+    email.setAttempts(MAX_ATTEMPTS - 2);
+
+    doThrow(new IllegalStateException("Timeout")).when(failingSender).sendAll(any());
+    when(outboxEmailRepository.findDueEmails(any(), any(), any())).thenReturn(Collections.singletonList(email));
+
+    new EmailOutboxService(failingSender, outboxEmailRepository, transactionTemplate, BATCH_SIZE, 10,
+                           INITIAL_BACKOFF, MAX_BACKOFF, RETENTION).dispatchBatch(NOW);
+
+    assertEquals(NOW.plusSeconds(2), email.getNextAttemptAt());
+
+    email.setAttempts(5);
+    new EmailOutboxService(failingSender, outboxEmailRepository, transactionTemplate, BATCH_SIZE, 10,
+                           INITIAL_BACKOFF, MAX_BACKOFF, RETENTION).dispatchBatch(NOW);
+
+    assertEquals(NOW.plusSeconds(3), email.getNextAttemptAt());
+  }
+
+  @Test
+  public void testDispatchBatch_lastAttemptFails_movedToDeadLetters() throws MailjetSocketTimeoutException,
+    MailjetException {
+    EmailSender failingSender = mock(EmailSender.class);
+    OutboxEmail email = pendingEmail();
+    email.setAttempts(MAX_ATTEMPTS - 1);
+
+    doThrow(new MailjetSocketTimeoutException("Socket timeout")).when(failingSender).sendAll(any());
+    when(outboxEmailRepository.findDueEmails(any(), any(), any())).thenReturn(Collections.singletonList(email));
+
+    outboxService(failingSender).dispatchBatch(NOW);
+
+    assertEquals(OutboxEmail.Status.DEAD, email.getStatus());
+    assertEquals(MAX_ATTEMPTS, email.getAttempts());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testDispatchOutbox_fullBatches_drainedUntilPartialBatch() {
+    List<OutboxEmail> fullBatch = Arrays.asList(pendingEmail(), pendingEmail());
+    List<OutboxEmail> partialBatch = Collections.singletonList(pendingEmail());
+
+    when(transactionTemplate.execute(any()))
+      .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+    when(outboxEmailRepository.findDueEmails(any(), any(), any())).thenReturn(fullBatch, partialBatch);
+
+    outboxService(stubEmailSender).dispatchOutbox();
+
+    assertEquals(3, stubEmailSender.getSentMessages().size());
+    verify(transactionTemplate, times(2)).execute(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testPurgeOutbox_sentAndDeadEmailsPastRetention_deleted() {
+    when(transactionTemplate.execute(any()))
+      .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+    when(outboxEmailRepository.deleteFinishedEmails(any(), any())).thenReturn(3);
+
+    outboxService(stubEmailSender).purgeOutbox(NOW);
+
+    verify(outboxEmailRepository).deleteFinishedEmails(
+      Arrays.asList(OutboxEmail.Status.SENT, OutboxEmail.Status.DEAD), NOW.minusMinutes(1));
+  }
+
+  private EmailOutboxService outboxService(EmailSender emailSender) {
+    return new EmailOutboxService(emailSender, outboxEmailRepository, transactionTemplate, BATCH_SIZE, MAX_ATTEMPTS,
+                                  INITIAL_BACKOFF, MAX_BACKOFF, RETENTION);
+  }
+
+  private EmailMessage defaultMessage() {
+    return new EmailMessage(UserFactory.getDefaultUser().getEmail(), "First Last", "Subject", "<p>Body</p>");
+  }
+
+  private OutboxEmail pendingEmail() {
+    return new OutboxEmail(defaultMessage(), NOW);
+  }
+}
@@ -1,77 +1,76 @@
 package filmfocus.services;
 
-import com.mailjet.client.MailjetResponse;
 import com.mailjet.client.errors.MailjetException;
 import com.mailjet.client.errors.MailjetSocketTimeoutException;
+import filmfocus.email.EmailMessage;
+import filmfocus.email.EmailBatcher;
 import filmfocus.models.entities.Order;
 import filmfocus.models.entities.User;
 import filmfocus.testUtils.factories.OrderFactory;
 import filmfocus.testUtils.factories.UserFactory;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static filmfocus.testUtils.constants.UserConstants.PASSWORD;
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
 public class EmailServiceTest {
 
   @Mock
-  private MailjetResponse mailjetResponse;
+  private EmailBatcher emailBatcher;
+
+  @Mock
+  private EmailOutboxService emailOutboxService;
 
   @InjectMocks
   private EmailService emailService;
 
   @Test
-  public void testSendOrderConfirmationEmail() throws JSONException, MailjetSocketTimeoutException, MailjetException {
+  public void testSendOrderConfirmationEmail() throws MailjetSocketTimeoutException, MailjetException {
     User user = UserFactory.getDefaultUser();
     Order order = OrderFactory.getDefaultOrder();
-    JSONObject data = new JSONObject();
-    when(mailjetResponse.getStatus()).thenReturn(200);
-    data.put("Email", user.getEmail());
-    when(mailjetResponse.getData()).thenReturn(new JSONArray().put(data));
+    ArgumentCaptor<EmailMessage> message = ArgumentCaptor.forClass(EmailMessage.class);
 
     emailService.sendOrderConfirmationEmail(user, order);
 
-    assertEquals(200, mailjetResponse.getStatus());
-    assertEquals(user.getEmail(), mailjetResponse.getData().getJSONObject(0).getString("Email"));
+    verify(emailOutboxService).enqueue(message.capture());
+    verify(emailBatcher, never()).send(any());
+    assertEquals(user.getEmail(), message.getValue().getRecipientEmail());
+    assertTrue(message.getValue().getHtmlPart().contains(String.valueOf(order.getTotalPrice())));
   }
 
   @Test
-  public void testSendPasswordConfirmationEmail() throws JSONException, MailjetSocketTimeoutException,
-    MailjetException {
+  public void testSendPasswordConfirmationEmail() throws MailjetSocketTimeoutException, MailjetException {
     User user = UserFactory.getDefaultUser();
-    JSONObject data = new JSONObject();
-    when(mailjetResponse.getStatus()).thenReturn(200);
-    data.put("Email", user.getEmail());
-    when(mailjetResponse.getData()).thenReturn(new JSONArray().put(data));
+    ArgumentCaptor<EmailMessage> message = ArgumentCaptor.forClass(EmailMessage.class);
 
     emailService.sendPasswordConfirmationEmail(user, PASSWORD);
 
-    assertEquals(200, mailjetResponse.getStatus());
-    assertEquals(user.getEmail(), mailjetResponse.getData().getJSONObject(0).getString("Email"));
+    verify(emailBatcher).send(message.capture());
+    verify(emailOutboxService, never()).enqueue(any());
+    assertEquals(user.getEmail(), message.getValue().getRecipientEmail());
+    assertTrue(message.getValue().getHtmlPart().contains(PASSWORD));
   }
 
   @Test
-  public void testSendRegistrationConfirmationEmail() throws JSONException, MailjetSocketTimeoutException, MailjetException {
-
+  public void testSendRegistrationConfirmationEmail() throws MailjetSocketTimeoutException, MailjetException {
     User user = UserFactory.getDefaultUser();
-
-    JSONObject data = new JSONObject();
-    when(mailjetResponse.getStatus()).thenReturn(200);
-    data.put("Email", user.getEmail());
-    when(mailjetResponse.getData()).thenReturn(new JSONArray().put(data));
+    ArgumentCaptor<EmailMessage> message = ArgumentCaptor.forClass(EmailMessage.class);
 
     emailService.sendRegistrationConfirmationEmail(user);
 
-    assertEquals(200, mailjetResponse.getStatus());
-    assertEquals(user.getEmail(), mailjetResponse.getData().getJSONObject(0).getString("Email"));
+    verify(emailOutboxService).enqueue(message.capture());
+    verify(emailBatcher, never()).send(any());
+    assertEquals(user.getEmail(), message.getValue().getRecipientEmail());
+    assertEquals("Your registration confirmation", message.getValue().getSubject());
   }
 }
@@ -5,6 +5,9 @@ import filmfocus.mappers.HallMapper;
 import filmfocus.models.dtos.HallDto;
 import filmfocus.models.entities.Cinema;
 import filmfocus.models.entities.Hall;
+import filmfocus.models.entities.Seat;
+import filmfocus.models.requests.HallRequest;
+import filmfocus.models.requests.SeatRequest;
 import filmfocus.repositories.HallRepository;
 import filmfocus.testUtils.factories.CinemaFactory;
 import filmfocus.testUtils.factories.HallFactory;
@@ -14,6 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +25,8 @@ import static filmfocus.testUtils.constants.HallConstants.ID;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -49,6 +55,44 @@ public class HallServiceTest {
         assertEquals(expected, hall);
     }
 
+    @Test
+    public void testAddHall_seatLayout_blockedSeatsSaved() {
+        HallRequest request = new HallRequest(10, ID);
+        request.setRows(3);
+        request.setSeatsPerRow(4);
+        request.setBlockedSeats(Arrays.asList(new SeatRequest(3, 1), new SeatRequest(3, 4), new SeatRequest(3, 4)));
+
+        when(cinemaService.getCinemaById(anyInt())).thenReturn(CinemaFactory.getDefaultCinema());
+        when(hallRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Hall hall = hallService.addHall(request);
+
+        assertEquals(3, hall.getRows());
+        assertEquals(4, hall.getSeatsPerRow());
+        assertEquals(Arrays.asList(new Seat(3, 1), new Seat(3, 4)), hall.getBlockedSeats());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddHall_layoutNotMatchingCapacity_throwsIllegalArgumentException() {
+        HallRequest request = new HallRequest(10, ID);
+        request.setRows(3);
+        request.setSeatsPerRow(4);
+
+        try {
+            hallService.addHall(request);
+        } finally {
+            verify(hallRepository, never()).save(any());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddHall_incompleteLayout_throwsIllegalArgumentException() {
+        HallRequest request = new HallRequest(10, ID);
+        request.setRows(3);
+
+        hallService.addHall(request);
+    }
+
     @Test
     public void testGetHallByCinemaId_cinemaFound_success() {
         Cinema cinema = CinemaFactory.getDefaultCinema();
@@ -1,44 +1,39 @@
 package filmfocus.services;
 
+import filmfocus.imdb.ImdbGateway;
+import filmfocus.imdb.ImdbList;
+import filmfocus.imdb.StubImdbClient;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.test.context.TestPropertySource;
-import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
-import org.springframework.web.client.RestTemplate;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.when;
 
-@RunWith(SpringJUnit4ClassRunner.class)
-@TestPropertySource(locations = "classpath:application.yml")
 public class ImdbServiceTest {
 
-    @Value("${imdb.key}")
-    private String imdbKey;
+    private static final long TTL = 60000;
+    private static final long MAX_STALE = 60000;
 
-    @Value("${imdb.url}")
-    private String baseUrl;
+    private StubImdbClient imdbClient;
 
-    @Mock
-    private RestTemplate restTemplate;
+    private ImdbGateway imdbGateway;
 
-    @InjectMocks
     private ImdbService imdbService;
 
     @Before
     public void setUp() {
-        imdbService.setImdbKey(imdbKey);
-        imdbService.setBaseUrl(baseUrl);
+        imdbClient = new StubImdbClient();
+        imdbGateway = new ImdbGateway(imdbClient, TTL, MAX_STALE);
+        imdbService = new ImdbService(imdbGateway);
+    }
+
+    @After
+    public void tearDown() {
+        imdbGateway.shutdown();
     }
 
     @Test
@@ -47,7 +42,7 @@ public class ImdbServiceTest {
         String mockResponseBody =
                 "{\"items\": [{\"title\": \"The Shawshank Redemption\", \"year\": \"1994\", \"image\": \"image1.jpg\"}, " +
                         "{\"title\": \"Movie 2\", \"year\": \"2023\", \"image\": \"image2.jpg\"}]}";
-        when(restTemplate.getForObject(anyString(), any())).thenReturn(mockResponseBody);
+        imdbClient.setResponse(ImdbList.TOP, mockResponseBody);
 
         JSONObject mockResponseJson = new JSONObject(mockResponseBody);
         JSONArray mockMovies = mockResponseJson.getJSONArray("items");
@@ -77,7 +72,7 @@ public class ImdbServiceTest {
         String filter = "box office";
         String mockResponseBody =
                 "{\"items\": [{\"title\": \"Avatar\", \"year\": \"2009\"}, {\"title\": \"Movie 2\", \"year\": \"2023\"}]}";
-        when(restTemplate.getForObject(anyString(), any())).thenReturn(mockResponseBody);
+        imdbClient.setResponse(ImdbList.BOX_OFFICE, mockResponseBody);
 
         JSONObject mockResponseJson = new JSONObject(mockResponseBody);
         JSONArray mockMovies = mockResponseJson.getJSONArray("items");
@@ -104,7 +99,7 @@ public class ImdbServiceTest {
         String filter = "coming soon";
         String mockResponseBody =
                 "{\"items\": [{\"title\": \"The Flash\", \"year\": \"2023\",\"image\": \"image1.jpg\"}, {\"title\": \"Movie 2\", \"year\": \"2023\",\"image\": \"image2.jpg\"}]}";
-        when(restTemplate.getForObject(anyString(), any())).thenReturn(mockResponseBody);
+        imdbClient.setResponse(ImdbList.COMING_SOON, mockResponseBody);
 
         JSONObject mockResponseJson = new JSONObject(mockResponseBody);
         JSONArray mockMovies = mockResponseJson.getJSONArray("items");
@@ -1,40 +1,50 @@
 package filmfocus.services;
 
+import filmfocus.analytics.ReportCache;
+import filmfocus.analytics.ReportPartitioner;
+import filmfocus.analytics.SalesFacts;
+import filmfocus.models.dtos.IncomeBreakdownDto;
+import filmfocus.models.dtos.IncomeBreakdownRowDto;
 import filmfocus.models.dtos.ItemDto;
 import filmfocus.models.entities.Cinema;
 import filmfocus.models.entities.Hall;
 import filmfocus.models.entities.Movie;
-import filmfocus.models.entities.Order;
 import filmfocus.models.entities.User;
-import filmfocus.testUtils.constants.ProjectionConstants;
-import filmfocus.testUtils.factories.OrderFactory;
-import filmfocus.testUtils.factories.TicketFactory;
+import filmfocus.models.views.DailyIncomeView;
+import filmfocus.models.views.IncomeBreakdownView;
+import filmfocus.repositories.RevenueRollupRepository;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
-import static filmfocus.testUtils.constants.ItemConstants.PRICE;
-import static filmfocus.testUtils.constants.OrderConstants.TOTAL_PRICE;
 import static filmfocus.testUtils.constants.ReportConstants.END_DATE;
 import static filmfocus.testUtils.constants.ReportConstants.ID;
+import static filmfocus.testUtils.constants.ReportConstants.INCOMES;
 import static filmfocus.testUtils.constants.ReportConstants.START_DATE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class IncomeReportServiceTest {
 
-    @Mock
-    private OrderService orderService;
+    private static final long MAX_CACHED_DAYS = 1000;
 
     @Mock
-    private TicketService ticketService;
+    private RevenueRollupRepository revenueRollupRepository;
 
     @Mock
     private CinemaService cinemaService;
@@ -51,26 +61,31 @@ public class IncomeReportServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private SalesFactService salesFactService;
+
+    @Mock
+    private ReportCache reportCache;
+
+    @Spy
+    private ReportPartitioner reportPartitioner = new ReportPartitioner(1, Long.MAX_VALUE);
+
     @InjectMocks
     private IncomeReportService incomeReportService;
 
     @Test
     public void testGetAllIncomesByCinemaId_doubleReturned_success() {
         when(cinemaService.getCinemaById(anyInt())).thenReturn(new Cinema());
-        when(orderService.getOrdersByDateBetween(any(), any())).thenReturn(OrderFactory.getDefaultOrderList());
+        when(revenueRollupRepository.sumNetIncomeByCinemaId(ID, START_DATE, END_DATE)).thenReturn(INCOMES);
 
         double result = incomeReportService.getAllIncomesByCinemaId(ID, START_DATE, END_DATE);
 
-        assertEquals(TOTAL_PRICE, result, 0.0);
+        assertEquals(INCOMES, result, 0.0);
     }
 
     @Test
-    public void testGetAllIncomesByCinemaId_cinemaIdDifferent_returnsZero() {
-        List<Order> orders = OrderFactory.getDefaultOrderList();
-        orders.get(0).getTickets().get(0).getProjection().getHall().getCinema().setId(0);
-
+    public void testGetAllIncomesByCinemaId_noSales_returnsZero() {
         when(cinemaService.getCinemaById(anyInt())).thenReturn(new Cinema());
-        when(orderService.getOrdersByDateBetween(any(), any())).thenReturn(orders);
 
         double result = incomeReportService.getAllIncomesByCinemaId(ID, START_DATE, END_DATE);
 
@@ -78,55 +93,254 @@ public class IncomeReportServiceTest {
     }
 
     @Test
-    public void testGetAllIncomesByHallId_doubleReturned_success() {
-        when(hallService.getHallById(anyInt())).thenReturn(new Hall());
-        when(orderService.getOrdersByDateBetween(any(), any())).thenReturn(OrderFactory.getDefaultOrderList());
+    public void testGetAllIncomesByCinemaId_salesFactsLoaded_lastDayExcluded() {
+        when(cinemaService.getCinemaById(anyInt())).thenReturn(new Cinema());
+        when(salesFactService.isLoaded()).thenReturn(true);
+        when(salesFactService.getNetIncome(SalesFacts.Dimension.CINEMA, ID, START_DATE, END_DATE.minusDays(1)))
+          .thenReturn(INCOMES);
 
-        double result = incomeReportService.getAllIncomesByHallId(ID, START_DATE, END_DATE);
+        double result = incomeReportService.getAllIncomesByCinemaId(ID, START_DATE, END_DATE);
 
-        assertEquals(TOTAL_PRICE, result, 0.0);
+        assertEquals(INCOMES, result, 0.0);
+        verifyNoInteractions(revenueRollupRepository);
     }
 
     @Test
-    public void testGetAllIncomesByHallId_hallIdDifferent_returnsZero() {
-        List<Order> orders = OrderFactory.getDefaultOrderList();
-        orders.get(0).getTickets().get(0).getProjection().getHall().setId(0);
+    public void testGetAllIncomesByMovieId_salesFactsLoaded_lastDayIncluded() {
+        when(movieService.getMovieById(anyInt())).thenReturn(new Movie());
+        when(salesFactService.isLoaded()).thenReturn(true);
+        when(salesFactService.getGrossIncome(SalesFacts.Dimension.MOVIE, ID, START_DATE, END_DATE)).thenReturn(INCOMES);
 
+        double result = incomeReportService.getAllIncomesByMovieId(ID, START_DATE, END_DATE);
+
+        assertEquals(INCOMES, result, 0.0);
+    }
+
+    @Test
+    public void testGetAllIncomesByHallId_doubleReturned_success() {
         when(hallService.getHallById(anyInt())).thenReturn(new Hall());
-        when(orderService.getOrdersByDateBetween(any(), any())).thenReturn(orders);
+        when(revenueRollupRepository.sumNetIncomeByHallId(ID, START_DATE, END_DATE)).thenReturn(INCOMES);
 
         double result = incomeReportService.getAllIncomesByHallId(ID, START_DATE, END_DATE);
 
-        assertEquals(0, result, 0.0);
+        assertEquals(INCOMES, result, 0.0);
     }
 
     @Test
     public void testGetAllIncomesByItemId_doubleReturned_success() {
         when(itemService.getItemDtoById(anyInt())).thenReturn(new ItemDto());
-        when(orderService.getOrdersByDateBetween(any(), any())).thenReturn(OrderFactory.getDefaultOrderList());
+        when(revenueRollupRepository.sumGrossIncomeByItemId(ID, START_DATE, END_DATE)).thenReturn(INCOMES);
 
         double result = incomeReportService.getAllIncomesByItemId(ID, START_DATE, END_DATE);
 
-        assertEquals(PRICE, result, 0.0);
+        assertEquals(INCOMES, result, 0.0);
     }
 
     @Test
     public void testGetAllIncomesByMovieId_doubleReturned_success() {
         when(movieService.getMovieById(anyInt())).thenReturn(new Movie());
-        when(ticketService.getTicketsByDateBetween(any(), any())).thenReturn(TicketFactory.getDefaultTicketList());
+        when(revenueRollupRepository.sumGrossIncomeByMovieId(ID, START_DATE, END_DATE.plusDays(1))).thenReturn(INCOMES);
 
         double result = incomeReportService.getAllIncomesByMovieId(ID, START_DATE, END_DATE);
 
-        assertEquals(ProjectionConstants.PRICE, result, 0.0);
+        assertEquals(INCOMES, result, 0.0);
     }
 
     @Test
     public void testGetAllIncomesByUserId_doubleReturned_success() {
         when(userService.getUserById(anyInt())).thenReturn(new User());
-        when(orderService.getOrdersByDateBetween(any(), any())).thenReturn(OrderFactory.getDefaultOrderList());
+        when(revenueRollupRepository.sumNetIncomeByUserId(ID, START_DATE, END_DATE)).thenReturn(INCOMES);
 
         double result = incomeReportService.getAllIncomesByUserId(ID, START_DATE, END_DATE);
 
-        assertEquals(TOTAL_PRICE, result, 0.0);
+        assertEquals(INCOMES, result, 0.0);
+    }
+
+    @Test
+    public void testGetAllIncomesByUserId_longRange_partitionsSummed() {
+        ReportPartitioner monthlyPartitioner = new ReportPartitioner(2, 0);
+        incomeReportService = new IncomeReportService(cinemaService, hallService, itemService, movieService,
+                                                      userService, revenueRollupRepository, salesFactService,
+                                                      monthlyPartitioner, reportCache);
+        LocalDate startDate = LocalDate.of(2023, 1, 15);
+        when(userService.getUserById(anyInt())).thenReturn(new User());
+        when(revenueRollupRepository.sumNetIncomeByUserId(ID, startDate, LocalDate.of(2023, 2, 1))).thenReturn(1.5);
+        when(revenueRollupRepository.sumNetIncomeByUserId(ID, LocalDate.of(2023, 2, 1), LocalDate.of(2023, 3, 1)))
+          .thenReturn(2.5);
+        when(revenueRollupRepository.sumNetIncomeByUserId(ID, LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 10)))
+          .thenReturn(4.0);
+
+        double result = incomeReportService.getAllIncomesByUserId(ID, startDate, LocalDate.of(2023, 3, 10));
+
+        monthlyPartitioner.shutdown();
+        assertEquals(8.0, result, 0.0);
+    }
+
+    @Test
+    public void testGetAllIncomesByMovieId_longRange_lastDayIncluded() {
+        ReportPartitioner monthlyPartitioner = new ReportPartitioner(1, 0);
+        incomeReportService = new IncomeReportService(cinemaService, hallService, itemService, movieService,
+                                                      userService, revenueRollupRepository, salesFactService,
+                                                      monthlyPartitioner, reportCache);
+        when(movieService.getMovieById(anyInt())).thenReturn(new Movie());
+        when(revenueRollupRepository.sumGrossIncomeByMovieId(ID, LocalDate.of(2023, 1, 15), LocalDate.of(2023, 2, 1)))
+          .thenReturn(1.0);
+        when(revenueRollupRepository.sumGrossIncomeByMovieId(ID, LocalDate.of(2023, 2, 1), LocalDate.of(2023, 3, 1)))
+          .thenReturn(2.0);
+
+        double result =
+          incomeReportService.getAllIncomesByMovieId(ID, LocalDate.of(2023, 1, 15), LocalDate.of(2023, 2, 28));
+
+        monthlyPartitioner.shutdown();
+        assertEquals(3.0, result, 0.0);
+    }
+
+    @Test
+    public void testGetAllIncomesByHallId_reportCacheEnabled_closedDaysQueriedOnce() {
+        incomeReportService = new IncomeReportService(cinemaService, hallService, itemService, movieService,
+                                                      userService, revenueRollupRepository, salesFactService,
+                                                      reportPartitioner, new ReportCache(true, MAX_CACHED_DAYS));
+        LocalDate startDate = LocalDate.of(2023, 1, 1);
+        LocalDate endDate = LocalDate.of(2023, 1, 10);
+        when(hallService.getHallById(anyInt())).thenReturn(new Hall());
+        when(revenueRollupRepository.findDailyNetIncomeByHallId(ID, startDate, endDate))
+          .thenReturn(Arrays.asList(dailyIncome(startDate, 4), dailyIncome(startDate.plusDays(3), 6)));
+
+        double first = incomeReportService.getAllIncomesByHallId(ID, startDate, endDate);
+        double second = incomeReportService.getAllIncomesByHallId(ID, startDate, endDate);
+
+        assertEquals(10.0, first, 0.0);
+        assertEquals(10.0, second, 0.0);
+        verify(revenueRollupRepository).findDailyNetIncomeByHallId(ID, startDate, endDate);
+        verify(revenueRollupRepository, never()).sumNetIncomeByHallId(anyInt(), any(), any());
+    }
+
+    @Test
+    public void testGetIncomesBreakdown_byCinemaAndDay_rowsFolded() {
+        when(revenueRollupRepository.findIncomeBreakdown(START_DATE, END_DATE)).thenReturn(Arrays.asList(
+          breakdownView(START_DATE, 2, 1, 10, 5, 1),
+          breakdownView(START_DATE, 1, 0, 0, 3, 0),
+          breakdownView(START_DATE, 1, 2, 11, 4, 1),
+          breakdownView(START_DATE.plusDays(1), 1, 2, 11, 6, 2)));
+
+        IncomeBreakdownDto result =
+          incomeReportService.getIncomesBreakdown(Arrays.asList("cinema", "DAY"), START_DATE, END_DATE);
+        List<IncomeBreakdownRowDto> rows = result.getRows();
+
+        assertEquals(Arrays.asList("day", "cinema"), result.getDimensions());
+        assertEquals(3, rows.size());
+        assertEquals(START_DATE, rows.get(0).getDay());
+        assertEquals(Integer.valueOf(1), rows.get(0).getCinemaId());
+        assertEquals(7, rows.get(0).getNetIncome(), 0.0);
+        assertEquals(1, rows.get(0).getTicketCount());
+        assertEquals(Integer.valueOf(2), rows.get(1).getCinemaId());
+        assertEquals(START_DATE.plusDays(1), rows.get(2).getDay());
+        assertNull(rows.get(0).getMovieId());
+    }
+
+    @Test
+    public void testGetIncomesBreakdown_noDimensions_totalReturned() {
+        when(revenueRollupRepository.findIncomeBreakdown(START_DATE, END_DATE)).thenReturn(Arrays.asList(
+          breakdownView(START_DATE, 1, 1, 10, 5, 1),
+          breakdownView(START_DATE.plusDays(1), 2, 0, 0, 3, 0)));
+
+        List<IncomeBreakdownRowDto> rows =
+          incomeReportService.getIncomesBreakdown(null, START_DATE, END_DATE).getRows();
+
+        assertEquals(1, rows.size());
+        assertEquals(8, rows.get(0).getNetIncome(), 0.0);
+        assertNull(rows.get(0).getDay());
+        assertNull(rows.get(0).getCinemaId());
+    }
+
+    @Test
+    public void testGetIncomesBreakdown_byMovieAndCategory_itemSalesWithoutMovie() {
+        when(revenueRollupRepository.findIncomeBreakdown(START_DATE, END_DATE)).thenReturn(Arrays.asList(
+          breakdownView(START_DATE, 1, 1, 10, 5, 1),
+          breakdownView(START_DATE, 1, 0, null, 3, 0)));
+
+        List<IncomeBreakdownRowDto> rows = incomeReportService
+          .getIncomesBreakdown(Arrays.asList("movie", "category"), START_DATE, END_DATE).getRows();
+
+        assertEquals(2, rows.size());
+        assertNull(rows.get(0).getMovieId());
+        assertNull(rows.get(0).getCategoryId());
+        assertEquals(3, rows.get(0).getNetIncome(), 0.0);
+        assertEquals(Integer.valueOf(1), rows.get(1).getMovieId());
+        assertEquals(Integer.valueOf(10), rows.get(1).getCategoryId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetIncomesBreakdown_unknownDimension_throwsIllegalArgumentException() {
+        incomeReportService.getIncomesBreakdown(Collections.singletonList("country"), START_DATE, END_DATE);
+    }
+
+    private DailyIncomeView dailyIncome(LocalDate saleDate, double income) {
+        return new DailyIncomeView() {
+            @Override
+            public LocalDate getSaleDate() {
+                return saleDate;
+            }
+
+            @Override
+            public double getIncome() {
+                return income;
+            }
+        };
+    }
+
+    private IncomeBreakdownView breakdownView(
+      LocalDate saleDate, int cinemaId, int movieId, Integer categoryId, double netIncome, long ticketCount) {
+        return new IncomeBreakdownView() {
+            @Override
+            public LocalDate getSaleDate() {
+                return saleDate;
+            }
+
+            @Override
+            public int getCinemaId() {
+                return cinemaId;
+            }
+
+            @Override
+            public int getHallId() {
+                return cinemaId;
+            }
+
+            @Override
+            public int getMovieId() {
+                return movieId;
+            }
+
+            @Override
+            public int getItemId() {
+                return 0;
+            }
+
+            @Override
+            public Integer getCategoryId() {
+                return categoryId;
+            }
+
+            @Override
+            public double getGrossIncome() {
+                return netIncome;
+            }
+
+            @Override
+            public double getNetIncome() {
+                return netIncome;
+            }
+
+            @Override
+            public long getTicketCount() {
+                return ticketCount;
+            }
+
+            @Override
+            public long getItemCount() {
+                return 0;
+            }
+        };
     }
-}
\ No newline at end of file
+}
@@ -6,48 +6,112 @@ import filmfocus.exceptions.NoAvailableItemsException;
 import filmfocus.mappers.ItemMapper;
 import filmfocus.models.dtos.ItemDto;
 import filmfocus.models.entities.Item;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.KeysetPaging;
 import filmfocus.repositories.ItemRepository;
 import filmfocus.testUtils.factories.ItemFactory;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static filmfocus.testUtils.constants.ItemConstants.ID;
-import static filmfocus.testUtils.constants.ItemConstants.IS_BELLOW;
 import static filmfocus.testUtils.constants.ItemConstants.NAME;
+import static filmfocus.testUtils.constants.ItemConstants.PRICE;
 import static filmfocus.testUtils.constants.ItemConstants.QUANTITY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ItemServiceTest {
 
+    private static final int PAGE_SIZE = 1;
+
     @Mock
     private ItemRepository itemRepository;
 
     @Mock
     private ItemMapper itemMapper;
 
+    @Spy
+    private KeysetPaging keysetPaging = new KeysetPaging(mock(EntityManager.class), PAGE_SIZE, PAGE_SIZE);
+
     @InjectMocks
     private ItemService itemService;
 
     @Test
-    public void testGetAllItems_noExceptions_success() {
-        List<ItemDto> expected = ItemFactory.getDefaultItemDtoList();
-        when(itemMapper.mapItemToItemDtoList(any())).thenReturn(expected);
-        when(itemRepository.findAll()).thenReturn(ItemFactory.getDefaultItemList());
+    public void testGetItemsPage_moreItems_nextAfterIdOfLastItem() {
+        Item next = new Item(ID + 1, NAME, PRICE, QUANTITY);
+        ItemDto expected = ItemFactory.getDefaultItemDto();
+        when(itemMapper.mapItemToItemDto(ItemFactory.getDefaultItem())).thenReturn(expected);
+        when(itemRepository.findByIdGreaterThan(0, PageRequest.of(0, PAGE_SIZE + 1, Sort.by("id"))))
+                .thenReturn(List.of(ItemFactory.getDefaultItem(), next));
+
+        KeysetPage<ItemDto> page = itemService.getItemsPage(null, PAGE_SIZE);
+
+        assertEquals(List.of(expected), page.getItems());
+        assertEquals(Integer.valueOf(ID), page.getNextAfterId());
+    }
+
+    @Test
+    public void testForEachItem_allItems_mappedInIdOrder() {
+        ItemDto expected = ItemFactory.getDefaultItemDto();
+        List<ItemDto> actual = new ArrayList<>();
+        when(itemMapper.mapItemToItemDto(ItemFactory.getDefaultItem())).thenReturn(expected);
+        when(itemRepository.findByIdGreaterThan(0, PageRequest.of(0, PAGE_SIZE, Sort.by("id"))))
+                .thenReturn(ItemFactory.getDefaultItemList());
+        when(itemRepository.findByIdGreaterThan(ID, PageRequest.of(0, PAGE_SIZE, Sort.by("id"))))
+                .thenReturn(Collections.emptyList());
+
+        itemService.forEachItem(actual::add);
+
+        assertEquals(List.of(expected), actual);
+    }
 
-        List<ItemDto> actual = itemService.getAllItems();
+    @Test
+    public void testGetItemsPageByQuantity_below_lastPage() {
+        ItemDto expected = ItemFactory.getDefaultItemDto();
+        when(itemMapper.mapItemToItemDto(ItemFactory.getDefaultItem())).thenReturn(expected);
+        when(itemRepository.findByQuantityLessThanAndIdGreaterThan(
+                QUANTITY + 1, 0, PageRequest.of(0, PAGE_SIZE + 1, Sort.by("id"))))
+                .thenReturn(ItemFactory.getDefaultItemList());
 
-        assertEquals(expected, actual);
+        KeysetPage<ItemDto> page = itemService.getItemsPageByQuantity(QUANTITY + 1, true, null, PAGE_SIZE);
+
+        assertEquals(List.of(expected), page.getItems());
+        assertNull(page.getNextAfterId());
+    }
+
+    @Test
+    public void testForEachItemByQuantity_above_allItems() {
+        ItemDto expected = ItemFactory.getDefaultItemDto();
+        List<ItemDto> actual = new ArrayList<>();
+        when(itemMapper.mapItemToItemDto(ItemFactory.getDefaultItem())).thenReturn(expected);
+        when(itemRepository.findByQuantityGreaterThanAndIdGreaterThan(
+                QUANTITY - 1, 0, PageRequest.of(0, PAGE_SIZE, Sort.by("id"))))
+                .thenReturn(ItemFactory.getDefaultItemList());
+        when(itemRepository.findByQuantityGreaterThanAndIdGreaterThan(
+                QUANTITY - 1, ID, PageRequest.of(0, PAGE_SIZE, Sort.by("id"))))
+                .thenReturn(Collections.emptyList());
+
+        itemService.forEachItemByQuantity(QUANTITY - 1, false, actual::add);
+
+        assertEquals(List.of(expected), actual);
     }
 
     @Test
@@ -170,26 +234,4 @@ public class ItemServiceTest {
 
         itemService.decrementItemQuantity(item);
     }
-
-    @Test
-    public void testGetItemsByQuantity_noExceptions_isBelowFalse_success() {
-        List<ItemDto> expected = ItemFactory.getDefaultItemDtoList();
-        when(itemRepository.findAll()).thenReturn(ItemFactory.getDefaultItemList());
-        when(itemMapper.mapItemToItemDtoList(any())).thenReturn(expected);
-
-        List<ItemDto> resultList = itemService.getItemsByQuantity(QUANTITY - 1, IS_BELLOW);
-
-        assertEquals(expected, resultList);
-    }
-
-    @Test
-    public void testGetItemsByQuantity_noExceptions_isBelowTrue_success() {
-        List<ItemDto> expected = ItemFactory.getDefaultItemDtoList();
-        when(itemRepository.findAll()).thenReturn(ItemFactory.getDefaultItemList());
-        when(itemMapper.mapItemToItemDtoList(any())).thenReturn(expected);
-
-        List<ItemDto> resultList = itemService.getItemsByQuantity(QUANTITY + 1, true);
-
-        assertEquals(expected, resultList);
-    }
 }
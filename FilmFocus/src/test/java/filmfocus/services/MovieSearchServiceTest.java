@@ -0,0 +1,121 @@
+package filmfocus.services;
+
+import filmfocus.mappers.MovieMapper;
+import filmfocus.models.dtos.CategoryFacetDto;
+import filmfocus.models.dtos.MovieSearchDto;
+import filmfocus.models.entities.Movie;
+import filmfocus.models.requests.MovieSearchRequest;
+import filmfocus.repositories.MovieRepository;
+import filmfocus.testUtils.factories.MovieFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieSearchServiceTest {
+
+  private static final int DEFAULT_SIZE = 20;
+  private static final int MAX_SIZE = 100;
+
+  @Mock
+  private MovieRepository movieRepository;
+
+  @Mock
+  private MovieMapper movieMapper;
+
+  private MovieSearchService movieSearchService;
+
+  @Before
+  public void setUp() {
+    movieSearchService = new MovieSearchService(movieRepository, movieMapper, DEFAULT_SIZE, MAX_SIZE);
+  }
+
+  @Test
+  public void testSearchMovies_firstPageNotFull_countNotQueried() {
+    List<CategoryFacetDto> categories = Collections.singletonList(new CategoryFacetDto(1, "Drama", 1));
+    Map<Integer, Long> ratingBands = Collections.singletonMap(4, 1L);
+
+    when(movieRepository.findPage(any(), eq(Sort.by(Sort.Direction.DESC, "averageRating", "id")), eq(0),
+                                  eq(DEFAULT_SIZE))).thenReturn(MovieFactory.getDefaultMovieList());
+    when(movieMapper.mapMovieListToMovieDtoList(MovieFactory.getDefaultMovieList()))
+      .thenReturn(MovieFactory.getDefaultMovieDtoList());
+    when(movieRepository.countByCategory(any())).thenReturn(categories);
+    when(movieRepository.countByRatingBand(any())).thenReturn(ratingBands);
+
+    MovieSearchDto result = movieSearchService.searchMovies(new MovieSearchRequest());
+
+    assertEquals(MovieFactory.getDefaultMovieDtoList(), result.getMovies());
+    assertEquals(1, result.getTotalCount());
+    assertEquals(DEFAULT_SIZE, result.getSize());
+    assertEquals(categories, result.getCategories());
+    assertEquals(ratingBands, result.getRatingBands());
+    verify(movieRepository, never()).count(anySpecification());
+  }
+
+  @Test
+  public void testSearchMovies_laterPage_offsetAndCountQueried() {
+    MovieSearchRequest request = new MovieSearchRequest("road", Arrays.asList(1, 2), LocalDate.of(2020, 1, 1), null,
+                                                        3.0, 4.5, "title", "desc", 2, 10);
+
+    when(movieRepository.findPage(any(), eq(Sort.by(Sort.Direction.DESC, "title", "id")), eq(20), eq(10)))
+      .thenReturn(Collections.emptyList());
+    when(movieRepository.count(anySpecification())).thenReturn(21L);
+
+    MovieSearchDto result = movieSearchService.searchMovies(request);
+
+    assertEquals(21, result.getTotalCount());
+    assertEquals(2, result.getPage());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSearchMovies_unknownSortField_throwsIllegalArgumentException() {
+    movieSearchService.searchMovies(
+      new MovieSearchRequest(null, null, null, null, null, null, "runtime", null, null, null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSearchMovies_negativePage_throwsIllegalArgumentException() {
+    movieSearchService.searchMovies(new MovieSearchRequest(null, null, null, null, null, null, null, null, -1, null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSearchMovies_sizeTooLarge_throwsIllegalArgumentException() {
+    movieSearchService.searchMovies(
+      new MovieSearchRequest(null, null, null, null, null, null, null, null, null, MAX_SIZE + 1));
+  }
+
+  @Test
+  public void testSearchMovies_releaseDateSortedAscendingByDefault() {
+    MovieSearchRequest request = new MovieSearchRequest();
+    request.setSort("releaseDate");
+
+    when(movieRepository.findPage(any(), eq(Sort.by(Sort.Direction.ASC, "releaseDate", "id")), anyInt(), anyInt()))
+      .thenReturn(Collections.emptyList());
+
+    movieSearchService.searchMovies(request);
+
+    verify(movieRepository).countByCategory(any());
+  }
+
+  private static Specification<Movie> anySpecification() {
+    return any();
+  }
+}
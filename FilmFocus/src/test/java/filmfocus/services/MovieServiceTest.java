@@ -1,5 +1,7 @@
 package filmfocus.services;
 
+import filmfocus.catalog.MovieCatalog;
+import filmfocus.catalog.MovieSnapshot;
 import filmfocus.exceptions.DateNotValidException;
 import filmfocus.exceptions.MovieAlreadyExistsException;
 import filmfocus.exceptions.MovieNotFoundException;
@@ -10,15 +12,18 @@ import filmfocus.models.requests.MovieRequest;
 import filmfocus.repositories.MovieRepository;
 import filmfocus.testUtils.factories.CategoryFactory;
 import filmfocus.testUtils.factories.MovieFactory;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static filmfocus.testUtils.constants.MovieConstants.ID;
 import static filmfocus.testUtils.constants.MovieConstants.RATING;
@@ -30,11 +35,18 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MovieServiceTest {
 
+    private static final int SUGGESTION_COUNT = 10;
+    private static final int MAX_SUGGESTION_COUNT = 50;
+
     @Mock
     private MovieRepository movieRepository;
 
@@ -47,9 +59,17 @@ public class MovieServiceTest {
     @Mock
     private ImdbService imdbService;
 
-    @InjectMocks
+    @Mock
+    private MovieCatalog movieCatalog;
+
     private MovieService movieService;
 
+    @Before
+    public void setUp() {
+        movieService = new MovieService(movieRepository, movieMapper, categoryService, imdbService, movieCatalog,
+                                        SUGGESTION_COUNT, MAX_SUGGESTION_COUNT);
+    }
+
     @Test
     public void testGetMoviesByTitle_minRatingNotNull_success() {
         List<MovieDto> expected = MovieFactory.getDefaultMovieDtoList();
@@ -178,6 +198,7 @@ public class MovieServiceTest {
     @Test
     public void testAddMovie_noExceptions_success() {
         Movie expected = MovieFactory.getDefaultMovie();
+        loadNoMovies();
 
         when(movieRepository.save(any())).thenReturn(expected);
         when(categoryService.getCategoryById(anyInt())).thenReturn(CategoryFactory.getDefaultCategory());
@@ -185,6 +206,7 @@ public class MovieServiceTest {
         Movie movie = movieService.addMovie(MovieFactory.getDefaultMovieRequest());
 
         assertEquals(expected, movie);
+        verify(movieCatalog).put(argThat(snapshot -> snapshot.getId() == ID && TITLE.equals(snapshot.getTitle())));
     }
 
     @Test(expected = DateNotValidException.class)
@@ -227,6 +249,23 @@ public class MovieServiceTest {
         assertEquals(expected, movie);
     }
 
+    @Test
+    public void testUpdateMovie_averageRatingKept() {
+        Movie stored = MovieFactory.getDefaultMovie();
+        stored.setAverageRating(RATING);
+        MovieRequest request = MovieFactory.getDefaultMovieRequest();
+        request.setTitle("New title");
+        request.setReleaseDate(LocalDate.now().plusDays(1));
+
+        when(movieMapper.mapMovieToMovieDto(any())).thenReturn(MovieFactory.getDefaultMovieDto());
+        when(movieRepository.findById(anyInt())).thenReturn(Optional.of(stored));
+
+        movieService.updateMovie(request, ID);
+
+        verify(movieRepository).save(argThat(movie -> movie.getAverageRating() == RATING &&
+                                                      "New title".equals(movie.getTitle())));
+    }
+
     @Test
     public void testIsDateNotValid() {
         boolean result = movieService.isDateNotValid(LocalDate.of(2000, 1, 1));
@@ -306,7 +345,7 @@ public class MovieServiceTest {
 
     @Test
     public void testGetIdsOfMoviesByTitle_success() {
-        when(movieRepository.findByTitleContaining(anyString())).thenReturn(MovieFactory.getDefaultMovieList());
+        when(movieRepository.findIdsByTitleContaining(anyString())).thenReturn(Collections.singletonList(ID));
 
         List<Integer> result = movieService.getIdsOfMoviesByTitle(TITLE);
 
@@ -314,14 +353,163 @@ public class MovieServiceTest {
     }
 
     @Test
-    public void testUpdateMovieAverageRating_success() {
-        double newRating = 4.5;
+    public void testAddMovieRating_movieExists_runningSumUpdated() {
+        when(movieRepository.addRating(ID, RATING, 1)).thenReturn(1);
 
-        when(movieMapper.mapMovieToMovieDto(any())).thenReturn(MovieFactory.getDefaultMovieDto());
-        when(movieRepository.findById(anyInt())).thenReturn(Optional.of(MovieFactory.getDefaultMovie()));
+        movieService.addMovieRating(ID, RATING, 1);
+
+        verify(movieRepository).addRating(ID, RATING, 1);
+    }
+
+    @Test(expected = MovieNotFoundException.class)
+    public void testAddMovieRating_movieNotFound_throwsMovieNotFoundException() {
+        when(movieRepository.addRating(ID, RATING, 1)).thenReturn(0);
+
+        movieService.addMovieRating(ID, RATING, 1);
+    }
+
+    @Test
+    public void testAddMovieRating_movieExists_catalogRatingUpdated() {
+        loadNoMovies();
+        when(movieRepository.addRating(ID, RATING, 1)).thenReturn(1);
+        when(movieRepository.findAverageRatingById(ID)).thenReturn(Optional.of(4.5));
+
+        movieService.addMovieRating(ID, RATING, 1);
+
+        verify(movieCatalog).updateRating(ID, 4.5);
+    }
+
+    @Test
+    public void testLoadCatalog_moviesLoadedIntoCatalog() {
+        when(movieRepository.streamAllWithCategory()).thenReturn(MovieFactory.getDefaultMovieList().stream());
+
+        movieService.loadCatalog();
+
+        verify(movieCatalog).replaceAll(argThat(movies -> movies.size() == 1 &&
+                                                          movies.iterator().next().getId() == ID));
+    }
+
+    @Test
+    public void testLoadCatalog_ratingChangedWhileReloading_appliedAgainToReloadedCatalog() {
+        loadNoMovies();
+        when(movieRepository.addRating(ID, RATING, 1)).thenReturn(1);
+        when(movieRepository.findAverageRatingById(ID)).thenReturn(Optional.of(4.5));
+        when(movieRepository.streamAllWithCategory()).thenReturn(MovieFactory.getDefaultMovieList().stream().peek(
+                movie -> movieService.addMovieRating(ID, RATING, 1)));
+
+        movieService.loadCatalog();
+
+        InOrder inOrder = inOrder(movieCatalog);
+        inOrder.verify(movieCatalog).updateRating(ID, 4.5);
+        inOrder.verify(movieCatalog).replaceAll(argThat(movies -> movies.size() == 1));
+        inOrder.verify(movieCatalog).updateRating(ID, 4.5);
+    }
+
+    @Test
+    public void testGetMoviesByTitle_catalogLoaded_databaseNotQueried() {
+        when(movieCatalog.isLoaded()).thenReturn(true);
+        when(movieCatalog.findByTitleContaining(TITLE, RATING)).thenReturn(
+                Collections.singletonList(MovieSnapshot.of(MovieFactory.getDefaultMovie())));
+
+        List<MovieDto> resultList = movieService.getMoviesByTitle(TITLE, RATING);
+
+        assertEquals(MovieFactory.getDefaultMovieDtoList(), resultList);
+        verifyNoInteractions(movieRepository, movieMapper);
+    }
+
+    @Test
+    public void testGetMoviesByCategory_catalogLoaded_databaseNotQueried() {
+        when(movieCatalog.isLoaded()).thenReturn(true);
+        when(movieCatalog.findByCategoryId(ID, 0)).thenReturn(
+                Collections.singletonList(MovieSnapshot.of(MovieFactory.getDefaultMovie())));
+
+        List<MovieDto> resultList = movieService.getMoviesByCategory(ID, 0);
+
+        assertEquals(MovieFactory.getDefaultMovieDtoList(), resultList);
+        verifyNoInteractions(movieRepository, movieMapper);
+    }
+
+    @Test
+    public void testGetMoviesByReleaseDate_catalogLoadedMinRatingNull_allRatingsIncluded() {
+        when(movieCatalog.isLoaded()).thenReturn(true);
+        when(movieCatalog.findByReleaseDate(RELEASE_DATE, true, Double.NEGATIVE_INFINITY)).thenReturn(
+                Collections.singletonList(MovieSnapshot.of(MovieFactory.getDefaultMovie())));
+
+        List<MovieDto> resultList = movieService.getMoviesByReleaseDate(RELEASE_DATE, null, true);
+
+        assertEquals(MovieFactory.getDefaultMovieDtoList(), resultList);
+        verifyNoInteractions(movieRepository, movieMapper);
+    }
+
+    @Test
+    public void testGetMoviesByMinRating_catalogLoaded_databaseNotQueried() {
+        when(movieCatalog.isLoaded()).thenReturn(true);
+        when(movieCatalog.findByMinRating(RATING)).thenReturn(
+                Collections.singletonList(MovieSnapshot.of(MovieFactory.getDefaultMovie())));
+
+        List<MovieDto> resultList = movieService.getMoviesByMinRating(RATING);
+
+        assertEquals(MovieFactory.getDefaultMovieDtoList(), resultList);
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    public void testGetMovieDtoById_inCatalog_databaseNotQueried() {
+        when(movieCatalog.getById(ID)).thenReturn(MovieSnapshot.of(MovieFactory.getDefaultMovie()));
+
+        MovieDto result = movieService.getMovieDtoById(ID);
+
+        assertEquals(MovieFactory.getDefaultMovieDto(), result);
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    public void testDeleteMovie_removedFromCatalog() {
+        loadNoMovies();
+        when(movieCatalog.getById(ID)).thenReturn(MovieSnapshot.of(MovieFactory.getDefaultMovie()));
+
+        movieService.deleteMovie(ID);
+
+        verify(movieRepository).deleteById(ID);
+        verify(movieCatalog).remove(ID);
+    }
+
+    @Test
+    public void testGetMovieSuggestions_catalogLoaded_defaultCountRequested() {
+        when(movieCatalog.isLoaded()).thenReturn(true);
+        when(movieCatalog.findByTitle(TITLE, Double.NEGATIVE_INFINITY, SUGGESTION_COUNT)).thenReturn(
+                Collections.singletonList(MovieSnapshot.of(MovieFactory.getDefaultMovie())));
+
+        List<MovieDto> resultList = movieService.getMovieSuggestions(TITLE, null);
+
+        assertEquals(MovieFactory.getDefaultMovieDtoList(), resultList);
+        verifyNoInteractions(movieRepository, movieMapper);
+    }
+
+    @Test
+    public void testGetMovieSuggestions_catalogNotLoaded_databaseResultsLimited() {
+        when(movieRepository.findByTitleContaining(TITLE)).thenReturn(MovieFactory.getDefaultMovieList());
+        when(movieMapper.mapMovieListToMovieDtoList(argThat(movies -> movies.size() == 1))).thenReturn(
+                MovieFactory.getDefaultMovieDtoList());
+
+        List<MovieDto> resultList = movieService.getMovieSuggestions(TITLE, 1);
+
+        assertEquals(MovieFactory.getDefaultMovieDtoList(), resultList);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetMovieSuggestions_blankQuery_throwsIllegalArgumentException() {
+        movieService.getMovieSuggestions(" ", null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetMovieSuggestions_sizeTooLarge_throwsIllegalArgumentException() {
+        movieService.getMovieSuggestions(TITLE, MAX_SUGGESTION_COUNT + 1);
+    }
 
-        MovieDto result = movieService.updateMovieAverageRating(newRating, ID);
+    private void loadNoMovies() {
+        when(movieRepository.streamAllWithCategory()).thenReturn(Stream.empty());
 
-        assertEquals(newRating, result.getAverageRating(), 0.01);
+        movieService.loadCatalog();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package filmfocus.services;
+
+import filmfocus.exceptions.ExportLimitExceededException;
+import filmfocus.export.ExportFormat;
+import filmfocus.models.views.ItemExportView;
+import filmfocus.models.views.OrderExportView;
+import filmfocus.repositories.OrderRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static filmfocus.testUtils.constants.ReportConstants.END_DATE;
+import static filmfocus.testUtils.constants.ReportConstants.START_DATE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OrderExportServiceTest {
+
+  private static final int MAX_CONCURRENT_EXPORTS = 1;
+
+  @Mock
+  private OrderRepository orderRepository;
+
+  private OrderExportService orderExportService;
+
+  @Before
+  public void setUp() {
+    orderExportService = new OrderExportService(orderRepository, MAX_CONCURRENT_EXPORTS);
+  }
+
+  @Test
+  public void testExport_ordersAsCsv_rowsWrittenAndStreamClosed() throws IOException {
+    AtomicBoolean closed = new AtomicBoolean();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    when(orderRepository.streamOrderExport(START_DATE, END_DATE)).thenReturn(
+      Stream.of(orderView(1, "ana", 20), orderView(2, null, 8.5)).onClose(() -> closed.set(true)));
+
+    long rows = orderExportService.export(OrderExportService.ExportType.ORDERS, ExportFormat.CSV, START_DATE, END_DATE,
+                                          outputStream);
+
+    assertEquals(2, rows);
+    assertEquals("orderId,dateOfPurchase,userId,username,totalPrice\r\n" +
+                 "1,1900-01-01,1,ana,20.0\r\n" +
+                 "2,1900-01-01,,,8.5\r\n", outputStream.toString(StandardCharsets.UTF_8.name()));
+    assertTrue(closed.get());
+  }
+
+  @Test
+  public void testExport_itemsAsNdjson_oneLinePerItem() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    when(orderRepository.streamItemExport(START_DATE, END_DATE)).thenReturn(Stream.of(itemView(1, 7, "Popcorn", 5.0)));
+
+    long rows = orderExportService.export(OrderExportService.ExportType.ITEMS, ExportFormat.NDJSON, START_DATE,
+                                          END_DATE, outputStream);
+
+    assertEquals(1, rows);
+    assertEquals("{\"orderId\":1,\"dateOfPurchase\":\"1900-01-01\",\"itemId\":7,\"itemName\":\"Popcorn\"," +
+                 "\"price\":5.0}\n", outputStream.toString(StandardCharsets.UTF_8.name()));
+  }
+
+  @Test
+  public void testGetExportFormat_mixedCase_success() {
+    assertEquals(ExportFormat.NDJSON, orderExportService.getExportFormat("NdJson"));
+    assertEquals(OrderExportService.ExportType.TICKETS, orderExportService.getExportType("tickets"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetExportType_unknownType_throwsIllegalArgumentException() {
+    orderExportService.getExportType("reviews");
+  }
+
+  @Test(expected = ExportLimitExceededException.class)
+  public void testStartExport_limitReached_throwsExportLimitExceededException() {
+    orderExportService.startExport();
+    orderExportService.finishExport();
+    orderExportService.startExport();
+
+    orderExportService.startExport();
+  }
+
+  private OrderExportView orderView(int orderId, String username, double totalPrice) {
+    return new OrderExportView() {
+      @Override
+      public int getOrderId() {
+        return orderId;
+      }
+
+      @Override
+      public LocalDate getDateOfPurchase() {
+        return START_DATE;
+      }
+
+      @Override
+      public Integer getUserId() {
+        return username == null ? null : orderId;
+      }
+
+      @Override
+      public String getUsername() {
+        return username;
+      }
+
+      @Override
+      public double getTotalPrice() {
+        return totalPrice;
+      }
+    };
+  }
+
+  private ItemExportView itemView(int orderId, int itemId, String itemName, Double price) {
+    return new ItemExportView() {
+      @Override
+      public int getOrderId() {
+        return orderId;
+      }
+
+      @Override
+      public LocalDate getDateOfPurchase() {
+        return START_DATE;
+      }
+
+      @Override
+      public int getItemId() {
+        return itemId;
+      }
+
+      @Override
+      public String getItemName() {
+        return itemName;
+      }
+
+      @Override
+      public Double getPrice() {
+        return price;
+      }
+    };
+  }
+}
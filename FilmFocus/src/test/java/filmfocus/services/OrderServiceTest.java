@@ -1,5 +1,6 @@
 package filmfocus.services;
 
+import filmfocus.analytics.ReportCache;
 import com.mailjet.client.errors.MailjetException;
 import com.mailjet.client.errors.MailjetSocketTimeoutException;
 import filmfocus.exceptions.DiscountNotValidException;
@@ -7,11 +8,13 @@ import filmfocus.exceptions.NotAuthorizedException;
 import filmfocus.exceptions.OrderNotFoundException;
 import filmfocus.mappers.OrderMapper;
 import filmfocus.models.dtos.OrderDto;
+import filmfocus.models.dtos.SeatHoldDto;
 import filmfocus.models.entities.Item;
 import filmfocus.models.entities.Order;
 import filmfocus.models.entities.Ticket;
 import filmfocus.models.entities.User;
 import filmfocus.models.requests.OrderRequest;
+import filmfocus.models.requests.TicketRequest;
 import filmfocus.repositories.OrderRepository;
 import filmfocus.testUtils.factories.ItemFactory;
 import filmfocus.testUtils.factories.OrderFactory;
@@ -20,6 +23,7 @@ import filmfocus.testUtils.factories.TicketFactory;
 import filmfocus.testUtils.factories.UserFactory;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -31,6 +35,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static filmfocus.testUtils.constants.DiscountConstants.CODE;
+import static filmfocus.testUtils.constants.ItemConstants.NAME;
+import static filmfocus.testUtils.constants.OrderConstants.HOLD_ID;
 import static filmfocus.testUtils.constants.OrderConstants.ID;
 import static filmfocus.testUtils.constants.OrderConstants.TOTAL_PRICE;
 import static filmfocus.testUtils.constants.ReportConstants.END_DATE;
@@ -40,6 +46,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -67,6 +76,18 @@ public class OrderServiceTest {
   @Mock
   private DiscountService discountService;
 
+  @Mock
+  private SeatHoldService seatHoldService;
+
+  @Mock
+  private RevenueRollupService revenueRollupService;
+
+  @Mock
+  private SalesFactService salesFactService;
+
+  @Mock
+  private ReportCache reportCache;
+
   @InjectMocks
   private OrderService orderService;
 
@@ -83,6 +104,8 @@ public class OrderServiceTest {
     Order order = orderService.addOrder(OrderFactory.getDefaultOrderRequest());
 
     assertEquals(expected, order);
+    verify(revenueRollupService).recordOrder(expected);
+    verify(salesFactService).recordOrder(expected);
     verify(emailService).sendOrderConfirmationEmail(any(), any());
   }
 
@@ -107,7 +130,7 @@ public class OrderServiceTest {
     ticket.setDateOfPurchase(LocalDate.now());
     ticket.setProjection(ProjectionFactory.getDefaultProjection());
 
-    when(ticketService.addTicket(any())).thenReturn(ticket);
+    when(ticketService.addTickets(any())).thenReturn(Collections.singletonList(ticket));
     when(userService.getUserById(anyInt())).thenReturn(UserFactory.getDefaultUser());
     when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
     when(orderRepository.save(any())).thenReturn(expected);
@@ -124,19 +147,77 @@ public class OrderServiceTest {
   public void testMakeReservationWithUserId_discountCodeNotValid_throwsDiscountNotFoundException() throws
     MailjetSocketTimeoutException,
     MailjetException {
-    Ticket ticket = new Ticket();
-    ticket.setId(ID);
-    ticket.setDateOfPurchase(LocalDate.now());
-    ticket.setProjection(ProjectionFactory.getDefaultProjection());
-
     String invalidDiscount = "ABC";
 
-    when(ticketService.addTicket(any())).thenReturn(ticket);
     when(userService.getUserById(anyInt())).thenReturn(UserFactory.getDefaultUser());
     when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
 
-    orderService.makeReservationWithUserId(Collections.singletonList(TicketFactory.getDefaultTicketRequest()), ID,
-                                           invalidDiscount);
+    try {
+      orderService.makeReservationWithUserId(Collections.singletonList(TicketFactory.getDefaultTicketRequest()), ID,
+                                             invalidDiscount);
+    } finally {
+      verify(ticketService, never()).addTickets(any());
+    }
+  }
+
+  @Test
+  public void testHoldSeatsWithUserId_noExceptions_success() {
+    SeatHoldDto expected = new SeatHoldDto(HOLD_ID, ID, null, TicketFactory.getDefaultTicketDtoList());
+    List<TicketRequest> requests = Collections.singletonList(TicketFactory.getDefaultTicketRequest());
+
+    when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
+    when(seatHoldService.holdSeats(requests, ID)).thenReturn(expected);
+
+    assertEquals(expected, orderService.holdSeatsWithUserId(requests, ID));
+  }
+
+  @Test(expected = NotAuthorizedException.class)
+  public void testHoldSeatsWithUserId_invalidUserId_throwsNotAuthorizedException() {
+    when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(false);
+
+    try {
+      orderService.holdSeatsWithUserId(Collections.singletonList(TicketFactory.getDefaultTicketRequest()), ID);
+    } finally {
+      verify(seatHoldService, never()).holdSeats(any(), anyInt());
+    }
+  }
+
+  @Test
+  public void testConfirmHoldWithUserId_noExceptions_success() throws MailjetSocketTimeoutException,
+    MailjetException {
+    Order expected = OrderFactory.getDefaultOrder();
+
+    when(userService.getUserById(anyInt())).thenReturn(UserFactory.getDefaultUser());
+    when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
+    when(seatHoldService.confirmHold(HOLD_ID, ID)).thenReturn(TicketFactory.getDefaultTicketList());
+    when(orderRepository.save(any())).thenReturn(expected);
+
+    Order order = orderService.confirmHoldWithUserId(HOLD_ID, ID, null);
+
+    assertEquals(expected, order);
+    verify(emailService).sendOrderConfirmationEmail(any(), any());
+  }
+
+  @Test(expected = DiscountNotValidException.class)
+  public void testConfirmHoldWithUserId_discountCodeNotValid_holdKept() throws MailjetSocketTimeoutException,
+    MailjetException {
+    when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
+
+    try {
+      orderService.confirmHoldWithUserId(HOLD_ID, ID, "ABC");
+    } finally {
+      verify(seatHoldService, never()).confirmHold(anyString(), anyInt());
+    }
+  }
+
+  @Test
+  public void testReleaseHoldWithUserId_noExceptions_success() {
+    SeatHoldDto expected = new SeatHoldDto(HOLD_ID, ID, null, TicketFactory.getDefaultTicketDtoList());
+
+    when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
+    when(seatHoldService.releaseHold(HOLD_ID, ID)).thenReturn(expected);
+
+    assertEquals(expected, orderService.releaseHoldWithUserId(HOLD_ID, ID));
   }
 
   @Test(expected = NotAuthorizedException.class)
@@ -200,6 +281,29 @@ public class OrderServiceTest {
     assertEquals(expected, result);
   }
 
+  @Test
+  public void testUpdateOrder_previousSalesRetractedBeforeNewSalesRecorded() {
+    Order order = OrderFactory.getDefaultOrder();
+    List<Item> retractedItems = new ArrayList<>();
+
+    when(orderRepository.findById(anyInt())).thenReturn(Optional.of(order));
+    when(ticketService.getTicketById(anyInt())).thenReturn(TicketFactory.getDefaultTicket());
+    when(userService.getUserById(anyInt())).thenReturn(UserFactory.getDefaultUser());
+    doAnswer(invocation -> retractedItems.addAll(((Order) invocation.getArgument(0)).getItems()))
+      .when(revenueRollupService).retractOrder(any());
+
+    OrderRequest request = OrderFactory.getDefaultOrderRequest();
+    request.setItemsIds(Collections.emptyList());
+    orderService.updateOrder(request, ID);
+
+    InOrder inOrder = inOrder(revenueRollupService, orderRepository);
+    inOrder.verify(revenueRollupService).retractOrder(order);
+    inOrder.verify(orderRepository).save(order);
+    inOrder.verify(revenueRollupService).recordOrder(order);
+    assertEquals(ItemFactory.getDefaultItemList(), retractedItems);
+    verify(reportCache).invalidateDay(order.getDateOfPurchase());
+  }
+
   @Test(expected = OrderNotFoundException.class)
   public void testUpdateOrder_OrderNotFoundException_fail() throws MailjetSocketTimeoutException, MailjetException {
     when(orderRepository.findById(anyInt())).thenReturn(Optional.empty());
@@ -210,13 +314,18 @@ public class OrderServiceTest {
   @Test
   public void testDeleteOrder_noExceptions_fail() {
     OrderDto expected = OrderFactory.getDefaultOrderDto();
+    Order order = new Order();
+    order.setDateOfPurchase(LocalDate.of(2023, 1, 15));
 
-    when(orderRepository.findById(anyInt())).thenReturn(Optional.of(new Order()));
+    when(orderRepository.findById(anyInt())).thenReturn(Optional.of(order));
     when(orderMapper.mapOrderToOrderDto(any())).thenReturn(expected);
 
     OrderDto result = orderService.deleteOrder(ID);
 
     assertEquals(expected, result);
+    verify(revenueRollupService).retractOrder(order);
+    verify(salesFactService).retractOrder(order);
+    verify(reportCache).invalidateDay(LocalDate.of(2023, 1, 15));
   }
 
   @Test(expected = OrderNotFoundException.class)
@@ -236,4 +345,11 @@ public class OrderServiceTest {
 
     assertEquals(expected, orders);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testGetItemsCountByItemName() {
+    when(orderRepository.countItemsByItemName(NAME, START_DATE, END_DATE)).thenReturn(4L);
+
+    assertEquals(4, orderService.getItemsCountByItemName(NAME, START_DATE, END_DATE));
+  }
+}
@@ -0,0 +1,77 @@
+package filmfocus.services;
+
+import filmfocus.repositories.CinemaRepository;
+import filmfocus.repositories.MovieRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RatingAggregateServiceTest {
+
+  @Mock
+  private MovieRepository movieRepository;
+
+  @Mock
+  private CinemaRepository cinemaRepository;
+
+  @Mock
+  private RatingUpdateService ratingUpdateService;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @InjectMocks
+  private RatingAggregateService ratingAggregateService;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRebuildRatingAggregates_everyEntityLockedThenRebuiltInOwnTransaction() {
+    doAnswer(invocation -> {
+      ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArgument(1)).run();
+      return null;
+    }).when(ratingUpdateService).rebuildMovieRating(anyInt(), any());
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArgument(1)).run();
+      return null;
+    }).when(ratingUpdateService).rebuildCinemaRating(anyInt(), any());
+    when(movieRepository.findAllIds()).thenReturn(Arrays.asList(1, 2));
+    when(cinemaRepository.findAllIds()).thenReturn(Collections.singletonList(3));
+
+    ratingAggregateService.rebuildRatingAggregates();
+
+    InOrder inOrder = inOrder(movieRepository, cinemaRepository);
+    inOrder.verify(movieRepository).lockRatingById(1);
+    inOrder.verify(movieRepository).rebuildRating(1);
+    inOrder.verify(movieRepository).lockRatingById(2);
+    inOrder.verify(movieRepository).rebuildRating(2);
+    inOrder.verify(cinemaRepository).lockRatingById(3);
+    inOrder.verify(cinemaRepository).rebuildRating(3);
+    verify(transactionTemplate, times(3)).executeWithoutResult(any());
+    verify(ratingUpdateService).rebuildMovieRating(eq(1), any());
+    verify(ratingUpdateService).rebuildMovieRating(eq(2), any());
+    verify(ratingUpdateService).rebuildCinemaRating(eq(3), any());
+  }
+}
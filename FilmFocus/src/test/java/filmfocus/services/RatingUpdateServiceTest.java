@@ -0,0 +1,202 @@
+package filmfocus.services;
+
+import filmfocus.exceptions.MovieNotFoundException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RatingUpdateServiceTest {
+
+  private static final int ID = 1;
+
+  @Mock
+  private MovieService movieService;
+
+  @Mock
+  private CinemaService cinemaService;
+
+  @InjectMocks
+  private RatingUpdateService ratingUpdateService;
+
+  @Test
+  public void testFlushRatings_severalReviews_oneUpdatePerTarget() {
+    ratingUpdateService.addMovieRating(ID, 4, 1);
+    ratingUpdateService.addMovieRating(ID, 5, 1);
+    ratingUpdateService.addMovieRating(ID, -1, 0);
+    ratingUpdateService.addCinemaRating(ID, 3, 1);
+
+    ratingUpdateService.flushRatings();
+
+    verify(movieService).addMovieRating(ID, 8, 2);
+    verify(cinemaService).addCinemaRating(ID, 3, 1);
+    assertEquals(0, ratingUpdateService.getPendingUpdates());
+  }
+
+  @Test
+  public void testFlushRatings_changesCancelOut_noUpdate() {
+    ratingUpdateService.addMovieRating(ID, 4, 1);
+    ratingUpdateService.addMovieRating(ID, -4, -1);
+
+    ratingUpdateService.flushRatings();
+
+    verifyNoInteractions(movieService, cinemaService);
+  }
+
+  @Test
+  public void testFlushRatings_updateFails_changesKeptForNextFlush() {
+    doThrow(new IllegalStateException("Connection refused")).doNothing()
+      .when(movieService).addMovieRating(anyInt(), anyDouble(), anyInt());
+
+    ratingUpdateService.addMovieRating(ID, 4, 1);
+    ratingUpdateService.flushRatings();
+    ratingUpdateService.addMovieRating(ID, 2, 1);
+    ratingUpdateService.flushRatings();
+
+    verify(movieService).addMovieRating(ID, 4, 1);
+    verify(movieService).addMovieRating(ID, 6, 2);
+    assertEquals(0, ratingUpdateService.getPendingUpdates());
+  }
+
+  @Test
+  public void testFlushRatings_movieDeleted_changesDropped() {
+    doThrow(new MovieNotFoundException("No such movie")).when(movieService).addMovieRating(ID, 4, 1);
+
+    ratingUpdateService.addMovieRating(ID, 4, 1);
+    ratingUpdateService.flushRatings();
+    ratingUpdateService.flushRatings();
+
+    verify(movieService, times(1)).addMovieRating(anyInt(), anyDouble(), anyInt());
+    assertEquals(0, ratingUpdateService.getPendingUpdates());
+  }
+
+  @Test
+  public void testAddMovieRating_inTransaction_collectedOnlyOnCommit() {
+    commitReview(() -> ratingUpdateService.addMovieRating(ID, 4, 1), TransactionSynchronization.STATUS_COMMITTED);
+    commitReview(() -> ratingUpdateService.addMovieRating(ID, 5, 1), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    ratingUpdateService.flushRatings();
+
+    verify(movieService).addMovieRating(ID, 4, 1);
+  }
+
+  @Test
+  public void testRebuildMovieRating_pendingChanges_dropped() {
+    ratingUpdateService.addMovieRating(ID, 4, 1);
+    ratingUpdateService.addCinemaRating(ID, 3, 1);
+
+    ratingUpdateService.rebuildMovieRating(ID, () -> { });
+    ratingUpdateService.flushRatings();
+
+    verify(movieService, times(0)).addMovieRating(anyInt(), anyDouble(), anyInt());
+    verify(cinemaService).addCinemaRating(ID, 3, 1);
+  }
+
+  @Test
+  public void testRebuildMovieRating_rebuildFails_changesKept() {
+    ratingUpdateService.addMovieRating(ID, 4, 1);
+
+    try {
+      ratingUpdateService.rebuildMovieRating(ID, () -> {
+        throw new IllegalStateException("Connection refused");
+      });
+      fail();
+    } catch (IllegalStateException exception) {
+      ratingUpdateService.flushRatings();
+
+      verify(movieService).addMovieRating(ID, 4, 1);
+    }
+  }
+
+  @Test
+  public void testRebuildMovieRating_reviewCommitting_waitsForRebuild() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    CountDownLatch rebuilding = new CountDownLatch(1);
+    CountDownLatch released = new CountDownLatch(1);
+
+    try {
+      Future<?> rebuild = executor.submit(() -> ratingUpdateService.rebuildMovieRating(ID, () -> {
+        rebuilding.countDown();
+        await(released);
+      }));
+      assertTrue(rebuilding.await(5, TimeUnit.SECONDS));
+
+      Future<?> review = executor.submit(() -> commitReview(() -> ratingUpdateService.addMovieRating(ID, 4, 1),
+                                                            TransactionSynchronization.STATUS_COMMITTED));
+
+      try {
+        review.get(100, TimeUnit.MILLISECONDS);
+        fail();
+      } catch (TimeoutException exception) {
+        released.countDown();
+      }
+
+      rebuild.get(5, TimeUnit.SECONDS);
+      review.get(5, TimeUnit.SECONDS);
+    } finally {
+      released.countDown();
+      executor.shutdownNow();
+    }
+
+    ratingUpdateService.flushRatings();
+
+    verify(movieService).addMovieRating(ID, 4, 1);
+  }
+
+  @Test
+  public void testShutdown_pendingChanges_flushed() {
+    ratingUpdateService.addCinemaRating(ID, 2.5, 1);
+    ratingUpdateService.shutdown();
+
+    verify(cinemaService).addCinemaRating(ID, 2.5, 1);
+  }
+
+  // Runs the review change in a transaction that ends with the status, as the transaction manager would.
+  private void commitReview(Runnable change, int status) {
+    TransactionSynchronizationManager.initSynchronization();
+
+    try {
+      change.run();
+
+      List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+      if (status == TransactionSynchronization.STATUS_COMMITTED) {
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+      }
+
+      synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package filmfocus.services;
+
+import filmfocus.exceptions.CinemaNotFoundException;
+import filmfocus.exceptions.ReportJobLimitExceededException;
+import filmfocus.exceptions.ReportJobNotFinishedException;
+import filmfocus.exceptions.ReportJobNotFoundException;
+import filmfocus.models.dtos.ReportJobDto;
+import filmfocus.models.entities.User;
+import filmfocus.models.requests.ReportJobRequest;
+import filmfocus.testUtils.factories.UserFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static filmfocus.testUtils.constants.ReportConstants.ID;
+import static filmfocus.utils.constants.ExceptionMessages.CINEMA_NOT_FOUND_MESSAGE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReportJobServiceTest {
+
+  private static final LocalDate START_DATE = LocalDate.of(2023, 1, 15);
+  private static final LocalDate END_DATE = LocalDate.of(2023, 3, 10);
+
+  @Mock
+  private IncomeReportService incomeReportService;
+
+  @Mock
+  private StatisticsReportService statisticsReportService;
+
+  @Mock
+  private UserService userService;
+
+  private ReportJobService reportJobService;
+
+  @Before
+  public void setUp() {
+    reportJobService =
+      new ReportJobService(incomeReportService, statisticsReportService, userService, 2, 10, 1, 60000);
+
+    when(userService.getCurrentUser()).thenReturn(UserFactory.getDefaultUser());
+  }
+
+  @After
+  public void tearDown() {
+    reportJobService.shutdown();
+  }
+
+  @Test
+  public void testSubmitJob_cinemaIncomes_summedOverMonthlyPartitions() throws InterruptedException {
+    when(incomeReportService.getAllIncomesByCinemaId(eq(ID), any(), any())).thenReturn(10.0);
+
+    ReportJobDto job = reportJobService.submitJob(request("cinema-incomes", ID, null));
+    ReportJobDto finished = awaitJob(job.getId());
+
+    assertEquals("done", finished.getStatus());
+    assertEquals(100, finished.getProgress());
+    assertEquals(30.0, reportJobService.getJobResult(job.getId()));
+    verify(incomeReportService).getAllIncomesByCinemaId(ID, START_DATE, LocalDate.of(2023, 2, 1));
+    verify(incomeReportService).getAllIncomesByCinemaId(ID, LocalDate.of(2023, 2, 1), LocalDate.of(2023, 3, 1));
+    verify(incomeReportService).getAllIncomesByCinemaId(ID, LocalDate.of(2023, 3, 1), END_DATE);
+  }
+
+  @Test
+  public void testSubmitJob_movieTicketsCount_endDateIncluded() throws InterruptedException {
+    when(statisticsReportService.getPurchasedTicketsCountByMovieTitle(eq("Up"), any(), any())).thenReturn(2);
+
+    ReportJobDto job = reportJobService.submitJob(request("movie-tickets-count", null, "Up"));
+    awaitJob(job.getId());
+
+    assertEquals(6, reportJobService.getJobResult(job.getId()));
+    verify(statisticsReportService)
+      .getPurchasedTicketsCountByMovieTitle("Up", LocalDate.of(2023, 3, 1), END_DATE);
+  }
+
+  @Test
+  public void testSubmitJob_reportFails_jobFailedWithError() throws InterruptedException {
+    when(incomeReportService.getAllIncomesByCinemaId(anyInt(), any(), any()))
+      .thenThrow(new CinemaNotFoundException(CINEMA_NOT_FOUND_MESSAGE));
+
+    ReportJobDto job = reportJobService.submitJob(request("cinema-incomes", ID, null));
+    ReportJobDto finished = awaitJob(job.getId());
+
+    assertEquals("failed", finished.getStatus());
+    assertEquals(CINEMA_NOT_FOUND_MESSAGE, finished.getError());
+  }
+
+  @Test
+  public void testSubmitJob_userLimitReached_throwsReportJobLimitExceededException() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    when(incomeReportService.getAllIncomesByCinemaId(anyInt(), any(), any())).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return 1.0;
+    });
+
+    ReportJobDto job = reportJobService.submitJob(request("cinema-incomes", ID, null));
+
+    try {
+      reportJobService.submitJob(request("cinema-incomes", ID, null));
+      fail("Expected ReportJobLimitExceededException");
+    } catch (ReportJobLimitExceededException exception) {
+      release.countDown();
+    }
+
+    awaitJob(job.getId());
+
+    assertNotNull(reportJobService.submitJob(request("cinema-incomes", ID, null)).getId());
+  }
+
+  @Test(expected = ReportJobNotFinishedException.class)
+  public void testGetJobResult_jobRunning_throwsReportJobNotFinishedException() {
+    CountDownLatch release = new CountDownLatch(1);
+    when(incomeReportService.getAllIncomesByCinemaId(anyInt(), any(), any())).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return 1.0;
+    });
+
+    ReportJobDto job = reportJobService.submitJob(request("cinema-incomes", ID, null));
+
+    try {
+      reportJobService.getJobResult(job.getId());
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test(expected = ReportJobNotFoundException.class)
+  public void testGetJob_otherUser_throwsReportJobNotFoundException() throws InterruptedException {
+    when(incomeReportService.getAllIncomesByCinemaId(anyInt(), any(), any())).thenReturn(1.0);
+
+    ReportJobDto job = reportJobService.submitJob(request("cinema-incomes", ID, null));
+    awaitJob(job.getId());
+
+    User otherUser = UserFactory.getDefaultUser();
+    otherUser.setId(ID + 1);
+    when(userService.getCurrentUser()).thenReturn(otherUser);
+
+    reportJobService.getJob(job.getId());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSubmitJob_unknownType_throwsIllegalArgumentException() {
+    reportJobService.submitJob(request("hall-occupancy", ID, null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSubmitJob_missingId_throwsIllegalArgumentException() {
+    reportJobService.submitJob(request("hall-incomes", null, null));
+  }
+
+  @Test(expected = ReportJobNotFoundException.class)
+  public void testRemoveExpiredJobs_finishedJob_removed() throws InterruptedException {
+    when(incomeReportService.getAllIncomesByCinemaId(anyInt(), any(), any())).thenReturn(1.0);
+
+    ReportJobDto job = reportJobService.submitJob(request("cinema-incomes", ID, null));
+    awaitJob(job.getId());
+
+    reportJobService.removeExpiredJobs(LocalDateTime.now().plusMinutes(2));
+
+    reportJobService.getJob(job.getId());
+  }
+
+  private ReportJobRequest request(String type, Integer id, String name) {
+    return new ReportJobRequest(type, id, name, null, START_DATE, END_DATE);
+  }
+
+  private ReportJobDto awaitJob(String jobId) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+
+    while (System.currentTimeMillis() < deadline) {
+      ReportJobDto job = reportJobService.getJob(jobId);
+
+      if (job.getStatus().equals("done") || job.getStatus().equals("failed")) {
+        return job;
+      }
+
+      Thread.sleep(10);
+    }
+
+    throw new AssertionError("The report job did not finish in time");
+  }
+}
@@ -0,0 +1,148 @@
+package filmfocus.services;
+
+import filmfocus.models.entities.Hall;
+import filmfocus.models.entities.Order;
+import filmfocus.models.entities.RevenueRollup;
+import filmfocus.models.entities.Ticket;
+import filmfocus.repositories.RevenueRollupRepository;
+import filmfocus.testUtils.factories.ItemFactory;
+import filmfocus.testUtils.factories.OrderFactory;
+import filmfocus.testUtils.factories.TicketFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.AdditionalMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static filmfocus.testUtils.constants.CinemaConstants.ID;
+import static filmfocus.testUtils.constants.OrderConstants.DATE_OF_PURCHASE;
+import static filmfocus.testUtils.constants.OrderConstants.TOTAL_PRICE;
+import static filmfocus.testUtils.constants.ProjectionConstants.PRICE;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RevenueRollupServiceTest {
+
+  private static final double DELTA = 0.000001;
+
+  @Mock
+  private RevenueRollupRepository revenueRollupRepository;
+
+  @InjectMocks
+  private RevenueRollupService revenueRollupService;
+
+  @Test
+  public void testGetRollups_ticketAndItem_discountSpreadByPrice() {
+    Order order = OrderFactory.getDefaultOrder();
+    double grossTotal = PRICE + ItemFactory.getDefaultItem().getPrice();
+
+    Iterator<RevenueRollup> rollups = revenueRollupService.getRollups(order).iterator();
+    RevenueRollup ticketRollup = rollups.next();
+    RevenueRollup itemRollup = rollups.next();
+
+    assertEquals(new RevenueRollup(0, DATE_OF_PURCHASE, ID, ID, ID, 0, ID, 0, PRICE * TOTAL_PRICE / grossTotal, 0, 0),
+                 ticketRollup);
+    assertEquals(ID, itemRollup.getCinemaId());
+    assertEquals(0, itemRollup.getMovieId());
+    assertEquals(ItemFactory.getDefaultItem().getId(), itemRollup.getItemId());
+    assertEquals(1, itemRollup.getItemCount());
+    assertEquals(TOTAL_PRICE, ticketRollup.getNetIncome() + itemRollup.getNetIncome(), DELTA);
+  }
+
+  @Test
+  public void testGetRollups_sameProjectionTickets_mergedIntoOneRollup() {
+    Order order = OrderFactory.getDefaultOrder();
+    order.setTickets(Arrays.asList(TicketFactory.getDefaultTicket(), TicketFactory.getDefaultTicket()));
+    order.setItems(Collections.emptyList());
+
+    List<RevenueRollup> rollups = new ArrayList<>(revenueRollupService.getRollups(order));
+
+    assertEquals(1, rollups.size());
+    assertEquals(0, rollups.get(0).getTicketCount());
+    assertEquals(0, rollups.get(0).getGrossIncome(), DELTA);
+    assertEquals(TOTAL_PRICE, rollups.get(0).getNetIncome(), DELTA);
+  }
+
+  @Test
+  public void testGetRollups_itemsOnly_bookedWithoutVenue() {
+    Order order = OrderFactory.getDefaultOrder();
+    order.setTickets(Collections.emptyList());
+
+    List<RevenueRollup> rollups = new ArrayList<>(revenueRollupService.getRollups(order));
+
+    assertEquals(1, rollups.size());
+    assertEquals(0, rollups.get(0).getCinemaId());
+    assertEquals(0, rollups.get(0).getHallId());
+    assertEquals(TOTAL_PRICE, rollups.get(0).getNetIncome(), DELTA);
+  }
+
+  @Test
+  public void testGetRollups_itemsBookedToFirstTicketHall() {
+    Ticket first = TicketFactory.getDefaultTicket();
+    Ticket second = TicketFactory.getDefaultTicket();
+    Hall otherHall = new Hall();
+    otherHall.setId(ID + 1);
+    otherHall.setCinema(first.getProjection().getHall().getCinema());
+    second.setId(first.getId() - 1);
+    second.getProjection().setHall(otherHall);
+
+    Order order = OrderFactory.getDefaultOrder();
+    order.setTickets(Arrays.asList(first, second));
+
+    RevenueRollup itemRollup = null;
+    for (RevenueRollup rollup : revenueRollupService.getRollups(order)) {
+      if (rollup.getItemCount() > 0) {
+        itemRollup = rollup;
+      }
+    }
+
+    assertEquals(ID + 1, itemRollup.getHallId());
+  }
+
+  @Test
+  public void testRecordOrder_rollupsAdded() {
+    Order order = OrderFactory.getDefaultOrder();
+    order.setItems(Collections.emptyList());
+
+    revenueRollupService.recordOrder(order);
+
+    verify(revenueRollupRepository).addToRollup(DATE_OF_PURCHASE, ID, ID, ID, 0, ID, 0, TOTAL_PRICE, 0, 0);
+  }
+
+  @Test
+  public void testRetractOrder_rollupsSubtracted() {
+    Order order = OrderFactory.getDefaultOrder();
+    order.setItems(Collections.emptyList());
+
+    revenueRollupService.retractOrder(order);
+
+    verify(revenueRollupRepository).addToRollup(eq(DATE_OF_PURCHASE), eq(ID), eq(ID), eq(ID), eq(0), eq(ID),
+                                                AdditionalMatchers.eq(0, DELTA), eq(-TOTAL_PRICE), eq(0), eq(0));
+  }
+
+  @Test
+  public void testRecordTickets_standaloneTickets_grossAndCountAdded() {
+    Ticket ticket = TicketFactory.getDefaultTicket();
+
+    revenueRollupService.recordTickets(Arrays.asList(ticket, TicketFactory.getDefaultTicket()));
+
+    verify(revenueRollupRepository).addToRollup(ticket.getDateOfPurchase(), ID, ID, ID, 0, 0, 2 * PRICE, 0, 2, 0);
+  }
+
+  @Test
+  public void testRecordOrder_emptyOrder_nothingWritten() {
+    revenueRollupService.recordOrder(new Order());
+
+    verifyNoInteractions(revenueRollupRepository);
+  }
+}
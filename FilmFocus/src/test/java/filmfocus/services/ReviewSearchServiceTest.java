@@ -0,0 +1,117 @@
+package filmfocus.services;
+
+import filmfocus.models.entities.Review;
+import filmfocus.models.views.ReviewTextView;
+import filmfocus.repositories.ReviewRepository;
+import filmfocus.search.ReviewTextIndex;
+import filmfocus.testUtils.factories.CinemaFactory;
+import filmfocus.testUtils.factories.MovieFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReviewSearchServiceTest {
+
+  private static final int LIMIT = 10;
+  private static final int MOVIE_ID = MovieFactory.getDefaultMovie().getId();
+  private static final int CINEMA_ID = CinemaFactory.getDefaultCinema().getId();
+
+  @Mock
+  private ReviewRepository reviewRepository;
+
+  @InjectMocks
+  private ReviewSearchService reviewSearchService;
+
+  @Test
+  public void testLoadIndex_reviewTextsStreamed_searchable() {
+    when(reviewRepository.streamReviewTexts()).thenReturn(Stream.of(
+      getText(1, MOVIE_ID, null, "Great sound"),
+      getText(2, null, CINEMA_ID, "Bad sound")));
+
+    reviewSearchService.loadIndex();
+
+    assertArrayEquals(new int[] {2, 1}, search("sound", null, null));
+    assertArrayEquals(new int[] {2}, search("sound", null, CINEMA_ID));
+  }
+
+  @Test
+  public void testReindexReview_noTransaction_previousTextReplaced() {
+    Review review = new Review(5, 4, "Loud sound", LocalDate.now(), MovieFactory.getDefaultMovie(), null, null);
+    loadNoReviews();
+
+    reviewSearchService.indexReview(review);
+    review.setReviewText("Quiet hall");
+    reviewSearchService.reindexReview(review, "Loud sound");
+
+    assertArrayEquals(new int[0], search("sound", MOVIE_ID, null));
+    assertArrayEquals(new int[] {5}, search("quiet", MOVIE_ID, null));
+  }
+
+  @Test
+  public void testRemoveReview_noTransaction_removedRightAway() {
+    Review review = new Review(5, 4, "Loud sound", LocalDate.now(), null, CinemaFactory.getDefaultCinema(), null);
+    loadNoReviews();
+
+    reviewSearchService.indexReview(review);
+    reviewSearchService.removeReview(review);
+
+    assertArrayEquals(new int[0], search("loud", null, null));
+  }
+
+  @Test
+  public void testIndexReview_whileLoading_heldUntilLoaded() {
+    Review review = new Review(5, 4, "Loud sound", LocalDate.now(), MovieFactory.getDefaultMovie(), null, null);
+    when(reviewRepository.streamReviewTexts()).thenReturn(Stream.of(getText(1, MOVIE_ID, null, "Great sound")).peek(
+      text -> {
+        reviewSearchService.indexReview(review);
+        assertArrayEquals(new int[0], search("loud", null, null));
+      }));
+
+    reviewSearchService.loadIndex();
+
+    assertArrayEquals(new int[] {5, 1}, search("sound", MOVIE_ID, null));
+  }
+
+  private void loadNoReviews() {
+    when(reviewRepository.streamReviewTexts()).thenReturn(Stream.empty());
+
+    reviewSearchService.loadIndex();
+  }
+
+  private int[] search(String query, Integer movieId, Integer cinemaId) {
+    return reviewSearchService.findReviewIds(ReviewTextIndex.parseQuery(query), movieId, cinemaId, LIMIT);
+  }
+
+  private static ReviewTextView getText(int id, Integer movieId, Integer cinemaId, String reviewText) {
+    return new ReviewTextView() {
+      @Override
+      public int getId() {
+        return id;
+      }
+
+      @Override
+      public Integer getMovieId() {
+        return movieId;
+      }
+
+      @Override
+      public Integer getCinemaId() {
+        return cinemaId;
+      }
+
+      @Override
+      public String getReviewText() {
+        return reviewText;
+      }
+    };
+  }
+}
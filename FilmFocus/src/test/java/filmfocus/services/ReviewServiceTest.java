@@ -4,32 +4,47 @@ import filmfocus.exceptions.NotAuthorizedException;
 import filmfocus.exceptions.ReviewNotFoundException;
 import filmfocus.mappers.ReviewMapper;
 import filmfocus.models.dtos.ReviewDto;
+import filmfocus.models.dtos.ReviewPageDto;
 import filmfocus.models.entities.Review;
+import filmfocus.models.requests.ReviewRequest;
+import filmfocus.pagination.ReviewCursor;
 import filmfocus.repositories.ReviewRepository;
 import filmfocus.testUtils.factories.CinemaFactory;
 import filmfocus.testUtils.factories.MovieFactory;
 import filmfocus.testUtils.factories.ReviewFactory;
 import filmfocus.testUtils.factories.UserFactory;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Sort;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static filmfocus.testUtils.constants.ReviewConstants.ID;
 import static filmfocus.testUtils.constants.ReviewConstants.NOW;
+import static filmfocus.testUtils.constants.ReviewConstants.REVIEW_TEXT;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ReviewServiceTest {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Mock
     private ReviewRepository reviewRepository;
 
@@ -45,9 +60,24 @@ public class ReviewServiceTest {
     @Mock
     private CinemaService cinemaService;
 
-    @InjectMocks
+    @Mock
+    private RatingUpdateService ratingUpdateService;
+
+    @Mock
+    private ReviewStatsService reviewStatsService;
+
+    @Mock
+    private ReviewSearchService reviewSearchService;
+
     private ReviewService reviewService;
 
+    @Before
+    public void setUp() {
+        reviewService = new ReviewService(reviewRepository, reviewMapper, userService, movieService, cinemaService,
+                                          ratingUpdateService, reviewStatsService, reviewSearchService,
+                                          DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+    }
+
     @Test
     public void testAddMovieReview_noExceptions_success() {
         Review expected = ReviewFactory.getDefaultReview();
@@ -55,7 +85,6 @@ public class ReviewServiceTest {
         when(userService.getCurrentUser()).thenReturn(UserFactory.getDefaultUser());
         when(movieService.getMovieById(anyInt())).thenReturn(MovieFactory.getDefaultMovie());
         when(reviewRepository.save(any())).thenReturn(ReviewFactory.getDefaultReview());
-        when(movieService.updateMovieAverageRating(anyDouble(), anyInt())).thenReturn(MovieFactory.getDefaultMovieDto());
 
         Review review = reviewService.addMovieReview(ReviewFactory.getDefaultReviewRequest(), ID);
 
@@ -66,23 +95,16 @@ public class ReviewServiceTest {
     }
 
     @Test
-    public void testAddMovieReview_reviewsSize1_success() {
-        ReviewDto expectedDto = ReviewFactory.getDefaultReviewDto();
-        Review expected = ReviewFactory.getDefaultReview();
-
+    public void testAddMovieReview_ratingAddedToRunningSum() {
         when(userService.getCurrentUser()).thenReturn(UserFactory.getDefaultUser());
         when(movieService.getMovieById(anyInt())).thenReturn(MovieFactory.getDefaultMovie());
-        when(reviewRepository.save(any())).thenReturn(new Review());
-        when(movieService.updateMovieAverageRating(anyDouble(), anyInt())).thenReturn(MovieFactory.getDefaultMovieDto());
-        when(reviewRepository.findByMovieId(anyInt())).thenReturn(ReviewFactory.getDefaultReviewList());
-        when(reviewMapper.mapReviewToReviewDto(any())).thenReturn(expectedDto);
 
         Review review = reviewService.addMovieReview(ReviewFactory.getDefaultReviewRequest(), ID);
 
-        assertEquals(expected.getUser(), review.getUser());
-        assertEquals(expected.getMovie(), review.getMovie());
-        assertEquals(expected.getReviewText(), review.getReviewText());
-        assertEquals(NOW, review.getDateModified());
+        verify(ratingUpdateService).addMovieRating(ID, review.getRating(), 1);
+        verify(reviewStatsService).recordReview(review);
+        verify(reviewSearchService).indexReview(review);
+        verifyNoInteractions(reviewMapper);
     }
 
     @Test
@@ -92,11 +114,10 @@ public class ReviewServiceTest {
         when(userService.getCurrentUser()).thenReturn(UserFactory.getDefaultUser());
         when(cinemaService.getCinemaById(anyInt())).thenReturn(CinemaFactory.getDefaultCinema());
         when(reviewRepository.save(any())).thenReturn(expected);
-        when(cinemaService.updateCinemaAverageRating(anyDouble(), anyInt())).thenReturn(
-                CinemaFactory.getDefaultCinemaDto());
 
         Review review = reviewService.addCinemaReview(ReviewFactory.getDefaultReviewRequest(), ID);
 
+        verify(ratingUpdateService).addCinemaRating(ID, review.getRating(), 1);
         assertEquals(expected.getUser(), review.getUser());
         assertEquals(expected.getCinema(), review.getCinema());
         assertEquals(expected.getReviewText(), review.getReviewText());
@@ -108,24 +129,71 @@ public class ReviewServiceTest {
         List<ReviewDto> expectedReviews = ReviewFactory.getDefaultReviewDtoList();
 
         when(movieService.getMovieById(anyInt())).thenReturn(MovieFactory.getDefaultMovie());
-        when(reviewRepository.findByMovieId(anyInt())).thenReturn(ReviewFactory.getDefaultReviewList());
-        when(reviewMapper.mapReviewToReviewDto(any())).thenReturn(ReviewFactory.getDefaultReviewDto());
+        when(reviewRepository.findPage(any(), eq(Sort.Direction.DESC), isNull(), eq(DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(ReviewFactory.getDefaultReviewList());
+        when(reviewMapper.mapReviewListToReviewDtoList(any())).thenReturn(expectedReviews);
 
-        List<ReviewDto> reviews = reviewService.getReviewsByMovieId(ID);
+        ReviewPageDto page = reviewService.getReviewsByMovieId(ID, null, null, null);
 
-        assertEquals(expectedReviews, reviews);
+        assertEquals(expectedReviews, page.getReviews());
+        assertNull(page.getNextCursor());
     }
 
     @Test
     public void testGetReviewsByCinemaId_noExceptions_success() {
         List<ReviewDto> expectedReviews = ReviewFactory.getDefaultReviewDtoList();
 
-        when(reviewRepository.findByCinemaId(anyInt())).thenReturn(ReviewFactory.getDefaultReviewList());
-        when(reviewMapper.mapReviewToReviewDto(any())).thenReturn(ReviewFactory.getDefaultReviewDto());
+        when(reviewRepository.findPage(any(), eq(Sort.Direction.ASC), isNull(), eq(2)))
+                .thenReturn(ReviewFactory.getDefaultReviewList());
+        when(reviewMapper.mapReviewListToReviewDtoList(any())).thenReturn(expectedReviews);
 
-        List<ReviewDto> reviews = reviewService.getReviewsByCinemaId(ID);
+        ReviewPageDto page = reviewService.getReviewsByCinemaId(ID, null, 1, "asc");
 
-        assertEquals(expectedReviews, reviews);
+        assertEquals(expectedReviews, page.getReviews());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testGetReviewsByMovieId_morePages_cursorOfLastReviewReturned() {
+        Review first = new Review(1, 5, "First", NOW, MovieFactory.getDefaultMovie(), null, null);
+        Review second = new Review(2, 4, "Second", NOW, MovieFactory.getDefaultMovie(), null, null);
+
+        when(reviewRepository.findPage(any(), eq(Sort.Direction.DESC), isNull(), eq(2)))
+                .thenReturn(Arrays.asList(first, second));
+
+        ReviewPageDto page = reviewService.getReviewsByMovieId(ID, null, 1, null);
+        ReviewCursor cursor = ReviewCursor.decode(page.getNextCursor());
+
+        verify(reviewMapper).mapReviewListToReviewDtoList(Collections.singletonList(first));
+        assertEquals(NOW, cursor.getDateModified());
+        assertEquals(1, cursor.getId());
+        assertEquals(Sort.Direction.DESC, cursor.getDirection());
+    }
+
+    @Test
+    public void testGetReviewsByMovieId_cursorGiven_nextPageInCursorOrder() {
+        ReviewCursor cursor = new ReviewCursor(NOW, 7, Sort.Direction.ASC);
+
+        reviewService.getReviewsByMovieId(ID, cursor.encode(), null, "desc");
+
+        verify(reviewRepository).findPage(any(), eq(Sort.Direction.ASC),
+                                          argThat(after -> after.getId() == 7 && NOW.equals(after.getDateModified())),
+                                          eq(DEFAULT_PAGE_SIZE + 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetReviewsByMovieId_cursorNotValid_throwsIllegalArgumentException() {
+        reviewService.getReviewsByMovieId(ID, "not-a-cursor", null, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetReviewsByMovieId_pageSizeTooLarge_throwsIllegalArgumentException() {
+        reviewService.getReviewsByMovieId(ID, null, MAX_PAGE_SIZE + 1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetReviewsByCinemaId_orderNotValid_throwsIllegalArgumentException() {
+        reviewService.getReviewsByCinemaId(ID, null, null, "newest");
     }
 
     @Test
@@ -133,20 +201,19 @@ public class ReviewServiceTest {
         List<ReviewDto> expectedReviews = ReviewFactory.getDefaultReviewDtoList();
 
         when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
-        when(reviewRepository.findAllByUserIdAndMovieIsNotNullAndCinemaIsNull(anyInt())).thenReturn(
-                ReviewFactory.getDefaultReviewList());
+        when(reviewRepository.findPage(any(), any(), any(), anyInt())).thenReturn(ReviewFactory.getDefaultReviewList());
         when(reviewMapper.mapReviewListToReviewDtoList(any())).thenReturn(expectedReviews);
 
-        List<ReviewDto> reviews = reviewService.getMovieReviewsByUserId(ID);
+        ReviewPageDto page = reviewService.getMovieReviewsByUserId(ID, null, null, null);
 
-        assertEquals(expectedReviews, reviews);
+        assertEquals(expectedReviews, page.getReviews());
     }
 
     @Test(expected = NotAuthorizedException.class)
     public void testGetMovieReviewsByUserId_userNotAuthorized_throwsNotAuthorizedException() {
         when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(false);
 
-        reviewService.getMovieReviewsByUserId(ID);
+        reviewService.getMovieReviewsByUserId(ID, null, null, null);
     }
 
     @Test
@@ -156,16 +223,37 @@ public class ReviewServiceTest {
         when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
         when(reviewMapper.mapReviewListToReviewDtoList(any())).thenReturn(expectedReviews);
 
-        List<ReviewDto> reviews = reviewService.getCinemaReviewsByUserId(ID);
+        ReviewPageDto page = reviewService.getCinemaReviewsByUserId(ID, null, null, null);
 
-        assertEquals(expectedReviews, reviews);
+        assertEquals(expectedReviews, page.getReviews());
     }
 
     @Test(expected = NotAuthorizedException.class)
     public void testGetCinemaReviewsByUserId_userNotAuthorized_throwsNotAuthorizedException() {
         when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(false);
 
-        reviewService.getCinemaReviewsByUserId(ID);
+        reviewService.getCinemaReviewsByUserId(ID, null, null, null);
+    }
+
+    @Test
+    public void testSearchReviews_matchesFound_reviewsInIndexOrder() {
+        Review older = new Review(3, 4, "Great sound", NOW, MovieFactory.getDefaultMovie(), null, null);
+        Review newer = new Review(8, 5, "Loud sound", NOW, MovieFactory.getDefaultMovie(), null, null);
+        List<ReviewDto> expectedReviews = ReviewFactory.getDefaultReviewDtoList();
+
+        when(reviewSearchService.findReviewIds(any(), eq(ID), isNull(), eq(DEFAULT_PAGE_SIZE)))
+                .thenReturn(new int[] {8, 3});
+        when(reviewRepository.findAllById(Arrays.asList(8, 3))).thenReturn(Arrays.asList(older, newer));
+        when(reviewMapper.mapReviewListToReviewDtoList(Arrays.asList(newer, older))).thenReturn(expectedReviews);
+
+        List<ReviewDto> reviews = reviewService.searchReviews("sound", ID, null, null);
+
+        assertEquals(expectedReviews, reviews);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSearchReviews_noWords_throwsIllegalArgumentException() {
+        reviewService.searchReviews(" ?! ", null, null, null);
     }
 
     @Test
@@ -175,7 +263,6 @@ public class ReviewServiceTest {
         when(reviewRepository.findById(anyInt())).thenReturn(Optional.of(ReviewFactory.getDefaultReview()));
         when(reviewMapper.mapReviewToReviewDto(any())).thenReturn(expected);
         when(reviewRepository.save(any())).thenReturn(ReviewFactory.getDefaultReview());
-        when(movieService.updateMovieAverageRating(anyDouble(), anyInt())).thenReturn(MovieFactory.getDefaultMovieDto());
         CinemaFactory.getDefaultCinemaDto();
         when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
 
@@ -184,6 +271,23 @@ public class ReviewServiceTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    public void testUpdateReview_ratingChanged_differenceAddedToRunningSum() {
+        Review review = ReviewFactory.getDefaultReview();
+        review.setRating(2);
+        ReviewRequest request = ReviewFactory.getDefaultReviewRequest();
+        request.setRating(4.5);
+
+        when(reviewRepository.findById(anyInt())).thenReturn(Optional.of(review));
+        when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
+
+        reviewService.updateReview(request, ID);
+
+        verify(ratingUpdateService).addMovieRating(review.getMovie().getId(), 2.5, 0);
+        verify(reviewStatsService).changeReviewRating(review, 2);
+        verify(reviewSearchService).reindexReview(review, REVIEW_TEXT);
+    }
+
     @Test(expected = NotAuthorizedException.class)
     public void testUpdateReview_userIdDifferent_throwsNotAuthorizedException() {
         when(reviewRepository.findById(anyInt())).thenReturn(Optional.of(ReviewFactory.getDefaultReview()));
@@ -228,7 +332,6 @@ public class ReviewServiceTest {
         when(reviewRepository.findById(anyInt())).thenReturn(Optional.of(ReviewFactory.getDefaultReview()));
         when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
         when(reviewMapper.mapReviewToReviewDto(any())).thenReturn(expected);
-        when(movieService.updateMovieAverageRating(anyDouble(), anyInt())).thenReturn(MovieFactory.getDefaultMovieDto());
         CinemaFactory.getDefaultCinemaDto();
 
         ReviewDto result = reviewService.deleteReview(ID);
@@ -236,6 +339,19 @@ public class ReviewServiceTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    public void testDeleteReview_reviewRetractedFromStats() {
+        Review review = ReviewFactory.getDefaultReview();
+
+        when(reviewRepository.findById(anyInt())).thenReturn(Optional.of(review));
+        when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
+
+        reviewService.deleteReview(ID);
+
+        verify(reviewStatsService).retractReview(review);
+        verify(reviewSearchService).removeReview(review);
+    }
+
     @Test
     public void testDeleteReview_movieNull_success() {
         Review review = ReviewFactory.getDefaultReview();
@@ -251,6 +367,19 @@ public class ReviewServiceTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    public void testDeleteReview_cinemaReview_ratingRemovedFromRunningSum() {
+        Review review = ReviewFactory.getDefaultReview();
+        review.setMovie(null);
+
+        when(reviewRepository.findById(anyInt())).thenReturn(Optional.of(review));
+        when(userService.isCurrentUserAuthorized(anyInt())).thenReturn(true);
+
+        reviewService.deleteReview(ID);
+
+        verify(ratingUpdateService).addCinemaRating(review.getCinema().getId(), -review.getRating(), -1);
+    }
+
     @Test(expected = ReviewNotFoundException.class)
     public void testDeleteReview_ReviewNotFoundException_fail() {
         when(reviewRepository.findById(anyInt())).thenReturn(Optional.empty());
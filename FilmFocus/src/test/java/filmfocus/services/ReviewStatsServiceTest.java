@@ -0,0 +1,194 @@
+package filmfocus.services;
+
+import filmfocus.exceptions.MovieNotFoundException;
+import filmfocus.models.dtos.ReviewStatsDto;
+import filmfocus.models.entities.Review;
+import filmfocus.models.views.ReviewRatingView;
+import filmfocus.repositories.ReviewRepository;
+import filmfocus.testUtils.factories.CinemaFactory;
+import filmfocus.testUtils.factories.MovieFactory;
+import filmfocus.testUtils.factories.UserFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReviewStatsServiceTest {
+
+  private static final double DELTA = 0.000001;
+  private static final int TREND_DAYS = 30;
+  private static final int MOVIE_ID = MovieFactory.getDefaultMovie().getId();
+  private static final int CINEMA_ID = CinemaFactory.getDefaultCinema().getId();
+  private static final LocalDate TODAY = LocalDate.now();
+
+  @Mock
+  private ReviewRepository reviewRepository;
+
+  @Mock
+  private MovieService movieService;
+
+  @Mock
+  private CinemaService cinemaService;
+
+  private ReviewStatsService reviewStatsService;
+
+  @Before
+  public void setUp() {
+    reviewStatsService = new ReviewStatsService(reviewRepository, movieService, cinemaService, TREND_DAYS);
+  }
+
+  @Test
+  public void testLoadHistograms_reviewsStreamed_statsPerTarget() {
+    when(reviewRepository.streamReviewRatings()).thenReturn(Stream.of(
+      getRating(MOVIE_ID, null, 5, TODAY),
+      getRating(MOVIE_ID, null, 1, TODAY.minusDays(TREND_DAYS)),
+      getRating(MOVIE_ID, null, 4, TODAY.minusDays(1)),
+      getRating(null, CINEMA_ID, 2, null)));
+
+    reviewStatsService.loadHistograms();
+
+    ReviewStatsDto movieStats = reviewStatsService.getMovieReviewStats(MOVIE_ID);
+    ReviewStatsDto cinemaStats = reviewStatsService.getCinemaReviewStats(CINEMA_ID);
+
+    assertEquals(3, movieStats.getCount());
+    assertEquals(3.333333, movieStats.getMean(), DELTA);
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), Arrays.asList(movieStats.getHistogram().keySet().toArray()));
+    assertEquals(Long.valueOf(1), movieStats.getHistogram().get(5));
+    assertEquals(Long.valueOf(0), movieStats.getHistogram().get(3));
+    assertEquals(2, movieStats.getRecentCount());
+    assertEquals(4.5, movieStats.getRecentMean(), DELTA);
+    assertEquals(1.166667, movieStats.getTrend(), DELTA);
+    assertEquals(1, cinemaStats.getCount());
+    assertEquals(0, cinemaStats.getRecentCount());
+    assertEquals(0, cinemaStats.getTrend(), DELTA);
+  }
+
+  @Test
+  public void testRecordReview_noTransaction_appliedRightAway() {
+    Review review = new Review(4, "Great", TODAY, MovieFactory.getDefaultMovie(), UserFactory.getDefaultUser());
+    loadNoReviews();
+
+    reviewStatsService.recordReview(review);
+
+    ReviewStatsDto stats = reviewStatsService.getMovieReviewStats(MOVIE_ID);
+
+    assertEquals(1, stats.getCount());
+    assertEquals(4, stats.getMean(), DELTA);
+    assertEquals(1, stats.getRecentCount());
+  }
+
+  @Test
+  public void testChangeReviewRating_ratingMovedBetweenBuckets() {
+    Review review = new Review(2, "Fine", TODAY, CinemaFactory.getDefaultCinema(), UserFactory.getDefaultUser());
+    loadNoReviews();
+
+    reviewStatsService.recordReview(review);
+    review.setRating(5);
+    reviewStatsService.changeReviewRating(review, 2);
+
+    ReviewStatsDto stats = reviewStatsService.getCinemaReviewStats(CINEMA_ID);
+
+    assertEquals(1, stats.getCount());
+    assertEquals(Long.valueOf(0), stats.getHistogram().get(2));
+    assertEquals(Long.valueOf(1), stats.getHistogram().get(5));
+    assertEquals(5, stats.getRecentMean(), DELTA);
+  }
+
+  @Test
+  public void testRetractReview_statsEmptyAgain() {
+    Review review = new Review(3, "Okay", TODAY, MovieFactory.getDefaultMovie(), UserFactory.getDefaultUser());
+    loadNoReviews();
+
+    reviewStatsService.recordReview(review);
+    reviewStatsService.retractReview(review);
+
+    ReviewStatsDto stats = reviewStatsService.getMovieReviewStats(MOVIE_ID);
+
+    assertEquals(0, stats.getCount());
+    assertEquals(0, stats.getRecentCount());
+  }
+
+  @Test
+  public void testRecordReview_whileLoading_heldUntilLoaded() {
+    Review review = new Review(2, "Poor", TODAY, MovieFactory.getDefaultMovie(), UserFactory.getDefaultUser());
+    when(reviewRepository.streamReviewRatings()).thenReturn(Stream.of(getRating(MOVIE_ID, null, 4, TODAY)).peek(
+      rating -> reviewStatsService.recordReview(review)));
+
+    reviewStatsService.loadHistograms();
+
+    ReviewStatsDto stats = reviewStatsService.getMovieReviewStats(MOVIE_ID);
+
+    assertEquals(2, stats.getCount());
+    assertEquals(3, stats.getMean(), DELTA);
+  }
+
+  @Test
+  public void testLoadHistograms_reviewRecordedBeforeQuery_countedOnce() {
+    Review review = new Review(4, "Great", TODAY, MovieFactory.getDefaultMovie(), UserFactory.getDefaultUser());
+    reviewStatsService.recordReview(review);
+    when(reviewRepository.streamReviewRatings()).thenReturn(Stream.of(getRating(MOVIE_ID, null, 4, TODAY)));
+
+    reviewStatsService.loadHistograms();
+
+    ReviewStatsDto stats = reviewStatsService.getMovieReviewStats(MOVIE_ID);
+
+    assertEquals(1, stats.getCount());
+    assertEquals(4, stats.getMean(), DELTA);
+  }
+
+  @Test
+  public void testGetMovieReviewStats_noReviews_emptyStats() {
+    ReviewStatsDto stats = reviewStatsService.getMovieReviewStats(MOVIE_ID);
+
+    assertEquals(0, stats.getCount());
+    assertEquals(5, stats.getHistogram().size());
+    assertEquals(TREND_DAYS, stats.getTrendDays());
+  }
+
+  @Test(expected = MovieNotFoundException.class)
+  public void testGetMovieReviewStats_movieNotFound_throwsMovieNotFoundException() {
+    when(movieService.getMovieById(anyInt())).thenThrow(MovieNotFoundException.class);
+
+    reviewStatsService.getMovieReviewStats(MOVIE_ID);
+  }
+
+  private void loadNoReviews() {
+    when(reviewRepository.streamReviewRatings()).thenReturn(Stream.empty());
+
+    reviewStatsService.loadHistograms();
+  }
+
+  private static ReviewRatingView getRating(Integer movieId, Integer cinemaId, double rating, LocalDate dateModified) {
+    return new ReviewRatingView() {
+      @Override
+      public Integer getMovieId() {
+        return movieId;
+      }
+
+      @Override
+      public Integer getCinemaId() {
+        return cinemaId;
+      }
+
+      @Override
+      public double getRating() {
+        return rating;
+      }
+
+      @Override
+      public LocalDate getDateModified() {
+        return dateModified;
+      }
+    };
+  }
+}
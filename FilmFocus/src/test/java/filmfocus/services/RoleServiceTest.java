@@ -13,7 +13,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.List;
 import java.util.Optional;
 
 import static filmfocus.testUtils.constants.RoleConstants.ID;
@@ -47,29 +46,6 @@ public class RoleServiceTest {
     assertEquals(expected, role);
   }
 
-  @Test
-  public void testGetAllRoles_rolesFound_success() {
-    List<Role> expected = RoleFactory.getDefaultRoleList();
-
-    when(roleRepository.findAll()).thenReturn(expected);
-
-    List<Role> roles = roleService.getAllRoles();
-
-    assertEquals(expected, roles);
-  }
-
-  @Test
-  public void testGetAllRolesDto_rolesFound_success() {
-    List<RoleDto> expected = RoleFactory.getDefaultRoleDtoList();
-
-    when(roleRepository.findAll()).thenReturn(RoleFactory.getDefaultRoleList());
-    when(roleMapper.mapRolesToRoleDtos(any())).thenReturn(expected);
-
-    List<RoleDto> roles = roleService.getAllRolesDto();
-
-    assertEquals(expected, roles);
-  }
-
   @Test
   public void testGetRoleById_roleFound_success() {
     Role expected = RoleFactory.getDefaultRole();
@@ -0,0 +1,192 @@
+package filmfocus.services;
+
+import filmfocus.analytics.SalesFacts;
+import filmfocus.models.entities.Order;
+import filmfocus.models.views.ItemSaleView;
+import filmfocus.models.views.TicketSaleView;
+import filmfocus.repositories.OrderRepository;
+import filmfocus.testUtils.factories.ItemFactory;
+import filmfocus.testUtils.factories.OrderFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static filmfocus.testUtils.constants.CinemaConstants.ID;
+import static filmfocus.testUtils.constants.OrderConstants.DATE_OF_PURCHASE;
+import static filmfocus.testUtils.constants.OrderConstants.TOTAL_PRICE;
+import static filmfocus.testUtils.constants.ProjectionConstants.PRICE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SalesFactServiceTest {
+
+  private static final double DELTA = 0.000001;
+
+  @Mock
+  private OrderRepository orderRepository;
+
+  @Test
+  public void testRecordOrder_ticketAndItem_factsAppended() {
+    SalesFactService salesFactService = new SalesFactService(orderRepository, true);
+
+    salesFactService.recordOrder(OrderFactory.getDefaultOrder());
+
+    assertEquals(TOTAL_PRICE, salesFactService.getNetIncome(SalesFacts.Dimension.CINEMA, ID, DATE_OF_PURCHASE,
+                                                            DATE_OF_PURCHASE), DELTA);
+    assertEquals(PRICE, salesFactService.getGrossIncome(SalesFacts.Dimension.MOVIE, ID, DATE_OF_PURCHASE,
+                                                        DATE_OF_PURCHASE), DELTA);
+    assertEquals(1, salesFactService.getQuantity(SalesFacts.Dimension.CATEGORY, ID, DATE_OF_PURCHASE,
+                                                 DATE_OF_PURCHASE));
+    assertEquals(1, salesFactService.getQuantity(SalesFacts.Dimension.ITEM, ItemFactory.getDefaultItem().getId(),
+                                                 DATE_OF_PURCHASE, DATE_OF_PURCHASE));
+    assertEquals(0, salesFactService.getQuantity(SalesFacts.Dimension.CATEGORY, ID, DATE_OF_PURCHASE.plusDays(1),
+                                                 DATE_OF_PURCHASE.plusDays(2)));
+  }
+
+  @Test
+  public void testRetractOrder_recordedOrder_factsCancelledOut() {
+    SalesFactService salesFactService = new SalesFactService(orderRepository, true);
+    Order order = OrderFactory.getDefaultOrder();
+
+    salesFactService.recordOrder(order);
+    salesFactService.retractOrder(order);
+
+    assertEquals(0, salesFactService.getNetIncome(SalesFacts.Dimension.CINEMA, ID, DATE_OF_PURCHASE,
+                                                  DATE_OF_PURCHASE), DELTA);
+    assertEquals(0, salesFactService.getQuantity(SalesFacts.Dimension.MOVIE, Collections.singletonList(ID),
+                                                 DATE_OF_PURCHASE, DATE_OF_PURCHASE));
+  }
+
+  @Test
+  public void testRecordOrder_disabled_nothingAppended() {
+    SalesFactService salesFactService = new SalesFactService(orderRepository, false);
+
+    salesFactService.recordOrder(OrderFactory.getDefaultOrder());
+
+    assertEquals(0, salesFactService.getQuantity(SalesFacts.Dimension.CATEGORY, ID, DATE_OF_PURCHASE,
+                                                 DATE_OF_PURCHASE));
+  }
+
+  @Test
+  public void testLoadFacts_ticketAndItemSales_mergedByOrder() {
+    SalesFactService salesFactService = new SalesFactService(orderRepository, true);
+
+    when(orderRepository.streamTicketSales()).thenReturn(Stream.of(
+      ticketSale(1, 10, 10, 1, 1, 12), ticketSale(3, 30, 60, 2, 4, 15), ticketSale(3, 30, 60, 3, 5, 15)));
+    when(orderRepository.streamItemSales()).thenReturn(Stream.of(
+      itemSale(2, 20, 5, 7, 5), itemSale(3, 30, 60, 7, 30)));
+
+    salesFactService.loadFacts();
+
+    LocalDate firstDay = LocalDate.ofEpochDay(0);
+    assertTrue(salesFactService.isLoaded());
+    assertEquals(10, salesFactService.getNetIncome(SalesFacts.Dimension.CINEMA, 1, firstDay, firstDay.plusDays(20)),
+                 DELTA);
+    assertEquals(45, salesFactService.getNetIncome(SalesFacts.Dimension.CINEMA, 4, firstDay, firstDay.plusDays(30)),
+                 DELTA);
+    assertEquals(15, salesFactService.getNetIncome(SalesFacts.Dimension.CINEMA, 5, firstDay, firstDay.plusDays(30)),
+                 DELTA);
+    assertEquals(2, salesFactService.getQuantity(SalesFacts.Dimension.ITEM, 7, firstDay, firstDay.plusDays(30)));
+    assertEquals(35, salesFactService.getGrossIncome(SalesFacts.Dimension.ITEM, 7, firstDay, firstDay.plusDays(30)),
+                 DELTA);
+  }
+
+  @Test
+  public void testLoadFacts_disabled_notLoaded() {
+    SalesFactService salesFactService = new SalesFactService(orderRepository, false);
+
+    salesFactService.loadFacts();
+
+    assertFalse(salesFactService.isLoaded());
+    verifyNoInteractions(orderRepository);
+  }
+
+  private TicketSaleView ticketSale(int orderId, int epochDay, double totalPrice, int hallId, int cinemaId,
+                                    double price) {
+    return new TicketSaleView() {
+      @Override
+      public int getOrderId() {
+        return orderId;
+      }
+
+      @Override
+      public LocalDate getSaleDate() {
+        return LocalDate.ofEpochDay(epochDay);
+      }
+
+      @Override
+      public double getTotalPrice() {
+        return totalPrice;
+      }
+
+      @Override
+      public int getProjectionId() {
+        return hallId;
+      }
+
+      @Override
+      public int getMovieId() {
+        return ID;
+      }
+
+      @Override
+      public Integer getCategoryId() {
+        return null;
+      }
+
+      @Override
+      public int getHallId() {
+        return hallId;
+      }
+
+      @Override
+      public int getCinemaId() {
+        return cinemaId;
+      }
+
+      @Override
+      public double getPrice() {
+        return price;
+      }
+    };
+  }
+
+  private ItemSaleView itemSale(int orderId, int epochDay, double totalPrice, int itemId, double price) {
+    return new ItemSaleView() {
+      @Override
+      public int getOrderId() {
+        return orderId;
+      }
+
+      @Override
+      public LocalDate getSaleDate() {
+        return LocalDate.ofEpochDay(epochDay);
+      }
+
+      @Override
+      public double getTotalPrice() {
+        return totalPrice;
+      }
+
+      @Override
+      public int getItemId() {
+        return itemId;
+      }
+
+      @Override
+      public double getPrice() {
+        return price;
+      }
+    };
+  }
+}
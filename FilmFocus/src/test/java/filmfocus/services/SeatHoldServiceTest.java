@@ -0,0 +1,147 @@
+package filmfocus.services;
+
+import filmfocus.exceptions.NoAvailableTicketsException;
+import filmfocus.exceptions.SeatHoldNotFoundException;
+import filmfocus.mappers.TicketMapper;
+import filmfocus.models.dtos.SeatHoldDto;
+import filmfocus.models.entities.Ticket;
+import filmfocus.models.requests.TicketRequest;
+import filmfocus.testUtils.factories.TicketFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static filmfocus.testUtils.constants.UserConstants.ID;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SeatHoldServiceTest {
+
+  private static final long HOLD_DURATION = 60_000L;
+  private static final long TICK_DURATION = 1_000L;
+
+  @Mock
+  private TicketService ticketService;
+
+  @Mock
+  private TicketMapper ticketMapper;
+
+  private SeatHoldService seatHoldService;
+
+  @Before
+  public void setup() {
+    seatHoldService = new SeatHoldService(ticketService, ticketMapper, HOLD_DURATION, TICK_DURATION);
+  }
+
+  @Test
+  public void testHoldSeats_seatsReserved_holdReturned() {
+    when(ticketService.reserveTickets(anyList())).thenReturn(TicketFactory.getDefaultTicketList());
+    when(ticketMapper.mapTicketToDtoList(anyList())).thenReturn(TicketFactory.getDefaultTicketDtoList());
+
+    SeatHoldDto hold = seatHoldService.holdSeats(defaultRequests(), ID);
+
+    assertEquals(ID, hold.getUserId());
+    assertEquals(TicketFactory.getDefaultTicketDtoList(), hold.getTickets());
+    assertEquals(1, seatHoldService.getActiveHolds());
+  }
+
+  @Test
+  public void testHoldSeats_seatsNotAvailable_noHoldCreated() {
+    when(ticketService.reserveTickets(anyList())).thenThrow(NoAvailableTicketsException.class);
+
+    try {
+      seatHoldService.holdSeats(Arrays.asList(new TicketRequest(ID), new TicketRequest(ID)), ID);
+    } catch (NoAvailableTicketsException exception) {
+      assertEquals(0, seatHoldService.getActiveHolds());
+      return;
+    }
+
+    throw new AssertionError("Expected NoAvailableTicketsException");
+  }
+
+  @Test
+  public void testConfirmHold_activeHold_ticketsIssued() {
+    List<Ticket> tickets = TicketFactory.getDefaultTicketList();
+
+    when(ticketService.reserveTickets(anyList())).thenReturn(tickets);
+    when(ticketService.issueTickets(tickets)).thenReturn(tickets);
+
+    SeatHoldDto hold = seatHoldService.holdSeats(defaultRequests(), ID);
+
+    assertEquals(tickets, seatHoldService.confirmHold(hold.getId(), ID));
+    assertEquals(0, seatHoldService.getActiveHolds());
+  }
+
+  @Test(expected = SeatHoldNotFoundException.class)
+  public void testConfirmHold_otherUser_throwsSeatHoldNotFoundException() {
+    when(ticketService.reserveTickets(anyList())).thenReturn(TicketFactory.getDefaultTicketList());
+
+    SeatHoldDto hold = seatHoldService.holdSeats(defaultRequests(), ID);
+
+    seatHoldService.confirmHold(hold.getId(), ID + 1);
+  }
+
+  @Test(expected = SeatHoldNotFoundException.class)
+  public void testConfirmHold_confirmedTwice_throwsSeatHoldNotFoundException() {
+    when(ticketService.reserveTickets(anyList())).thenReturn(TicketFactory.getDefaultTicketList());
+
+    SeatHoldDto hold = seatHoldService.holdSeats(defaultRequests(), ID);
+
+    seatHoldService.confirmHold(hold.getId(), ID);
+    seatHoldService.confirmHold(hold.getId(), ID);
+  }
+
+  @Test
+  public void testExpireHolds_deadlinePassed_seatsReleased() {
+    List<Ticket> tickets = TicketFactory.getDefaultTicketList();
+
+    when(ticketService.reserveTickets(anyList())).thenReturn(tickets);
+
+    SeatHoldDto hold = seatHoldService.holdSeats(defaultRequests(), ID);
+
+    seatHoldService.expireHolds(System.currentTimeMillis());
+    verify(ticketService, never()).releaseTickets(anyList());
+
+    seatHoldService.expireHolds(System.currentTimeMillis() + HOLD_DURATION + TICK_DURATION);
+    verify(ticketService).releaseTickets(tickets);
+    assertEquals(0, seatHoldService.getActiveHolds());
+
+    try {
+      seatHoldService.confirmHold(hold.getId(), ID);
+    } catch (SeatHoldNotFoundException exception) {
+      verify(ticketService, never()).issueTickets(anyList());
+      return;
+    }
+
+    throw new AssertionError("Expected SeatHoldNotFoundException");
+  }
+
+  @Test
+  public void testReleaseHold_activeHold_seatsReleased() {
+    List<Ticket> tickets = TicketFactory.getDefaultTicketList();
+
+    when(ticketService.reserveTickets(anyList())).thenReturn(tickets);
+
+    SeatHoldDto hold = seatHoldService.holdSeats(defaultRequests(), ID);
+    seatHoldService.releaseHold(hold.getId(), ID);
+
+    verify(ticketService).releaseTickets(tickets);
+
+    seatHoldService.expireHolds(System.currentTimeMillis() + HOLD_DURATION + TICK_DURATION);
+    verify(ticketService).releaseTickets(anyList());
+  }
+
+  private List<TicketRequest> defaultRequests() {
+    return Collections.singletonList(TicketFactory.getDefaultTicketRequest());
+  }
+}
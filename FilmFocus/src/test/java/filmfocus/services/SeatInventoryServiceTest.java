@@ -0,0 +1,298 @@
+package filmfocus.services;
+
+import filmfocus.exceptions.NoAvailableTicketsException;
+import filmfocus.exceptions.SeatNotAvailableException;
+import filmfocus.models.entities.Projection;
+import filmfocus.models.entities.Seat;
+import filmfocus.models.views.ProjectionSeatsView;
+import filmfocus.repositories.ProjectionRepository;
+import filmfocus.repositories.TicketRepository;
+import filmfocus.testUtils.factories.ProjectionFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static filmfocus.testUtils.constants.HallConstants.CAPACITY;
+import static filmfocus.testUtils.constants.ProjectionConstants.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SeatInventoryServiceTest {
+
+  @Mock
+  private ProjectionRepository projectionRepository;
+
+  @Mock
+  private TicketRepository ticketRepository;
+
+  @InjectMocks
+  private SeatInventoryService seatInventoryService;
+
+  @Test
+  public void testReserveSeats_counterSeededOnce_success() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    when(ticketRepository.findSeatsByProjectionId(anyInt())).thenReturn(soldSeats(10));
+
+    seatInventoryService.reserveSeats(projection, 2);
+    seatInventoryService.reserveSeats(projection, 3);
+
+    assertEquals(CAPACITY - 15, seatInventoryService.getAvailableSeats(projection));
+    verify(ticketRepository, times(1)).findSeatsByProjectionId(ID);
+  }
+
+  @Test(expected = NoAvailableTicketsException.class)
+  public void testReserveSeats_overCapacity_throwsNoAvailableTicketsException() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    when(ticketRepository.findSeatsByProjectionId(anyInt())).thenReturn(soldSeats(CAPACITY - 1));
+
+    seatInventoryService.reserveSeats(projection, 2);
+  }
+
+  @Test
+  public void testReserveSeats_adjacentSeats_sameRow() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    List<Seat> seats = seatInventoryService.reserveSeats(projection, 4);
+
+    assertEquals(4, seats.size());
+    for (int i = 1; i < seats.size(); i++) {
+      assertEquals(seats.get(0).getSeatRow(), seats.get(i).getSeatRow());
+      assertEquals(seats.get(i - 1).getSeatNumber() + 1, seats.get(i).getSeatNumber());
+    }
+  }
+
+  @Test
+  public void testReserveSeat_selectedSeat_success() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    Seat seat = seatInventoryService.reserveSeat(projection, 3, 7);
+
+    assertEquals(new Seat(3, 7), seat);
+    assertFalse(seatInventoryService.getSeatMap(projection).isFree(3, 7));
+    assertEquals(CAPACITY - 1, seatInventoryService.getAvailableSeats(projection));
+  }
+
+  @Test
+  public void testReserveSeat_seatAlreadySold_throwsSeatNotAvailableException() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    when(ticketRepository.findSeatsByProjectionId(anyInt())).thenReturn(Collections.singletonList(new Seat(3, 7)));
+
+    try {
+      seatInventoryService.reserveSeat(projection, 3, 7);
+    } catch (SeatNotAvailableException exception) {
+      assertEquals(CAPACITY - 1, seatInventoryService.getAvailableSeats(projection));
+      return;
+    }
+
+    throw new AssertionError("Expected SeatNotAvailableException");
+  }
+
+  @Test(expected = SeatNotAvailableException.class)
+  public void testReserveSeat_seatOutsideLayout_throwsSeatNotAvailableException() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    seatInventoryService.reserveSeat(projection, 100, 1);
+  }
+
+  @Test
+  public void testReleaseSeats_seatsReturned_success() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    List<Seat> seats = seatInventoryService.reserveSeats(projection, 4);
+    seatInventoryService.releaseSeats(projection.getId(), seats);
+
+    assertEquals(CAPACITY, seatInventoryService.getAvailableSeats(projection));
+    assertTrue(seatInventoryService.getSeatMap(projection).isFree(seats.get(0).getSeatRow(),
+                                                                 seats.get(0).getSeatNumber()));
+  }
+
+  @Test
+  public void testReserveSeats_concurrentReservations_neverOversell() throws Exception {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Callable<Seat>> reservations = new ArrayList<>();
+
+    for (int i = 0; i < CAPACITY * 3; i++) {
+      reservations.add(() -> {
+        try {
+          return seatInventoryService.reserveSeats(projection, 1).get(0);
+        } catch (NoAvailableTicketsException exception) {
+          return null;
+        }
+      });
+    }
+
+    Set<Seat> reserved = new HashSet<>();
+    int reservedCount = 0;
+    for (Future<Seat> result : executor.invokeAll(reservations)) {
+      if (result.get() != null) {
+        reserved.add(result.get());
+        reservedCount++;
+      }
+    }
+    executor.shutdown();
+
+    assertEquals(CAPACITY, reservedCount);
+    assertEquals(CAPACITY, reserved.size());
+    assertEquals(0, seatInventoryService.getAvailableSeats(projection));
+  }
+
+  @Test
+  public void testReconcileInventory_driftCorrected_success() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    List<Seat> seats = seatInventoryService.reserveSeats(projection, 5);
+    seatInventoryService.confirmSeats(projection.getId(), seats);
+
+    when(projectionRepository.findProjectionSeatsByProgramDateFrom(any()))
+      .thenReturn(Collections.singletonList(seatsView(ID, CAPACITY, 7)));
+    when(ticketRepository.findSeatsByProjectionId(anyInt())).thenReturn(soldSeats(7));
+
+    seatInventoryService.reconcileInventory();
+
+    assertEquals(CAPACITY - 7, seatInventoryService.getAvailableSeats(projection));
+    assertEquals(CAPACITY - 7, seatInventoryService.getSeatMap(projection).getAvailableSeats());
+  }
+
+  @Test
+  public void testReconcileInventory_reservationDuringRebuild_keptInNewSeatMap() throws Exception {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    List<Future<List<Seat>>> reservation = new ArrayList<>();
+
+    List<Seat> seats = seatInventoryService.reserveSeats(projection, 5);
+    seatInventoryService.confirmSeats(projection.getId(), seats);
+
+    when(projectionRepository.findProjectionSeatsByProgramDateFrom(any()))
+      .thenReturn(Collections.singletonList(seatsView(ID, CAPACITY, 7)));
+    when(ticketRepository.findSeatsByProjectionId(anyInt())).thenAnswer(invocation -> {
+      reservation.add(executor.submit(() -> seatInventoryService.reserveSeats(projection, 1)));
+      Thread.sleep(100);
+
+      return soldSeats(7);
+    });
+
+    try {
+      seatInventoryService.reconcileInventory();
+
+      Seat reserved = reservation.get(0).get().get(0);
+
+      assertEquals(CAPACITY - 8, seatInventoryService.getAvailableSeats(projection));
+      assertEquals(CAPACITY - 8, seatInventoryService.getSeatMap(projection).getAvailableSeats());
+      assertFalse(seatInventoryService.getSeatMap(projection).isFree(reserved.getSeatRow(), reserved.getSeatNumber()));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testReconcileInventory_pendingReservation_notOverwritten() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    seatInventoryService.reserveSeats(projection, 5);
+
+    when(projectionRepository.findProjectionSeatsByProgramDateFrom(any()))
+      .thenReturn(Collections.singletonList(seatsView(ID, CAPACITY, 0)));
+
+    seatInventoryService.reconcileInventory();
+
+    assertEquals(CAPACITY - 5, seatInventoryService.getAvailableSeats(projection));
+  }
+
+  @Test
+  public void testReconcileInventory_seatsHeld_driftCorrectedAndHeldSeatsKept() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    List<Seat> sold = seatInventoryService.reserveSeats(projection, 5);
+    seatInventoryService.confirmSeats(projection.getId(), sold);
+    Seat held = seatInventoryService.reserveSeat(projection, 9, 9);
+
+    when(projectionRepository.findProjectionSeatsByProgramDateFrom(any()))
+      .thenReturn(Collections.singletonList(seatsView(ID, CAPACITY, 7)));
+    when(ticketRepository.findSeatsByProjectionId(anyInt())).thenReturn(soldSeats(7));
+
+    seatInventoryService.reconcileInventory();
+
+    assertEquals(CAPACITY - 8, seatInventoryService.getAvailableSeats(projection));
+    assertEquals(CAPACITY - 8, seatInventoryService.getSeatMap(projection).getAvailableSeats());
+    assertFalse(seatInventoryService.getSeatMap(projection).isFree(held.getSeatRow(), held.getSeatNumber()));
+  }
+
+  @Test
+  public void testReconcileInventory_ticketsBeingWritten_notCorrected() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    List<Seat> seats = seatInventoryService.reserveSeats(projection, 5);
+    seatInventoryService.issueSeats(projection.getId(), seats);
+
+    when(projectionRepository.findProjectionSeatsByProgramDateFrom(any()))
+      .thenReturn(Collections.singletonList(seatsView(ID, CAPACITY, 5)));
+
+    seatInventoryService.reconcileInventory();
+    seatInventoryService.confirmSeats(projection.getId(), seats);
+
+    assertEquals(CAPACITY - 5, seatInventoryService.getAvailableSeats(projection));
+  }
+
+  @Test
+  public void testGetSeatMap_legacyTicketsWithoutSeats_seatsAssigned() {
+    Projection projection = ProjectionFactory.getDefaultProjection();
+
+    when(ticketRepository.findSeatsByProjectionId(anyInt())).thenReturn(Arrays.asList(null, new Seat(1, 1), null));
+
+    assertEquals(CAPACITY - 3, seatInventoryService.getSeatMap(projection).getAvailableSeats());
+    assertFalse(seatInventoryService.getSeatMap(projection).isFree(1, 1));
+  }
+
+  private List<Seat> soldSeats(int count) {
+    List<Seat> seats = new ArrayList<>();
+
+    for (int i = 0; i < count; i++) {
+      seats.add(new Seat(i / 10 + 1, i % 10 + 1));
+    }
+
+    return seats;
+  }
+
+  private ProjectionSeatsView seatsView(int projectionId, int capacity, long soldTickets) {
+    return new ProjectionSeatsView() {
+      @Override
+      public int getProjectionId() {
+        return projectionId;
+      }
+
+      @Override
+      public int getCapacity() {
+        return capacity;
+      }
+
+      @Override
+      public long getSoldTickets() {
+        return soldTickets;
+      }
+    };
+  }
+}
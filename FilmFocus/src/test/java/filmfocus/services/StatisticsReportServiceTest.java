@@ -1,10 +1,9 @@
 package filmfocus.services;
 
+import filmfocus.analytics.SalesFacts;
 import filmfocus.models.dtos.ItemDto;
 import filmfocus.models.entities.Category;
 import filmfocus.testUtils.constants.ItemConstants;
-import filmfocus.testUtils.factories.OrderFactory;
-import filmfocus.testUtils.factories.TicketFactory;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -21,8 +20,8 @@ import static filmfocus.testUtils.constants.ReportConstants.END_DATE;
 import static filmfocus.testUtils.constants.ReportConstants.START_DATE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -43,13 +42,16 @@ public class StatisticsReportServiceTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private SalesFactService salesFactService;
+
     @InjectMocks
     private StatisticsReportService statisticsReportService;
 
     @Test
     public void testGetPurchasedTicketsCountByMovieCategory_success() {
         when(categoryService.getCategoryById(anyInt())).thenReturn(new Category());
-        when(ticketService.getTicketsByDateBetween(any(), any())).thenReturn(TicketFactory.getDefaultTicketList());
+        when(ticketService.getTicketsCountByMovieCategoryId(ID, START_DATE, END_DATE)).thenReturn(1);
 
         int result = statisticsReportService.getPurchasedTicketsCountByMovieCategory(ID, START_DATE, END_DATE);
 
@@ -60,7 +62,7 @@ public class StatisticsReportServiceTest {
     public void testGetPurchasedTicketsCountByMovieTitle_success() {
         List<Integer> movieIds = Arrays.asList(1, 2, 3);
         when(movieService.getIdsOfMoviesByTitle(anyString())).thenReturn(movieIds);
-        when(ticketService.getTicketsByDateBetween(any(), any())).thenReturn(TicketFactory.getDefaultTicketList());
+        when(ticketService.getTicketsCountByMovieIds(movieIds, START_DATE, END_DATE)).thenReturn(1);
 
         int result = statisticsReportService.getPurchasedTicketsCountByMovieTitle(TITLE, START_DATE, END_DATE);
 
@@ -70,10 +72,38 @@ public class StatisticsReportServiceTest {
     @Test
     public void testGetPurchasedItemsCountByItemName_success() {
         when(itemService.getItemDtoByName(anyString())).thenReturn(new ItemDto());
-        when(orderService.getOrdersByDateBetween(any(), any())).thenReturn(OrderFactory.getDefaultOrderList());
+        when(orderService.getItemsCountByItemName(ItemConstants.NAME, START_DATE, END_DATE)).thenReturn(1);
 
         int result = statisticsReportService.getPurchasedItemsCountByItemName(ItemConstants.NAME, START_DATE, END_DATE);
 
         Assert.assertEquals(1, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetPurchasedTicketsCountByMovieTitle_salesFactsLoaded_countedFromFacts() {
+        List<Integer> movieIds = Arrays.asList(1, 2, 3);
+        when(movieService.getIdsOfMoviesByTitle(anyString())).thenReturn(movieIds);
+        when(salesFactService.isLoaded()).thenReturn(true);
+        when(salesFactService.getQuantity(SalesFacts.Dimension.MOVIE, movieIds, START_DATE, END_DATE)).thenReturn(4L);
+
+        int result = statisticsReportService.getPurchasedTicketsCountByMovieTitle(TITLE, START_DATE, END_DATE);
+
+        assertEquals(4, result);
+        verifyNoInteractions(ticketService);
+    }
+
+    @Test
+    public void testGetPurchasedItemsCountByItemName_salesFactsLoaded_lastDayExcluded() {
+        ItemDto item = new ItemDto();
+        item.setId(ID);
+        when(itemService.getItemDtoByName(anyString())).thenReturn(item);
+        when(salesFactService.isLoaded()).thenReturn(true);
+        when(salesFactService.getQuantity(SalesFacts.Dimension.ITEM, ID, START_DATE, END_DATE.minusDays(1)))
+          .thenReturn(2L);
+
+        int result = statisticsReportService.getPurchasedItemsCountByItemName(ItemConstants.NAME, START_DATE, END_DATE);
+
+        assertEquals(2, result);
+        verifyNoInteractions(orderService);
+    }
+}
@@ -2,10 +2,15 @@ package filmfocus.services;
 
 import filmfocus.exceptions.DateNotValidException;
 import filmfocus.exceptions.NoAvailableTicketsException;
+import filmfocus.exceptions.SeatNotAvailableException;
 import filmfocus.exceptions.TicketNotFoundException;
+import filmfocus.inventory.SeatMap;
+import filmfocus.mappers.SeatMapper;
 import filmfocus.mappers.TicketMapper;
+import filmfocus.models.dtos.SeatMapDto;
 import filmfocus.models.dtos.TicketDto;
 import filmfocus.models.entities.Projection;
+import filmfocus.models.entities.Seat;
 import filmfocus.models.entities.Ticket;
 import filmfocus.models.requests.TicketRequest;
 import filmfocus.repositories.TicketRepository;
@@ -13,12 +18,15 @@ import filmfocus.testUtils.factories.ProjectionFactory;
 import filmfocus.testUtils.factories.TicketFactory;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +36,11 @@ import static filmfocus.testUtils.constants.TicketConstants.ID;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -42,6 +55,15 @@ public class TicketServiceTest {
     @Mock
     private ProjectionService projectionService;
 
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private RevenueRollupService revenueRollupService;
+
+    @Mock
+    private SeatMapper seatMapper;
+
     @InjectMocks
     private TicketService ticketService;
 
@@ -57,16 +79,205 @@ public class TicketServiceTest {
         TicketRequest request = TicketFactory.getDefaultTicketRequest();
         request.setProjectionId(projection.getId());
 
-        int availableTickets = 10;
         Ticket expected = TicketFactory.getDefaultTicket();
+        Seat seat = TicketFactory.getDefaultSeat();
 
         when(projectionService.getProjectionById(anyInt())).thenReturn(projection);
-        when(ticketRepository.save(any())).thenReturn(expected);
-        when(ticketService.calculateAvailableTickets(projection)).thenReturn(availableTickets);
+        when(seatInventoryService.reserveSeats(projection, 1)).thenReturn(Collections.singletonList(seat));
+        when(ticketRepository.saveAll(anyList())).thenReturn(Collections.singletonList(expected));
 
         Ticket ticket = ticketService.addTicket(request);
 
+        InOrder inOrder = inOrder(seatInventoryService, ticketRepository, revenueRollupService);
+
         assertEquals(expected, ticket);
+        inOrder.verify(seatInventoryService).issueSeats(projection.getId(), Collections.singletonList(seat));
+        inOrder.verify(ticketRepository).saveAll(anyList());
+        inOrder.verify(revenueRollupService).recordTickets(Collections.singletonList(expected));
+        inOrder.verify(seatInventoryService).confirmSeats(projection.getId(), Collections.singletonList(seat));
+    }
+
+    @Test(expected = NoAvailableTicketsException.class)
+    public void testAddTicket_noAvailableSeats_throwsNoAvailableTicketsException() {
+        Projection projection = ProjectionFactory.getDefaultProjection();
+        projection.getProgram().setProgramDate(LocalDate.now().plusDays(1));
+        projection.setStartTime(LocalTime.MAX);
+
+        when(projectionService.getProjectionById(anyInt())).thenReturn(projection);
+        doThrow(NoAvailableTicketsException.class).when(seatInventoryService).reserveSeats(projection, 1);
+
+        try {
+            ticketService.addTicket(TicketFactory.getDefaultTicketRequest());
+        } finally {
+            verify(ticketRepository, never()).saveAll(anyList());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddTicket_saveFailed_seatsReleased() {
+        Projection projection = ProjectionFactory.getDefaultProjection();
+        projection.getProgram().setProgramDate(LocalDate.now().plusDays(1));
+        projection.setStartTime(LocalTime.MAX);
+
+        Seat seat = TicketFactory.getDefaultSeat();
+
+        when(projectionService.getProjectionById(anyInt())).thenReturn(projection);
+        when(seatInventoryService.reserveSeats(projection, 1)).thenReturn(Collections.singletonList(seat));
+        when(ticketRepository.saveAll(anyList())).thenThrow(IllegalStateException.class);
+
+        try {
+            ticketService.addTicket(TicketFactory.getDefaultTicketRequest());
+        } finally {
+            verify(seatInventoryService).releaseSeats(projection.getId(), Collections.singletonList(seat));
+            verify(seatInventoryService, never()).confirmSeats(anyInt(), anyList());
+        }
+    }
+
+    @Test
+    public void testAddTickets_sameProjection_lookedUpOnceAndInsertedInOneBatch() {
+        Projection projection = ProjectionFactory.getDefaultProjection();
+        projection.getProgram().setProgramDate(LocalDate.now().plusDays(1));
+        projection.setStartTime(LocalTime.MAX);
+
+        TicketRequest selected = new TicketRequest(projection.getId());
+        selected.setSeatRow(1);
+        selected.setSeatNumber(1);
+        List<TicketRequest> requests =
+          Arrays.asList(new TicketRequest(projection.getId()), selected, new TicketRequest(projection.getId()));
+        List<Seat> adjacentSeats = Arrays.asList(new Seat(5, 5), new Seat(5, 6));
+
+        when(projectionService.getProjectionById(projection.getId())).thenReturn(projection);
+        when(seatInventoryService.reserveSeat(projection, 1, 1)).thenReturn(new Seat(1, 1));
+        when(seatInventoryService.reserveSeats(projection, 2)).thenReturn(adjacentSeats);
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Ticket> tickets = ticketService.addTickets(requests);
+
+        assertEquals(3, tickets.size());
+        verify(projectionService).getProjectionById(projection.getId());
+        verify(ticketRepository).saveAll(anyList());
+        verify(ticketRepository, never()).save(any());
+        verify(seatInventoryService)
+          .confirmSeats(projection.getId(), Arrays.asList(new Seat(1, 1), new Seat(5, 5), new Seat(5, 6)));
+    }
+
+    @Test
+    public void testReserveTickets_secondProjectionFull_firstProjectionReleased() {
+        Projection first = ProjectionFactory.getDefaultProjection();
+        first.getProgram().setProgramDate(LocalDate.now().plusDays(1));
+        first.setStartTime(LocalTime.MAX);
+        Projection second = ProjectionFactory.getDefaultProjection();
+        second.setId(first.getId() + 1);
+        second.getProgram().setProgramDate(LocalDate.now().plusDays(1));
+        second.setStartTime(LocalTime.MAX);
+
+        List<Seat> seats = Collections.singletonList(TicketFactory.getDefaultSeat());
+
+        when(projectionService.getProjectionById(first.getId())).thenReturn(first);
+        when(projectionService.getProjectionById(second.getId())).thenReturn(second);
+        when(seatInventoryService.reserveSeats(first, 1)).thenReturn(seats);
+        doThrow(NoAvailableTicketsException.class).when(seatInventoryService).reserveSeats(second, 1);
+
+        try {
+            ticketService.reserveTickets(
+              Arrays.asList(new TicketRequest(first.getId()), new TicketRequest(second.getId())));
+        } catch (NoAvailableTicketsException exception) {
+            verify(seatInventoryService).releaseSeats(first.getId(), seats);
+            return;
+        }
+
+        throw new AssertionError("Expected NoAvailableTicketsException");
+    }
+
+    @Test
+    public void testReserveTickets_selectedSeatTaken_otherSeatsOfProjectionReleased() {
+        Projection projection = ProjectionFactory.getDefaultProjection();
+        projection.getProgram().setProgramDate(LocalDate.now().plusDays(1));
+        projection.setStartTime(LocalTime.MAX);
+
+        TicketRequest first = new TicketRequest(projection.getId());
+        first.setSeatRow(1);
+        first.setSeatNumber(1);
+        TicketRequest second = new TicketRequest(projection.getId());
+        second.setSeatRow(1);
+        second.setSeatNumber(2);
+
+        when(projectionService.getProjectionById(anyInt())).thenReturn(projection);
+        when(seatInventoryService.reserveSeat(projection, 1, 1)).thenReturn(new Seat(1, 1));
+        doThrow(SeatNotAvailableException.class).when(seatInventoryService).reserveSeat(projection, 1, 2);
+
+        try {
+            ticketService.reserveTickets(Arrays.asList(first, second));
+        } catch (SeatNotAvailableException exception) {
+            verify(seatInventoryService).releaseSeats(projection.getId(), Collections.singletonList(new Seat(1, 1)));
+            return;
+        }
+
+        throw new AssertionError("Expected SeatNotAvailableException");
+    }
+
+    @Test
+    public void testReleaseTickets_seatsGroupedByProjection() {
+        Projection projection = ProjectionFactory.getDefaultProjection();
+        Ticket first = new Ticket(null, projection, new Seat(1, 1));
+        Ticket second = new Ticket(null, projection, new Seat(1, 2));
+
+        ticketService.releaseTickets(Arrays.asList(first, second));
+
+        verify(seatInventoryService).releaseSeats(projection.getId(), Arrays.asList(first.getSeat(), second.getSeat()));
+    }
+
+    @Test
+    public void testAddTicket_seatSelected_seatReserved() {
+        Projection projection = ProjectionFactory.getDefaultProjection();
+        projection.getProgram().setProgramDate(LocalDate.now().plusDays(1));
+        projection.setStartTime(LocalTime.MAX);
+
+        TicketRequest request = TicketFactory.getDefaultTicketRequest();
+        request.setSeatRow(2);
+        request.setSeatNumber(5);
+
+        when(projectionService.getProjectionById(anyInt())).thenReturn(projection);
+        when(seatInventoryService.reserveSeat(projection, 2, 5)).thenReturn(new Seat(2, 5));
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Ticket ticket = ticketService.addTicket(request);
+
+        assertEquals(new Seat(2, 5), ticket.getSeat());
+    }
+
+    @Test
+    public void testGetSeatMapByProjectionId_adjacentSeatsRequested_success() {
+        Projection projection = ProjectionFactory.getDefaultProjection();
+        SeatMap seatMap = new SeatMap(3, 4, Collections.emptyList());
+
+        when(projectionService.getProjectionById(anyInt())).thenReturn(projection);
+        when(seatInventoryService.getSeatMap(projection)).thenReturn(seatMap);
+        when(seatInventoryService.getAvailableSeats(projection)).thenReturn(12);
+        when(seatMapper.mapSeatListToSeatDtoList(anyList()))
+          .thenReturn(Collections.singletonList(TicketFactory.getDefaultSeatDto()));
+
+        SeatMapDto result = ticketService.getSeatMapByProjectionId(ID, 2);
+
+        assertEquals(3, result.getRows());
+        assertEquals(4, result.getSeatsPerRow());
+        assertEquals(12, result.getAvailableSeats());
+        assertEquals(3, result.getSeats().size());
+        assertEquals(1, result.getSuggestedSeats().size());
+        verify(seatMapper).mapSeatListToSeatDtoList(seatMap.findBestAdjacent(2));
+    }
+
+    @Test
+    public void testGetSeatMapByProjectionId_noAdjacentSeats_noSuggestions() {
+        Projection projection = ProjectionFactory.getDefaultProjection();
+
+        when(projectionService.getProjectionById(anyInt())).thenReturn(projection);
+        when(seatInventoryService.getSeatMap(projection)).thenReturn(new SeatMap(3, 4, Collections.emptyList()));
+
+        SeatMapDto result = ticketService.getSeatMapByProjectionId(ID, null);
+
+        assertEquals(Collections.emptyList(), result.getSuggestedSeats());
+        verify(seatMapper, never()).mapSeatListToSeatDtoList(anyList());
     }
 
 
@@ -104,12 +315,10 @@ public class TicketServiceTest {
     @Test
     public void testCalculateAvailableTickets_shouldReturnCorrectAvailableTickets_success() {
         Projection projection = ProjectionFactory.getDefaultProjection();
-        int capacity = 100;
-        int totalTickets = 50;
+        int expectedAvailableTickets = 50;
 
-        when(ticketRepository.countByProjectionId(anyInt())).thenReturn(totalTickets);
+        when(seatInventoryService.getAvailableSeats(projection)).thenReturn(expectedAvailableTickets);
 
-        int expectedAvailableTickets = capacity - totalTickets;
         int actualAvailableTickets = ticketService.calculateAvailableTickets(projection);
 
         assertEquals(expectedAvailableTickets, actualAvailableTickets);
@@ -118,9 +327,8 @@ public class TicketServiceTest {
     @Test(expected = NoAvailableTicketsException.class)
     public void testCalculateAvailableTickets_shouldThrowNoAvailableTicketsException() {
         Projection projection = ProjectionFactory.getDefaultProjection();
-        int totalTickets = 100;
 
-        when(ticketRepository.countByProjectionId(anyInt())).thenReturn(totalTickets);
+        when(seatInventoryService.getAvailableSeats(projection)).thenReturn(0);
 
         ticketService.calculateAvailableTickets(projection);
     }
@@ -153,4 +361,27 @@ public class TicketServiceTest {
 
         assertEquals(expected, tickets);
     }
+
+    @Test
+    public void testGetTicketsCountByMovieCategoryId() {
+        when(ticketRepository.countTicketsByMovieCategoryId(ID, START_DATE, END_DATE)).thenReturn(3L);
+
+        assertEquals(3, ticketService.getTicketsCountByMovieCategoryId(ID, START_DATE, END_DATE));
+    }
+
+    @Test
+    public void testGetTicketsCountByMovieIds() {
+        List<Integer> movieIds = Arrays.asList(1, 2);
+
+        when(ticketRepository.countTicketsByMovieIds(movieIds, START_DATE, END_DATE)).thenReturn(2L);
+
+        assertEquals(2, ticketService.getTicketsCountByMovieIds(movieIds, START_DATE, END_DATE));
+    }
+
+    @Test
+    public void testGetTicketsCountByMovieIds_noMovies_returnsZeroWithoutQuery() {
+        assertEquals(0, ticketService.getTicketsCountByMovieIds(Collections.emptyList(), START_DATE, END_DATE));
+
+        verify(ticketRepository, never()).countTicketsByMovieIds(any(), any(), any());
+    }
 }
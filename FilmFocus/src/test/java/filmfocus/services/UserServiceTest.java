@@ -14,6 +14,8 @@ import filmfocus.models.dtos.UserDto;
 import filmfocus.models.entities.Role;
 import filmfocus.models.entities.User;
 import filmfocus.models.requests.LoginRequest;
+import filmfocus.pagination.KeysetPage;
+import filmfocus.pagination.KeysetPaging;
 import filmfocus.repositories.UserRepository;
 import filmfocus.testUtils.factories.JwtFactory;
 import filmfocus.testUtils.factories.RoleFactory;
@@ -24,7 +26,11 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpCookie;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -36,7 +42,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
-import java.time.LocalDate;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -50,6 +57,7 @@ import static filmfocus.testUtils.constants.UserConstants.JOIN_DATE;
 import static filmfocus.testUtils.constants.UserConstants.PASSWORD;
 import static filmfocus.testUtils.constants.UserConstants.USERNAME;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -63,6 +71,7 @@ import static org.mockito.Mockito.when;
 public class UserServiceTest {
 
   private static final int INVALID_ID = 2;
+  private static final int PAGE_SIZE = 1;
 
   @Value("${jwt.secret}")
   private String secret;
@@ -91,6 +100,9 @@ public class UserServiceTest {
   @Mock
   private UserMapper userMapper;
 
+  @Spy
+  private KeysetPaging keysetPaging = new KeysetPaging(mock(EntityManager.class), PAGE_SIZE, PAGE_SIZE);
+
   @InjectMocks
   private UserService userService;
 
@@ -295,68 +307,33 @@ public class UserServiceTest {
   }
 
   @Test
-  public void testGetUsersByRoleName_success() {
-    List<User> expected = UserFactory.getDefaultUserList();
-
-    when(userRepository.findAllByRolesName(NAME)).thenReturn(expected);
-
-    List<User> result = userService.getUsersByRoleName(NAME);
-
-    assertEquals(expected, result);
-  }
-
-  @Test
-  public void testGetUsersDtoByRoleName_success() {
-    List<UserDto> expected = UserFactory.getDefaultUserDtoList();
-
-    when(userService.getUsersByRoleName(NAME)).thenReturn(UserFactory.getDefaultUserList());
-    when(userMapper.mapUsersToUserDtos(UserFactory.getDefaultUserList())).thenReturn(expected);
-
-    List<UserDto> resultList = userService.getUsersDtoByRoleName(NAME);
-
-    assertEquals(expected, resultList);
-  }
-
-  @Test
-  public void testGetUsersByJoinDate_before_success() {
-    User user2 = UserFactory.getDefaultUser();
-    user2.setId(2);
-    List<User> expectedUsers = Arrays.asList(UserFactory.getDefaultUser(), user2);
-
-    when(userRepository.findAllByJoinDateBefore(any(LocalDate.class))).thenReturn(expectedUsers);
-
-    List<User> users = userService.getUsersByJoinDate(JOIN_DATE, true);
-
-    assertEquals(expectedUsers, users);
-  }
-
-  @Test
-  public void testGetUsersByJoinDate_after_success() {
-    User user2 = UserFactory.getDefaultUser();
-    user2.setId(2);
-    List<User> expectedUsers = Arrays.asList(UserFactory.getDefaultUser(), user2);
+  public void testGetUsersDtoPageByRoleName_upperCasedRoleName_lastPage() {
+    UserDto expected = UserFactory.getDefaultUserDto();
 
-    when(userRepository.findAllByJoinDateAfter(any(LocalDate.class))).thenReturn(expectedUsers);
+    when(userRepository.findAllByRolesNameAndIdGreaterThan(NAME.toUpperCase(), ID, firstRows(PAGE_SIZE + 1)))
+      .thenReturn(UserFactory.getDefaultUserList());
+    when(userMapper.mapUserToUserDto(UserFactory.getDefaultUser())).thenReturn(expected);
 
-    List<User> users = userService.getUsersByJoinDate(JOIN_DATE, false);
+    KeysetPage<UserDto> page = userService.getUsersDtoPageByRoleName(NAME.toLowerCase(), ID, PAGE_SIZE);
 
-    assertEquals(expectedUsers, users);
+    assertEquals(List.of(expected), page.getItems());
+    assertNull(page.getNextAfterId());
   }
 
   @Test
-  public void getUsersDtosByJoinDate() {
-    User user2 = UserFactory.getDefaultUser();
-    user2.setId(2);
+  public void testForEachUserDtoByJoinDate_before_allUsers() {
+    UserDto expected = UserFactory.getDefaultUserDto();
+    List<UserDto> users = new ArrayList<>();
 
-    List<User> users = Arrays.asList(UserFactory.getDefaultUser(), user2);
+    when(userRepository.findAllByJoinDateBeforeAndIdGreaterThan(JOIN_DATE, 0, firstRows(PAGE_SIZE)))
+      .thenReturn(UserFactory.getDefaultUserList());
+    when(userRepository.findAllByJoinDateBeforeAndIdGreaterThan(JOIN_DATE, ID, firstRows(PAGE_SIZE)))
+      .thenReturn(Collections.emptyList());
+    when(userMapper.mapUserToUserDto(UserFactory.getDefaultUser())).thenReturn(expected);
 
-    when(userService.getUsersByJoinDate(JOIN_DATE, true)).thenReturn(users);
-    when(userService.getUsersByJoinDate(JOIN_DATE, true)).thenReturn(UserFactory.getDefaultUserList());
-    when(userMapper.mapUsersToUserDtos(UserFactory.getDefaultUserList())).thenReturn(
-      UserFactory.getDefaultUserDtoList());
+    userService.forEachUserDtoByJoinDate(JOIN_DATE, true, users::add);
 
-    List<UserDto> actualUserDtos = userService.getUsersDtosByJoinDate(JOIN_DATE, true);
-    assertEquals(UserFactory.getDefaultUserDtoList(), actualUserDtos);
+    assertEquals(List.of(expected), users);
   }
 
   @Test
@@ -568,4 +545,8 @@ public class UserServiceTest {
 
     assertEquals(expectedUser, resultUser);
   }
-}
\ No newline at end of file
+
+  private static Pageable firstRows(int count) {
+    return PageRequest.of(0, count, Sort.by("id"));
+  }
+}
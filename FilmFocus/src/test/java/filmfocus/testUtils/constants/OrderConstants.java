@@ -12,6 +12,7 @@ public final class OrderConstants {
   public static final int DAY = 10;
   public static final LocalDate DATE_OF_PURCHASE = LocalDate.of(YEAR, MONTH, DAY);
   public static final double TOTAL_PRICE = 100;
+  public static final String HOLD_ID = "1f0c2a4e-hold";
 
   private OrderConstants() throws IllegalAccessException {
     throw new IllegalAccessException(NON_INSTANTIABLE_CLASS_MESSAGE);
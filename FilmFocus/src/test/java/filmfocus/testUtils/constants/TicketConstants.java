@@ -8,6 +8,8 @@ public final class TicketConstants {
 
   public static final int ID = 1;
   public static final LocalDate DATE_OF_PURCHASE = LocalDate.of(1999, 1, 1);
+  public static final int SEAT_ROW = 1;
+  public static final int SEAT_NUMBER = 1;
 
   private TicketConstants() throws IllegalAccessError {
     throw new IllegalAccessError(NON_INSTANTIABLE_CLASS_MESSAGE);
@@ -30,7 +30,7 @@ public final class HallFactory {
   }
 
   public static HallDto getDefaultHallDto() {
-    return new HallDto(ID, CAPACITY, CinemaFactory.getDefaultCinemaDto());
+    return new HallDto(ID, CAPACITY, CinemaFactory.getDefaultCinemaDto(), 0, 0, Collections.emptyList());
   }
 
   public static List<HallDto> getDefaultHallDtoList() {
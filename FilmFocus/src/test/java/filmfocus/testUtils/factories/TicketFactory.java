@@ -1,6 +1,8 @@
 package filmfocus.testUtils.factories;
 
+import filmfocus.models.dtos.SeatDto;
 import filmfocus.models.dtos.TicketDto;
+import filmfocus.models.entities.Seat;
 import filmfocus.models.entities.Ticket;
 import filmfocus.models.requests.TicketRequest;
 
@@ -9,6 +11,8 @@ import java.util.List;
 
 import static filmfocus.testUtils.constants.TicketConstants.ID;
 import static filmfocus.testUtils.constants.TicketConstants.DATE_OF_PURCHASE;
+import static filmfocus.testUtils.constants.TicketConstants.SEAT_NUMBER;
+import static filmfocus.testUtils.constants.TicketConstants.SEAT_ROW;
 import static filmfocus.testUtils.factories.ProjectionFactory.getDefaultProjection;
 import static filmfocus.testUtils.factories.ProjectionFactory.getDefaultProjectionDto;
 import static filmfocus.utils.constants.ExceptionMessages.NON_INSTANTIABLE_CLASS_MESSAGE;
@@ -24,7 +28,7 @@ public final class TicketFactory {
   }
 
   public static Ticket getDefaultTicket() {
-    return new Ticket(ID, DATE_OF_PURCHASE, getDefaultProjection());
+    return new Ticket(ID, DATE_OF_PURCHASE, getDefaultProjection(), getDefaultSeat());
   }
 
   public static List<Ticket> getDefaultTicketList() {
@@ -32,13 +36,21 @@ public final class TicketFactory {
   }
 
   public static TicketDto getDefaultTicketDto() {
-    return new TicketDto(ID, DATE_OF_PURCHASE, getDefaultProjectionDto());
+    return new TicketDto(ID, DATE_OF_PURCHASE, getDefaultProjectionDto(), getDefaultSeatDto());
   }
 
   public static List<TicketDto> getDefaultTicketDtoList() {
     return Collections.singletonList(getDefaultTicketDto());
   }
 
+  public static Seat getDefaultSeat() {
+    return new Seat(SEAT_ROW, SEAT_NUMBER);
+  }
+
+  public static SeatDto getDefaultSeatDto() {
+    return new SeatDto(SEAT_ROW, SEAT_NUMBER);
+  }
+
   public static List<Integer> getDefaultIdList() {
     return Collections.singletonList(ID);
   }
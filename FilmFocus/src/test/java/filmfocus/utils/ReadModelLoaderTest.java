@@ -0,0 +1,131 @@
+package filmfocus.utils;
+
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ReadModelLoaderTest {
+
+  private final ReadModelLoader loader = new ReadModelLoader();
+  private final List<String> applied = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  public void testStartLoad_changeBeforeQuery_droppedAndLaterOneHeld() {
+    commit("review", TransactionSynchronization.STATUS_COMMITTED);
+
+    assertEquals(Collections.emptyList(), applied);
+
+    loader.startLoad(() -> null);
+    commit("rating", TransactionSynchronization.STATUS_COMMITTED);
+    loader.finishLoad();
+
+    assertEquals(Collections.singletonList("rating"), applied);
+  }
+
+  @Test
+  public void testRunAfterCommit_afterLoad_appliedOnCommit() {
+    loader.startLoad(() -> null);
+    loader.finishLoad();
+
+    commit("review", TransactionSynchronization.STATUS_COMMITTED);
+    commit("rating", TransactionSynchronization.STATUS_ROLLED_BACK);
+    loader.runAfterCommit(() -> applied.add("text"));
+
+    assertEquals(List.of("review", "text"), applied);
+  }
+
+  @Test
+  public void testStartLoad_changeCommitting_waitsForQuery() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    CountDownLatch querying = new CountDownLatch(1);
+    CountDownLatch released = new CountDownLatch(1);
+
+    try {
+      Future<?> load = executor.submit(() -> loader.startLoad(() -> {
+        querying.countDown();
+        await(released);
+
+        return null;
+      }));
+      assertTrue(querying.await(5, TimeUnit.SECONDS));
+
+      Future<?> change = executor.submit(() -> commit("review", TransactionSynchronization.STATUS_COMMITTED));
+
+      try {
+        change.get(100, TimeUnit.MILLISECONDS);
+        fail();
+      } catch (TimeoutException exception) {
+        released.countDown();
+      }
+
+      load.get(5, TimeUnit.SECONDS);
+      change.get(5, TimeUnit.SECONDS);
+    } finally {
+      released.countDown();
+      executor.shutdownNow();
+    }
+
+    assertEquals(Collections.emptyList(), applied);
+
+    loader.finishLoad();
+
+    assertEquals(Collections.singletonList("review"), applied);
+  }
+
+  @Test
+  public void testStartLoad_reloading_changeAppliedAndReplayed() {
+    loader.startLoad(() -> null);
+    loader.finishLoad();
+
+    loader.startLoad(() -> null);
+    commit("rating", TransactionSynchronization.STATUS_COMMITTED);
+
+    assertEquals(Collections.singletonList("rating"), applied);
+
+    loader.finishLoad();
+    commit("review", TransactionSynchronization.STATUS_COMMITTED);
+
+    assertEquals(List.of("rating", "rating", "review"), applied);
+  }
+
+  // Runs the change in a transaction that ends with the status, as the transaction manager would.
+  private void commit(String change, int status) {
+    TransactionSynchronizationManager.initSynchronization();
+
+    try {
+      loader.runAfterCommit(() -> applied.add(change));
+
+      List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+      if (status == TransactionSynchronization.STATUS_COMMITTED) {
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+      }
+
+      synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}